@@ -0,0 +1,45 @@
+#!/bin/sh
+# Entrena el archivo CDS (Class Data Sharing) de la imagen y mide el arranque antes/después.
+#
+# Corre en la etapa final del Dockerfile: el archivo solo sirve para la misma JVM con la que
+# se genera. El contexto arranca sin base de datos (perfil cds) y la JVM termina al refrescarlo
+# (spring.context.exit=onRefresh), así que los tiempos cubren escaneo de clases, Hibernate y
+# creación de beans, no la conexión a la BD. El resultado queda en el log del build y en
+# /app/arranque.txt.
+set -u
+cd /app
+JAR=extracted/app.jar
+
+# Tiempo en ms de un arranque hasta el refresh del contexto; -1 si falla
+medir() {
+    perfiles=$1
+    shift
+    inicio=$(date +%s%N)
+    if ! SPRING_PROFILES_ACTIVE=$perfiles java "$@" -Dspring.context.exit=onRefresh -jar "$JAR" > /tmp/arranque.log 2>&1; then
+        tail -n 40 /tmp/arranque.log >&2
+        echo -1
+        return
+    fi
+    fin=$(date +%s%N)
+    echo $(( (fin - inicio) / 1000000 ))
+}
+
+antes=$(medir cds)
+
+# Entrenamiento: guarda en app.jsa las clases cargadas durante el arranque
+medir cds -XX:ArchiveClassesAtExit=app.jsa > /dev/null
+if [ ! -s app.jsa ]; then
+    rm -f app.jsa
+    echo "No se pudo generar app.jsa: la imagen arranca sin CDS" | tee arranque.txt
+    exit 0
+fi
+
+con_cds=$(medir cds -XX:SharedArchiveFile=app.jsa)
+con_cds_diferido=$(medir cds,arranque-rapido -XX:SharedArchiveFile=app.jsa)
+
+{
+    echo "Arranque hasta el refresh del contexto (sin BD), $(date -u +%Y-%m-%dT%H:%M:%SZ)"
+    echo "  antes (sin app.jsa):          ${antes} ms"
+    echo "  con app.jsa:                  ${con_cds} ms"
+    echo "  con app.jsa + arranque-rapido: ${con_cds_diferido} ms"
+} | tee arranque.txt
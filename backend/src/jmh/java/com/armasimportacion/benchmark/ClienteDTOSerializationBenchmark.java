@@ -0,0 +1,53 @@
+package com.armasimportacion.benchmark;
+
+import com.armasimportacion.config.JacksonConfig;
+import com.armasimportacion.dto.ClienteDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de páginas de ClienteDTO con el ObjectMapper de JacksonConfig,
+ * tal como responde el listado paginado de clientes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClienteDTOSerializationBenchmark {
+
+    @Param({"20", "100", "500"})
+    public int tamanioPagina;
+
+    private ObjectMapper objectMapper;
+    private Page<ClienteDTO> pagina;
+
+    @Setup
+    public void setup() {
+        objectMapper = new JacksonConfig().objectMapper();
+        DatosSinteticos datos = new DatosSinteticos(42L);
+        List<ClienteDTO> clientes = new ArrayList<>(tamanioPagina);
+        for (int i = 0; i < tamanioPagina; i++) {
+            clientes.add(datos.clienteDTO((long) (i + 1)));
+        }
+        pagina = new PageImpl<>(clientes, PageRequest.of(0, tamanioPagina), tamanioPagina * 10L);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
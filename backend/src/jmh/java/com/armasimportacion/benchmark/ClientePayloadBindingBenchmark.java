@@ -0,0 +1,192 @@
+package com.armasimportacion.benchmark;
+
+import com.armasimportacion.config.JacksonConfig;
+import com.armasimportacion.dto.ClienteCompletoRequest;
+import com.armasimportacion.dto.ClienteCreateDTO;
+import com.armasimportacion.dto.CuotaClienteRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enlace de un lote de cuerpos POST /api/clientes, como en una importación masiva.
+ *
+ * mapaLegado reproduce el camino anterior de ClienteCompletoService: Map genérico,
+ * casts campo a campo y fechas probadas contra String.matches. registroTipado es el
+ * actual: ClienteCompletoRequest enlazado por Jackson con FechaFlexibleDeserializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClientePayloadBindingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> TIPO_MAPA = new TypeReference<>() {
+    };
+
+    @Param({"100", "1000"})
+    public int tamanioLote;
+
+    private ObjectMapper objectMapper;
+    private List<byte[]> cuerpos;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = new JacksonConfig().objectMapper();
+        Random random = new Random(42L);
+        cuerpos = new ArrayList<>(tamanioLote);
+        for (int i = 0; i < tamanioLote; i++) {
+            cuerpos.add(objectMapper.writeValueAsBytes(cuerpo(random, i)));
+        }
+    }
+
+    @Benchmark
+    public void mapaLegado(Blackhole blackhole) throws IOException {
+        for (byte[] cuerpo : cuerpos) {
+            Map<String, Object> requestData = objectMapper.readValue(cuerpo, TIPO_MAPA);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> clientData = (Map<String, Object>) requestData.get("cliente");
+            blackhole.consume(construirClienteCreateDTOLegado(clientData));
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> cuotas = (List<Map<String, Object>>) requestData.get("cuotas");
+            for (Map<String, Object> cuota : cuotas) {
+                blackhole.consume(new BigDecimal(cuota.get("monto").toString()));
+                blackhole.consume(parsearFechaLegado(cuota.get("fechaVencimiento").toString()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void registroTipado(Blackhole blackhole) throws IOException {
+        for (byte[] cuerpo : cuerpos) {
+            ClienteCompletoRequest request = objectMapper.readValue(cuerpo, ClienteCompletoRequest.class);
+            blackhole.consume(request.cliente().toCreateDTO());
+            for (CuotaClienteRequest cuota : request.cuotas()) {
+                blackhole.consume(cuota.monto());
+                blackhole.consume(cuota.fechaVencimiento());
+            }
+        }
+    }
+
+    private static Map<String, Object> cuerpo(Random random, int i) {
+        Map<String, Object> cliente = new LinkedHashMap<>();
+        cliente.put("nombres", "CLIENTE " + i);
+        cliente.put("apellidos", "APELLIDO " + i);
+        cliente.put("numeroIdentificacion", String.format("17%08d", i));
+        cliente.put("tipoIdentificacionCodigo", "CED");
+        cliente.put("tipoClienteCodigo", i % 3 == 0 ? "MIL" : "CIV");
+        cliente.put("fechaNacimiento", fecha(random, i));
+        cliente.put("direccion", "Av. Siempre Viva " + i);
+        cliente.put("provincia", "Pichincha");
+        cliente.put("canton", "Quito");
+        cliente.put("email", "cliente" + i + "@correo.ec");
+        cliente.put("telefonoPrincipal", "0999" + String.format("%06d", i));
+        cliente.put("estadoMilitar", i % 3 == 0 ? "ACTIVO" : null);
+
+        Map<String, Object> pago = new HashMap<>();
+        pago.put("total", "1150.00");
+        pago.put("tipoPago", "CUOTAS");
+        pago.put("numeroCuotas", 3);
+
+        List<Map<String, Object>> cuotas = new ArrayList<>();
+        for (int c = 1; c <= 3; c++) {
+            Map<String, Object> cuota = new HashMap<>();
+            cuota.put("numeroCuota", c);
+            cuota.put("monto", "383.33");
+            cuota.put("fechaVencimiento", fecha(random, c));
+            cuotas.add(cuota);
+        }
+
+        Map<String, Object> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("cliente", cliente);
+        cuerpo.put("pago", pago);
+        cuerpo.put("cuotas", cuotas);
+        cuerpo.put("arma", Map.of("id", 10 + i % 5, "precioUnitario", "1000.00"));
+        return cuerpo;
+    }
+
+    // Mezcla de los formatos que envía el frontend
+    private static String fecha(Random random, int i) {
+        LocalDate fecha = LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28));
+        return switch (i % 4) {
+            case 0 -> fecha.toString();
+            case 1 -> fecha + "T05:00:00.000Z";
+            case 2 -> fecha.getDayOfMonth() + "/" + fecha.getMonthValue() + "/" + fecha.getYear();
+            default -> fecha.toString().replace("-", "");
+        };
+    }
+
+    private static ClienteCreateDTO construirClienteCreateDTOLegado(Map<String, Object> clientData) {
+        ClienteCreateDTO dto = new ClienteCreateDTO();
+        dto.setNumeroIdentificacion((String) clientData.get("numeroIdentificacion"));
+        dto.setNombres((String) clientData.get("nombres"));
+        dto.setApellidos((String) clientData.get("apellidos"));
+        dto.setEmail((String) clientData.get("email"));
+        dto.setTelefonoPrincipal((String) clientData.get("telefonoPrincipal"));
+        dto.setTelefonoSecundario((String) clientData.get("telefonoSecundario"));
+        dto.setTipoIdentificacionCodigo((String) clientData.get("tipoIdentificacionCodigo"));
+        dto.setTipoClienteCodigo((String) clientData.get("tipoClienteCodigo"));
+        dto.setDireccion((String) clientData.get("direccion"));
+        dto.setProvincia((String) clientData.get("provincia"));
+        dto.setCanton((String) clientData.get("canton"));
+        dto.setRepresentanteLegal((String) clientData.get("representanteLegal"));
+        dto.setRuc((String) clientData.get("ruc"));
+        dto.setNombreEmpresa((String) clientData.get("nombreEmpresa"));
+        dto.setDireccionFiscal((String) clientData.get("direccionFiscal"));
+        dto.setTelefonoReferencia((String) clientData.get("telefonoReferencia"));
+        dto.setCorreoEmpresa((String) clientData.get("correoEmpresa"));
+        dto.setProvinciaEmpresa((String) clientData.get("provinciaEmpresa"));
+        dto.setCantonEmpresa((String) clientData.get("cantonEmpresa"));
+        dto.setEstadoMilitar((String) clientData.get("estadoMilitar"));
+        dto.setCodigoIssfa((String) clientData.get("codigoIssfa"));
+        dto.setCodigoIsspol((String) clientData.get("codigoIsspol"));
+        dto.setRango((String) clientData.get("rango"));
+        if (clientData.containsKey("estado")) {
+            dto.setEstado((String) clientData.get("estado"));
+        }
+        Object fecha = clientData.get("fechaNacimiento");
+        dto.setFechaNacimiento(fecha != null ? parsearFechaLegado(fecha.toString()).toString() : null);
+        return dto;
+    }
+
+    private static LocalDate parsearFechaLegado(String fechaStr) {
+        fechaStr = fechaStr.trim();
+        if (fechaStr.contains("T")) {
+            return LocalDate.parse(fechaStr.split("T")[0]);
+        }
+        if (fechaStr.matches("\\d{4}-\\d{2}-\\d{2}")) {
+            return LocalDate.parse(fechaStr);
+        }
+        if (fechaStr.matches("\\d{1,2}/\\d{1,2}/\\d{4}")) {
+            String[] partes = fechaStr.split("/");
+            return LocalDate.of(Integer.parseInt(partes[2]), Integer.parseInt(partes[1]), Integer.parseInt(partes[0]));
+        }
+        if (fechaStr.matches("\\d{1,2}-\\d{1,2}-\\d{4}")) {
+            String[] partes = fechaStr.split("-");
+            return LocalDate.of(Integer.parseInt(partes[2]), Integer.parseInt(partes[1]), Integer.parseInt(partes[0]));
+        }
+        if (fechaStr.matches("\\d{8}")) {
+            return LocalDate.of(Integer.parseInt(fechaStr.substring(0, 4)),
+                Integer.parseInt(fechaStr.substring(4, 6)), Integer.parseInt(fechaStr.substring(6, 8)));
+        }
+        throw new IllegalArgumentException("Formato de fecha no reconocido: " + fechaStr);
+    }
+}
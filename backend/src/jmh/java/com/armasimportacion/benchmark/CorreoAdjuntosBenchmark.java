@@ -0,0 +1,136 @@
+package com.armasimportacion.benchmark;
+
+import com.armasimportacion.util.MensajeMimeEnDisco;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Construcción y envío de un paquete de contratos firmados (varios PDF grandes) a tres
+ * destinatarios, como EntregaCorreoService con el transporte SMTP reemplazado por un
+ * OutputStream nulo.
+ *
+ * bytesEnMemoria reproduce el camino anterior: cada PDF leído con Files.readAllBytes,
+ * adjunto desde ByteArrayInputStream y MIME congelado en un ByteArrayOutputStream.
+ * archivoEnDisco es el actual: adjuntos FileSystemResource y MensajeMimeEnDisco.
+ *
+ * El paquete (4 x 32 MB, unos 170 MB codificado) no cabe en el heap de 64 MB con que
+ * corre archivoEnDisco: si algún paso volviera a cargar el contenido en memoria, la
+ * corrida falla con OutOfMemoryError. El camino legado necesita un heap holgado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CorreoAdjuntosBenchmark {
+
+    private static final List<String> DESTINATARIOS = List.of(
+            "cliente@correo.ec", "importador@correo.ec", "ventas@correo.ec");
+
+    @Param({"4"})
+    public int documentos;
+
+    @Param({"32"})
+    public int megasPorDocumento;
+
+    private Session session;
+    private Path directorio;
+    private List<Path> pdfs;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        session = Session.getInstance(new Properties());
+        directorio = Files.createTempDirectory("gmarm-adjuntos-");
+        pdfs = new ArrayList<>(documentos);
+        Random random = new Random(42L);
+        byte[] bloque = new byte[1024 * 1024];
+        for (int i = 0; i < documentos; i++) {
+            Path pdf = directorio.resolve("contrato_" + i + ".pdf");
+            try (OutputStream salida = Files.newOutputStream(pdf)) {
+                for (int mb = 0; mb < megasPorDocumento; mb++) {
+                    random.nextBytes(bloque);
+                    salida.write(bloque);
+                }
+            }
+            pdfs.add(pdf);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+    public void bytesEnMemoria() throws MessagingException, IOException {
+        MimeMessage mensaje = nuevoMensaje();
+        MimeMessageHelper helper = new MimeMessageHelper(mensaje, true, "UTF-8");
+        helper.setText("<p>Documentos firmados</p>", true);
+        for (Path pdf : pdfs) {
+            byte[] contenido = Files.readAllBytes(pdf);
+            helper.addAttachment(pdf.getFileName().toString(), () -> new ByteArrayInputStream(contenido));
+        }
+        mensaje.saveChanges();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        mensaje.writeTo(salida);
+        MimeMessage serializado = new MimeMessage(session, new ByteArrayInputStream(salida.toByteArray()));
+        for (int i = 0; i < DESTINATARIOS.size(); i++) {
+            serializado.writeTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+    public void archivoEnDisco() throws MessagingException, IOException {
+        MimeMessage mensaje = nuevoMensaje();
+        MimeMessageHelper helper = new MimeMessageHelper(mensaje, true, "UTF-8");
+        helper.setText("<p>Documentos firmados</p>", true);
+        for (Path pdf : pdfs) {
+            helper.addAttachment(pdf.getFileName().toString(), new FileSystemResource(pdf));
+        }
+        try (MensajeMimeEnDisco serializado = MensajeMimeEnDisco.serializar(session, mensaje)) {
+            for (int i = 0; i < DESTINATARIOS.size(); i++) {
+                serializado.getMensaje().writeTo(OutputStream.nullOutputStream());
+            }
+        }
+    }
+
+    private MimeMessage nuevoMensaje() throws MessagingException {
+        MimeMessage mensaje = new MimeMessage(session);
+        mensaje.setFrom("gmarm@correo.ec");
+        mensaje.setRecipients(MimeMessage.RecipientType.TO, DESTINATARIOS.get(0));
+        mensaje.setSubject("Documentos firmados - GMARM");
+        return mensaje;
+    }
+}
@@ -0,0 +1,383 @@
+package com.armasimportacion.benchmark;
+
+import com.armasimportacion.dto.ClienteDTO;
+import com.armasimportacion.enums.EstadoCliente;
+import com.armasimportacion.enums.EstadoCuotaPago;
+import com.armasimportacion.enums.EstadoGrupoImportacion;
+import com.armasimportacion.enums.EstadoMilitar;
+import com.armasimportacion.enums.EstadoPago;
+import com.armasimportacion.enums.TipoGrupo;
+import com.armasimportacion.enums.TipoPago;
+import com.armasimportacion.model.Arma;
+import com.armasimportacion.model.CategoriaArma;
+import com.armasimportacion.model.Cliente;
+import com.armasimportacion.model.ClienteArma;
+import com.armasimportacion.model.CuotaPago;
+import com.armasimportacion.model.GrupoImportacion;
+import com.armasimportacion.model.Licencia;
+import com.armasimportacion.model.Pago;
+import com.armasimportacion.model.TipoCliente;
+import com.armasimportacion.service.NumberToTextService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generador determinístico de datos sintéticos para los benchmarks JMH.
+ * Produce clientes, grupos de importación, armas y pagos con la forma que usan
+ * los servicios reales, sin tocar base de datos. Misma semilla = mismos datos,
+ * para que las corridas antes/después de una optimización sean comparables.
+ */
+public class DatosSinteticos {
+
+    private static final String[] NOMBRES = {
+        "JUAN CARLOS", "MARIA JOSE", "LUIS ALBERTO", "ANA LUCIA", "PEDRO PABLO", "SOFIA ISABEL"
+    };
+    private static final String[] APELLIDOS = {
+        "PEREZ GOMEZ", "ANDRADE VILLACIS", "SALAZAR MORA", "CEVALLOS RUIZ", "TORRES MENA"
+    };
+    private static final String[] RANGOS = {"CAPITAN", "SARGENTO", "TENIENTE", "CABO PRIMERO"};
+    private static final String[] MARCAS = {"CZ", "Glock", "Beretta", "Taurus"};
+    private static final String[] MODELOS = {"P-10 C", "Shadow 2", "P-07", "75 SP-01", "Scorpion EVO 3", "P-09"};
+    private static final String[] CALIBRES = {"9mm", "9 mm", ".380 ACP", "22 LR", "12 GA"};
+    private static final String[] CATEGORIAS = {"PISTOLA", "ESCOPETA", "CARABINA", "REVOLVER"};
+
+    private final Random random;
+    private final List<CategoriaArma> categorias = new ArrayList<>();
+    private final TipoCliente tipoMilitar;
+    private final TipoCliente tipoCivil;
+
+    public DatosSinteticos(long semilla) {
+        this.random = new Random(semilla);
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            CategoriaArma categoria = new CategoriaArma();
+            categoria.setId((long) (i + 1));
+            categoria.setNombre(CATEGORIAS[i]);
+            categoria.setCodigo("CAT" + (i + 1));
+            categorias.add(categoria);
+        }
+        this.tipoMilitar = TipoCliente.builder()
+            .id(1L).nombre("Militar Fuerza Terrestre").codigo("MFT").esMilitar(true).tipoProcesoId(2L).build();
+        this.tipoCivil = TipoCliente.builder()
+            .id(2L).nombre("Civil").codigo("CIV").esCivil(true).tipoProcesoId(1L).build();
+    }
+
+    public List<CategoriaArma> getCategorias() {
+        return categorias;
+    }
+
+    // ======================== Armas ========================
+
+    public List<Arma> catalogoArmas(int cantidad) {
+        List<Arma> armas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            armas.add(arma((long) (i + 1)));
+        }
+        return armas;
+    }
+
+    public Arma arma(Long id) {
+        Arma arma = new Arma();
+        arma.setId(id);
+        arma.setCodigo("ARM-" + id);
+        // El sufijo numérico hace cada modelo único dentro del catálogo
+        arma.setModelo(elegir(MODELOS) + " " + id);
+        arma.setMarca(elegir(MARCAS));
+        arma.setCalibre(elegir(CALIBRES));
+        arma.setColor(random.nextBoolean() ? "Negro" : "FDE");
+        arma.setAlimentadora(random.nextBoolean() ? "2" : "3");
+        arma.setCapacidad(10 + random.nextInt(10));
+        arma.setPrecioReferencia(monto(600, 1800));
+        arma.setCategoria(categorias.get(random.nextInt(categorias.size())));
+        arma.setEstado(true);
+        return arma;
+    }
+
+    // ======================== Clientes ========================
+
+    public Cliente cliente(Long id, boolean uniformado) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setNumeroIdentificacion(String.format("17%08d", id));
+        cliente.setNombres(elegir(NOMBRES));
+        cliente.setApellidos(elegir(APELLIDOS));
+        cliente.setEmail("cliente" + id + "@example.com");
+        cliente.setTelefonoPrincipal(String.format("09%08d", id));
+        cliente.setDireccion("Av. Amazonas N" + id + " y Colón");
+        cliente.setProvincia("17");
+        cliente.setCanton("Quito");
+        cliente.setFechaNacimiento(LocalDate.of(1970 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        cliente.setEstado(EstadoCliente.EN_PROCESO);
+        if (uniformado) {
+            cliente.setTipoCliente(tipoMilitar);
+            cliente.setEstadoMilitar(random.nextBoolean() ? EstadoMilitar.ACTIVO : EstadoMilitar.PASIVO);
+            cliente.setRango(elegir(RANGOS));
+            cliente.setCodigoIssfa("ISSFA-" + id);
+        } else {
+            cliente.setTipoCliente(tipoCivil);
+        }
+        return cliente;
+    }
+
+    public List<ClienteArma> armasCliente(Cliente cliente, List<Arma> catalogo, int cantidad) {
+        List<ClienteArma> armas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            ClienteArma clienteArma = new ClienteArma();
+            clienteArma.setId(cliente.getId() * 100 + i);
+            clienteArma.setCliente(cliente);
+            clienteArma.setArma(catalogo.get(random.nextInt(catalogo.size())));
+            clienteArma.setCantidad(1 + random.nextInt(2));
+            clienteArma.setPrecioUnitario(clienteArma.getArma().getPrecioReferencia());
+            clienteArma.setEstado(ClienteArma.EstadoClienteArma.RESERVADA);
+            armas.add(clienteArma);
+        }
+        return armas;
+    }
+
+    /**
+     * ClienteDTO con el mismo llenado que produce ClienteMapper para el listado paginado.
+     */
+    public ClienteDTO clienteDTO(Long id) {
+        Cliente cliente = cliente(id, random.nextBoolean());
+        TipoCliente tipo = cliente.getTipoCliente();
+        return ClienteDTO.builder()
+            .id(id)
+            .numeroIdentificacion(cliente.getNumeroIdentificacion())
+            .nombres(cliente.getNombres())
+            .apellidos(cliente.getApellidos())
+            .fechaNacimiento(cliente.getFechaNacimiento())
+            .direccion(cliente.getDireccion())
+            .provincia(cliente.getProvincia())
+            .canton(cliente.getCanton())
+            .email(cliente.getEmail())
+            .telefonoPrincipal(cliente.getTelefonoPrincipal())
+            .estadoMilitar(cliente.getEstadoMilitar())
+            .codigoIssfa(cliente.getCodigoIssfa())
+            .rango(cliente.getRango())
+            .usuarioCreadorId(1L + random.nextInt(5))
+            .vendedorNombre("VENDEDOR")
+            .vendedorApellidos("PRUEBA")
+            .fechaCreacion(LocalDateTime.of(2025, 1, 1, 10, 0).plusHours(id))
+            .fechaActualizacion(LocalDateTime.of(2025, 6, 1, 10, 0).plusHours(id))
+            .estado(cliente.getEstado())
+            .procesoCompletado(random.nextBoolean())
+            .aprobadoPorJefeVentas(random.nextBoolean())
+            .emailVerificado(true)
+            .estadoPago(random.nextBoolean() ? "ABONADO" : "IMPAGO")
+            .grupoImportacionNombre("GRUPO 2025-" + (id % 7))
+            .licenciaNombre("IMPORTADORA SINTETICA")
+            .licenciaNumero("LIC-" + (id % 3))
+            .tieneContrato(random.nextBoolean())
+            .tieneSolicitud(random.nextBoolean())
+            .tieneCotizacion(random.nextBoolean())
+            .tieneDocumentosGenerados(true)
+            .tipoIdentificacionId(1L)
+            .tipoIdentificacionNombre("Cédula")
+            .tipoClienteId(tipo.getId())
+            .tipoClienteNombre(tipo.getNombre())
+            .tipoClienteCodigo(tipo.getCodigo())
+            .tipoProcesoNombre(tipo.esCivil() ? "Cupo Civil" : "Extracupo Uniformado")
+            .tipoClienteEsMilitar(tipo.esMilitar())
+            .tipoClienteEsPolicia(tipo.esPolicia())
+            .tipoClienteEsEmpresa(tipo.esEmpresa())
+            .tipoClienteEsDeportista(tipo.esDeportista())
+            .tipoClienteEsCivil(tipo.esCivil())
+            .tipoClienteRequiereIssfa(tipo.requiereIssfa())
+            .tipoClienteTipoProcesoId(tipo.getTipoProcesoId())
+            .build();
+    }
+
+    // ======================== Grupos ========================
+
+    public Licencia licencia() {
+        Licencia licencia = new Licencia();
+        licencia.setId(1L);
+        licencia.setNumero("LIC-0001");
+        licencia.setNombre("IMPORTADORA SINTETICA S.A.");
+        licencia.setTitulo("ING.");
+        licencia.setRuc("1790000000001");
+        licencia.setCedulaCuenta("1700000000");
+        licencia.setCuentaBancaria("2200000000");
+        licencia.setNombreBanco("BANCO PICHINCHA");
+        licencia.setEmail("importadora@example.com");
+        licencia.setTelefono("022000000");
+        return licencia;
+    }
+
+    public List<GrupoImportacion> grupos(int cantidad) {
+        Licencia licencia = licencia();
+        List<GrupoImportacion> grupos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            GrupoImportacion grupo = new GrupoImportacion();
+            grupo.setId((long) (i + 1));
+            grupo.setNombre("GRUPO SINTETICO " + (i + 1));
+            grupo.setCodigo("GI-2025-" + (i + 1));
+            grupo.setTipoGrupo(random.nextInt(4) == 0 ? TipoGrupo.JUSTIFICATIVO : TipoGrupo.CUPO);
+            grupo.setEstado(EstadoGrupoImportacion.EN_PROCESO_ASIGNACION_CLIENTES);
+            grupo.setLicencia(licencia);
+            grupo.setCupoTotal(25);
+            grupos.add(grupo);
+        }
+        return grupos;
+    }
+
+    // ======================== Pagos ========================
+
+    public Pago pago(Long id, Long clienteId, boolean credito) {
+        BigDecimal subtotal = monto(800, 2500);
+        BigDecimal iva = subtotal.multiply(new BigDecimal("0.15")).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal total = subtotal.add(iva);
+        int numeroCuotas = credito ? 2 + random.nextInt(5) : 1;
+
+        Pago pago = new Pago();
+        pago.setId(id);
+        pago.setClienteId(clienteId);
+        pago.setSubtotal(subtotal);
+        pago.setMontoIva(iva);
+        pago.setMontoTotal(total);
+        pago.setTipoPago(credito ? TipoPago.CREDITO : TipoPago.CONTADO);
+        pago.setNumeroCuotas(numeroCuotas);
+        pago.setMontoCuota(total.divide(BigDecimal.valueOf(numeroCuotas), 2, RoundingMode.HALF_UP));
+        pago.setEstado(EstadoPago.PENDIENTE);
+        pago.setMontoPagado(BigDecimal.ZERO);
+        pago.setMontoPendiente(total);
+        return pago;
+    }
+
+    public List<CuotaPago> cuotas(Pago pago) {
+        List<CuotaPago> cuotas = new ArrayList<>();
+        LocalDate vencimiento = LocalDate.of(2025, 1, 15);
+        for (int i = 1; i <= pago.getNumeroCuotas(); i++) {
+            CuotaPago cuota = new CuotaPago();
+            cuota.setId(pago.getId() * 100 + i);
+            cuota.setPago(pago);
+            cuota.setNumeroCuota(i);
+            cuota.setMonto(pago.getMontoCuota());
+            cuota.setFechaVencimiento(vencimiento.plusMonths(i - 1));
+            cuota.setEstado(EstadoCuotaPago.PENDIENTE);
+            cuotas.add(cuota);
+        }
+        return cuotas;
+    }
+
+    public List<BigDecimal> montos(int cantidad) {
+        List<BigDecimal> montos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            montos.add(monto(1, 999_999));
+        }
+        return montos;
+    }
+
+    // ======================== Plantillas PDF ========================
+
+    /**
+     * Superconjunto de variables que preparan los generadores de documentos
+     * (contrato, cotización, solicitud, autorización y recibo), de modo que cualquier
+     * plantilla de templates/ se pueda renderizar con el mismo mapa.
+     */
+    public Map<String, Object> variablesPlantilla(NumberToTextService numberToTextService) {
+        Cliente cliente = cliente(1L, true);
+        List<ClienteArma> armasCliente = armasCliente(cliente, catalogoArmas(10), 2);
+        Arma arma = armasCliente.get(0).getArma();
+        Pago pago = pago(1L, cliente.getId(), true);
+        List<CuotaPago> cuotas = cuotas(pago);
+        Licencia licencia = licencia();
+
+        List<Map<String, Object>> armasDetalle = new ArrayList<>();
+        int totalArmas = 0;
+        for (ClienteArma clienteArma : armasCliente) {
+            Map<String, Object> detalle = new HashMap<>();
+            detalle.put("categoria", clienteArma.getArma().getCategoria().getNombre());
+            detalle.put("marca", clienteArma.getArma().getMarca());
+            detalle.put("modelo", clienteArma.getArma().getModelo());
+            detalle.put("calibre", clienteArma.getArma().getCalibre());
+            detalle.put("alimentadora", clienteArma.getArma().getAlimentadora());
+            detalle.put("cantidad", clienteArma.getCantidad());
+            armasDetalle.add(detalle);
+            totalArmas += clienteArma.getCantidad();
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("cliente", cliente);
+        variables.put("pago", pago);
+        variables.put("arma", arma);
+        variables.put("cuotas", cuotas);
+        variables.put("ivaPorcentaje", 15.0);
+        variables.put("ivaDecimal", 0.15);
+        variables.put("numberToTextService", numberToTextService);
+        variables.put("armasDetalle", armasDetalle);
+        variables.put("cantidadArmas", totalArmas);
+        variables.put("cantidadArmasTexto", totalArmas + " armas");
+        variables.put("cantidadArmasSolicitud", "dos armas (" + totalArmas + ")");
+        variables.put("armasResumenTexto", "UNA (1) PISTOLA CZ MODELO " + arma.getModelo());
+        variables.put("clienteRango", cliente.getRango());
+        variables.put("estadoMilitarLowercase", cliente.getEstadoMilitar().toString().toLowerCase());
+        variables.put("estadoMilitarUpper", cliente.getEstadoMilitar().toString());
+        variables.put("fechaActual", LocalDate.of(2025, 3, 10));
+        variables.put("fechaCotizacion", "Quito, 10 de marzo del 2025");
+        variables.put("fechaSolicitud", "Quito, 10 de marzo del 2025");
+        variables.put("numeroCotizacion", "COT-0001");
+        variables.put("clienteDireccionCompleta", "PICHINCHA, " + cliente.getDireccion());
+        variables.put("licenciaTitulo", licencia.getTitulo());
+        variables.put("licenciaNombre", licencia.getNombre());
+        variables.put("licenciaCedula", licencia.getCedulaCuenta());
+        variables.put("licenciaNumero", licencia.getNumero());
+        variables.put("licenciaRuc", licencia.getRuc());
+        variables.put("licenciaRUC", licencia.getRuc());
+        variables.put("licenciaEmail", licencia.getEmail());
+        variables.put("licenciaTelefono", licencia.getTelefono());
+        variables.put("licenciaIniciales", "IS");
+        variables.put("licenciaNombreBanco", licencia.getNombreBanco());
+        variables.put("licenciaTipoCuenta", "AHORROS");
+        variables.put("licenciaCuentaBancaria", licencia.getCuentaBancaria());
+        variables.put("numeroSerie", "SN-000001");
+        variables.put("numeroFactura", "001-001-000001234");
+        variables.put("ultimos4NumerosFactura", "1234");
+        variables.put("tramite", "TRA-0000000001");
+        variables.put("anioActual", 2025);
+        variables.put("coordinadorNombre", "COORDINADOR SINTETICO");
+        variables.put("coordinadorCargo", "COORDINADOR");
+        variables.put("coordinadorDireccion", "QUITO");
+        variables.put("logoImageUrl", "../../../static/images/logos/cz-logo.png");
+        variables.put("watermarkImageUrl", "../../../static/images/logos/cz-watermark.png");
+        // Variables del recibo de cuota
+        CuotaPago cuota = cuotas.get(0);
+        variables.put("numeroRecibo", "REC-0001");
+        variables.put("numeroCuota", cuota.getNumeroCuota());
+        variables.put("fechaPago", "10/03/2025");
+        variables.put("fechaDocumento", "10 de marzo del 2025");
+        variables.put("clienteNombre", cliente.getNombres() + " " + cliente.getApellidos());
+        variables.put("clienteCedula", cliente.getNumeroIdentificacion());
+        variables.put("clienteDireccion", cliente.getDireccion());
+        variables.put("clienteTelefono", cliente.getTelefonoPrincipal());
+        variables.put("clienteEmail", cliente.getEmail());
+        variables.put("esUniformado", true);
+        variables.put("montoFormateado", "$" + cuota.getMonto());
+        variables.put("montoEnLetras", numberToTextService.convertToText(cuota.getMonto()));
+        variables.put("montoTotalPagoFormateado", "$" + pago.getMontoTotal());
+        variables.put("saldoPendienteFormateado", "$" + pago.getMontoPendiente());
+        variables.put("referenciaPago", "TRF-000123");
+        variables.put("armaNombre", arma.getModelo());
+        variables.put("armaModelo", arma.getModelo());
+        variables.put("armaCalibre", arma.getCalibre());
+        return variables;
+    }
+
+    // ======================== Helpers ========================
+
+    private BigDecimal monto(int minimo, int maximo) {
+        long centavos = (long) minimo * 100 + (long) (random.nextDouble() * (maximo - minimo) * 100);
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    private String elegir(String[] valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+}
@@ -0,0 +1,128 @@
+package com.armasimportacion.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.armasimportacion.config.PresupuestoLogsFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Latencia de una petición simulada (trabajo fijo de CPU más las líneas de log de la
+ * descarga de un documento) con 4 hilos concurrentes, según la configuración de logback.
+ *
+ * modo:
+ * - APAGADO: logger en WARN, las líneas INFO no se escriben (referencia sin logging).
+ * - SINCRONO: FileAppender directo, como logback-spring.xml antes de los AsyncAppender.
+ * - ASINCRONO: AsyncAppender (cola 8192, neverBlock) delante del mismo FileAppender.
+ * - ASINCRONO_PRESUPUESTO: lo anterior más PresupuestoLogsFilter a 20 eventos/s.
+ *
+ * lineasPorPeticion 8 reproduce DocumentoController.serveDocumentoCliente anterior (ocho
+ * INFO por descarga); 1 es lo que queda en INFO tras bajar el resto a DEBUG. Cada modo usa
+ * su propio LoggerContext, sin tocar la configuración global de logback-test.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class LoggingLatenciaBenchmark {
+
+    public enum Modo { APAGADO, SINCRONO, ASINCRONO, ASINCRONO_PRESUPUESTO }
+
+    private static final int TRABAJO_PETICION = 2_000;
+
+    @Param({"APAGADO", "SINCRONO", "ASINCRONO", "ASINCRONO_PRESUPUESTO"})
+    public Modo modo;
+
+    @Param({"1", "8"})
+    public int lineasPorPeticion;
+
+    private Path directorio;
+    private LoggerContext contexto;
+    private Logger logger;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directorio = Files.createTempDirectory("gmarm-logs-");
+        contexto = new LoggerContext();
+        contexto.setName("benchmark-" + modo);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> archivo = new FileAppender<>();
+        archivo.setContext(contexto);
+        archivo.setName("FILE");
+        archivo.setFile(directorio.resolve("gmarm.log").toString());
+        archivo.setEncoder(encoder);
+        archivo.start();
+
+        Appender<ILoggingEvent> destino = archivo;
+        if (modo == Modo.ASINCRONO || modo == Modo.ASINCRONO_PRESUPUESTO) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(contexto);
+            async.setName("ASYNC_FILE");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(archivo);
+            async.start();
+            destino = async;
+        }
+        if (modo == Modo.ASINCRONO_PRESUPUESTO) {
+            PresupuestoLogsFilter presupuesto = new PresupuestoLogsFilter();
+            presupuesto.setContext(contexto);
+            presupuesto.addPresupuesto("com.armasimportacion=20");
+            presupuesto.start();
+            contexto.addTurboFilter(presupuesto);
+        }
+
+        logger = contexto.getLogger("com.armasimportacion.controller.DocumentoController");
+        logger.setAdditive(false);
+        logger.addAppender(destino);
+        logger.setLevel(modo == Modo.APAGADO ? ch.qos.logback.classic.Level.WARN : ch.qos.logback.classic.Level.INFO);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        contexto.stop();
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            for (Path archivo : archivos.toList()) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+        Files.deleteIfExists(directorio);
+    }
+
+    @Benchmark
+    public void peticion() {
+        Blackhole.consumeCPU(TRABAJO_PETICION);
+        long documentoId = Thread.currentThread().threadId();
+        for (int i = 0; i < lineasPorPeticion; i++) {
+            logger.info("Documento cliente {}: ruta /app/documentacion/documentos_cliente/{}/cedula.pdf - paso {}",
+                    documentoId, documentoId, i);
+        }
+    }
+}
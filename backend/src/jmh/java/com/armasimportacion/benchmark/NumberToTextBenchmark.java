@@ -0,0 +1,41 @@
+package com.armasimportacion.benchmark;
+
+import com.armasimportacion.service.NumberToTextService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de montos a letras, invocada por las plantillas de contrato y cotización
+ * una vez por cuota y por total.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NumberToTextBenchmark {
+
+    private NumberToTextService numberToTextService;
+    private List<BigDecimal> montos;
+
+    @Setup
+    public void setup() {
+        numberToTextService = new NumberToTextService();
+        montos = new DatosSinteticos(42L).montos(1_000);
+    }
+
+    @Benchmark
+    public void convertToText(Blackhole blackhole) {
+        for (BigDecimal monto : montos) {
+            blackhole.consume(numberToTextService.convertToText(monto));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.armasimportacion.benchmark;
+
+import com.armasimportacion.config.ConcurrencyLimits;
+import com.armasimportacion.service.FlyingSaucerPdfService;
+import com.armasimportacion.service.NumberToTextService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renderizado Thymeleaf + Flying Saucer por plantilla, con la misma configuración
+ * de resolución que aplica Spring Boot (classpath:/templates/, HTML, UTF-8, caché activa).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfTemplateBenchmark {
+
+    @Param({
+        "contratos/uniformados/contrato_compra_fuerza_terrestre",
+        "contratos/uniformados/contrato_compra_fuerza_naval",
+        "contratos/uniformados/contrato_compra_fuerza_aerea",
+        "contratos/uniformados/contrato_compra_policia",
+        "contratos/companias/contrato_compania_seguridad",
+        "contratos/uniformados/cotizacion_fuerza_terrestre",
+        "contratos/uniformados/cotizacion_fuerza_naval",
+        "contratos/uniformados/cotizacion_fuerza_aerea",
+        "contratos/uniformados/cotizacion_policia",
+        "contratos/civiles/solicitud_compra",
+        "contratos/uniformados/solicitud_compra_fuerza_terrestre",
+        "contratos/uniformados/solicitud_compra_fuerza_naval",
+        "contratos/uniformados/solicitud_compra_fuerza_aerea",
+        "contratos/uniformados/solicitud_compra_policia",
+        "autorizaciones/autorizacion_venta",
+        "recibo-cuota-pago"
+    })
+    public String template;
+
+    private FlyingSaucerPdfService pdfService;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        pdfService = new FlyingSaucerPdfService(templateEngine, ConcurrencyLimits.sinLimites());
+        variables = new DatosSinteticos(42L).variablesPlantilla(new NumberToTextService());
+    }
+
+    @Benchmark
+    public byte[] generarPdfDesdeTemplate() {
+        return pdfService.generarPdfDesdeTemplate(template, variables);
+    }
+}
@@ -0,0 +1,51 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.benchmark.DatosSinteticos;
+import com.armasimportacion.model.Arma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de arma por Modelo/Calibre/Categoría/Marca normalizados contra el catálogo,
+ * ejecutada una vez por fila en la carga masiva de series (ArmaSerieService.bulkUploadSeriesFromJson).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArmaSerieNormalizacionBenchmark {
+
+    @Param({"50", "300"})
+    public int tamanioCatalogo;
+
+    private ArmaSerieService armaSerieService;
+    private List<Arma> catalogo;
+    private Arma buscada;
+
+    @Setup
+    public void setup() {
+        // La búsqueda por características no usa repositorios
+        armaSerieService = new ArmaSerieService(null, null, null, null, null, null);
+        catalogo = new DatosSinteticos(42L).catalogoArmas(tamanioCatalogo);
+        // La fila del Excel trae mayúsculas y espacios distintos a los del catálogo
+        buscada = catalogo.get(catalogo.size() / 2);
+    }
+
+    @Benchmark
+    public Arma buscarArmaPorCaracteristicas() {
+        return armaSerieService.buscarArmaPorCaracteristicas(
+            catalogo,
+            "  " + buscada.getModelo().toUpperCase() + " ",
+            buscada.getCalibre().replace(" ", "  "),
+            buscada.getCategoria().getNombre().toLowerCase(),
+            " " + buscada.getMarca());
+    }
+}
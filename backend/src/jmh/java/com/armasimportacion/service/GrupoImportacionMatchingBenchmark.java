@@ -0,0 +1,58 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.benchmark.DatosSinteticos;
+import com.armasimportacion.enums.TipoGrupo;
+import com.armasimportacion.model.GrupoImportacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking de grupos candidatos (GrupoImportacionMatchingService.seleccionarMejorGrupo).
+ * Vive en el paquete del servicio porque el método y su tipo de candidato son de paquete.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GrupoImportacionMatchingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int candidatos;
+
+    private GrupoImportacionMatchingService matchingService;
+    private List<GrupoImportacionMatchingService.GrupoImportacionConPrioridad> listaCandidatos;
+
+    @Setup
+    public void setup() {
+        // El ranking no usa repositorios
+        matchingService = new GrupoImportacionMatchingService(null, null, null, null, null, null);
+        Random random = new Random(42L);
+        listaCandidatos = new ArrayList<>(candidatos);
+        for (GrupoImportacion grupo : new DatosSinteticos(42L).grupos(candidatos)) {
+            if (grupo.getTipoGrupo() == TipoGrupo.JUSTIFICATIVO) {
+                listaCandidatos.add(new GrupoImportacionMatchingService.GrupoImportacionConPrioridad(grupo, 0, Integer.MAX_VALUE));
+            } else {
+                int limite = grupo.getCupoTotal();
+                int ocupados = random.nextInt(limite + 1);
+                listaCandidatos.add(new GrupoImportacionMatchingService.GrupoImportacionConPrioridad(
+                    grupo, ocupados * 100 / limite, limite - ocupados));
+            }
+        }
+    }
+
+    @Benchmark
+    public GrupoImportacion seleccionarMejorGrupo() {
+        // seleccionarMejorGrupo ordena en sitio: cada invocación parte del mismo orden
+        return matchingService.seleccionarMejorGrupo(new ArrayList<>(listaCandidatos), 1L, 1L);
+    }
+}
@@ -0,0 +1,54 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.benchmark.DatosSinteticos;
+import com.armasimportacion.model.Arma;
+import com.armasimportacion.model.ClienteArma;
+import com.armasimportacion.model.GrupoImportacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación del XLSX del pedido a fábrica (PedidoArmasGrupoImportacionService.construirExcelPedido)
+ * para grupos de distinto tamaño.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PedidoArmasExcelBenchmark {
+
+    @Param({"25", "250"})
+    public int clientes;
+
+    private PedidoArmasGrupoImportacionService pedidoService;
+    private GrupoImportacion grupo;
+    private List<ClienteArma> armasGrupo;
+
+    @Setup
+    public void setup() {
+        // construirExcelPedido trabaja solo con las armas ya cargadas
+        pedidoService = new PedidoArmasGrupoImportacionService(null, null, null, null, null, null, null, null);
+        DatosSinteticos datos = new DatosSinteticos(42L);
+        grupo = datos.grupos(1).get(0);
+        List<Arma> catalogo = datos.catalogoArmas(30);
+        armasGrupo = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            armasGrupo.addAll(datos.armasCliente(datos.cliente((long) (i + 1), i % 2 == 0), catalogo, 1));
+        }
+    }
+
+    @Benchmark
+    public byte[] construirExcelPedido() throws IOException {
+        return pedidoService.construirExcelPedido(grupo, armasGrupo);
+    }
+}
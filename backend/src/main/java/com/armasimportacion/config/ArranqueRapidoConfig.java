@@ -0,0 +1,34 @@
+package com.armasimportacion.config;
+
+import com.armasimportacion.service.NotificacionTiempoRealService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Perfil arranque-rapido (application-arranque-rapido.properties): con
+ * spring.main.lazy-initialization los beans se crean en el primer uso, así Thymeleaf y
+ * Flying Saucer, POI y el correo no se inicializan al arrancar sino con la primera
+ * petición que los necesita.
+ *
+ * Quedan fuera de la inicialización diferida los beans que tienen que estar activos desde
+ * el arranque aunque nadie los pida: las migraciones de Flyway y el EntityManagerFactory
+ * (un esquema incompatible debe impedir el despliegue, no fallar en la primera petición;
+ * con bootstrap-mode=deferred Hibernate se construye en segundo plano) y el listener de
+ * notificaciones entre réplicas. Sin el perfil este filtro no tiene efecto.
+ */
+@Configuration
+public class ArranqueRapidoConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter beansActivosDesdeElArranque() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                Flyway.class,
+                FlywayMigrationInitializer.class,
+                EntityManagerFactory.class,
+                NotificacionTiempoRealService.class);
+    }
+}
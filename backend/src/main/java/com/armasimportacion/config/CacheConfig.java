@@ -0,0 +1,52 @@
+package com.armasimportacion.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Caches Caffeine de la aplicación (cache-aside con @Cacheable).
+ *
+ * Cada cache toma su política de app.cache.&lt;nombre&gt;.spec (sintaxis CaffeineSpec:
+ * maximumSize, expireAfterWrite, expireAfterAccess) o de app.cache.spec-defecto. Las
+ * estadísticas se activan siempre: Actuator publica cache.gets, cache.puts y
+ * cache.evictions por cache en /actuator/metrics.
+ *
+ * El gestor es transaccional: un evict o put hecho dentro de una transacción se aplica
+ * después del commit, así una lectura concurrente no vuelve a cargar datos sin confirmar.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USUARIOS = "usuarios";
+    public static final String LICENCIAS = "licencias";
+    public static final String ARMAS = "armas";
+    public static final String CATEGORIAS_ARMA = "categorias-arma";
+    public static final String USUARIO_ACTUAL = "usuario-actual";
+    public static final String MIEMBROS_ROL = "miembros-rol";
+
+    private static final List<String> CACHES = List.of(
+            USUARIOS, LICENCIAS, ARMAS, CATEGORIAS_ARMA, USUARIO_ACTUAL, MIEMBROS_ROL);
+
+    @Bean
+    public CacheManager cacheManager(Environment environment,
+                                     @Value("${app.cache.spec-defecto:maximumSize=500,expireAfterWrite=600s}") String specDefecto) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        // Solo las caches declaradas: un nombre mal escrito en @Cacheable falla al usarse
+        caffeine.setCacheNames(CACHES);
+        for (String nombre : CACHES) {
+            String spec = environment.getProperty("app.cache." + nombre + ".spec", specDefecto);
+            caffeine.registerCustomCache(nombre, Caffeine.from(spec).recordStats().build());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,141 @@
+package com.armasimportacion.config;
+
+import com.armasimportacion.util.ConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+/**
+ * Modo opcional de hilos virtuales (perfil "virtual-threads").
+ *
+ * Con spring.threads.virtual.enabled=true Tomcat y los ejecutores de Spring usan hilos
+ * virtuales, por lo que ya no es el pool de Tomcat quien acota la concurrencia. Los
+ * recursos escasos quedan protegidos por semáforos: el pool JDBC (mismo tamaño que Hikari),
+ * el render de PDF (CPU y memoria) y el envío SMTP.
+ *
+ * Las exportaciones se limitan en ambos modos: cada una retiene una conexión y una
+ * transacción de solo lectura mientras dura el stream (hasta spring.mvc.async.request-timeout),
+ * así que sin tope unas pocas dejarían sin conexiones a las escrituras. Al llegar al tope
+ * la petición se rechaza de inmediato con 503.
+ */
+@Configuration
+@Slf4j
+public class ConcurrencyConfig {
+
+    @Bean
+    public ConcurrencyLimits concurrencyLimits(
+            @Value("${app.concurrency.enabled:false}") boolean habilitado,
+            @Value("${app.concurrency.jdbc.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permisosJdbc,
+            @Value("${app.concurrency.pdf.permits:2}") int permisosPdf,
+            @Value("${app.concurrency.smtp.permits:2}") int permisosSmtp,
+            @Value("${app.concurrency.acquire-timeout-ms:${spring.datasource.hikari.connection-timeout:30000}}") long timeoutMs,
+            @Value("${app.exportaciones.max-concurrentes:2}") int permisosExportaciones,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        ConcurrencyLimiter exportaciones = new ConcurrencyLimiter("exportaciones", permisosExportaciones, 0);
+        ConcurrencyLimits limites;
+        if (habilitado) {
+            limites = new ConcurrencyLimits(
+                    new ConcurrencyLimiter("jdbc", permisosJdbc, timeoutMs),
+                    new ConcurrencyLimiter("pdf", permisosPdf, timeoutMs),
+                    new ConcurrencyLimiter("smtp", permisosSmtp, timeoutMs),
+                    exportaciones);
+            log.info("Límites de concurrencia activos: jdbc={}, pdf={}, smtp={}, exportaciones={}, timeout={}ms",
+                    permisosJdbc, permisosPdf, permisosSmtp, permisosExportaciones, timeoutMs);
+        } else {
+            ConcurrencyLimits pasantes = ConcurrencyLimits.sinLimites();
+            limites = new ConcurrencyLimits(pasantes.jdbc(), pasantes.pdf(), pasantes.smtp(), exportaciones);
+        }
+
+        meterRegistry.ifAvailable(registry -> {
+            for (ConcurrencyLimiter limiter : List.of(limites.jdbc(), limites.pdf(), limites.smtp(), limites.exportaciones())) {
+                if (!limiter.isActivo()) {
+                    continue;
+                }
+                Gauge.builder("gmarm.concurrency.disponibles", limiter, ConcurrencyLimiter::getPermisosDisponibles)
+                        .tag("recurso", limiter.getNombre())
+                        .register(registry);
+                Gauge.builder("gmarm.concurrency.en_espera", limiter, ConcurrencyLimiter::getHilosEnEspera)
+                        .tag("recurso", limiter.getNombre())
+                        .register(registry);
+            }
+        });
+        return limites;
+    }
+
+    /**
+     * Envuelve el DataSource para que cada conexión prestada consuma un permiso del limitador JDBC.
+     * Así los hilos virtuales esperan en un semáforo justo en lugar de acumularse dentro de Hikari.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyPostProcessor(ObjectProvider<ConcurrencyLimits> limites) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LimitedDataSource)) {
+                    ConcurrencyLimiter jdbc = limites.getObject().jdbc();
+                    if (jdbc.isActivo()) {
+                        return new LimitedDataSource(dataSource, jdbc);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class LimitedDataSource extends DelegatingDataSource {
+
+        private final ConcurrencyLimiter limiter;
+
+        LimitedDataSource(DataSource target, ConcurrencyLimiter limiter) {
+            super(target);
+            this.limiter = limiter;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            adquirir();
+            return envolver(() -> super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            adquirir();
+            return envolver(() -> super.getConnection(username, password));
+        }
+
+        private void adquirir() throws SQLTransientConnectionException {
+            if (!limiter.adquirir()) {
+                throw new SQLTransientConnectionException("Pool de conexiones saturado, sin permiso disponible a tiempo");
+            }
+        }
+
+        private Connection envolver(ConnectionSupplier supplier) throws SQLException {
+            Connection conexion;
+            try {
+                conexion = supplier.get();
+            } catch (SQLException | RuntimeException e) {
+                limiter.liberar();
+                throw e;
+            }
+            return ConexionAlCerrar.envolver(conexion, limiter::liberar);
+        }
+
+        @FunctionalInterface
+        private interface ConnectionSupplier {
+            Connection get() throws SQLException;
+        }
+    }
+}
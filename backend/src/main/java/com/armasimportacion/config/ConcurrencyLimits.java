@@ -0,0 +1,19 @@
+package com.armasimportacion.config;
+
+import com.armasimportacion.util.ConcurrencyLimiter;
+
+/**
+ * Limitadores por recurso compartido. En modo clásico (sin hilos virtuales) jdbc, pdf y smtp
+ * son pasantes; el de exportaciones acota siempre cuántas conexiones retienen los streams largos.
+ */
+public record ConcurrencyLimits(ConcurrencyLimiter jdbc, ConcurrencyLimiter pdf, ConcurrencyLimiter smtp,
+                                ConcurrencyLimiter exportaciones) {
+
+    public static ConcurrencyLimits sinLimites() {
+        return new ConcurrencyLimits(
+                ConcurrencyLimiter.sinLimite("jdbc"),
+                ConcurrencyLimiter.sinLimite("pdf"),
+                ConcurrencyLimiter.sinLimite("smtp"),
+                ConcurrencyLimiter.sinLimite("exportaciones"));
+    }
+}
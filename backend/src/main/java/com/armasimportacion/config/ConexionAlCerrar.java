@@ -0,0 +1,41 @@
+package com.armasimportacion.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Proxy de Connection que ejecuta una acción una sola vez cuando la conexión se devuelve al pool.
+ * Lo usan los envoltorios de DataSource (límite de concurrencia, métricas de retención).
+ */
+final class ConexionAlCerrar {
+
+    private ConexionAlCerrar() {
+    }
+
+    static Connection envolver(Connection conexion, Runnable alCerrar) {
+        AtomicBoolean cerrada = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    boolean cerrando = "close".equals(method.getName()) && cerrada.compareAndSet(false, true);
+                    try {
+                        return method.invoke(conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (cerrando) {
+                            alCerrar.run();
+                        }
+                    }
+                });
+    }
+}
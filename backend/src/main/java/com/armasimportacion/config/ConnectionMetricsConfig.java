@@ -0,0 +1,94 @@
+package com.armasimportacion.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Métrica gmarm.db.connection.hold: cuánto tiempo retiene cada endpoint una conexión JDBC,
+ * desde que la pide al pool hasta que la devuelve. Complementa hikari.connections.usage
+ * (global) para ubicar qué endpoints mantienen conexiones ocupadas durante SMTP o PDF.
+ */
+@Configuration
+public class ConnectionMetricsConfig {
+
+    static final String METRICA_RETENCION = "gmarm.db.connection.hold";
+    private static final String SIN_PETICION = "background";
+
+    @Bean
+    public static BeanPostProcessor dataSourceRetencionPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.metrics.connection-hold.enabled:true}") boolean habilitado) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (habilitado && bean instanceof DataSource dataSource && !(bean instanceof MedicionDataSource)) {
+                    return new MedicionDataSource(dataSource, meterRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class MedicionDataSource extends DelegatingDataSource {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        MedicionDataSource(DataSource target, ObjectProvider<MeterRegistry> meterRegistry) {
+            super(target);
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return medir(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return medir(super.getConnection(username, password));
+        }
+
+        private Connection medir(Connection conexion) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return conexion;
+            }
+            String[] endpoint = endpointActual();
+            Timer.Sample muestra = Timer.start(registry);
+            return ConexionAlCerrar.envolver(conexion, () -> muestra.stop(Timer.builder(METRICA_RETENCION)
+                    .description("Tiempo que una conexión JDBC permanece prestada")
+                    .tag("method", endpoint[0])
+                    .tag("uri", endpoint[1])
+                    .publishPercentiles(0.5, 0.95)
+                    .register(registry)));
+        }
+
+        /**
+         * Método y patrón de la ruta (no la URI real, para no disparar la cardinalidad).
+         */
+        private static String[] endpointActual() {
+            RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+            if (!(atributos instanceof ServletRequestAttributes servletAtributos)) {
+                return new String[]{SIN_PETICION, SIN_PETICION};
+            }
+            HttpServletRequest request = servletAtributos.getRequest();
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return new String[]{request.getMethod(), patron != null ? patron.toString() : "UNKNOWN"};
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.armasimportacion.config;
 
 import com.armasimportacion.service.ConfiguracionSistemaService;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
@@ -17,54 +21,122 @@ public class EmailConfig {
 
     private final ConfiguracionSistemaService configuracionService;
 
+    /**
+     * La configuración SMTP se lee de configuracion_sistema en el primer uso (crear o enviar
+     * un mensaje), no al arrancar: el contexto no espera por la BD ni falla si todavía no
+     * está disponible.
+     */
     @Bean
     public JavaMailSender javaMailSender() {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
-        
-        try {
-            // Cargar configuración SMTP desde base de datos
-            String host = configuracionService.getValorConfiguracion("SMTP_HOST");
-            String port = configuracionService.getValorConfiguracion("SMTP_PORT");
-            String username = configuracionService.getValorConfiguracion("SMTP_USERNAME");
-            String password = configuracionService.getValorConfiguracion("SMTP_PASSWORD");
-            String auth = configuracionService.getValorConfiguracion("SMTP_AUTH");
-            String starttls = configuracionService.getValorConfiguracion("SMTP_STARTTLS");
-            
-            mailSender.setHost(host);
-            mailSender.setPort(Integer.parseInt(port));
-            mailSender.setUsername(username);
-            mailSender.setPassword(password);
-            
-            Properties props = mailSender.getJavaMailProperties();
-            props.put("mail.transport.protocol", "smtp");
-            props.put("mail.smtp.auth", auth);
-            props.put("mail.smtp.starttls.enable", starttls);
-            props.put("mail.smtp.starttls.required", starttls);
-            props.put("mail.debug", "false"); // Cambiar a "true" para debugging
-            
-            log.info("Configuración SMTP cargada desde BD:");
-            log.info("Host: {}", host);
-            log.info("Puerto: {}", port);
-            log.info("Usuario: {}", username);
-            log.info("Auth: {}", auth);
-            log.info("STARTTLS: {}", starttls);
-            
-        } catch (Exception e) {
-            log.error("Error cargando configuración SMTP desde BD: {}", e.getMessage());
-            log.warn("Usando valores por defecto de application.properties");
-            
-            // Valores por defecto si falla la carga desde BD
-            mailSender.setHost("smtp.gmail.com");
-            mailSender.setPort(587);
-            
-            Properties props = mailSender.getJavaMailProperties();
-            props.put("mail.transport.protocol", "smtp");
-            props.put("mail.smtp.auth", "true");
-            props.put("mail.smtp.starttls.enable", "true");
-            props.put("mail.smtp.starttls.required", "true");
+        return new JavaMailSenderDesdeBd(configuracionService);
+    }
+
+    static class JavaMailSenderDesdeBd extends JavaMailSenderImpl {
+
+        private final ConfiguracionSistemaService configuracionService;
+        private volatile boolean cargada;
+
+        JavaMailSenderDesdeBd(ConfiguracionSistemaService configuracionService) {
+            this.configuracionService = configuracionService;
+        }
+
+        @Override
+        public synchronized Session getSession() {
+            cargar();
+            return super.getSession();
+        }
+
+        @Override
+        public String getHost() {
+            cargar();
+            return super.getHost();
+        }
+
+        @Override
+        public int getPort() {
+            cargar();
+            return super.getPort();
+        }
+
+        @Override
+        public String getUsername() {
+            cargar();
+            return super.getUsername();
+        }
+
+        @Override
+        public String getPassword() {
+            cargar();
+            return super.getPassword();
+        }
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+            cargar();
+            super.doSend(mimeMessages, originalMessages);
+        }
+
+        @Override
+        public void testConnection() throws MessagingException {
+            cargar();
+            super.testConnection();
+        }
+
+        private void cargar() {
+            if (cargada) {
+                return;
+            }
+            synchronized (this) {
+                if (cargada) {
+                    return;
+                }
+                try {
+                    // Cargar configuración SMTP desde base de datos
+                    String host = configuracionService.getValorConfiguracion("SMTP_HOST");
+                    String port = configuracionService.getValorConfiguracion("SMTP_PORT");
+                    String username = configuracionService.getValorConfiguracion("SMTP_USERNAME");
+                    String password = configuracionService.getValorConfiguracion("SMTP_PASSWORD");
+                    String auth = configuracionService.getValorConfiguracion("SMTP_AUTH");
+                    String starttls = configuracionService.getValorConfiguracion("SMTP_STARTTLS");
+
+                    setHost(host);
+                    setPort(Integer.parseInt(port));
+                    setUsername(username);
+                    setPassword(password);
+
+                    // Properties nuevas: setJavaMailProperties descarta la Session creada con
+                    // los valores por defecto si un intento anterior falló
+                    Properties props = new Properties();
+                    props.put("mail.transport.protocol", "smtp");
+                    props.put("mail.smtp.auth", auth);
+                    props.put("mail.smtp.starttls.enable", starttls);
+                    props.put("mail.smtp.starttls.required", starttls);
+                    // Un destinatario rechazado no cancela el envío a los demás (EntregaCorreoService)
+                    props.put("mail.smtp.sendpartial", "true");
+                    props.put("mail.debug", "false"); // Cambiar a "true" para debugging
+                    setJavaMailProperties(props);
+
+                    log.info("Configuración SMTP cargada desde BD: host={}, puerto={}, usuario={}, auth={}, starttls={}",
+                            host, port, username, auth, starttls);
+                    cargada = true;
+
+                } catch (Exception e) {
+                    log.error("Error cargando configuración SMTP desde BD: {}", e.getMessage());
+                    log.warn("Usando valores por defecto de application.properties");
+
+                    // Valores por defecto si falla la carga desde BD
+                    setHost("smtp.gmail.com");
+                    setPort(587);
+
+                    Properties props = getJavaMailProperties();
+                    props.put("mail.transport.protocol", "smtp");
+                    props.put("mail.smtp.auth", "true");
+                    props.put("mail.smtp.starttls.enable", "true");
+                    props.put("mail.smtp.starttls.required", "true");
+                    props.put("mail.smtp.sendpartial", "true");
+                    // Sin marcar cargada: el próximo uso vuelve a intentar leer la BD
+                }
+            }
         }
-        
-        return mailSender;
     }
 }
-
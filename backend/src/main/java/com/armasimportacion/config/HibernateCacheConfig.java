@@ -0,0 +1,76 @@
+package com.armasimportacion.config;
+
+import com.armasimportacion.model.Canton;
+import com.armasimportacion.model.CategoriaArma;
+import com.armasimportacion.model.Provincia;
+import com.armasimportacion.model.Rol;
+import com.armasimportacion.model.TipoCliente;
+import com.armasimportacion.model.TipoDocumento;
+import com.armasimportacion.model.TipoIdentificacion;
+import com.armasimportacion.model.TipoProceso;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regiones de la cache de segundo nivel de Hibernate (JCache sobre Caffeine) para los
+ * catálogos de referencia: tipos de cliente, identificación, proceso y documento,
+ * categorías de arma, roles, provincias y cantones.
+ *
+ * Las regiones se crean aquí con tamaño máximo y expiración, y se guardan por referencia
+ * (sin copiar por serialización en cada lectura). La expiración acota lo que otra réplica
+ * haya cambiado; las escrituras de esta instancia invalidan la región al momento.
+ * Con hibernate.generate_statistics, Actuator publica hits, misses y puts por región
+ * (hibernate.second.level.cache.*, hibernate.query.cache.*).
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final List<String> REGIONES = List.of(
+            TipoCliente.class.getName(),
+            TipoIdentificacion.class.getName(),
+            TipoProceso.class.getName(),
+            TipoDocumento.class.getName(),
+            CategoriaArma.class.getName(),
+            Rol.class.getName(),
+            Provincia.class.getName(),
+            Canton.class.getName(),
+            Provincia.class.getName() + ".cantones",
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.hibernate-cache.maximo-por-region:2000}") long maximoPorRegion,
+            @Value("${app.hibernate-cache.ttl-ms:1800000}") long ttlMs) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : REGIONES) {
+            CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+            configuracion.setStoreByValue(false);
+            configuracion.setMaximumSize(OptionalLong.of(maximoPorRegion));
+            configuracion.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+            cacheManager.createCache(region, configuracion);
+        }
+        // Marcas de tiempo por tabla para invalidar consultas: sin límite ni expiración
+        CaffeineConfiguration<Object, Object> marcas = new CaffeineConfiguration<>();
+        marcas.setStoreByValue(false);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, marcas);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,145 @@
+package com.armasimportacion.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TurboFilter de logback que limita los eventos INFO, DEBUG y TRACE de cada logger a un
+ * presupuesto por segundo. Se declara en logback-spring.xml:
+ *
+ * <pre>
+ * &lt;turboFilter class="com.armasimportacion.config.PresupuestoLogsFilter"&gt;
+ *     &lt;presupuesto&gt;com.armasimportacion.controller.DocumentoController=20&lt;/presupuesto&gt;
+ *     &lt;presupuesto&gt;com.armasimportacion=200&lt;/presupuesto&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ *
+ * Cada logger toma el presupuesto del prefijo configurado más largo que lo contiene, pero
+ * cuenta su propia ventana de un segundo. Un valor 0 o negativo deja al prefijo sin límite.
+ * WARN y ERROR nunca se descartan. Al abrir la ventana siguiente se escribe un WARN con la
+ * cantidad descartada, así el recorte queda visible en el log.
+ *
+ * Corre antes de crear el evento (también en isDebugEnabled() y similares), por lo que un
+ * logger sin presupuesto disponible no formatea mensajes ni ocupa la cola del AsyncAppender.
+ */
+public class PresupuestoLogsFilter extends TurboFilter {
+
+    private static final long VENTANA_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Ventana SIN_LIMITE = new Ventana(0);
+
+    private final Map<String, Integer> presupuestos = new LinkedHashMap<>();
+    private final Map<String, Ventana> ventanas = new ConcurrentHashMap<>();
+
+    /**
+     * Entrada "logger=eventosPorSegundo" (una por elemento &lt;presupuesto&gt;)
+     */
+    public void addPresupuesto(String entrada) {
+        int separador = entrada.lastIndexOf('=');
+        if (separador <= 0) {
+            addError("Presupuesto de logs inválido, se espera logger=eventosPorSegundo: " + entrada);
+            return;
+        }
+        try {
+            presupuestos.put(entrada.substring(0, separador).trim(),
+                    Integer.parseInt(entrada.substring(separador + 1).trim()));
+        } catch (NumberFormatException e) {
+            addError("Presupuesto de logs inválido, el máximo no es un número: " + entrada);
+        }
+    }
+
+    @Override
+    public void start() {
+        ventanas.clear();
+        if (presupuestos.isEmpty()) {
+            addWarn("PresupuestoLogsFilter sin presupuestos configurados, no limitará ningún logger");
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            // Lo que el nivel del logger ya descarta no consume presupuesto
+            return FilterReply.NEUTRAL;
+        }
+        Ventana ventana = ventanas.computeIfAbsent(logger.getName(), this::resolver);
+        if (ventana == SIN_LIMITE) {
+            return FilterReply.NEUTRAL;
+        }
+        long ahora = System.nanoTime();
+        int descartadosPrevios = ventana.renovar(ahora);
+        if (descartadosPrevios > 0) {
+            logger.getLoggerContext().getLogger(PresupuestoLogsFilter.class).warn(
+                    "{} evento(s) de log de {} descartados en el último segundo (presupuesto {}/s)",
+                    descartadosPrevios, logger.getName(), ventana.maximo);
+        }
+        if (format == null) {
+            // isInfoEnabled() y similares: informa si queda presupuesto sin consumirlo
+            return ventana.agotada() ? FilterReply.DENY : FilterReply.NEUTRAL;
+        }
+        return ventana.consumir() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Ventana resolver(String nombreLogger) {
+        String mejorPrefijo = null;
+        for (String prefijo : presupuestos.keySet()) {
+            boolean contiene = nombreLogger.equals(prefijo) || nombreLogger.startsWith(prefijo + ".");
+            if (contiene && (mejorPrefijo == null || prefijo.length() > mejorPrefijo.length())) {
+                mejorPrefijo = prefijo;
+            }
+        }
+        int maximo = mejorPrefijo != null ? presupuestos.get(mejorPrefijo) : 0;
+        return maximo > 0 ? new Ventana(maximo) : SIN_LIMITE;
+    }
+
+    /**
+     * Contadores de un logger en la ventana de un segundo en curso. Sin locks: en el cambio
+     * de ventana pueden colarse unos pocos eventos de más, lo que no afecta al propósito.
+     */
+    private static final class Ventana {
+
+        private final int maximo;
+        private final AtomicLong inicio = new AtomicLong(System.nanoTime());
+        private final AtomicInteger usados = new AtomicInteger();
+        private final AtomicInteger descartados = new AtomicInteger();
+
+        Ventana(int maximo) {
+            this.maximo = maximo;
+        }
+
+        /**
+         * Abre una ventana nueva si la actual venció; devuelve lo descartado en la anterior
+         */
+        int renovar(long ahora) {
+            long actual = inicio.get();
+            if (ahora - actual < VENTANA_NANOS || !inicio.compareAndSet(actual, ahora)) {
+                return 0;
+            }
+            usados.set(0);
+            return descartados.getAndSet(0);
+        }
+
+        boolean agotada() {
+            return usados.get() >= maximo;
+        }
+
+        boolean consumir() {
+            if (usados.incrementAndGet() <= maximo) {
+                return true;
+            }
+            descartados.incrementAndGet();
+            return false;
+        }
+    }
+}
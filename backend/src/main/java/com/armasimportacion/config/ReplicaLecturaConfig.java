@@ -0,0 +1,218 @@
+package com.armasimportacion.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Réplica de lectura (opcional, perfil "replica"): las transacciones readOnly toman la
+ * conexión de un pool contra la réplica; el resto sigue en la primaria.
+ *
+ * Se activa al definir app.datasource.replica.url. El DataSource de Spring Boot queda como
+ * primaria y se envuelve en un LazyConnectionDataSourceProxy, así la conexión física se
+ * pide con la primera sentencia, cuando ya se sabe si la transacción es de solo lectura.
+ *
+ * Lectura de lo propio escrito: tras el commit de una transacción de escritura, las lecturas
+ * del mismo usuario van a la primaria durante app.datasource.replica.ventana-escritura-ms
+ * (debe cubrir el retraso de replicación). Si la réplica no entrega conexión, se lee de la
+ * primaria y no se vuelve a intentar hasta pasado app.datasource.replica.reintento-ms.
+ *
+ * La ventana vive en memoria de cada instancia: solo se garantiza si las peticiones de un
+ * usuario llegan a la misma instancia que hizo la escritura. Con varias instancias detrás de
+ * un balanceador hace falta afinidad de sesión; sin ella, la siguiente petición puede caer
+ * en otra instancia y leer de la réplica todavía atrasada.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+@Slf4j
+public class ReplicaLecturaConfig {
+
+    static final String POOL_REPLICA = "gmarm-replica";
+
+    /**
+     * Corre antes que los envoltorios de métricas y de concurrencia (sin orden), que así
+     * miden y limitan también las conexiones de la réplica.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceReplicaPostProcessor(Environment environment,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaPostProcessor(environment, meterRegistry);
+    }
+
+    static class ReplicaPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private HikariDataSource replica;
+
+        ReplicaPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primaria)
+                    || bean instanceof LazyConnectionDataSourceProxy) {
+                return bean;
+            }
+            replica = crearPoolReplica();
+            long ventanaMs = environment.getProperty("app.datasource.replica.ventana-escritura-ms", Long.class, 5000L);
+            long reintentoMs = environment.getProperty("app.datasource.replica.reintento-ms", Long.class, 30000L);
+            log.info("Réplica de lectura activa: {} (ventana de escritura {} ms)", replica.getJdbcUrl(), ventanaMs);
+            return new LazyConnectionDataSourceProxy(
+                    new EnrutadorLecturaDataSource(primaria, replica, ventanaMs, reintentoMs));
+        }
+
+        private HikariDataSource crearPoolReplica() {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(POOL_REPLICA);
+            config.setJdbcUrl(environment.getRequiredProperty("app.datasource.replica.url"));
+            config.setUsername(environment.getProperty("app.datasource.replica.username",
+                    environment.getProperty("spring.datasource.username")));
+            config.setPassword(environment.getProperty("app.datasource.replica.password",
+                    environment.getProperty("spring.datasource.password")));
+            config.setReadOnly(true);
+            // Réplica caída: fallar rápido y leer de la primaria; arrancar aunque no responda
+            config.setConnectionTimeout(2000);
+            config.setInitializationFailTimeout(-1);
+            config.setMaximumPoolSize(5);
+            Binder.get(environment).bind("app.datasource.replica.hikari", Bindable.ofInstance(config));
+            meterRegistry.ifAvailable(registry ->
+                    config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            return new HikariDataSource(config);
+        }
+
+        @Override
+        public void destroy() {
+            if (replica != null) {
+                replica.close();
+            }
+        }
+    }
+
+    /**
+     * Elige primaria o réplica al pedir la conexión física. Extiende DelegatingDataSource
+     * sobre la primaria para que las métricas de pool de Spring Boot sigan encontrando su Hikari.
+     */
+    static class EnrutadorLecturaDataSource extends DelegatingDataSource {
+
+        private final DataSource replica;
+        private final long ventanaMs;
+        private final long reintentoMs;
+
+        // Email -> momento del último commit de escritura (solo los de esta instancia)
+        private final Map<String, Long> ultimaEscritura = new ConcurrentHashMap<>();
+        private volatile long replicaCaidaHasta;
+
+        EnrutadorLecturaDataSource(DataSource primaria, DataSource replica, long ventanaMs, long reintentoMs) {
+            super(primaria);
+            this.replica = replica;
+            this.ventanaMs = ventanaMs;
+            this.reintentoMs = reintentoMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            String usuario = usuarioActual();
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                registrarEscritura(usuario);
+                return super.getConnection();
+            }
+            if (!usarReplica(usuario)) {
+                return super.getConnection();
+            }
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaCaidaHasta = System.currentTimeMillis() + reintentoMs;
+                log.warn("Réplica de lectura sin conexión, se usa la primaria por {} ms: {}", reintentoMs, e.getMessage());
+                return super.getConnection();
+            }
+        }
+
+        private boolean usarReplica(String usuario) {
+            long ahora = System.currentTimeMillis();
+            if (ahora < replicaCaidaHasta) {
+                return false;
+            }
+            if (usuario == null) {
+                return true;
+            }
+            Long escritura = ultimaEscritura.get(usuario);
+            return escritura == null || ahora - escritura > ventanaMs;
+        }
+
+        /**
+         * Marca al usuario cuando confirma una transacción de escritura (una vez por transacción).
+         */
+        private void registrarEscritura(String usuario) {
+            if (usuario == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            for (TransactionSynchronization sincronizacion : TransactionSynchronizationManager.getSynchronizations()) {
+                if (sincronizacion instanceof MarcaEscritura) {
+                    return;
+                }
+            }
+            TransactionSynchronizationManager.registerSynchronization(new MarcaEscritura(usuario));
+        }
+
+        private final class MarcaEscritura implements TransactionSynchronization {
+
+            private final String usuario;
+
+            MarcaEscritura(String usuario) {
+                this.usuario = usuario;
+            }
+
+            @Override
+            public void afterCommit() {
+                long ahora = System.currentTimeMillis();
+                ultimaEscritura.put(usuario, ahora);
+                if (ultimaEscritura.size() > 1000) {
+                    ultimaEscritura.values().removeIf(momento -> ahora - momento > ventanaMs);
+                }
+            }
+        }
+
+        private static String usuarioActual() {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()
+                    || authentication instanceof AnonymousAuthenticationToken) {
+                return null;
+            }
+            return authentication.getName();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.armasimportacion.config;
 
 import com.armasimportacion.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,7 +25,7 @@ import java.util.Arrays;
 import java.util.List;
 import com.armasimportacion.security.JwtTokenProvider;
 import com.armasimportacion.security.Sha256PasswordEncoder;
-import com.armasimportacion.service.UsuarioService;
+import com.armasimportacion.service.UsuarioActualCache;
 
 @Configuration
 @EnableWebSecurity
@@ -33,11 +34,11 @@ import com.armasimportacion.service.UsuarioService;
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UsuarioService usuarioService;
+    private final UsuarioActualCache usuarioActualCache;
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenProvider, usuarioService);
+        return new JwtAuthenticationFilter(jwtTokenProvider, usuarioActualCache);
     }
 
     @Bean
@@ -57,6 +58,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Despachos ASYNC (SSE) y ERROR ya fueron autorizados en la petición original
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 // Permitir OPTIONS para todos los endpoints (preflight CORS)
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 // Endpoints públicos
@@ -70,6 +73,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/tipo-identificacion/**").permitAll()
                 .requestMatchers("/api/estados-cliente/**").permitAll()
                 .requestMatchers("/api/localizacion/**").permitAll()
+                .requestMatchers("/api/datos-referencia/**").permitAll() // Bundle de catálogos del formulario (cacheable)
                 .requestMatchers("/api/configuracion-sistema/**").permitAll()
                 .requestMatchers("/api/inventario/**").permitAll() // Endpoints del inventario
                 .requestMatchers("/api/arma/**").permitAll() // Endpoints de armas
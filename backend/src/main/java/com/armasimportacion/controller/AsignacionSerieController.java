@@ -1,18 +1,20 @@
 package com.armasimportacion.controller;
 
 import com.armasimportacion.dto.ArmaSerieDTO;
+import com.armasimportacion.dto.AsignacionMasivaSeriesDTO;
 import com.armasimportacion.dto.ReservaPendienteDTO;
 import com.armasimportacion.model.ArmaSerie;
 import com.armasimportacion.model.ClienteArma;
-import com.armasimportacion.model.Usuario;
-import com.armasimportacion.repository.UsuarioRepository;
+import com.armasimportacion.security.CurrentUser;
+import com.armasimportacion.security.UsuarioActual;
+import com.armasimportacion.service.AsignacionMasivaSeriesService;
 import com.armasimportacion.service.AsignacionSerieService;
+import com.armasimportacion.service.UsuarioActualCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -31,7 +33,8 @@ import java.util.Map;
 public class AsignacionSerieController {
 
     private final AsignacionSerieService asignacionSerieService;
-    private final UsuarioRepository usuarioRepository;
+    private final AsignacionMasivaSeriesService asignacionMasivaSeriesService;
+    private final UsuarioActualCache usuarioActualCache;
 
     /**
      * Obtener todas las reservas pendientes de asignar serie
@@ -77,7 +80,8 @@ public class AsignacionSerieController {
      * Request body: { "clienteArmaId": 123, "numeroSerie": "XYZ12345" }
      */
     @PostMapping("/asignar")
-    public ResponseEntity<?> asignarSerie(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> asignarSerie(@RequestBody Map<String, Object> request,
+                                          @CurrentUser(required = false) UsuarioActual usuario) {
         Long clienteArmaId = Long.valueOf(request.get("clienteArmaId").toString());
         String numeroSerie = request.get("numeroSerie").toString();
         
@@ -85,29 +89,20 @@ public class AsignacionSerieController {
             clienteArmaId, numeroSerie);
         
         try {
-            // Obtener usuario actual desde SecurityContext
-            String currentUsername = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getName();
-
-            // Si es usuario anónimo (endpoint permitAll), usar usuario admin por defecto
-            Usuario usuario;
-            if ("anonymousUser".equals(currentUsername) || currentUsername == null) {
+            // Endpoint público: sin token se usa el usuario admin por defecto
+            if (usuario == null) {
                 log.info("Usuario anonimo detectado, usando usuario admin por defecto");
-                usuario = usuarioRepository.findByEmail("admin@armasimportacion.com")
+                usuario = usuarioActualCache.obtener("admin@armasimportacion.com")
                     .orElseThrow(() -> new RuntimeException("Usuario admin no encontrado en el sistema"));
-            } else {
-                usuario = usuarioRepository.findByEmail(currentUsername)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + currentUsername));
             }
 
-            log.info("Usuario asignador: {} (ID: {})", usuario.getUsername(), usuario.getId());
+            log.info("Usuario asignador: {} (ID: {})", usuario.email(), usuario.id());
             
             // Asignar serie
             ClienteArma clienteArmaActualizado = asignacionSerieService.asignarSerie(
                 clienteArmaId, 
                 numeroSerie, 
-                usuario.getId()
+                usuario.id()
             );
             
             // Respuesta exitosa
@@ -141,5 +136,23 @@ public class AsignacionSerieController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-}
 
+    /**
+     * Asignación masiva: empareja todas las series DISPONIBLE del grupo con las reservas
+     * pendientes de sus clientes (mismo arma). Con simular=true solo devuelve los pares.
+     * POST /api/asignacion-series/grupos/{grupoId}/auto-asignar?simular=true
+     */
+    @PostMapping("/grupos/{grupoId}/auto-asignar")
+    public ResponseEntity<AsignacionMasivaSeriesDTO> autoAsignarSeries(
+        @PathVariable Long grupoId,
+        @RequestParam(defaultValue = "true") boolean simular,
+        @CurrentUser UsuarioActual usuario
+    ) {
+        log.info("POST /api/asignacion-series/grupos/{}/auto-asignar - simular: {}, usuario: {}",
+            grupoId, simular, usuario.email());
+        AsignacionMasivaSeriesDTO resultado = simular
+            ? asignacionMasivaSeriesService.previsualizar(grupoId)
+            : asignacionMasivaSeriesService.asignar(grupoId, usuario.id());
+        return ResponseEntity.ok(resultado);
+    }
+}
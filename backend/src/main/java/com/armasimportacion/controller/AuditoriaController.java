@@ -0,0 +1,54 @@
+package com.armasimportacion.controller;
+
+import com.armasimportacion.dto.EventoAuditoriaDTO;
+import com.armasimportacion.enums.EntidadAuditada;
+import com.armasimportacion.exception.BadRequestException;
+import com.armasimportacion.service.AuditoriaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/auditoria")
+@RequiredArgsConstructor
+@Tag(name = "Auditoría", description = "Consulta de la bitácora de cambios de estado")
+@CrossOrigin(origins = "*")
+public class AuditoriaController {
+
+    private static final int LIMITE_MAXIMO = 5000;
+
+    private final AuditoriaService auditoriaService;
+
+    /**
+     * Historial de cambios de estado de una entidad en un rango de fechas
+     * GET /api/auditoria?entidad=PAGO&entidadId=10&desde=2025-01-01T00:00:00&hasta=2025-02-01T00:00:00
+     */
+    @GetMapping
+    @Operation(summary = "Consultar auditoría",
+               description = "Eventos de una entidad (o de todas las de un tipo sin entidadId) en [desde, hasta)")
+    public ResponseEntity<List<EventoAuditoriaDTO>> consultar(
+            @RequestParam EntidadAuditada entidad,
+            @RequestParam(required = false) Long entidadId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "500") int limite) {
+        LocalDateTime fin = hasta != null ? hasta : LocalDateTime.now().plusSeconds(1);
+        if (!desde.isBefore(fin)) {
+            throw new BadRequestException("El rango de fechas es inválido: desde debe ser anterior a hasta");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BadRequestException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        return ResponseEntity.ok(auditoriaService.consultar(entidad, entidadId, desde, fin, limite));
+    }
+}
@@ -1,7 +1,10 @@
 package com.armasimportacion.controller;
 
+import com.armasimportacion.dto.PerfilUsuarioDTO;
 import com.armasimportacion.model.Usuario;
+import com.armasimportacion.security.CurrentUser;
 import com.armasimportacion.security.JwtTokenProvider;
+import com.armasimportacion.security.UsuarioActual;
 import com.armasimportacion.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -123,42 +126,35 @@ public class AuthController {
 
     @GetMapping("/me")
     @Operation(summary = "Obtener usuario actual", description = "Obtiene la información del usuario autenticado")
-    public ResponseEntity<Map<String, Object>> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<Map<String, Object>> getCurrentUser(@CurrentUser(required = false) UsuarioActual actual) {
         try {
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            if (actual == null) {
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("error", "Token JWT requerido");
                 return ResponseEntity.badRequest().body(errorResponse);
             }
 
-            String token = authHeader.substring(7);
-            String email = tokenProvider.getUsernameFromToken(token);
-
-            if (email == null) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("error", "Token JWT inválido");
-                return ResponseEntity.badRequest().body(errorResponse);
-            }
-
-            Usuario usuario = usuarioService.findByEmail(email);
+            String email = actual.email();
+            // Perfil cacheado: la respuesta incluye nombres, apellidos y el detalle de cada rol
+            PerfilUsuarioDTO perfil = usuarioService.obtenerPerfil(email);
 
             // Obtener roles del usuario
-            List<Map<String, Object>> roles = usuario.getRoles().stream()
+            List<Map<String, Object>> roles = perfil.roles().stream()
                 .map(rol -> {
                     Map<String, Object> rolMap = new HashMap<>();
-                    rolMap.put("id", rol.getId());
-                    rolMap.put("nombre", rol.getNombre());
-                    rolMap.put("codigo", rol.getCodigo());
-                    rolMap.put("descripcion", rol.getDescripcion());
+                    rolMap.put("id", rol.id());
+                    rolMap.put("nombre", rol.nombre());
+                    rolMap.put("codigo", rol.codigo());
+                    rolMap.put("descripcion", rol.descripcion());
                     return rolMap;
                 })
                 .collect(Collectors.toList());
 
             Map<String, Object> response = new HashMap<>();
-            response.put("id", usuario.getId());
-            response.put("email", usuario.getEmail());
-            response.put("nombres", usuario.getNombres());
-            response.put("apellidos", usuario.getApellidos());
+            response.put("id", perfil.id());
+            response.put("email", perfil.email());
+            response.put("nombres", perfil.nombres());
+            response.put("apellidos", perfil.apellidos());
             response.put("roles", roles);
 
             log.debug("Usuario actual obtenido: {}", email);
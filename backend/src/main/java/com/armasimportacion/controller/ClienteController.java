@@ -1,20 +1,21 @@
 package com.armasimportacion.controller;
 
+import com.armasimportacion.dto.ClienteCompletoRequest;
 import com.armasimportacion.dto.ClienteDTO;
 import com.armasimportacion.exception.BadRequestException;
 import com.armasimportacion.exception.ResourceNotFoundException;
 import com.armasimportacion.enums.EstadoCliente;
 import com.armasimportacion.model.Cliente;
 import com.armasimportacion.model.ClienteGrupoImportacion;
-import com.armasimportacion.model.Usuario;
 import com.armasimportacion.repository.ClienteRepository;
 import com.armasimportacion.repository.DocumentoGeneradoRepository;
-import com.armasimportacion.security.JwtTokenProvider;
+import com.armasimportacion.security.CurrentUser;
+import com.armasimportacion.security.UsuarioActual;
 import com.armasimportacion.service.ClienteService;
 import com.armasimportacion.service.ClienteQueryService;
 import com.armasimportacion.service.ClienteCompletoService;
+import com.armasimportacion.service.FiltroIdentificacionesService;
 import com.armasimportacion.service.GrupoImportacionClienteService;
-import com.armasimportacion.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -41,38 +42,25 @@ public class ClienteController {
     private final ClienteService clienteService;
     private final ClienteQueryService clienteQueryService;
     private final ClienteCompletoService clienteCompletoService;
-    private final UsuarioService usuarioService;
-    private final JwtTokenProvider jwtTokenProvider;
     private final ClienteRepository clienteRepository;
     private final DocumentoGeneradoRepository documentoGeneradoRepository;
     private final GrupoImportacionClienteService grupoImportacionClienteService;
-
-    // TODO: Implementar obtención del usuario desde el token JWT cuando se implemente la autenticación completa
+    private final FiltroIdentificacionesService filtroIdentificacionesService;
 
     @PostMapping
     @Operation(summary = "Crear nuevo cliente", description = "Crea un nuevo cliente en el sistema")
     public ResponseEntity<?> crearCliente(
-            @RequestBody Map<String, Object> requestData,
-            @RequestHeader("Authorization") String authHeader) {
-        log.info("ClienteController: Recibiendo solicitud completa, keys: {}", requestData.keySet());
+            @RequestBody ClienteCompletoRequest request,
+            @CurrentUser UsuarioActual usuario) {
+        log.info("ClienteController: Recibiendo solicitud completa de cliente");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new BadRequestException("Token JWT requerido");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtTokenProvider.getUsernameFromToken(token);
-        if (email == null) {
-            throw new BadRequestException("Token JWT inválido");
-        }
-
-        Usuario usuario = usuarioService.findByEmail(email);
-        Long usuarioId = usuario.getId();
+        String email = usuario.email();
+        Long usuarioId = usuario.id();
         log.info("Usuario actual obtenido desde JWT: ID={}, Email={}, Nombre={}",
-            usuarioId, email, usuario.getNombreCompleto());
+            usuarioId, email, usuario.nombreCompleto());
 
         log.info("ClienteController: Usando ClienteCompletoService para flujo completo con usuarioId={}", usuarioId);
-        Map<String, Object> response = clienteCompletoService.crearClienteCompleto(requestData, usuarioId);
+        Map<String, Object> response = clienteCompletoService.crearClienteCompleto(request, usuarioId);
         log.info("ClienteController: Respuesta del ClienteCompletoService: {}", response);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
@@ -89,21 +77,10 @@ public class ClienteController {
     @Operation(summary = "Listar clientes", description = "Obtiene una lista paginada de clientes filtrada por rol del usuario")
     public ResponseEntity<Page<ClienteDTO>> obtenerClientes(
             Pageable pageable,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentUser UsuarioActual usuario,
             @RequestHeader(value = "X-Active-Role", required = false) String activeRole) {
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new BadRequestException("Token JWT requerido para obtener clientes");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtTokenProvider.getUsernameFromToken(token);
-
-        if (email == null) {
-            throw new BadRequestException("Token JWT inválido");
-        }
-
-        Usuario usuario = usuarioService.findByEmail(email);
+        String email = usuario.email();
 
         // Usar el rol activo si se proporciona, sino verificar todos los roles
         boolean esJefeVentas = false;
@@ -112,8 +89,7 @@ public class ClienteController {
             esJefeVentas = "SALES_CHIEF".equals(activeRole);
         } else {
             log.info("Usuario {} sin rol activo, verificando todos los roles", email);
-            esJefeVentas = usuario.getRoles().stream()
-                .anyMatch(rol -> "SALES_CHIEF".equals(rol.getCodigo()));
+            esJefeVentas = usuario.tieneRol("SALES_CHIEF");
         }
 
         Page<ClienteDTO> clientes;
@@ -123,14 +99,29 @@ public class ClienteController {
             clientes = clienteQueryService.findAllAsDTO(pageable);
         } else {
             // Vendedor: solo sus clientes
-            log.info("Usuario {} es Vendedor - mostrando solo sus clientes (ID: {})", email, usuario.getId());
-            clientes = clienteQueryService.findByUsuarioCreadorAsDTO(usuario.getId(), pageable);
+            log.info("Usuario {} es Vendedor - mostrando solo sus clientes (ID: {})", email, usuario.id());
+            clientes = clienteQueryService.findByUsuarioCreadorAsDTO(usuario.id(), pageable);
         }
 
         return ResponseEntity.ok(clientes);
     }
     
     
+    @GetMapping("/estadisticas")
+    @Operation(summary = "Estadísticas de clientes", description = "Contadores del dashboard: globales para Jefe de Ventas, propios para Vendedor")
+    public ResponseEntity<Map<String, Object>> obtenerEstadisticas(
+            @CurrentUser UsuarioActual usuario,
+            @RequestHeader(value = "X-Active-Role", required = false) String activeRole) {
+
+        boolean esJefeVentas = activeRole != null && !activeRole.isEmpty()
+            ? "SALES_CHIEF".equals(activeRole)
+            : usuario.tieneRol("SALES_CHIEF");
+
+        return ResponseEntity.ok(esJefeVentas
+            ? clienteQueryService.getEstadisticasJefeVentas()
+            : clienteQueryService.getEstadisticasVendedor(usuario.id()));
+    }
+
     @GetMapping("/por-vendedor/{vendedorId}")
     @Operation(summary = "Obtener clientes por vendedor", description = "Obtiene todos los clientes de un vendedor específico")
     public ResponseEntity<List<ClienteDTO>> obtenerClientesPorVendedor(@PathVariable Long vendedorId) {
@@ -151,6 +142,13 @@ public class ClienteController {
         Map<String, Object> response = new HashMap<>();
         response.put("numeroIdentificacion", numero);
 
+        // Ningún cliente (en ningún estado) tiene ese número: disponible sin consultar la BD
+        if (!filtroIdentificacionesService.podriaExistir(numero)) {
+            response.put("existe", false);
+            response.put("mensaje", "El número de identificación está disponible");
+            return ResponseEntity.ok(response);
+        }
+
         // Buscar cliente activo con esa cédula (excluye ELIMINADO y PROCESO_COMPLETADO)
         List<EstadoCliente> estadosExcluidos = List.of(EstadoCliente.ELIMINADO, EstadoCliente.PROCESO_COMPLETADO);
         Optional<Cliente> clienteActivoOpt = clienteRepository.findByNumeroIdentificacionAndEstadoNotIn(numero, estadosExcluidos);
@@ -206,37 +204,23 @@ public class ClienteController {
     @Operation(summary = "Actualizar cliente completo", description = "Actualiza un cliente completo con todos sus datos relacionados")
     public ResponseEntity<?> actualizarClienteCompleto(
             @PathVariable Long id,
-            @RequestBody Map<String, Object> requestData,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestBody ClienteCompletoRequest request,
+            @CurrentUser UsuarioActual usuario) {
         log.info("ClienteController: Actualizando cliente completo ID: {}", id);
-        log.info("ClienteController: requestData keys: {}", requestData.keySet());
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new BadRequestException("Token JWT requerido");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtTokenProvider.getUsernameFromToken(token);
-        if (email == null) {
-            throw new BadRequestException("Token JWT inválido");
-        }
 
-        Usuario usuario = usuarioService.findByEmail(email);
-        Long usuarioId = usuario.getId();
+        String email = usuario.email();
+        Long usuarioId = usuario.id();
         log.info("Usuario actual obtenido desde JWT: ID={}, Email={}", usuarioId, email);
 
         // Validar permisos: si es vendedor y el cliente ya confirmó sus datos, no puede editar
         Cliente cliente = clienteRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
 
-        boolean esVendedor = usuario.getRoles().stream()
-            .anyMatch(rol -> "VENDOR".equals(rol.getCodigo()) || "VENDEDOR".equals(rol.getCodigo()));
+        boolean esVendedor = usuario.tieneRol("VENDOR", "VENDEDOR");
 
-        boolean esJefeVentas = usuario.getRoles().stream()
-            .anyMatch(rol -> "SALES_CHIEF".equals(rol.getCodigo()) || "JEFE_VENTAS".equals(rol.getCodigo()));
+        boolean esJefeVentas = usuario.tieneRol("SALES_CHIEF", "JEFE_VENTAS");
 
-        boolean esAdmin = usuario.getRoles().stream()
-            .anyMatch(rol -> "ADMIN".equals(rol.getCodigo()));
+        boolean esAdmin = usuario.tieneRol("ADMIN");
 
         // Si es vendedor (no jefe ni admin) y ya se generaron documentos, rechazar edición
         if (esVendedor && !esJefeVentas && !esAdmin) {
@@ -250,7 +234,7 @@ public class ClienteController {
             }
         }
 
-        Map<String, Object> response = clienteCompletoService.actualizarClienteCompleto(id, requestData);
+        Map<String, Object> response = clienteCompletoService.actualizarClienteCompleto(id, request);
         return ResponseEntity.ok(response);
     }
     
@@ -259,36 +243,23 @@ public class ClienteController {
     public ResponseEntity<?> actualizarClienteParcial(
             @PathVariable Long id,
             @RequestBody Map<String, Object> requestData,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("ClienteController: Actualizando cliente parcial ID: {}", id);
         log.info("ClienteController: Campos recibidos: {}", requestData.keySet());
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new BadRequestException("Token JWT requerido");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtTokenProvider.getUsernameFromToken(token);
-        if (email == null) {
-            throw new BadRequestException("Token JWT inválido");
-        }
-
-        Usuario usuario = usuarioService.findByEmail(email);
-        Long usuarioId = usuario.getId();
+        String email = usuario.email();
+        Long usuarioId = usuario.id();
         log.info("Usuario actual obtenido desde JWT: ID={}, Email={}", usuarioId, email);
 
         // Validar permisos: si es vendedor y el cliente ya confirmó sus datos, no puede editar
         Cliente cliente = clienteRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
 
-        boolean esVendedor = usuario.getRoles().stream()
-            .anyMatch(rol -> "VENDOR".equals(rol.getCodigo()) || "VENDEDOR".equals(rol.getCodigo()));
+        boolean esVendedor = usuario.tieneRol("VENDOR", "VENDEDOR");
 
-        boolean esJefeVentas = usuario.getRoles().stream()
-            .anyMatch(rol -> "SALES_CHIEF".equals(rol.getCodigo()) || "JEFE_VENTAS".equals(rol.getCodigo()));
+        boolean esJefeVentas = usuario.tieneRol("SALES_CHIEF", "JEFE_VENTAS");
 
-        boolean esAdmin = usuario.getRoles().stream()
-            .anyMatch(rol -> "ADMIN".equals(rol.getCodigo()));
+        boolean esAdmin = usuario.tieneRol("ADMIN");
 
         // Si es vendedor (no jefe ni admin) y ya se generaron documentos, rechazar edición
         if (esVendedor && !esJefeVentas && !esAdmin) {
@@ -426,19 +397,8 @@ public class ClienteController {
     @Operation(summary = "Buscar o crear cliente fantasma del vendedor",
                description = "Busca o crea un cliente fantasma para el vendedor actual para almacenar armas sin cliente")
     public ResponseEntity<?> buscarOCrearClienteFantasmaVendedor(
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new BadRequestException("Token JWT requerido");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtTokenProvider.getUsernameFromToken(token);
-        if (email == null) {
-            throw new BadRequestException("Token JWT inválido");
-        }
-
-        Usuario usuario = usuarioService.findByEmail(email);
-        Cliente clienteFantasma = clienteService.buscarOCrearClienteFantasmaVendedor(usuario.getId());
+            @CurrentUser UsuarioActual usuario) {
+        Cliente clienteFantasma = clienteService.buscarOCrearClienteFantasmaVendedor(usuario.id());
 
         return ResponseEntity.ok(clienteQueryService.findByIdAsDTO(clienteFantasma.getId()));
     }
@@ -1,6 +1,7 @@
 package com.armasimportacion.controller;
 
 import com.armasimportacion.dto.DatosContratoDTO;
+import com.armasimportacion.exception.ResourceNotFoundException;
 import com.armasimportacion.model.Cliente;
 import com.armasimportacion.model.ClienteArma;
 import com.armasimportacion.model.Usuario;
@@ -17,6 +18,7 @@ import com.armasimportacion.service.FileStorageService;
 import com.armasimportacion.service.ConfiguracionSistemaService;
 import com.armasimportacion.service.GrupoImportacionClienteService;
 import com.armasimportacion.service.helper.GestionDocumentosServiceHelper;
+import com.armasimportacion.repository.ClienteArmaRepository;
 import com.armasimportacion.repository.ClienteGrupoImportacionRepository;
 import com.armasimportacion.repository.ClienteRepository;
 import com.armasimportacion.repository.DocumentoGeneradoRepository;
@@ -37,6 +39,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -67,19 +70,22 @@ public class ClienteDocumentController {
     private final ClienteRepository clienteRepository;
     private final ConfiguracionSistemaService configuracionSistemaService;
     private final CuotaPagoRepository cuotaPagoRepository;
+    private final ClienteArmaRepository clienteArmaRepository;
 
     @GetMapping("/{id}/datos-contrato")
     @Operation(summary = "Obtener datos del contrato", description = "Obtiene los datos del cliente, pago y armas para mostrar en el popup de generación de contrato")
     public ResponseEntity<DatosContratoDTO> obtenerDatosContrato(@PathVariable Long id) {
         log.info("Obteniendo datos del contrato para cliente ID: {}", id);
 
-        Cliente cliente = clienteService.findById(id);
+        // Fetch plan del popup: tipo de cliente (esCivil/esMilitar) y armas con su modelo
+        Cliente cliente = clienteRepository.findByIdWithRelations(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
         List<Pago> pagos = pagoRepository.findByClienteIdOrderByIdDesc(id);
         Pago pago = pagos != null ? pagos.stream()
             .filter(p -> p.getEstado() != EstadoPago.CANCELADO)
             .findFirst().orElse(null) : null;
 
-        List<ClienteArma> armas = cliente.getAsignacionesArma() != null ? cliente.getAsignacionesArma() : new ArrayList<>();
+        List<ClienteArma> armas = clienteArmaRepository.findByClienteIdWithArma(id);
 
         boolean documentosCompletos = documentoClienteService.verificarDocumentosCompletos(id);
 
@@ -397,9 +403,9 @@ public class ClienteDocumentController {
 
             List<EmailService.DocumentoAdjunto> adjuntos = documentosFirmados.stream()
                 .map(doc -> {
-                    byte[] bytes = cargarDocumentoAdjunto(doc);
-                    if (bytes == null) return null;
-                    return new EmailService.DocumentoAdjunto(doc.getNombreArchivo(), bytes);
+                    Path archivo = ubicarDocumentoAdjunto(doc);
+                    if (archivo == null) return null;
+                    return new EmailService.DocumentoAdjunto(doc.getNombreArchivo(), archivo);
                 })
                 .filter(adj -> adj != null)
                 .collect(Collectors.toList());
@@ -444,11 +450,11 @@ public class ClienteDocumentController {
 
             List<EmailService.DocumentoAdjunto> adjuntos = documentos.stream()
                 .map(doc -> {
-                    byte[] bytes = cargarDocumentoAdjunto(doc);
-                    if (bytes == null) {
+                    Path archivo = ubicarDocumentoAdjunto(doc);
+                    if (archivo == null) {
                         return null;
                     }
-                    return new EmailService.DocumentoAdjunto(doc.getNombreArchivo(), bytes);
+                    return new EmailService.DocumentoAdjunto(doc.getNombreArchivo(), archivo);
                 })
                 .filter(adj -> adj != null)
                 .collect(Collectors.toList());
@@ -531,9 +537,9 @@ public class ClienteDocumentController {
         return null;
     }
 
-    private byte[] cargarDocumentoAdjunto(DocumentoGenerado documento) {
+    private Path ubicarDocumentoAdjunto(DocumentoGenerado documento) {
         try {
-            return fileStorageService.loadFile(documento.getRutaArchivo());
+            return fileStorageService.resolverArchivo(documento.getRutaArchivo());
         } catch (Exception e) {
             log.warn("No se pudo cargar documento generado {}: {}", documento.getId(), e.getMessage());
             return null;
@@ -1,14 +1,8 @@
 package com.armasimportacion.controller;
 
-import com.armasimportacion.dto.PreguntaClienteDTO;
-import com.armasimportacion.dto.TipoDocumentoDTO;
+import com.armasimportacion.dto.TipoClienteDTO;
 import com.armasimportacion.enums.TipoProceso;
-import com.armasimportacion.model.TipoCliente;
-import com.armasimportacion.service.PreguntaClienteService;
-import com.armasimportacion.service.TipoDocumentoService;
-import com.armasimportacion.service.TipoClienteService;
-import com.armasimportacion.mapper.PreguntaClienteMapper;
-import com.armasimportacion.mapper.TipoDocumentoMapper;
+import com.armasimportacion.service.DatosReferenciaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -28,11 +22,7 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class ClienteFormularioController {
 
-    private final PreguntaClienteService preguntaService;
-    private final TipoDocumentoService documentoService;
-    private final TipoClienteService tipoClienteService;
-    private final PreguntaClienteMapper preguntaMapper;
-    private final TipoDocumentoMapper documentoMapper;
+    private final DatosReferenciaService datosReferenciaService;
 
     @GetMapping("/{tipoClienteId}")
     @Operation(summary = "Obtener preguntas y documentos por tipo de cliente", description = "Retorna las preguntas y documentos necesarios para un tipo de cliente específico")
@@ -40,26 +30,18 @@ public class ClienteFormularioController {
         log.info("Solicitud para obtener formulario del tipo de cliente: {}", tipoClienteId);
         
         try {
-            // Obtener el tipo de cliente desde la base de datos
-            var tipoCliente = tipoClienteService.findById(tipoClienteId);
+            // Tipo de cliente, preguntas y documentos desde el registro en memoria
+            TipoClienteDTO tipoCliente = obtenerTipoCliente(tipoClienteId);
             
-            // Usar el tipoProcesoId directamente desde la entidad
+            // Usar el tipoProcesoId directamente desde el tipo de cliente
             Long tipoProcesoId = tipoCliente.getTipoProcesoId();
-            
-            // Obtener preguntas y documentos para ese tipo de proceso
-            List<PreguntaClienteDTO> preguntas = preguntaMapper.toDTOList(
-                preguntaService.findByTipoProcesoId(tipoProcesoId)
-            );
-            
-            List<TipoDocumentoDTO> documentos = documentoMapper.toDTOList(
-                documentoService.findByTipoProcesoId(tipoProcesoId)
-            );
+            DatosReferenciaService.Formulario formulario = datosReferenciaService.formulario(tipoProcesoId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("tipoCliente", tipoCliente.getNombre());
             response.put("tipoProcesoId", tipoProcesoId);
-            response.put("preguntas", preguntas);
-            response.put("documentos", documentos);
+            response.put("preguntas", formulario.preguntas());
+            response.put("documentos", formulario.documentos());
             
             return ResponseEntity.ok(response);
             
@@ -77,27 +59,19 @@ public class ClienteFormularioController {
         log.info("Solicitud para obtener formulario del tipo de cliente: {} con estado militar: {}", tipoClienteId, estadoMilitar);
         
         try {
-            // Obtener el tipo de cliente desde la base de datos
-            var tipoCliente = tipoClienteService.findById(tipoClienteId);
+            // Tipo de cliente desde el registro en memoria
+            TipoClienteDTO tipoCliente = obtenerTipoCliente(tipoClienteId);
             
             // Determinar el tipo de proceso considerando el estado militar
             Long tipoProcesoId = determinarTipoProcesoConEstadoMilitar(tipoCliente, estadoMilitar);
-            
-            // Obtener preguntas y documentos para ese tipo de proceso
-            List<PreguntaClienteDTO> preguntas = preguntaMapper.toDTOList(
-                preguntaService.findByTipoProcesoId(tipoProcesoId)
-            );
-            
-            List<TipoDocumentoDTO> documentos = documentoMapper.toDTOList(
-                documentoService.findByTipoProcesoId(tipoProcesoId)
-            );
+            DatosReferenciaService.Formulario formulario = datosReferenciaService.formulario(tipoProcesoId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("tipoCliente", tipoCliente.getNombre());
             response.put("estadoMilitar", estadoMilitar);
             response.put("tipoProcesoId", tipoProcesoId);
-            response.put("preguntas", preguntas);
-            response.put("documentos", documentos);
+            response.put("preguntas", formulario.preguntas());
+            response.put("documentos", formulario.documentos());
             
             return ResponseEntity.ok(response);
             
@@ -111,31 +85,38 @@ public class ClienteFormularioController {
      * Determina el tipo de proceso considerando el estado militar/policial
      * Si es uniformado PASIVO, se trata como civil
      */
-    private Long determinarTipoProcesoConEstadoMilitar(TipoCliente tipoCliente, String estadoMilitar) {
+    private Long determinarTipoProcesoConEstadoMilitar(TipoClienteDTO tipoCliente, String estadoMilitar) {
         boolean esPasivo = "PASIVO".equals(estadoMilitar);
+        boolean esUniformado = Boolean.TRUE.equals(tipoCliente.getEsMilitar())
+            || Boolean.TRUE.equals(tipoCliente.getEsPolicia());
         
         // Si es uniformado pero está PASIVO, se trata como civil
-        if (tipoCliente.esUniformado() && esPasivo) {
+        if (esUniformado && esPasivo) {
             log.info("Cliente uniformado {} con estado PASIVO - tratando como civil", tipoCliente.getNombre());
             return TipoProceso.CUPO_CIVIL.getId();
         }
         
-        // Para todos los demás casos, usar el tipoProcesoId de la entidad
+        // Para todos los demás casos, usar el tipoProcesoId del tipo de cliente
         return tipoCliente.getTipoProcesoId();
     }
+
+    private TipoClienteDTO obtenerTipoCliente(Long tipoClienteId) {
+        return datosReferenciaService.tipoCliente(tipoClienteId)
+            .orElseThrow(() -> new RuntimeException("Tipo de cliente no encontrado con ID: " + tipoClienteId));
+    }
     
     @GetMapping("/tipos-cliente-config")
-    @Operation(summary = "Obtener configuración de tipos de cliente", description = "Retorna la configuración completa de tipos de cliente con sus códigos y procesos desde la base de datos")
+    @Operation(summary = "Obtener configuración de tipos de cliente", description = "Retorna la configuración completa de tipos de cliente con sus códigos y procesos")
     public ResponseEntity<Map<String, Object>> getTiposClienteConfig() {
-        log.info("Solicitud para obtener configuración dinámica de tipos de cliente desde BD");
+        log.info("Solicitud para obtener configuración dinámica de tipos de cliente");
         
         try {
             Map<String, Object> config = new HashMap<>();
             
-            // Obtener todos los tipos de cliente desde la base de datos
-            List<TipoCliente> tiposCliente = tipoClienteService.findAll();
+            // Todos los tipos de cliente desde el registro en memoria
+            List<TipoClienteDTO> tiposCliente = datosReferenciaService.actual().tiposCliente();
 
-            for (TipoCliente tipo : tiposCliente) {
+            for (TipoClienteDTO tipo : tiposCliente) {
                 Map<String, Object> tipoConfig = new HashMap<>();
                 tipoConfig.put("codigo", tipo.getCodigo());
                 tipoConfig.put("tipoProcesoId", tipo.getTipoProcesoId());
@@ -150,7 +131,7 @@ public class ClienteFormularioController {
                 config.put(tipo.getNombre(), tipoConfig);
             }
             
-            log.info("Configuracion dinamica de {} tipos de cliente cargada desde BD", tiposCliente.size());
+            log.info("Configuracion dinamica de {} tipos de cliente cargada", tiposCliente.size());
             return ResponseEntity.ok(config);
         } catch (Exception e) {
             log.error("Error obteniendo configuracion de tipos de cliente: {}", e.getMessage());
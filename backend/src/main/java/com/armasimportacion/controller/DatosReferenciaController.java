@@ -0,0 +1,80 @@
+package com.armasimportacion.controller;
+
+import com.armasimportacion.service.DatosReferenciaService;
+import com.armasimportacion.service.DatosReferenciaService.DatosReferencia;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Bundle versionado con todos los datos de referencia del formulario de clientes.
+ *
+ * /api/datos-referencia siempre revalida (ETag fuerte, 304 sin cuerpo si no cambió);
+ * /api/datos-referencia/{version} es inmutable y se cachea un año. Ninguno consulta la BD.
+ */
+@RestController
+@RequestMapping("/api/datos-referencia")
+@RequiredArgsConstructor
+@Tag(name = "Datos de referencia", description = "Catálogos del formulario de clientes en una sola respuesta cacheable")
+@CrossOrigin(origins = "*")
+public class DatosReferenciaController {
+
+    private static final Duration CACHE_VERSIONADO = Duration.ofDays(365);
+
+    private final DatosReferenciaService datosReferenciaService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Datos de referencia (versión actual)",
+               description = "Tipos de cliente e identificación, provincias, cantones y formularios por tipo de proceso")
+    public ResponseEntity<byte[]> obtenerActual(WebRequest request) {
+        DatosReferencia datos = datosReferenciaService.actual();
+        String etag = etag(datos);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(datos.bundle());
+    }
+
+    @GetMapping(value = "/{version}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Datos de referencia de una versión",
+               description = "Inmutable; si la versión ya no es la vigente redirige a la actual")
+    public ResponseEntity<byte[]> obtenerVersion(@PathVariable String version, WebRequest request) {
+        DatosReferencia datos = datosReferenciaService.actual();
+        if (!datos.version().equals(version)) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create("/api/datos-referencia/" + datos.version()))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+        String etag = etag(datos);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(CACHE_VERSIONADO).cachePublic().immutable())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(datos.bundle());
+    }
+
+    private static String etag(DatosReferencia datos) {
+        return "\"" + datos.version() + "\"";
+    }
+}
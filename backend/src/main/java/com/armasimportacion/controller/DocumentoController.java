@@ -4,6 +4,9 @@ import com.armasimportacion.model.DocumentoCliente;
 import com.armasimportacion.model.DocumentoGenerado;
 import com.armasimportacion.repository.DocumentoClienteRepository;
 import com.armasimportacion.repository.DocumentoGeneradoRepository;
+import com.armasimportacion.security.CurrentUser;
+import com.armasimportacion.security.UsuarioActual;
+import com.armasimportacion.service.helper.documentos.DocumentoPDFUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +15,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.File;
@@ -29,14 +33,15 @@ public class DocumentoController {
     
     @Autowired
     private DocumentoGeneradoRepository documentoGeneradoRepository;
+
+    @Autowired
+    private DocumentoPDFUtils documentoPDFUtils;
     
     /**
      * Servir documento del cliente por ID
      */
     @GetMapping("/serve/{documentoId}")
     public ResponseEntity<Resource> serveDocumentoCliente(@PathVariable Long documentoId) {
-        log.info("DEBUG: Solicitando documento cliente ID: {}", documentoId);
-
         Optional<DocumentoCliente> documentoOpt = documentoClienteRepository.findById(documentoId);
         if (!documentoOpt.isPresent()) {
             log.error("Documento cliente no encontrado: {}", documentoId);
@@ -44,8 +49,6 @@ public class DocumentoController {
         }
 
         DocumentoCliente documento = documentoOpt.get();
-        log.info("DEBUG: Documento encontrado: {} - Ruta BD: {} - Estado: {}",
-                documento.getNombreArchivo(), documento.getRutaArchivo(), documento.getEstado());
 
         // Validar que el documento no esté reemplazado o sin ruta
         if (documento.getEstado() == DocumentoCliente.EstadoDocumento.REEMPLAZADO) {
@@ -60,16 +63,13 @@ public class DocumentoController {
 
         // Construir la ruta completa del archivo
         String rutaArchivo = construirRutaCompletaDocumentoCliente(documento.getRutaArchivo());
-        log.info("DEBUG: Ruta original en BD: {}", documento.getRutaArchivo());
-        log.info("DEBUG: Ruta completa construida: {}", rutaArchivo);
 
         File archivo = new File(rutaArchivo);
         String rutaAbsoluta = archivo.getAbsolutePath();
-        log.info("DEBUG: Verificando existencia del archivo: {}", rutaAbsoluta);
 
         if (!archivo.exists() || !archivo.isFile()) {
-            log.error("Archivo fisico no existe o no es un archivo: {}", rutaAbsoluta);
-            log.error("Ruta original en BD: {}", documento.getRutaArchivo());
+            log.error("Archivo fisico no existe o no es un archivo: {} (ruta en BD: {})",
+                    rutaAbsoluta, documento.getRutaArchivo());
 
             // Intentar rutas alternativas para diagnóstico
             String[] rutasAlternativas = {
@@ -85,7 +85,7 @@ public class DocumentoController {
             for (String rutaAlt : rutasAlternativas) {
                 File archivoAlt = new File(rutaAlt);
                 boolean existe = archivoAlt.exists() && archivoAlt.isFile();
-                log.info("Verificando ruta alternativa: {} - Existe: {}", rutaAlt, existe);
+                log.debug("Verificando ruta alternativa: {} - Existe: {}", rutaAlt, existe);
                 if (existe && !encontrado) {
                     encontrado = true;
                     rutaEncontrada = rutaAlt;
@@ -116,7 +116,7 @@ public class DocumentoController {
         headers.add("X-Frame-Options", "SAMEORIGIN");
         headers.add("Content-Security-Policy", "frame-ancestors 'self'");
 
-        log.info("Sirviendo archivo: {} ({} bytes)", documento.getNombreArchivo(), archivo.length());
+        log.debug("Sirviendo documento cliente {}: {} ({} bytes)", documentoId, nombreArchivo, archivo.length());
 
         return ResponseEntity.ok()
                 .headers(headers)
@@ -171,7 +171,7 @@ public class DocumentoController {
         headers.add("X-Frame-Options", "SAMEORIGIN");
         headers.add("Content-Security-Policy", "frame-ancestors 'self'");
 
-        log.info("Sirviendo archivo: {} ({} bytes)", documento.getNombreArchivo(), archivo.length());
+        log.debug("Sirviendo documento cliente {}: {} ({} bytes)", documentoId, nombreArchivo, archivo.length());
 
         return ResponseEntity.ok()
                 .headers(headers)
@@ -299,4 +299,27 @@ public class DocumentoController {
 
         return ResponseEntity.ok(debugInfo);
     }
+
+    /**
+     * Invalida las huellas de los documentos generados con una versión de templates
+     * (por defecto la vigente), para que se vuelvan a renderizar al generarlos otra vez.
+     * Usar al desplegar cambios de templates sin subir app.documentos.version-templates.
+     */
+    @PostMapping("/generados/invalidar-huellas")
+    public ResponseEntity<Map<String, Object>> invalidarHuellas(
+            @RequestParam(required = false) String versionTemplate,
+            @CurrentUser UsuarioActual usuario) {
+        if (!usuario.tieneRol("ADMIN")) {
+            throw new AccessDeniedException("Solo un administrador puede invalidar documentos generados");
+        }
+        String version = versionTemplate != null && !versionTemplate.isBlank()
+            ? versionTemplate.trim()
+            : documentoPDFUtils.getVersionTemplates();
+        int invalidados = documentoPDFUtils.invalidarHuellasPorVersionTemplate(version);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("versionTemplate", version);
+        response.put("documentosInvalidados", invalidados);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,110 @@
+package com.armasimportacion.controller;
+
+import com.armasimportacion.config.ConcurrencyLimits;
+import com.armasimportacion.enums.EstadoCliente;
+import com.armasimportacion.enums.EstadoCuotaPago;
+import com.armasimportacion.enums.EstadoPago;
+import com.armasimportacion.enums.FormatoExportacion;
+import com.armasimportacion.exception.ServiceBusyException;
+import com.armasimportacion.service.ExportacionService;
+import com.armasimportacion.util.ConcurrencyLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Exportaciones por streaming (CSV o JSONL). La respuesta se envía en chunks mientras se
+ * leen las filas de la BD; no lleva Content-Length. Como cada exportación retiene una
+ * conexión mientras dura, solo corren app.exportaciones.max-concurrentes a la vez: las
+ * demás reciben 503 antes de empezar.
+ * Ejemplo: GET /api/exportaciones/pagos?formato=CSV&estado=EN_CURSO&fechaInicio=2025-01-01T00:00:00
+ */
+@RestController
+@RequestMapping("/api/exportaciones")
+@RequiredArgsConstructor
+@Tag(name = "Exportaciones", description = "Exportación de pagos, cuotas, clientes y series en CSV o JSONL")
+@CrossOrigin(origins = "*")
+public class ExportacionController {
+
+    private final ExportacionService exportacionService;
+    private final ConcurrencyLimits concurrencyLimits;
+
+    @GetMapping("/pagos")
+    @Operation(summary = "Exportar pagos", description = "Mismos filtros que /api/pagos/buscar")
+    public ResponseEntity<StreamingResponseBody> exportarPagos(
+            @RequestParam(defaultValue = "CSV") FormatoExportacion formato,
+            @RequestParam(required = false) EstadoPago estado,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin) {
+        return respuesta("pagos", formato, salida ->
+                exportacionService.exportarPagos(salida, formato, estado, clienteId, fechaInicio, fechaFin));
+    }
+
+    @GetMapping("/cuotas")
+    @Operation(summary = "Exportar cuotas", description = "Filtra por estado, cliente y rango de vencimiento")
+    public ResponseEntity<StreamingResponseBody> exportarCuotas(
+            @RequestParam(defaultValue = "CSV") FormatoExportacion formato,
+            @RequestParam(required = false) EstadoCuotaPago estado,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate vencimientoDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate vencimientoHasta) {
+        return respuesta("cuotas", formato, salida ->
+                exportacionService.exportarCuotas(salida, formato, estado, clienteId, vencimientoDesde, vencimientoHasta));
+    }
+
+    @GetMapping("/clientes")
+    @Operation(summary = "Exportar clientes", description = "Filtra por estado y fecha de creación")
+    public ResponseEntity<StreamingResponseBody> exportarClientes(
+            @RequestParam(defaultValue = "CSV") FormatoExportacion formato,
+            @RequestParam(required = false) EstadoCliente estado,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin) {
+        return respuesta("clientes", formato, salida ->
+                exportacionService.exportarClientes(salida, formato, estado, fechaInicio, fechaFin));
+    }
+
+    @GetMapping("/series-asignadas")
+    @Operation(summary = "Exportar series asignadas", description = "Filtra por grupo de importación y fecha de asignación")
+    public ResponseEntity<StreamingResponseBody> exportarSeriesAsignadas(
+            @RequestParam(defaultValue = "CSV") FormatoExportacion formato,
+            @RequestParam(required = false) Long grupoImportacionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin) {
+        return respuesta("series_asignadas", formato, salida ->
+                exportacionService.exportarSeriesAsignadas(salida, formato, grupoImportacionId, fechaInicio, fechaFin));
+    }
+
+    private ResponseEntity<StreamingResponseBody> respuesta(String nombre, FormatoExportacion formato,
+                                                            StreamingResponseBody cuerpo) {
+        // El permiso se toma aquí, antes de enviar cabeceras, y se libera al terminar el stream
+        ConcurrencyLimiter limite = concurrencyLimits.exportaciones();
+        if (!limite.adquirir()) {
+            throw new ServiceBusyException("Hay demasiadas exportaciones en curso, intente nuevamente en unos minutos");
+        }
+        String archivo = nombre + "_" + LocalDate.now() + "." + formato.getExtension();
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(salida -> {
+                    try {
+                        cuerpo.writeTo(salida);
+                    } finally {
+                        limite.liberar();
+                    }
+                });
+    }
+}
@@ -21,7 +21,8 @@ import com.armasimportacion.service.CategoriaArmaService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import com.armasimportacion.security.JwtTokenProvider;
+import com.armasimportacion.security.CurrentUser;
+import com.armasimportacion.security.UsuarioActual;
 import com.armasimportacion.service.GrupoImportacionService;
 import com.armasimportacion.service.GrupoImportacionClienteService;
 import com.armasimportacion.service.GrupoImportacionMatchingService;
@@ -62,7 +63,6 @@ public class GrupoImportacionController {
     private final GrupoImportacionWorkflowService grupoImportacionWorkflowService;
     private final GrupoImportacionProcesoService grupoImportacionProcesoService;
     private final UsuarioService usuarioService;
-    private final JwtTokenProvider jwtTokenProvider;
     private final DocumentoClienteService documentoClienteService;
     private final CategoriaArmaService categoriaArmaService;
     private final ClienteArmaRepository clienteArmaRepository;
@@ -70,31 +70,12 @@ public class GrupoImportacionController {
     private final TipoClienteRepository tipoClienteRepository;
     private final com.armasimportacion.service.ClienteArmaService clienteArmaService;
 
-    /**
-     * Obtiene el usuario actual desde el token JWT
-     */
-    private Long obtenerUsuarioId(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new BadRequestException("Token JWT requerido");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtTokenProvider.getUsernameFromToken(token);
-        if (email == null) {
-            throw new BadRequestException("Token JWT inválido");
-        }
-        
-        Usuario usuario = usuarioService.findByEmail(email);
-        return usuario.getId();
-    }
-
-    private Long obtenerUsuarioIdOpcional(String authHeader, Long grupoId) {
-        try {
-            return obtenerUsuarioId(authHeader);
-        } catch (Exception e) {
-            log.warn("Token no enviado en definir pedido, usando usuario creador del grupo {}", grupoId);
-            return grupoImportacionService.obtenerGrupoImportacion(grupoId).getUsuarioCreador().getId();
+    private Long obtenerUsuarioIdOpcional(UsuarioActual usuario, Long grupoId) {
+        if (usuario != null) {
+            return usuario.id();
         }
+        log.warn("Token no enviado en definir pedido, usando usuario creador del grupo {}", grupoId);
+        return grupoImportacionService.obtenerGrupoImportacion(grupoId).getUsuarioCreador().getId();
     }
 
     /**
@@ -106,9 +87,9 @@ public class GrupoImportacionController {
                description = "Genera el documento PDF del pedido y cambia el estado del grupo a SOLICITAR_PROFORMA_FABRICA")
     public ResponseEntity<Map<String, Object>> definirPedido(
             @PathVariable @NotNull @Positive Long id,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @CurrentUser(required = false) UsuarioActual usuario) {
         log.info("Definiendo pedido para grupo ID: {}", id);
-        Long usuarioId = obtenerUsuarioIdOpcional(authHeader, id);
+        Long usuarioId = obtenerUsuarioIdOpcional(usuario, id);
 
         DocumentoGenerado documento = grupoImportacionWorkflowService.definirPedido(id, usuarioId);
 
@@ -306,11 +287,11 @@ public class GrupoImportacionController {
     @Operation(summary = "Obtener grupos activos para vendedor", 
                description = "Obtiene la lista de grupos de importación activos asignados al vendedor actual con cupos disponibles")
     public ResponseEntity<List<Map<String, Object>>> obtenerGruposActivos(
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Obteniendo grupos de importacion activos para vendedor");
 
         // Obtener ID del vendedor desde el token
-        Long vendedorId = obtenerUsuarioId(authHeader);
+        Long vendedorId = usuario.id();
         log.info("Buscando grupos para vendedor ID: {}", vendedorId);
 
         // Obtener grupos disponibles para este vendedor (con cupos verificados)
@@ -492,8 +473,8 @@ public class GrupoImportacionController {
     public ResponseEntity<Map<String, Object>> verificarGrupoDisponiblePorTipo(
             @RequestParam String tipoClienteCodigo,
             @RequestParam(required = false) String estadoMilitar,
-            @RequestHeader("Authorization") String authHeader) {
-        Long usuarioId = obtenerUsuarioId(authHeader);
+            @CurrentUser UsuarioActual usuario) {
+        Long usuarioId = usuario.id();
 
         var tipoClienteOpt = tipoClienteRepository.findByCodigo(tipoClienteCodigo);
         if (tipoClienteOpt.isEmpty()) {
@@ -554,7 +535,7 @@ public class GrupoImportacionController {
     public ResponseEntity<Map<String, String>> agregarClienteAlGrupo(
             @PathVariable @NotNull @Positive Long id,
             @PathVariable @NotNull @Positive Long clienteId,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Agregando cliente ID: {} al grupo ID: {}", clienteId, id);
 
         grupoImportacionClienteService.agregarCliente(id, clienteId);
@@ -592,10 +573,10 @@ public class GrupoImportacionController {
                description = "Cambia el estado del grupo a NOTIFICAR_AGENTE_ADUANERO")
     public ResponseEntity<Map<String, String>> notificarAgenteAduanero(
             @PathVariable @NotNull @Positive Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Notificando agente aduanero para grupo ID: {}", id);
 
-        Long usuarioId = obtenerUsuarioId(authHeader);
+        Long usuarioId = usuario.id();
         grupoImportacionWorkflowService.cambiarEstado(id, EstadoGrupoImportacion.NOTIFICAR_AGENTE_ADUANERO, usuarioId);
 
         Map<String, String> response = new HashMap<>();
@@ -675,10 +656,10 @@ public class GrupoImportacionController {
                description = "Crea un nuevo grupo de importación y bloquea la licencia asignada")
     public ResponseEntity<Map<String, Object>> crearGrupo(
             @Valid @RequestBody GrupoImportacionCreateDTO dto,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Creando nuevo grupo de importacion: {}", dto.getNombre());
 
-        Long usuarioId = obtenerUsuarioId(authHeader);
+        Long usuarioId = usuario.id();
         GrupoImportacion grupo =
             grupoImportacionService.crearGrupoDesdeDTO(dto, usuarioId);
 
@@ -702,10 +683,10 @@ public class GrupoImportacionController {
     public ResponseEntity<Map<String, Object>> actualizarGrupo(
             @PathVariable @NotNull @Positive Long id,
             @Valid @RequestBody GrupoImportacionCreateDTO dto,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Actualizando grupo de importacion ID: {}", id);
 
-        Long usuarioId = obtenerUsuarioId(authHeader);
+        Long usuarioId = usuario.id();
         GrupoImportacion grupo =
             grupoImportacionService.actualizarGrupoDesdeDTO(id, dto, usuarioId);
 
@@ -49,8 +49,9 @@ public class LicenciaController {
     @Operation(summary = "Obtener licencias disponibles", description = "Retorna las licencias que están activas y disponibles (no bloqueadas)")
     public ResponseEntity<List<LicenciaDTO>> getLicenciasDisponibles() {
         log.info("GET /api/licencia/disponibles - Obteniendo licencias disponibles");
-        List<Licencia> licencias = licenciaRepository.findByEstadoAndEstadoOcupacion(true, EstadoOcupacionLicencia.DISPONIBLE);
-        List<LicenciaDTO> licenciaDTOs = licencias.stream()
+        // Activas desde la cache de licencias; la ocupación se filtra aquí
+        List<LicenciaDTO> licenciaDTOs = licenciaService.obtenerLicenciasActivas().stream()
+                .filter(licencia -> licencia.getEstadoOcupacion() == EstadoOcupacionLicencia.DISPONIBLE)
                 .map(licenciaMapper::toDTO)
                 .collect(Collectors.toList());
         log.info("Licencias disponibles encontradas: {}", licenciaDTOs.size());
@@ -104,6 +105,7 @@ public class LicenciaController {
         // NOTA: Los cupos se manejan a nivel de Grupo de Importación, no de Licencia
 
         Licencia savedLicencia = licenciaRepository.save(licencia);
+        licenciaService.invalidarCache();
         log.info("Licencia creada con ID: {} - Banco: {}, Cuenta: {}",
                  savedLicencia.getId(), savedLicencia.getNombreBanco(), savedLicencia.getCuentaBancaria());
         return ResponseEntity.ok(licenciaMapper.toDTO(savedLicencia));
@@ -184,6 +186,7 @@ public class LicenciaController {
                     existingLicencia.setFechaActualizacion(LocalDateTime.now());
                     
                     Licencia updated = licenciaRepository.save(existingLicencia);
+                    licenciaService.invalidarCache();
                     log.info("Licencia actualizada: {} - Banco: {}, Cuenta: {}",
                              updated.getNumero(), updated.getNombreBanco(), updated.getCuentaBancaria());
                     return ResponseEntity.ok(licenciaMapper.toDTO(updated));
@@ -202,6 +205,7 @@ public class LicenciaController {
         return licenciaRepository.findById(id)
                 .map(licencia -> {
                     licenciaRepository.delete(licencia);
+                    licenciaService.invalidarCache();
                     log.info("Licencia eliminada: {}", licencia.getNumero());
                     return ResponseEntity.ok().<Void>build();
                 })
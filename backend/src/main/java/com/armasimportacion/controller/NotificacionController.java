@@ -2,16 +2,19 @@ package com.armasimportacion.controller;
 
 import com.armasimportacion.enums.TipoNotificacion;
 import com.armasimportacion.model.Notificacion;
-import com.armasimportacion.model.Usuario;
-import com.armasimportacion.repository.UsuarioRepository;
+import com.armasimportacion.security.CurrentUser;
+import com.armasimportacion.security.UsuarioActual;
 import com.armasimportacion.service.NotificacionService;
+import com.armasimportacion.service.NotificacionTiempoRealService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -24,46 +27,51 @@ import java.util.Map;
 public class NotificacionController {
 
     private final NotificacionService notificacionService;
-    private final UsuarioRepository usuarioRepository;
+    private final NotificacionTiempoRealService notificacionTiempoRealService;
 
     @GetMapping
     @Operation(summary = "Obtener notificaciones del usuario autenticado")
-    public ResponseEntity<List<Notificacion>> getMisNotificaciones() {
-        Usuario usuario = getUsuarioAutenticado();
-        List<Notificacion> notificaciones = notificacionService.obtenerNotificacionesPorUsuario(usuario.getId());
+    public ResponseEntity<List<Notificacion>> getMisNotificaciones(@CurrentUser UsuarioActual usuario) {
+        List<Notificacion> notificaciones = notificacionService.obtenerNotificacionesPorUsuario(usuario.id());
         return ResponseEntity.ok(notificaciones);
     }
 
     @GetMapping("/no-leidas")
     @Operation(summary = "Obtener notificaciones no leídas del usuario autenticado")
-    public ResponseEntity<List<Notificacion>> getMisNotificacionesNoLeidas() {
-        Usuario usuario = getUsuarioAutenticado();
-        List<Notificacion> notificaciones = notificacionService.obtenerNotificacionesNoLeidas(usuario.getId());
+    public ResponseEntity<List<Notificacion>> getMisNotificacionesNoLeidas(@CurrentUser UsuarioActual usuario) {
+        List<Notificacion> notificaciones = notificacionService.obtenerNotificacionesNoLeidas(usuario.id());
         return ResponseEntity.ok(notificaciones);
     }
 
     @GetMapping("/no-leidas/count")
     @Operation(summary = "Contar notificaciones no leídas del usuario autenticado")
-    public ResponseEntity<Map<String, Integer>> contarNoLeidas() {
-        Usuario usuario = getUsuarioAutenticado();
-        int count = notificacionService.contarNotificacionesNoLeidas(usuario.getId());
+    public ResponseEntity<Map<String, Integer>> contarNoLeidas(@CurrentUser UsuarioActual usuario) {
+        int count = notificacionService.contarNotificacionesNoLeidas(usuario.id());
         return ResponseEntity.ok(Map.of("count", count));
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Canal SSE con el contador de no leídas (evento 'no-leidas')")
+    public SseEmitter streamNoLeidas(@CurrentUser UsuarioActual usuario, HttpServletResponse response) {
+        // Evita que Nginx acumule el stream en buffer
+        response.setHeader("X-Accel-Buffering", "no");
+        response.setHeader("Cache-Control", "no-cache");
+        return notificacionTiempoRealService.suscribir(usuario.id());
+    }
+
     @GetMapping("/tipo/{tipo}")
     @Operation(summary = "Obtener notificaciones por tipo del usuario autenticado")
-    public ResponseEntity<List<Notificacion>> getMisNotificacionesPorTipo(@PathVariable TipoNotificacion tipo) {
-        Usuario usuario = getUsuarioAutenticado();
-        List<Notificacion> notificaciones = notificacionService.obtenerNotificacionesPorTipo(usuario.getId(), tipo);
+    public ResponseEntity<List<Notificacion>> getMisNotificacionesPorTipo(@PathVariable TipoNotificacion tipo,
+                                                                          @CurrentUser UsuarioActual usuario) {
+        List<Notificacion> notificaciones = notificacionService.obtenerNotificacionesPorTipo(usuario.id(), tipo);
         return ResponseEntity.ok(notificaciones);
     }
 
     @PutMapping("/{id}/leer")
     @Operation(summary = "Marcar notificación como leída")
-    public ResponseEntity<Void> marcarComoLeida(@PathVariable Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+    public ResponseEntity<Void> marcarComoLeida(@PathVariable Long id, @CurrentUser UsuarioActual usuario) {
         Notificacion notificacion = notificacionService.obtenerNotificacion(id);
-        if (!notificacion.getUsuarioDestinatario().getId().equals(usuario.getId())) {
+        if (!notificacion.getUsuarioDestinatario().getId().equals(usuario.id())) {
             return ResponseEntity.status(403).build();
         }
         notificacionService.marcarComoLeida(id);
@@ -72,27 +80,19 @@ public class NotificacionController {
 
     @PutMapping("/leer-todas")
     @Operation(summary = "Marcar todas las notificaciones como leídas")
-    public ResponseEntity<Void> marcarTodasComoLeidas() {
-        Usuario usuario = getUsuarioAutenticado();
-        notificacionService.marcarTodasComoLeidas(usuario.getId());
+    public ResponseEntity<Void> marcarTodasComoLeidas(@CurrentUser UsuarioActual usuario) {
+        notificacionService.marcarTodasComoLeidas(usuario.id());
         return ResponseEntity.ok().build();
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Eliminar una notificación")
-    public ResponseEntity<Void> eliminarNotificacion(@PathVariable Long id) {
-        Usuario usuario = getUsuarioAutenticado();
+    public ResponseEntity<Void> eliminarNotificacion(@PathVariable Long id, @CurrentUser UsuarioActual usuario) {
         Notificacion notificacion = notificacionService.obtenerNotificacion(id);
-        if (!notificacion.getUsuarioDestinatario().getId().equals(usuario.getId())) {
+        if (!notificacion.getUsuarioDestinatario().getId().equals(usuario.id())) {
             return ResponseEntity.status(403).build();
         }
         notificacionService.eliminarNotificacion(id);
         return ResponseEntity.ok().build();
     }
-
-    private Usuario getUsuarioAutenticado() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + email));
-    }
 }
@@ -2,20 +2,19 @@ package com.armasimportacion.controller;
 
 import com.armasimportacion.dto.DocumentoGrupoImportacionDTO;
 import com.armasimportacion.dto.GrupoImportacionDTO;
-import com.armasimportacion.exception.BadRequestException;
 import com.armasimportacion.dto.GrupoImportacionResumenDTO;
-import com.armasimportacion.enums.EstadoGrupoImportacion;
-import com.armasimportacion.model.GrupoImportacion;
-import com.armasimportacion.model.Usuario;
-import com.armasimportacion.security.JwtTokenProvider;
+import com.armasimportacion.security.CurrentUser;
+import com.armasimportacion.security.UsuarioActual;
 import com.armasimportacion.service.DocumentoGrupoImportacionService;
 import com.armasimportacion.service.GrupoImportacionService;
 import com.armasimportacion.service.GrupoImportacionWorkflowService;
-import com.armasimportacion.service.UsuarioService;
+import com.armasimportacion.service.TableroOperacionesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -37,26 +36,7 @@ public class OperacionesController {
     private final GrupoImportacionService grupoImportacionService;
     private final GrupoImportacionWorkflowService grupoImportacionWorkflowService;
     private final DocumentoGrupoImportacionService documentoGrupoImportacionService;
-    private final UsuarioService usuarioService;
-    private final JwtTokenProvider jwtTokenProvider;
-
-    /**
-     * Obtiene el usuario actual desde el token JWT
-     */
-    private Long obtenerUsuarioId(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new BadRequestException("Token JWT requerido");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtTokenProvider.getUsernameFromToken(token);
-        if (email == null) {
-            throw new BadRequestException("Token JWT inválido");
-        }
-        
-        Usuario usuario = usuarioService.findByEmail(email);
-        return usuario.getId();
-    }
+    private final TableroOperacionesService tableroOperacionesService;
 
     /**
      * Lista grupos de importación para operaciones
@@ -66,47 +46,19 @@ public class OperacionesController {
     @Operation(summary = "Listar grupos para operaciones", 
                description = "Obtiene la lista de grupos de importación que están en proceso de operaciones")
     public ResponseEntity<List<GrupoImportacionDTO>> listarGrupos(
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Listando grupos para operaciones");
+        return ResponseEntity.ok(tableroOperacionesService.listar(Pageable.unpaged()).getContent());
+    }
 
-        // TODO: Implementar filtrado por estado en el repositorio
-        // Por ahora retornamos todos, el frontend filtrará
-        List<GrupoImportacion> grupos =
-            grupoImportacionService.obtenerGruposActivos();
-
-        // Filtrar solo los que están en proceso de operaciones
-        List<GrupoImportacion> gruposOperaciones = grupos.stream()
-            .filter(g -> g.getEstado() == EstadoGrupoImportacion.SOLICITAR_PROFORMA_FABRICA ||
-                        g.getEstado() == EstadoGrupoImportacion.EN_PROCESO_OPERACIONES)
-            .toList();
-
-        // Convertir a DTOs con información de documentos
-        List<GrupoImportacionDTO> dtos = gruposOperaciones.stream()
-            .map(g -> {
-                GrupoImportacionDTO dto = new GrupoImportacionDTO();
-                dto.setId(g.getId());
-                dto.setNombre(g.getNombre());
-                dto.setDescripcion(g.getDescripcion());
-                dto.setEstado(g.getEstado());
-                dto.setFechaCreacion(g.getFechaCreacion());
-                dto.setFechaActualizacion(g.getFechaActualizacion());
-
-                // Agregar información de estado de documentos
-                try {
-                    Map<String, Object> estadoDocs = documentoGrupoImportacionService.obtenerEstadoDocumentos(g.getId());
-                    dto.setDocumentosCargados((Integer) estadoDocs.get("documentosCargados"));
-                    dto.setDocumentosFaltantes((Integer) estadoDocs.get("documentosFaltantes"));
-                    dto.setDocumentosRequeridosCargados((Integer) estadoDocs.get("documentosRequeridosCargados"));
-                    dto.setPuedeNotificarPago((Boolean) estadoDocs.get("puedeNotificarPago"));
-                } catch (Exception e) {
-                    log.warn("Error obteniendo estado de documentos para grupo {}: {}", g.getId(), e.getMessage());
-                }
-
-                return dto;
-            })
-            .toList();
-
-        return ResponseEntity.ok(dtos);
+    /**
+     * Tablero de operaciones paginado (mismos grupos y conteos que /grupos)
+     */
+    @GetMapping("/tablero")
+    @Operation(summary = "Tablero de operaciones",
+               description = "Lista paginada de grupos en operaciones con el estado de sus documentos")
+    public ResponseEntity<Page<GrupoImportacionDTO>> tablero(Pageable pageable) {
+        return ResponseEntity.ok(tableroOperacionesService.listar(pageable));
     }
 
     /**
@@ -135,10 +87,10 @@ public class OperacionesController {
             @RequestParam("tipoDocumentoId") Long tipoDocumentoId,
             @RequestParam("archivo") MultipartFile archivo,
             @RequestParam(value = "descripcion", required = false) String descripcion,
-            @RequestHeader("Authorization") String authHeader) throws java.io.IOException {
+            @CurrentUser UsuarioActual usuario) throws java.io.IOException {
         log.info("Cargando documento para grupo ID: {}, tipo: {}", grupoId, tipoDocumentoId);
 
-        Long usuarioId = obtenerUsuarioId(authHeader);
+        Long usuarioId = usuario.id();
 
         DocumentoGrupoImportacionDTO documento = documentoGrupoImportacionService.cargarDocumento(
             grupoId, tipoDocumentoId, archivo, descripcion, usuarioId);
@@ -186,10 +138,10 @@ public class OperacionesController {
                description = "Notifica que se realizó el pago a fábrica. Requiere documentos 1, 2, 3 cargados")
     public ResponseEntity<Map<String, String>> notificarPagoFabrica(
             @PathVariable Long grupoId,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Notificando pago a fabrica para grupo ID: {}", grupoId);
 
-        Long usuarioId = obtenerUsuarioId(authHeader);
+        Long usuarioId = usuario.id();
 
         grupoImportacionWorkflowService.notificarPagoFabrica(grupoId, usuarioId);
 
@@ -227,10 +179,10 @@ public class OperacionesController {
     public ResponseEntity<Map<String, String>> registrarFechaLlegada(
             @PathVariable Long grupoId,
             @RequestParam("fechaLlegada") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaLlegada,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Registrando fecha de llegada para grupo ID: {} - Fecha: {}", grupoId, fechaLlegada);
 
-        Long usuarioId = obtenerUsuarioId(authHeader);
+        Long usuarioId = usuario.id();
 
         grupoImportacionWorkflowService.registrarFechaLlegada(grupoId, fechaLlegada, usuarioId);
 
@@ -249,10 +201,10 @@ public class OperacionesController {
     public ResponseEntity<Map<String, String>> registrarNumeroPrevia(
             @PathVariable Long grupoId,
             @RequestParam("numeroPrevia") String numeroPrevia,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser UsuarioActual usuario) {
         log.info("Registrando numero de previa para grupo ID: {} - Numero: {}", grupoId, numeroPrevia);
 
-        Long usuarioId = obtenerUsuarioId(authHeader);
+        Long usuarioId = usuario.id();
 
         grupoImportacionWorkflowService.registrarNumeroPreviaImportacion(grupoId, numeroPrevia, usuarioId);
 
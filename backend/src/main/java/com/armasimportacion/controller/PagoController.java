@@ -12,6 +12,7 @@ import com.armasimportacion.model.CuotaPago;
 import com.armasimportacion.model.DocumentoGenerado;
 import com.armasimportacion.service.PagoService;
 import com.armasimportacion.service.EmailService;
+import com.armasimportacion.service.EntregaCorreoService;
 import com.armasimportacion.service.ConfiguracionSistemaService;
 import com.armasimportacion.service.FileStorageService;
 import com.armasimportacion.repository.DocumentoGeneradoRepository;
@@ -23,6 +24,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -181,7 +183,7 @@ public class PagoController {
     @GetMapping("/cuota/{cuotaId}/descargar-recibo")
     public ResponseEntity<Resource> descargarRecibo(@PathVariable Long cuotaId) throws java.io.IOException {
         log.info("Descargando recibo para cuota ID: {}", cuotaId);
-        CuotaPago cuota = cuotaPagoRepository.findById(cuotaId)
+        CuotaPago cuota = cuotaPagoRepository.findDetalleById(cuotaId)
             .orElseThrow(() -> new ResourceNotFoundException("Cuota no encontrada"));
 
         DocumentoGenerado recibo = null;
@@ -237,7 +239,7 @@ public class PagoController {
             @PathVariable Long cuotaId,
             @RequestBody(required = false) Map<String, Object> requestBody) throws java.io.IOException {
         log.info("Enviando recibo por correo para cuota ID: {}", cuotaId);
-        CuotaPago cuota = cuotaPagoRepository.findById(cuotaId)
+        CuotaPago cuota = cuotaPagoRepository.findDetalleById(cuotaId)
             .orElseThrow(() -> new ResourceNotFoundException("Cuota no encontrada"));
         Cliente cliente = clienteRepository.findById(
             cuota.getPago().getClienteId()
@@ -293,19 +295,23 @@ public class PagoController {
             recibo = pagoService.generarRecibo(cuotaId);
         }
 
-        // Leer archivo PDF
-        byte[] pdfBytes = fileStorageService.loadFile(recibo.getRutaArchivo());
+        // Ubicar el PDF: se adjunta leyendo del disco al enviar
+        Path pdf = fileStorageService.resolverArchivo(recibo.getRutaArchivo());
 
         // Enviar por correo
-        emailService.enviarReciboPorCorreo(
+        List<EntregaCorreoService.EstadoEntrega> entregas = emailService.enviarReciboPorCorreo(
             emails,
             cliente.getNombres() + " " + cliente.getApellidos(),
-            pdfBytes,
+            pdf,
             recibo.getNombreArchivo(),
             cuota.getNumeroRecibo() != null ? cuota.getNumeroRecibo() : "REC-" + cuota.getId(),
             cuota.getMonto()
         );
 
-        return ResponseEntity.ok(Map.of("success", true, "message", "Recibo enviado por correo exitosamente"));
+        boolean algunoEnviado = entregas.stream().anyMatch(EntregaCorreoService.EstadoEntrega::enviado);
+        return ResponseEntity.ok(Map.of(
+            "success", algunoEnviado,
+            "message", algunoEnviado ? "Recibo enviado por correo exitosamente" : "No se pudo enviar el recibo a ningún destinatario",
+            "entregas", entregas));
     }
 } 
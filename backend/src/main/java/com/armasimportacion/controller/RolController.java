@@ -4,6 +4,7 @@ import com.armasimportacion.dto.RolDTO;
 import com.armasimportacion.mapper.RolMapper;
 import com.armasimportacion.model.Rol;
 import com.armasimportacion.repository.RolRepository;
+import com.armasimportacion.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ public class RolController {
 
     private final RolRepository rolRepository;
     private final RolMapper rolMapper;
+    private final UsuarioService usuarioService;
 
     @GetMapping
     // TODO: Descomentar en producción: @PreAuthorize("hasAuthority('ADMIN')")
@@ -77,6 +79,7 @@ public class RolController {
                     existingRol.setDescripcion(rol.getDescripcion());
                     existingRol.setEstado(rol.getEstado());
                     Rol updated = rolRepository.save(existingRol);
+                    usuarioService.invalidarCache();
                     RolDTO rolDTO = rolMapper.toDTO(updated);
                     log.info("Rol actualizado: {}", updated.getNombre());
                     return ResponseEntity.ok(rolDTO);
@@ -95,6 +98,7 @@ public class RolController {
         return rolRepository.findById(id)
                 .map(rol -> {
                     rolRepository.delete(rol);
+                    usuarioService.invalidarCache();
                     log.info("Rol eliminado: {}", rol.getNombre());
                     return ResponseEntity.ok().<Void>build();
                 })
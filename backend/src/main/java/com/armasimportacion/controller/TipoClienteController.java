@@ -2,6 +2,7 @@ package com.armasimportacion.controller;
 
 import com.armasimportacion.dto.TipoClienteDTO;
 import com.armasimportacion.mapper.TipoClienteMapper;
+import com.armasimportacion.service.DatosReferenciaService;
 import com.armasimportacion.service.TipoClienteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -24,21 +25,19 @@ public class TipoClienteController {
 
     private final TipoClienteService service;
     private final TipoClienteMapper mapper;
+    private final DatosReferenciaService datosReferenciaService;
 
     @GetMapping
     @Operation(summary = "Obtener todos los tipos de cliente", description = "Retorna la lista de todos los tipos de cliente activos")
     public ResponseEntity<List<TipoClienteDTO>> getAllTiposCliente() {
-        log.info("Solicitud para obtener todos los tipos de cliente");
-        List<TipoClienteDTO> tipos = mapper.toDTOList(service.findAllActive());
+        List<TipoClienteDTO> tipos = datosReferenciaService.actual().tiposClienteActivos();
         return ResponseEntity.ok(tipos);
     }
 
     @GetMapping("/config")
     @Operation(summary = "Obtener configuración de tipos de cliente", description = "Retorna un mapa con la configuración de cada tipo de cliente para el frontend")
     public ResponseEntity<Map<String, Map<String, Object>>> getTiposClienteConfig() {
-        log.info("Solicitud para obtener configuración de tipos de cliente");
-        
-        List<TipoClienteDTO> tipos = mapper.toDTOList(service.findAllActive());
+        List<TipoClienteDTO> tipos = datosReferenciaService.actual().tiposClienteActivos();
         Map<String, Map<String, Object>> config = new HashMap<>();
         
         for (TipoClienteDTO tipo : tipos) {
@@ -52,7 +51,6 @@ public class TipoClienteController {
             config.put(tipo.getNombre(), tipoConfig);
         }
         
-        log.info("Configuración de tipos de cliente generada: {} tipos", config.size());
         return ResponseEntity.ok(config);
     }
     
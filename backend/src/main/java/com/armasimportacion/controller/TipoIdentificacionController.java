@@ -2,6 +2,7 @@ package com.armasimportacion.controller;
 
 import com.armasimportacion.dto.TipoIdentificacionDTO;
 import com.armasimportacion.mapper.TipoIdentificacionMapper;
+import com.armasimportacion.service.DatosReferenciaService;
 import com.armasimportacion.service.TipoIdentificacionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,6 +23,7 @@ public class TipoIdentificacionController {
 
     private final TipoIdentificacionService service;
     private final TipoIdentificacionMapper mapper;
+    private final DatosReferenciaService datosReferenciaService;
 
     @GetMapping
     @Operation(summary = "Obtener todos los tipos de identificación", description = "Retorna la lista de todos los tipos de identificación")
@@ -30,8 +32,7 @@ public class TipoIdentificacionController {
         log.info("Solicitud para obtener todos los tipos de identificación (incluirInactivos: {})", incluirInactivos);
         List<TipoIdentificacionDTO> tipos = incluirInactivos 
             ? mapper.toDTOList(service.findAll())
-            : mapper.toDTOList(service.findAllActive());
-        log.info("Tipos de identificacion encontrados: {}", tipos.size());
+            : datosReferenciaService.actual().tiposIdentificacionActivos();
         return ResponseEntity.ok(tipos);
     }
 
@@ -1,8 +1,7 @@
 package com.armasimportacion.controller;
 
 import com.armasimportacion.dto.TipoClienteDTO;
-import com.armasimportacion.mapper.TipoClienteMapper;
-import com.armasimportacion.service.TipoClienteService;
+import com.armasimportacion.service.DatosReferenciaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -22,15 +21,14 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class TiposClienteController {
 
-    private final TipoClienteService service;
-    private final TipoClienteMapper mapper;
+    private final DatosReferenciaService datosReferenciaService;
 
     @GetMapping("/config")
     @Operation(summary = "Obtener configuración de tipos de cliente", description = "Retorna un mapa con la configuración de cada tipo de cliente para el frontend")
     public ResponseEntity<Map<String, Map<String, Object>>> getTiposClienteConfig() {
         log.info("GET /api/tipos-cliente/config - Obteniendo configuracion de tipos de cliente");
         
-        List<TipoClienteDTO> tipos = mapper.toDTOList(service.findAllActive());
+        List<TipoClienteDTO> tipos = datosReferenciaService.actual().tiposClienteActivos();
         Map<String, Map<String, Object>> config = new HashMap<>();
         
         for (TipoClienteDTO tipo : tipos) {
@@ -42,7 +40,6 @@ public class TiposClienteController {
             tipoConfig.put("debeTratarseComoCivilCuandoPasivo", false);
             
             config.put(tipo.getNombre(), tipoConfig);
-            log.info("  Tipo: {} -> Codigo: {}, Requiere ISSFA: {}", tipo.getNombre(), tipo.getCodigo(), tipo.getRequiereIssfa());
         }
         
         log.info("Configuracion generada para {} tipos de cliente", config.size());
@@ -0,0 +1,36 @@
+package com.armasimportacion.dto;
+
+import java.util.List;
+
+/**
+ * Resultado (o vista previa, con simulacion = true) de la asignación masiva de series
+ * DISPONIBLE de un grupo de importación a las reservas RESERVADA de sus clientes.
+ * reservasSinSerie y seriesSobrantes son lo que quedó sin pareja, sumado por arma.
+ */
+public record AsignacionMasivaSeriesDTO(
+        Long grupoImportacionId,
+        boolean simulacion,
+        int asignadas,
+        int reservasSinSerie,
+        int seriesSobrantes,
+        List<ResumenArma> porArma,
+        List<Asignacion> asignaciones) {
+
+    public record Asignacion(
+            Long clienteArmaId,
+            Long clienteId,
+            String cliente,
+            Long armaId,
+            String armaModelo,
+            Long armaSerieId,
+            String numeroSerie) {
+    }
+
+    public record ResumenArma(
+            Long armaId,
+            String armaModelo,
+            int reservas,
+            int series,
+            int asignadas) {
+    }
+}
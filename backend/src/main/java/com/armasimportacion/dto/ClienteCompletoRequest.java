@@ -0,0 +1,22 @@
+package com.armasimportacion.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cuerpo de creación y actualización completa de cliente (POST/PUT /api/clientes).
+ * Jackson lo enlaza directamente; arma y respuestas siguen como mapas porque sus
+ * helpers aceptan varias formas del frontend.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ClienteCompletoRequest(
+        ClienteDatosRequest cliente,
+        List<Map<String, Object>> respuestas,
+        Map<String, Object> arma,
+        List<Map<String, Object>> armas,
+        PagoClienteRequest pago,
+        // Las cuotas llegan en la raíz, no dentro de pago
+        List<CuotaClienteRequest> cuotas) {
+}
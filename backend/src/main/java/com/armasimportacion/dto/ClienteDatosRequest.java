@@ -0,0 +1,85 @@
+package com.armasimportacion.dto;
+
+import com.armasimportacion.util.FechaFlexibleDeserializer;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.time.LocalDate;
+
+/**
+ * Datos personales del cliente dentro de ClienteCompletoRequest.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ClienteDatosRequest(
+        String nombres,
+        String apellidos,
+        String numeroIdentificacion,
+        String tipoIdentificacionCodigo,
+        String tipoClienteCodigo,
+        @JsonDeserialize(using = FechaFlexibleDeserializer.class) LocalDate fechaNacimiento,
+        String direccion,
+        String provincia,
+        String canton,
+        String email,
+        String telefonoPrincipal,
+        String telefonoSecundario,
+        String representanteLegal,
+        String ruc,
+        String nombreEmpresa,
+        String direccionFiscal,
+        String telefonoReferencia,
+        String correoEmpresa,
+        String provinciaEmpresa,
+        String cantonEmpresa,
+        String estadoMilitar,
+        String codigoIssfa,
+        String codigoIsspol,
+        String rango,
+        String estado) {
+
+    public boolean estaVacio() {
+        return nombres == null && apellidos == null && numeroIdentificacion == null
+            && tipoIdentificacionCodigo == null && tipoClienteCodigo == null && fechaNacimiento == null
+            && direccion == null && provincia == null && canton == null && email == null
+            && telefonoPrincipal == null && telefonoSecundario == null && representanteLegal == null
+            && ruc == null && nombreEmpresa == null && direccionFiscal == null && telefonoReferencia == null
+            && correoEmpresa == null && provinciaEmpresa == null && cantonEmpresa == null
+            && estadoMilitar == null && codigoIssfa == null && codigoIsspol == null && rango == null
+            && estado == null;
+    }
+
+    /**
+     * DTO que consumen ClienteService.createFromDTO/updateFromDTO. Sin fecha de
+     * nacimiento se usa la de hace 30 años, como antes.
+     */
+    public ClienteCreateDTO toCreateDTO() {
+        LocalDate fecha = fechaNacimiento != null ? fechaNacimiento : LocalDate.now().minusYears(30);
+        return ClienteCreateDTO.builder()
+            .nombres(nombres)
+            .apellidos(apellidos)
+            .numeroIdentificacion(numeroIdentificacion)
+            .tipoIdentificacionCodigo(tipoIdentificacionCodigo)
+            .tipoClienteCodigo(tipoClienteCodigo)
+            .fechaNacimiento(fecha.toString())
+            .direccion(direccion)
+            .provincia(provincia)
+            .canton(canton)
+            .email(email)
+            .telefonoPrincipal(telefonoPrincipal)
+            .telefonoSecundario(telefonoSecundario)
+            .representanteLegal(representanteLegal)
+            .ruc(ruc)
+            .nombreEmpresa(nombreEmpresa)
+            .direccionFiscal(direccionFiscal)
+            .telefonoReferencia(telefonoReferencia)
+            .correoEmpresa(correoEmpresa)
+            .provinciaEmpresa(provinciaEmpresa)
+            .cantonEmpresa(cantonEmpresa)
+            .estadoMilitar(estadoMilitar)
+            .codigoIssfa(codigoIssfa)
+            .codigoIsspol(codigoIsspol)
+            .rango(rango)
+            .estado(estado)
+            .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.armasimportacion.dto;
+
+import com.armasimportacion.enums.EstadoCliente;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la exportación de clientes (proyección JPQL, sin entidades administradas)
+ */
+public record ClienteExportacionDTO(
+        Long id,
+        String numeroIdentificacion,
+        String nombres,
+        String apellidos,
+        String email,
+        String telefonoPrincipal,
+        String tipoCliente,
+        EstadoCliente estado,
+        String provincia,
+        String canton,
+        String vendedorEmail,
+        LocalDateTime fechaCreacion) {
+}
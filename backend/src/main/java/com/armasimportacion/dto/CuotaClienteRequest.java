@@ -0,0 +1,18 @@
+package com.armasimportacion.dto;
+
+import com.armasimportacion.util.FechaFlexibleDeserializer;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cuota definida en el frontend al crear un cliente con pago a crédito.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CuotaClienteRequest(
+        Integer numeroCuota,
+        BigDecimal monto,
+        @JsonDeserialize(using = FechaFlexibleDeserializer.class) LocalDate fechaVencimiento) {
+}
@@ -0,0 +1,24 @@
+package com.armasimportacion.dto;
+
+import com.armasimportacion.enums.EstadoCuotaPago;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la exportación de cuotas (proyección JPQL, sin entidades administradas)
+ */
+public record CuotaExportacionDTO(
+        Long id,
+        Long pagoId,
+        Long clienteId,
+        String clienteIdentificacion,
+        Integer numeroCuota,
+        BigDecimal monto,
+        LocalDate fechaVencimiento,
+        EstadoCuotaPago estado,
+        LocalDateTime fechaPago,
+        String numeroRecibo,
+        String referenciaPago) {
+}
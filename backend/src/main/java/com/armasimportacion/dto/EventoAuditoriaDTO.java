@@ -0,0 +1,20 @@
+package com.armasimportacion.dto;
+
+import com.armasimportacion.enums.EntidadAuditada;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de la bitácora de auditoría (fila de audit_event)
+ */
+public record EventoAuditoriaDTO(
+        Long id,
+        EntidadAuditada entidad,
+        Long entidadId,
+        String accion,
+        String estadoAnterior,
+        String estadoNuevo,
+        String usuario,
+        String detalle,
+        LocalDateTime fechaEvento) {
+}
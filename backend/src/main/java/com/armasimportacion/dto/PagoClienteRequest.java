@@ -0,0 +1,27 @@
+package com.armasimportacion.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Pago inicial dentro de ClienteCompletoRequest. Los números pueden llegar como
+ * número o como texto; Jackson los convierte.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PagoClienteRequest(
+        BigDecimal subtotal,
+        // El frontend envía "total"; "montoTotal" queda por compatibilidad
+        BigDecimal total,
+        BigDecimal montoTotal,
+        String tipoPago,
+        String metodoPagoCodigo,
+        Integer numeroCuotas,
+        BigDecimal montoPagado,
+        Integer cuotaActual,
+        String estado) {
+
+    public BigDecimal totalInformado() {
+        return total != null ? total : montoTotal;
+    }
+}
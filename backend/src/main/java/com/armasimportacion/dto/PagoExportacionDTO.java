@@ -0,0 +1,25 @@
+package com.armasimportacion.dto;
+
+import com.armasimportacion.enums.EstadoPago;
+import com.armasimportacion.enums.TipoPago;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la exportación de pagos (proyección JPQL, sin entidades administradas)
+ */
+public record PagoExportacionDTO(
+        Long id,
+        Long clienteId,
+        String clienteIdentificacion,
+        String clienteNombres,
+        String clienteApellidos,
+        TipoPago tipoPago,
+        EstadoPago estado,
+        BigDecimal montoTotal,
+        BigDecimal montoPagado,
+        BigDecimal montoPendiente,
+        Integer numeroCuotas,
+        LocalDateTime fechaCreacion) {
+}
@@ -0,0 +1,38 @@
+package com.armasimportacion.dto;
+
+import com.armasimportacion.model.Rol;
+import com.armasimportacion.model.Usuario;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Perfil del usuario para /api/auth/me: datos de presentación y el detalle de sus roles.
+ * Inmutable y sin passwordHash, así puede quedar en la cache de usuarios.
+ */
+public record PerfilUsuarioDTO(
+        Long id,
+        String email,
+        String nombres,
+        String apellidos,
+        List<RolAsignado> roles) {
+
+    public PerfilUsuarioDTO {
+        roles = List.copyOf(roles);
+    }
+
+    public record RolAsignado(Long id, String nombre, String codigo, String descripcion) {
+    }
+
+    public static PerfilUsuarioDTO de(Usuario usuario) {
+        return new PerfilUsuarioDTO(
+                usuario.getId(),
+                usuario.getEmail(),
+                usuario.getNombres(),
+                usuario.getApellidos(),
+                usuario.getRoles().stream()
+                        .sorted(Comparator.comparing(Rol::getId))
+                        .map(rol -> new RolAsignado(rol.getId(), rol.getNombre(), rol.getCodigo(), rol.getDescripcion()))
+                        .toList());
+    }
+}
@@ -0,0 +1,24 @@
+package com.armasimportacion.dto;
+
+import com.armasimportacion.model.ArmaSerie;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la exportación de series asignadas (proyección JPQL, sin entidades administradas)
+ */
+public record SerieAsignadaExportacionDTO(
+        Long id,
+        String numeroSerie,
+        String armaCodigo,
+        String armaModelo,
+        String armaCalibre,
+        ArmaSerie.EstadoSerie estado,
+        Long clienteArmaId,
+        String clienteIdentificacion,
+        String clienteNombres,
+        String clienteApellidos,
+        Long grupoImportacionId,
+        String lote,
+        LocalDateTime fechaAsignacion) {
+}
@@ -0,0 +1,13 @@
+package com.armasimportacion.enums;
+
+/**
+ * Entidades cuyos cambios de estado se registran en audit_event
+ */
+public enum EntidadAuditada {
+    CLIENTE,
+    PAGO,
+    CUOTA_PAGO,
+    CLIENTE_ARMA,
+    DOCUMENTO_CLIENTE,
+    GRUPO_IMPORTACION
+}
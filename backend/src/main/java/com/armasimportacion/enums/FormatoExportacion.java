@@ -0,0 +1,27 @@
+package com.armasimportacion.enums;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos de las exportaciones por streaming
+ */
+public enum FormatoExportacion {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    JSONL("application/x-ndjson", "jsonl");
+
+    private final String mediaType;
+    private final String extension;
+
+    FormatoExportacion(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return MediaType.parseMediaType(mediaType);
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
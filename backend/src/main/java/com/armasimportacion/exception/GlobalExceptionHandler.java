@@ -1,12 +1,18 @@
 package com.armasimportacion.exception;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -16,10 +22,13 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +42,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static final String METRICA_CARGA_PEREZOSA = "gmarm.jpa.lazy_initialization";
+
     /**
      * Estructura estándar de respuesta de error
      */
@@ -104,8 +115,34 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_GATEWAY, ex.getMessage(), null);
     }
 
+    /**
+     * Maneja ServiceBusyException (recurso saturado: pool de BD, render de PDF o SMTP)
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceBusyException(ServiceBusyException ex) {
+        log.warn("Recurso saturado: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), null);
+    }
+
     // ==================== ERRORES DE BASE DE DATOS ====================
 
+    /**
+     * Maneja la falta de conexión a la BD. Si es transitoria (pool o limitador JDBC
+     * saturado: SQLTransientConnectionException, venga envuelta en el error de Spring,
+     * Hibernate o de la transacción) responde 503 como el resto de recursos saturados.
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class,
+            JDBCConnectionException.class})
+    public ResponseEntity<Map<String, Object>> handleConexionNoDisponible(RuntimeException ex) {
+        SQLTransientConnectionException causa = buscarCausa(ex, SQLTransientConnectionException.class);
+        if (causa == null) {
+            return handleRuntimeException(ex);
+        }
+        log.warn("Conexiones a la BD saturadas: {}", causa.getMessage());
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+            "El servidor está ocupado. Por favor, intente nuevamente en unos segundos.", null);
+    }
+
     /**
      * Maneja errores de integridad de datos (duplicados, FK, etc.)
      */
@@ -118,7 +155,9 @@ public class GlobalExceptionHandler {
 
         if (mensaje != null) {
             if (mensaje.contains("duplicate key") || mensaje.contains("Duplicate entry")) {
-                if (mensaje.contains("numero_identificacion")) {
+                if (mensaje.contains("uq_cliente_ruc")) {
+                    mensajeUsuario = "El RUC ingresado ya está registrado en un cliente activo.";
+                } else if (mensaje.contains("numero_identificacion")) {
                     mensajeUsuario = "El número de cédula/RUC ingresado ya está registrado en el sistema.";
                 } else if (mensaje.contains("email")) {
                     mensajeUsuario = "El email ingresado ya está registrado en el sistema.";
@@ -313,6 +352,58 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // ==================== CARGA PEREZOSA FUERA DE SESIÓN ====================
+
+    /**
+     * Maneja LazyInitializationException: una relación no incluida en el fetch plan del
+     * endpoint se leyó sin sesión (p.ej. con spring.jpa.open-in-view=false).
+     */
+    @ExceptionHandler(LazyInitializationException.class)
+    public ResponseEntity<Map<String, Object>> handleLazyInitialization(
+            LazyInitializationException ex, HttpServletRequest request) {
+        return registrarCargaPerezosa(ex, request);
+    }
+
+    /**
+     * Maneja errores al serializar la respuesta; los causados por carga perezosa se registran
+     * aparte (Jackson recorrió una relación sin inicializar).
+     */
+    @ExceptionHandler(HttpMessageNotWritableException.class)
+    public ResponseEntity<Map<String, Object>> handleHttpMessageNotWritable(
+            HttpMessageNotWritableException ex, HttpServletRequest request) {
+        LazyInitializationException causa = buscarCausa(ex, LazyInitializationException.class);
+        if (causa != null) {
+            return registrarCargaPerezosa(causa, request);
+        }
+        return handleRuntimeException(ex);
+    }
+
+    private ResponseEntity<Map<String, Object>> registrarCargaPerezosa(
+            LazyInitializationException ex, HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        Metrics.counter(METRICA_CARGA_PEREZOSA, "method", request.getMethod(), "uri", uri).increment();
+        log.error("Carga perezosa fuera de sesión en {} {} (falta en el fetch plan): {}",
+            request.getMethod(), uri, ex.getMessage(), ex);
+        return buildErrorResponse(
+            HttpStatus.INTERNAL_SERVER_ERROR,
+            "Error al cargar los datos. Por favor, intente nuevamente.",
+            null
+        );
+    }
+
+    private static <T extends Throwable> T buscarCausa(Throwable ex, Class<T> tipo) {
+        for (Throwable actual = ex; actual != null; actual = actual.getCause()) {
+            if (tipo.isInstance(actual)) {
+                return tipo.cast(actual);
+            }
+            if (actual.getCause() == actual) {
+                break;
+            }
+        }
+        return null;
+    }
+
     // ==================== ERRORES DE TEMPLATES/PDF ====================
 
     /**
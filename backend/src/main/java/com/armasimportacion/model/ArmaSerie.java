@@ -22,7 +22,9 @@ import java.time.LocalDateTime;
 public class ArmaSerie {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Bloques de 50 ids (V16): permite el batching de INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "arma_serie_seq")
+    @SequenceGenerator(name = "arma_serie_seq", sequenceName = "arma_serie_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "numero_serie", unique = true, nullable = false, length = 100)
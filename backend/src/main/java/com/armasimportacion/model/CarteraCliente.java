@@ -0,0 +1,57 @@
+package com.armasimportacion.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cartera (cuentas por cobrar) precalculada de un cliente. Solo la escribe
+ * CarteraClienteService con SQL agregado; desde JPA es de solo lectura.
+ */
+@Entity
+@Immutable
+@Table(name = "cartera_cliente")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarteraCliente {
+
+    @Id
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(name = "monto_total", nullable = false)
+    private BigDecimal montoTotal = BigDecimal.ZERO;
+
+    @Column(name = "monto_pagado", nullable = false)
+    private BigDecimal montoPagado = BigDecimal.ZERO;
+
+    // Incluye lo vencido
+    @Column(name = "monto_pendiente", nullable = false)
+    private BigDecimal montoPendiente = BigDecimal.ZERO;
+
+    @Column(name = "monto_vencido", nullable = false)
+    private BigDecimal montoVencido = BigDecimal.ZERO;
+
+    @Column(name = "cuotas_vencidas", nullable = false)
+    private Integer cuotasVencidas = 0;
+
+    @Column(name = "proximo_vencimiento")
+    private LocalDate proximoVencimiento;
+
+    // Día con el que se calcularon los vencidos
+    @Column(name = "fecha_corte", nullable = false)
+    private LocalDate fechaCorte;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
@@ -2,6 +2,8 @@ package com.armasimportacion.model;
 
 import com.armasimportacion.enums.EstadoCliente;
 import com.armasimportacion.enums.EstadoMilitar;
+import com.armasimportacion.service.ClienteEstadisticasListener;
+import com.armasimportacion.service.FiltroIdentificacionesListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
@@ -23,10 +25,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners({ClienteEstadisticasListener.class, FiltroIdentificacionesListener.class})
 public class Cliente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Bloques de 50 ids (V16): permite el batching de INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "numero_identificacion", nullable = false, length = 50)
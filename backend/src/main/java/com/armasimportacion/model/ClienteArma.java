@@ -23,7 +23,9 @@ import java.time.LocalDateTime;
 public class ClienteArma {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Bloques de 50 ids (V16): permite el batching de INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_arma_seq")
+    @SequenceGenerator(name = "cliente_arma_seq", sequenceName = "cliente_arma_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -12,6 +12,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -33,7 +34,9 @@ import java.time.LocalDateTime;
 public class ClienteGrupoImportacion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Bloques de 50 ids (V16): permite el batching de INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_grupo_importacion_seq")
+    @SequenceGenerator(name = "cliente_grupo_importacion_seq", sequenceName = "cliente_grupo_importacion_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
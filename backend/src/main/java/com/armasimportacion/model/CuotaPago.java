@@ -12,6 +12,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -35,7 +36,9 @@ import java.time.LocalDateTime;
 public class CuotaPago {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Bloques de 50 ids (V16): permite el batching de INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cuota_pago_seq")
+    @SequenceGenerator(name = "cuota_pago_seq", sequenceName = "cuota_pago_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -88,4 +88,11 @@ public class DocumentoGenerado {
     @LastModifiedDate
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
+
+    // SHA-256 del template y el HTML procesado; si coincide, el PDF existente se reutiliza
+    @Column(name = "huella", length = 64)
+    private String huella;
+
+    @Column(name = "version_template", length = 50)
+    private String versionTemplate;
 } 
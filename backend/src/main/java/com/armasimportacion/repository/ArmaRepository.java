@@ -13,7 +13,8 @@ import java.util.Optional;
 public interface ArmaRepository extends JpaRepository<Arma, Long> {
     
     // Buscar por estado con JOIN FETCH para evitar problemas de lazy loading
-    @Query("SELECT DISTINCT a FROM Arma a LEFT JOIN FETCH a.categoria WHERE a.estado = :estado ORDER BY a.categoria.nombre, a.modelo")
+    // Con categoría e imágenes: ArmaService guarda el resultado en cache y ArmaMapper lee ambas
+    @Query("SELECT DISTINCT a FROM Arma a LEFT JOIN FETCH a.categoria LEFT JOIN FETCH a.imagenes WHERE a.estado = :estado ORDER BY a.categoria.nombre, a.modelo")
     List<Arma> findByEstado(@Param("estado") Boolean estado);
     
     // Buscar por categoría
@@ -1,14 +1,20 @@
 package com.armasimportacion.repository;
 
+import com.armasimportacion.dto.SerieAsignadaExportacionDTO;
 import com.armasimportacion.model.ArmaSerie;
 import com.armasimportacion.model.ArmaSerie.EstadoSerie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la gestión de números de serie de armas
@@ -26,6 +32,15 @@ public interface ArmaSerieRepository extends JpaRepository<ArmaSerie, Long> {
      */
     boolean existsByNumeroSerie(String numeroSerie);
 
+    /**
+     * Números de serie de la lista que ya existen (una consulta para toda una carga masiva).
+     * La lista va como un único parámetro array: un IN con un parámetro por serie supera el
+     * límite de 32767 parámetros del protocolo de PostgreSQL en cargas grandes.
+     */
+    @Query(value = "SELECT numero_serie FROM arma_serie WHERE numero_serie = ANY(CAST(:numerosSerie AS varchar[]))",
+            nativeQuery = true)
+    List<String> findNumerosSerieExistentes(@Param("numerosSerie") String[] numerosSerie);
+
     /**
      * Encuentra todas las series de un arma específica
      */
@@ -108,5 +123,24 @@ public interface ArmaSerieRepository extends JpaRepository<ArmaSerie, Long> {
      */
     @Query("SELECT s FROM ArmaSerie s WHERE s.grupoImportacion.id = :grupoImportacionId")
     List<ArmaSerie> findByGrupoImportacionId(@Param("grupoImportacionId") Long grupoImportacionId);
-}
 
+    /**
+     * Exportación de series asignadas: cursor del servidor (fetch size), filas leídas a
+     * medida que se escriben
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.armasimportacion.dto.SerieAsignadaExportacionDTO(s.id, s.numeroSerie, a.codigo, a.modelo, " +
+           "a.calibre, s.estado, ca.id, c.numeroIdentificacion, c.nombres, c.apellidos, g.id, s.lote, s.fechaAsignacion) " +
+           "FROM ArmaSerie s JOIN s.arma a JOIN s.clienteArma ca JOIN ca.cliente c LEFT JOIN s.grupoImportacion g WHERE " +
+           "(:grupoImportacionId IS NULL OR g.id = :grupoImportacionId) AND " +
+           "(CAST(:fechaInicio AS LocalDateTime) IS NULL OR s.fechaAsignacion >= :fechaInicio) AND " +
+           "(CAST(:fechaFin AS LocalDateTime) IS NULL OR s.fechaAsignacion <= :fechaFin) " +
+           "ORDER BY s.id")
+    Stream<SerieAsignadaExportacionDTO> streamParaExportacion(
+            @Param("grupoImportacionId") Long grupoImportacionId,
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("fechaFin") LocalDateTime fechaFin);
+}
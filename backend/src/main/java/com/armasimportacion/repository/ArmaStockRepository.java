@@ -1,6 +1,7 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.ArmaStock;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,11 +24,13 @@ public interface ArmaStockRepository extends JpaRepository<ArmaStock, Long> {
     /**
      * Buscar stock activo por ID de arma
      */
+    @EntityGraph(attributePaths = {"arma", "arma.categoria", "arma.imagenes"})
     Optional<ArmaStock> findByArmaIdAndActivoTrue(Long armaId);
 
     /**
      * Obtener todas las armas con stock disponible
      */
+    @EntityGraph(attributePaths = {"arma", "arma.categoria", "arma.imagenes"})
     @Query("SELECT ast FROM ArmaStock ast WHERE ast.cantidadDisponible > 0 AND ast.activo = true")
     List<ArmaStock> findArmasConStockDisponible();
 
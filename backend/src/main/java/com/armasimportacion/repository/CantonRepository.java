@@ -1,8 +1,12 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.Canton;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,13 +16,22 @@ import java.util.Optional;
 @Repository
 public interface CantonRepository extends JpaRepository<Canton, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Canton> findByProvinciaIdAndEstadoTrue(Long provinciaId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Canton> findByProvinciaCodigoAndEstadoTrue(String provinciaCodigo);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Canton> findByProvinciaNombreAndEstadoTrue(String provinciaNombre);
 
+    // Todos los cantones activos con su provincia (registro de datos de referencia)
+    @EntityGraph(attributePaths = "provincia")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Canton> findConProvinciaByEstadoTrue();
+
     // Buscar cantón por nombre (case-insensitive) - evita findAll().stream().filter()
     @Query("SELECT c FROM Canton c WHERE LOWER(c.nombre) = LOWER(:nombre)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Canton> findByNombreIgnoreCase(@Param("nombre") String nombre);
 }
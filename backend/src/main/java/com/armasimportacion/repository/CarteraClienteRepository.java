@@ -0,0 +1,15 @@
+package com.armasimportacion.repository;
+
+import com.armasimportacion.model.CarteraCliente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CarteraClienteRepository extends JpaRepository<CarteraCliente, Long> {
+
+    @Query("SELECT c.clienteId FROM CarteraCliente c WHERE c.cuotasVencidas > 0")
+    List<Long> findClienteIdsConCuotasVencidas();
+}
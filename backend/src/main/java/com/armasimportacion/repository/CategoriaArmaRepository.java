@@ -1,8 +1,11 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.CategoriaArma;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,8 +16,11 @@ import java.util.Optional;
 public interface CategoriaArmaRepository extends JpaRepository<CategoriaArma, Long> {
     
     // Búsquedas básicas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CategoriaArma> findByCodigo(String codigo);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CategoriaArma> findByNombre(String nombre);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CategoriaArma> findByEstado(Boolean estado);
     
     // Búsquedas con filtros
@@ -32,5 +38,6 @@ public interface CategoriaArmaRepository extends JpaRepository<CategoriaArma, Lo
     boolean existsByNombre(String nombre);
     
     // Categorías activas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CategoriaArma> findByEstadoTrue();
 } 
@@ -1,6 +1,7 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.ClienteAccesorio;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,7 +17,8 @@ import java.util.Optional;
 @Repository
 public interface ClienteAccesorioRepository extends JpaRepository<ClienteAccesorio, Long> {
 
-    // Buscar por cliente
+    // Buscar por cliente (con cliente y accesorio: el DTO lee nombre y código de ambos)
+    @EntityGraph(attributePaths = {"cliente", "accesorio"})
     List<ClienteAccesorio> findByClienteId(Long clienteId);
     
     // Buscar por accesorio
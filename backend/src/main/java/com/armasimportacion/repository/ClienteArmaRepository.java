@@ -22,6 +22,10 @@ public interface ClienteArmaRepository extends JpaRepository<ClienteArma, Long>
     // Buscar por cliente con FETCH JOIN para cargar arma y categoria
     @Query("SELECT ca FROM ClienteArma ca JOIN FETCH ca.arma arma JOIN FETCH arma.categoria WHERE ca.cliente.id = :clienteId")
     List<ClienteArma> findByClienteIdWithArmaAndCategoria(@Param("clienteId") Long clienteId);
+
+    // Todas las asignaciones del cliente con su arma (datos del contrato)
+    @Query("SELECT ca FROM ClienteArma ca LEFT JOIN FETCH ca.arma WHERE ca.cliente.id = :clienteId")
+    List<ClienteArma> findByClienteIdWithArma(@Param("clienteId") Long clienteId);
     
     // Buscar por arma
     List<ClienteArma> findByArmaId(Long armaId);
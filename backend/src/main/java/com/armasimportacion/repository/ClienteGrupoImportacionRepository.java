@@ -4,6 +4,7 @@ import com.armasimportacion.model.ClienteGrupoImportacion;
 import com.armasimportacion.model.Cliente;
 import com.armasimportacion.model.GrupoImportacion;
 import com.armasimportacion.enums.EstadoClienteGrupo;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,8 +27,14 @@ public interface ClienteGrupoImportacionRepository extends JpaRepository<Cliente
     // Clientes por grupo
     @Query("SELECT cgi FROM ClienteGrupoImportacion cgi WHERE cgi.grupoImportacion.id = :grupoId")
     List<ClienteGrupoImportacion> findByGrupoImportacionId(@Param("grupoId") Long grupoId);
+
+    // Clientes por grupo con el cliente y su tipo ya cargados (listado del grupo sin sesión abierta)
+    @EntityGraph(attributePaths = {"cliente", "cliente.tipoCliente"})
+    @Query("SELECT cgi FROM ClienteGrupoImportacion cgi WHERE cgi.grupoImportacion.id = :grupoId")
+    List<ClienteGrupoImportacion> findConClienteByGrupoImportacionId(@Param("grupoId") Long grupoId);
     
-    // Grupos por cliente
+    // Grupos por cliente (con el grupo y su licencia: estado y siglas del importador)
+    @EntityGraph(attributePaths = {"grupoImportacion", "grupoImportacion.licencia"})
     @Query("SELECT cgi FROM ClienteGrupoImportacion cgi WHERE cgi.cliente.id = :clienteId")
     List<ClienteGrupoImportacion> findByClienteId(@Param("clienteId") Long clienteId);
     
@@ -1,19 +1,25 @@
 package com.armasimportacion.repository;
 
+import com.armasimportacion.dto.ClienteExportacionDTO;
 import com.armasimportacion.enums.EstadoCliente;
 import com.armasimportacion.enums.EstadoMilitar;
 import com.armasimportacion.model.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
@@ -22,6 +28,11 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByTipoIdentificacionIdAndNumeroIdentificacion(
         Long tipoIdentificacionId, String numeroIdentificacion);
 
+    // Carga para correos enviados fuera de transacción (sin lazy pendientes)
+    @EntityGraph(attributePaths = {"tipoCliente", "tipoIdentificacion"})
+    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
+    Optional<Cliente> findParaCorreoById(@Param("id") Long id);
+
     // Búsquedas por usuario creador
     @EntityGraph(attributePaths = {"tipoCliente", "tipoIdentificacion"})
     List<Cliente> findByUsuarioCreadorId(Long usuarioId);
@@ -60,6 +71,8 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     // Búsquedas por empresa
     List<Cliente> findByRuc(String ruc);
     Optional<Cliente> findByRucAndIdNot(String ruc, Long id);
+    boolean existsByRuc(String ruc);
+    boolean existsByRucAndIdNot(String ruc, Long id);
 
     // Búsquedas con filtros complejos
     @EntityGraph(attributePaths = {"tipoCliente", "tipoIdentificacion"})
@@ -102,6 +115,11 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     @Query("SELECT c FROM Cliente c WHERE c.numeroIdentificacion = :numero AND c.estado NOT IN :estadosExcluidos")
     Optional<Cliente> findByNumeroIdentificacionAndEstadoNotIn(@Param("numero") String numero, @Param("estadosExcluidos") List<EstadoCliente> estadosExcluidos);
 
+    // Cédula o RUC en uso por un cliente activo, en una sola consulta (sin cargar entidades)
+    @Query("SELECT COUNT(c) > 0 FROM Cliente c WHERE (c.numeroIdentificacion = :numero OR c.ruc = :numero) " +
+           "AND c.estado NOT IN :estadosExcluidos")
+    boolean existsIdentificacionActiva(@Param("numero") String numero, @Param("estadosExcluidos") List<EstadoCliente> estadosExcluidos);
+
     // Buscar cliente finalizado por cédula (para prellenar datos)
     @EntityGraph(attributePaths = {"tipoCliente", "tipoIdentificacion"})
     Optional<Cliente> findByNumeroIdentificacionAndEstado(String numeroIdentificacion, EstadoCliente estado);
@@ -150,6 +168,14 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     @Query("SELECT c.usuarioCreador.nombres, COUNT(c) FROM Cliente c GROUP BY c.usuarioCreador.nombres")
     List<Object[]> getEstadisticasPorVendedor();
     
+    // Agregado único para dashboards: [vendedorId, vendedorNombres, estado, procesoCompletado, aprobado, rechazado, total]
+    @Query(value = "SELECT c.usuario_creador_id, u.nombres, c.estado, c.proceso_completado, c.aprobado_por_jefe_ventas, " +
+           "(c.motivo_rechazo IS NOT NULL) AS rechazado, COUNT(*) AS total " +
+           "FROM cliente c JOIN usuario u ON u.id = c.usuario_creador_id " +
+           "GROUP BY c.usuario_creador_id, u.nombres, c.estado, c.proceso_completado, c.aprobado_por_jefe_ventas, " +
+           "(c.motivo_rechazo IS NOT NULL)", nativeQuery = true)
+    List<Object[]> getConteosAgregados();
+    
     // Métodos adicionales para estadísticas de vendedor
     @Query("SELECT COUNT(c) FROM Cliente c WHERE c.usuarioCreador.id = :usuarioId AND c.estado = :estado")
     Long countByUsuarioCreadorAndEstado(@Param("usuarioId") Long usuarioId, @Param("estado") EstadoCliente estado);
@@ -175,10 +201,6 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     @Query("SELECT c FROM Cliente c WHERE c.id = :id")
     Optional<Cliente> findByIdWithRelations(@Param("id") Long id);
 
-    @EntityGraph(attributePaths = {"documentos", "respuestas", "armas", "usuarioCreador", "tipoCliente", "tipoIdentificacion"})
-    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
-    Optional<Cliente> findByIdWithCollections(@Param("id") Long id);
-
     @EntityGraph(attributePaths = {"usuarioCreador", "tipoCliente", "tipoIdentificacion"})
     @Query("SELECT c FROM Cliente c WHERE c.estado = :estado")
     List<Cliente> findByEstadoWithRelations(@Param("estado") EstadoCliente estado);
@@ -222,4 +244,21 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
            nativeQuery = true)
     List<Cliente> findClientesPendientesContrato();
     */
-} 
+
+    // Exportación: cursor del servidor (fetch size), filas leídas a medida que se escriben
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.armasimportacion.dto.ClienteExportacionDTO(c.id, c.numeroIdentificacion, c.nombres, " +
+           "c.apellidos, c.email, c.telefonoPrincipal, tc.nombre, c.estado, c.provincia, c.canton, u.email, c.fechaCreacion) " +
+           "FROM Cliente c JOIN c.tipoCliente tc LEFT JOIN c.usuarioCreador u WHERE " +
+           "(:estado IS NULL OR c.estado = :estado) AND " +
+           "(CAST(:fechaInicio AS LocalDateTime) IS NULL OR c.fechaCreacion >= :fechaInicio) AND " +
+           "(CAST(:fechaFin AS LocalDateTime) IS NULL OR c.fechaCreacion <= :fechaFin) " +
+           "ORDER BY c.id")
+    Stream<ClienteExportacionDTO> streamParaExportacion(
+            @Param("estado") EstadoCliente estado,
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("fechaFin") LocalDateTime fechaFin);
+}
@@ -1,19 +1,34 @@
 package com.armasimportacion.repository;
 
+import com.armasimportacion.dto.CuotaExportacionDTO;
 import com.armasimportacion.enums.EstadoCuotaPago;
 import com.armasimportacion.model.CuotaPago;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CuotaPagoRepository extends JpaRepository<CuotaPago, Long> {
 
     List<CuotaPago> findByPagoId(Long pagoId);
+
+    // Cuota con pago y confirmador cargados: se serializa tal cual en las respuestas de la API
+    @EntityGraph(attributePaths = {"pago", "usuarioConfirmador", "usuarioConfirmador.roles"})
+    @Query("SELECT c FROM CuotaPago c WHERE c.id = :id")
+    Optional<CuotaPago> findDetalleById(@Param("id") Long id);
     
     List<CuotaPago> findByPagoIdOrderByNumeroCuota(Long pagoId);
     
@@ -21,12 +36,21 @@ public interface CuotaPagoRepository extends JpaRepository<CuotaPago, Long> {
     
     List<CuotaPago> findByPagoIdAndEstado(Long pagoId, EstadoCuotaPago estado);
     
-    @Query("SELECT c FROM CuotaPago c WHERE c.fechaVencimiento < :fecha AND c.estado = 'PENDIENTE'")
-    List<CuotaPago> findCuotasVencidas(@Param("fecha") LocalDate fecha);
+    @EntityGraph(attributePaths = {"pago", "usuarioConfirmador", "usuarioConfirmador.roles"})
+    @Query("SELECT c FROM CuotaPago c WHERE c.fechaVencimiento < :fecha AND c.estado IN :estados")
+    List<CuotaPago> findCuotasVencidas(@Param("fecha") LocalDate fecha,
+                                       @Param("estados") Collection<EstadoCuotaPago> estados);
+
+    @EntityGraph(attributePaths = {"pago", "usuarioConfirmador", "usuarioConfirmador.roles"})
+    // Misma definición de vencida que la cartera: CarteraClienteService.hoy() y ESTADOS_ADEUDADOS
+    @Query("SELECT c FROM CuotaPago c WHERE c.pago.clienteId IN :clienteIds AND c.fechaVencimiento < :fecha AND c.estado IN :estados")
+    List<CuotaPago> findCuotasVencidasByClienteIds(@Param("clienteIds") List<Long> clienteIds, @Param("fecha") LocalDate fecha,
+                                                   @Param("estados") Collection<EstadoCuotaPago> estados);
     
     @Query("SELECT c FROM CuotaPago c WHERE c.pago.clienteId = :clienteId AND c.estado = :estado")
     List<CuotaPago> findByClienteIdAndEstado(@Param("clienteId") Long clienteId, @Param("estado") EstadoCuotaPago estado);
     
+    @EntityGraph(attributePaths = {"pago", "usuarioConfirmador", "usuarioConfirmador.roles"})
     @Query("SELECT c FROM CuotaPago c WHERE c.pago.clienteId = :clienteId ORDER BY c.fechaVencimiento ASC")
     List<CuotaPago> findByClienteIdOrderByVencimiento(@Param("clienteId") Long clienteId);
     
@@ -42,4 +66,60 @@ public interface CuotaPagoRepository extends JpaRepository<CuotaPago, Long> {
     @Query(value = "SELECT MAX(CAST(SUBSTRING(numero_recibo FROM '[0-9]+$') AS INTEGER)) " +
                    "FROM cuota_pago WHERE numero_recibo LIKE :prefix", nativeQuery = true)
     Integer findMaxReciboSequence(@Param("prefix") String prefix);
+
+    @Query("SELECT COALESCE(SUM(c.monto), 0) FROM CuotaPago c WHERE c.pago.id = :pagoId AND c.estado = 'PAGADA'")
+    BigDecimal sumMontoPagadoByPagoId(@Param("pagoId") Long pagoId);
+
+    @Query("SELECT COALESCE(MAX(c.numeroCuota), 0) FROM CuotaPago c WHERE c.pago.id = :pagoId")
+    Integer findMaxNumeroCuotaByPagoId(@Param("pagoId") Long pagoId);
+
+    /**
+     * Reparte el saldo entre las cuotas pendientes del pago (ni pagadas ni canceladas) en
+     * un solo UPDATE: todas reciben saldo / n redondeado a 2 decimales y la última, por
+     * número de cuota, absorbe la diferencia de redondeo.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            WITH pendientes AS (
+                SELECT id,
+                       ROW_NUMBER() OVER (ORDER BY numero_cuota, id) AS posicion,
+                       COUNT(*) OVER () AS total
+                FROM cuota_pago
+                WHERE pago_id = :pagoId AND estado NOT IN ('PAGADA', 'CANCELADA')
+            )
+            UPDATE cuota_pago c
+            SET monto = CASE WHEN p.posicion = p.total
+                             THEN :saldo - ROUND(:saldo / p.total, 2) * (p.total - 1)
+                             ELSE ROUND(:saldo / p.total, 2) END,
+                fecha_actualizacion = NOW()
+            FROM pendientes p
+            WHERE c.id = p.id
+            """, nativeQuery = true)
+    int redistribuirSaldoPendiente(@Param("pagoId") Long pagoId, @Param("saldo") BigDecimal saldo);
+
+    // Saldo cubierto: las cuotas pendientes restantes se cancelan en un solo UPDATE
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE cuota_pago SET estado = 'CANCELADA', monto = 0, " +
+                   "observaciones = 'Cuota cancelada - Saldo total cubierto', fecha_actualizacion = NOW() " +
+                   "WHERE pago_id = :pagoId AND estado NOT IN ('PAGADA', 'CANCELADA')", nativeQuery = true)
+    int cancelarCuotasPendientes(@Param("pagoId") Long pagoId);
+
+    // Exportación: cursor del servidor (fetch size), filas leídas a medida que se escriben
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.armasimportacion.dto.CuotaExportacionDTO(cp.id, p.id, p.clienteId, c.numeroIdentificacion, " +
+           "cp.numeroCuota, cp.monto, cp.fechaVencimiento, cp.estado, cp.fechaPago, cp.numeroRecibo, cp.referenciaPago) " +
+           "FROM CuotaPago cp JOIN cp.pago p JOIN Cliente c ON c.id = p.clienteId WHERE " +
+           "(:estado IS NULL OR cp.estado = :estado) AND " +
+           "(:clienteId IS NULL OR p.clienteId = :clienteId) AND " +
+           "(CAST(:vencimientoDesde AS LocalDate) IS NULL OR cp.fechaVencimiento >= :vencimientoDesde) AND " +
+           "(CAST(:vencimientoHasta AS LocalDate) IS NULL OR cp.fechaVencimiento <= :vencimientoHasta) " +
+           "ORDER BY cp.id")
+    Stream<CuotaExportacionDTO> streamParaExportacion(
+            @Param("estado") EstadoCuotaPago estado,
+            @Param("clienteId") Long clienteId,
+            @Param("vencimientoDesde") LocalDate vencimientoDesde,
+            @Param("vencimientoHasta") LocalDate vencimientoHasta);
 }
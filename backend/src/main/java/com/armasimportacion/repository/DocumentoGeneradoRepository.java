@@ -6,6 +6,7 @@ import com.armasimportacion.model.GrupoImportacion;
 import com.armasimportacion.enums.EstadoDocumentoGenerado;
 import com.armasimportacion.enums.TipoDocumentoGenerado;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -74,4 +75,15 @@ public interface DocumentoGeneradoRepository extends JpaRepository<DocumentoGene
     // Batch: documentos generados por múltiples clientes (para enriquecimiento eficiente)
     @Query("SELECT dg FROM DocumentoGenerado dg WHERE dg.cliente.id IN :clienteIds")
     List<DocumentoGenerado> findByClienteIdIn(@Param("clienteIds") List<Long> clienteIds);
+
+    // Documento vigente con la misma huella (template + datos) para reutilizar su PDF
+    @Query("SELECT dg FROM DocumentoGenerado dg WHERE dg.cliente.id = :clienteId AND dg.tipoDocumento = :tipoDocumento AND dg.huella = :huella")
+    List<DocumentoGenerado> findByClienteIdAndTipoAndHuella(@Param("clienteId") Long clienteId,
+                                                            @Param("tipoDocumento") TipoDocumentoGenerado tipoDocumento,
+                                                            @Param("huella") String huella);
+
+    // Rollout de templates: los documentos de esa versión se vuelven a renderizar en la próxima generación
+    @Modifying
+    @Query("UPDATE DocumentoGenerado dg SET dg.huella = NULL WHERE dg.versionTemplate = :versionTemplate AND dg.huella IS NOT NULL")
+    int invalidarHuellasPorVersionTemplate(@Param("versionTemplate") String versionTemplate);
 }
@@ -4,6 +4,7 @@ import com.armasimportacion.model.Licencia;
 import com.armasimportacion.enums.EstadoOcupacionLicencia;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +24,11 @@ public interface LicenciaRepository extends JpaRepository<Licencia, Long> {
     // Búsquedas básicas
     Optional<Licencia> findByNumero(String numero);
     List<Licencia> findByEstado(Boolean estado); // true = ACTIVA, false = INACTIVA
+
+    // Activas con provincia y cantón cargados (LicenciaService las guarda en cache)
+    @EntityGraph(attributePaths = {"provincia", "canton"})
+    @Query("SELECT l FROM Licencia l WHERE l.estado = true ORDER BY l.nombre")
+    List<Licencia> findActivasConUbicacion();
     List<Licencia> findByEstadoAndEstadoOcupacion(Boolean estado, EstadoOcupacionLicencia estadoOcupacion);
 
     // Búsquedas por fecha
@@ -6,6 +6,7 @@ import com.armasimportacion.enums.EstadoNotificacion;
 import com.armasimportacion.enums.TipoNotificacion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,12 +24,15 @@ public interface NotificacionRepository extends JpaRepository<Notificacion, Long
     List<Notificacion> findByTipo(TipoNotificacion tipo);
     
     // Notificaciones por usuario
+    @EntityGraph(attributePaths = {"usuarioDestinatario", "usuarioDestinatario.roles", "usuarioRemitente", "usuarioRemitente.roles"})
     List<Notificacion> findByUsuarioDestinatarioId(Long usuarioId);
     
     // Notificaciones por usuario y estado
+    @EntityGraph(attributePaths = {"usuarioDestinatario", "usuarioDestinatario.roles", "usuarioRemitente", "usuarioRemitente.roles"})
     List<Notificacion> findByUsuarioDestinatarioIdAndEstado(Long usuarioId, EstadoNotificacion estado);
     
     // Notificaciones por usuario y tipo
+    @EntityGraph(attributePaths = {"usuarioDestinatario", "usuarioDestinatario.roles", "usuarioRemitente", "usuarioRemitente.roles"})
     List<Notificacion> findByUsuarioDestinatarioIdAndTipo(Long usuarioId, TipoNotificacion tipo);
     
     // Notificaciones no leídas
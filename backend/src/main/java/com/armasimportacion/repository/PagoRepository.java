@@ -1,18 +1,23 @@
 package com.armasimportacion.repository;
 
+import com.armasimportacion.dto.PagoExportacionDTO;
 import com.armasimportacion.enums.EstadoPago;
 import com.armasimportacion.enums.TipoPago;
 import com.armasimportacion.model.Pago;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PagoRepository extends JpaRepository<Pago, Long> {
@@ -67,4 +72,24 @@ public interface PagoRepository extends JpaRepository<Pago, Long> {
 
     // Paginación para pagos por estado
     Page<Pago> findByEstado(EstadoPago estado, Pageable pageable);
-} 
+
+    // Exportación: cursor del servidor (fetch size), filas leídas a medida que se escriben
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.armasimportacion.dto.PagoExportacionDTO(p.id, p.clienteId, c.numeroIdentificacion, " +
+           "c.nombres, c.apellidos, p.tipoPago, p.estado, p.montoTotal, p.montoPagado, p.montoPendiente, " +
+           "p.numeroCuotas, p.fechaCreacion) " +
+           "FROM Pago p JOIN Cliente c ON c.id = p.clienteId WHERE " +
+           "(:estado IS NULL OR p.estado = :estado) AND " +
+           "(:clienteId IS NULL OR p.clienteId = :clienteId) AND " +
+           "(CAST(:fechaInicio AS LocalDateTime) IS NULL OR p.fechaCreacion >= :fechaInicio) AND " +
+           "(CAST(:fechaFin AS LocalDateTime) IS NULL OR p.fechaCreacion <= :fechaFin) " +
+           "ORDER BY p.id")
+    Stream<PagoExportacionDTO> streamParaExportacion(
+            @Param("estado") EstadoPago estado,
+            @Param("clienteId") Long clienteId,
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("fechaFin") LocalDateTime fechaFin);
+}
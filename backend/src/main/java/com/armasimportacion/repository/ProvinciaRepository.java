@@ -1,7 +1,10 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.Provincia;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,9 +13,12 @@ import java.util.Optional;
 @Repository
 public interface ProvinciaRepository extends JpaRepository<Provincia, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Provincia> findByEstadoTrue();
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Provincia> findByCodigo(String codigo);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Provincia> findByNombre(String nombre);
 }
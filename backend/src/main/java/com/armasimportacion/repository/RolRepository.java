@@ -2,8 +2,11 @@ package com.armasimportacion.repository;
 
 import com.armasimportacion.enums.TipoRolVendedor;
 import com.armasimportacion.model.Rol;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,15 +17,19 @@ import java.util.Optional;
 public interface RolRepository extends JpaRepository<Rol, Long> {
 
     // Búsquedas básicas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Rol> findByNombre(String nombre);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Rol> findByEstado(Boolean estado);
     List<Rol> findByTipoRolVendedor(TipoRolVendedor tipoRolVendedor);
 
     // Búsquedas específicas
     @Query("SELECT r FROM Rol r WHERE r.nombre = 'Vendedor'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Rol> findVendedorRol();
 
     @Query("SELECT r FROM Rol r WHERE r.nombre = 'Administrador'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Rol> findAdminRol();
 
     // Búsquedas con filtros
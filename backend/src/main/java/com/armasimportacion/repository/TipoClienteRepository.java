@@ -1,8 +1,11 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.TipoCliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,21 +16,28 @@ import java.util.Optional;
 public interface TipoClienteRepository extends JpaRepository<TipoCliente, Long> {
 
     // Búsquedas básicas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoCliente> findByCodigo(String codigo);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoCliente> findByNombre(String nombre);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoCliente> findByEstado(Boolean estado);
 
     // Búsquedas específicas
     @Query("SELECT tc FROM TipoCliente tc WHERE tc.nombre = 'Empresa Seguridad'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoCliente> findEmpresaSeguridad();
 
     @Query("SELECT tc FROM TipoCliente tc WHERE tc.nombre LIKE '%Militar%' OR tc.nombre LIKE '%Uniformado%'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoCliente> findUniformados();
 
     @Query("SELECT tc FROM TipoCliente tc WHERE tc.nombre = 'Civil'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoCliente> findCivil();
 
     @Query("SELECT tc FROM TipoCliente tc WHERE tc.nombre = 'Deportista'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoCliente> findDeportista();
 
     // Búsquedas con filtros
@@ -1,7 +1,10 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.TipoDocumento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,20 +13,28 @@ import java.util.Optional;
 @Repository
 public interface TipoDocumentoRepository extends JpaRepository<TipoDocumento, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoDocumento> findByTipoProcesoIdAndEstado(Long tipoProcesoId, Boolean estado);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoDocumento> findByEstado(Boolean estado);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoDocumento> findByNombre(String nombre);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoDocumento> findByNombreAndTipoProcesoId(String nombre, Long tipoProcesoId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoDocumento> findByTipoProcesoIdAndObligatorioTrue(Long tipoProcesoId);
     
     // Método para obtener documentos de clientes (excluyendo documentos de grupos de importación)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoDocumento> findByTipoProcesoIdAndEstadoAndGruposImportacionFalse(Long tipoProcesoId, Boolean estado);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoDocumento> findByGruposImportacion(Boolean gruposImportacion);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoDocumento> findByGruposImportacionAndEstado(Boolean gruposImportacion, Boolean estado);
 }
@@ -1,8 +1,11 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.TipoIdentificacion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,10 +15,13 @@ import java.util.Optional;
 @Repository
 public interface TipoIdentificacionRepository extends JpaRepository<TipoIdentificacion, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoIdentificacion> findByNombre(String nombre);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoIdentificacion> findByCodigo(String codigo);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoIdentificacion> findByEstado(Boolean estado);
     
     @Query("SELECT t FROM TipoIdentificacion t WHERE t.nombre LIKE %:filtro% OR t.codigo LIKE %:filtro%")
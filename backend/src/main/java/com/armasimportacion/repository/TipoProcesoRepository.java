@@ -1,8 +1,11 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.TipoProceso;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,10 +15,13 @@ import java.util.Optional;
 @Repository
 public interface TipoProcesoRepository extends JpaRepository<TipoProceso, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoProceso> findByNombre(String nombre);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoProceso> findByCodigo(String codigo);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TipoProceso> findByEstado(Boolean estado);
     
     @Query("SELECT t FROM TipoProceso t WHERE t.nombre LIKE %:filtro% OR t.codigo LIKE %:filtro%")
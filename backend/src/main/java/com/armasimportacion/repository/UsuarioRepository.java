@@ -1,6 +1,7 @@
 package com.armasimportacion.repository;
 
 import com.armasimportacion.model.Usuario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +16,10 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     // Búsquedas por credenciales
     Optional<Usuario> findByUsername(String username);
     Optional<Usuario> findByEmail(String email);
+
+    // Usuario con sus roles en una consulta (UsuarioActualCache)
+    @EntityGraph(attributePaths = "roles")
+    Optional<Usuario> findConRolesByEmail(String email);
     Optional<Usuario> findByUsernameOrEmail(String username, String email);
 
     // Búsquedas por estado
@@ -0,0 +1,21 @@
+package com.armasimportacion.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inyecta en un parámetro de controlador el {@link UsuarioActual} autenticado,
+ * resuelto por {@link CurrentUserArgumentResolver}.
+ *
+ * Con required = false el parámetro llega en null si la petición es anónima.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+
+    boolean required() default true;
+}
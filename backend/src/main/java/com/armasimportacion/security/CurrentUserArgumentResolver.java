@@ -0,0 +1,78 @@
+package com.armasimportacion.security;
+
+import com.armasimportacion.exception.BadRequestException;
+import com.armasimportacion.service.UsuarioActualCache;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resuelve los parámetros {@code @CurrentUser UsuarioActual}.
+ *
+ * Orden: el usuario que dejó el filtro JWT en la request, el nombre del SecurityContext y,
+ * para rutas excluidas del filtro, el header Authorization. Las búsquedas pasan por
+ * {@link UsuarioActualCache}, así que un controlador ya no parsea el token ni consulta la BD.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final JwtTokenProvider tokenProvider;
+    private final UsuarioActualCache usuarioActualCache;
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UsuarioActual.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        UsuarioActual usuario = resolver(webRequest.getNativeRequest(HttpServletRequest.class));
+        CurrentUser anotacion = parameter.getParameterAnnotation(CurrentUser.class);
+        if (usuario == null && anotacion != null && anotacion.required()) {
+            throw new BadRequestException("Token JWT requerido");
+        }
+        return usuario;
+    }
+
+    private UsuarioActual resolver(HttpServletRequest request) {
+        if (request == null) {
+            return null;
+        }
+        if (request.getAttribute(JwtAuthenticationFilter.ATRIBUTO_USUARIO_ACTUAL) instanceof UsuarioActual usuario) {
+            return usuario;
+        }
+
+        String email = null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            email = authentication.getName();
+        } else {
+            String header = request.getHeader("Authorization");
+            if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+                Claims claims = tokenProvider.parseValidClaims(header.substring(7));
+                email = claims != null ? claims.getSubject() : null;
+            }
+        }
+
+        UsuarioActual usuario = usuarioActualCache.obtener(email).orElse(null);
+        if (usuario != null) {
+            request.setAttribute(JwtAuthenticationFilter.ATRIBUTO_USUARIO_ACTUAL, usuario);
+        }
+        return usuario;
+    }
+}
@@ -1,6 +1,7 @@
 package com.armasimportacion.security;
 
-import com.armasimportacion.service.UsuarioService;
+import com.armasimportacion.service.UsuarioActualCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,14 +19,21 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Atributo de request con el {@link UsuarioActual} ya resuelto, para que
+     * {@link CurrentUserArgumentResolver} no repita la búsqueda.
+     */
+    public static final String ATRIBUTO_USUARIO_ACTUAL = JwtAuthenticationFilter.class.getName() + ".USUARIO_ACTUAL";
+
     private final JwtTokenProvider tokenProvider;
-    private final UsuarioService usuarioService;
+    private final UsuarioActualCache usuarioActualCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -41,12 +49,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseValidClaims(jwt) : null;
+
+            if (claims != null) {
+                String username = claims.getSubject();
                 
-                // Verificar que el usuario existe
-                if (usuarioService.existsByEmail(username)) {
-                    String authorities = tokenProvider.getAuthoritiesFromToken(jwt);
+                // Verificar que el usuario existe (cacheado por email, con sus roles)
+                Optional<UsuarioActual> usuario = usuarioActualCache.obtener(username);
+                if (usuario.isPresent()) {
+                    String authorities = claims.get("authorities", String.class);
                     
                     List<SimpleGrantedAuthority> grantedAuthorities = Arrays.stream(
                             authorities != null ? authorities.split(",") : new String[0])
@@ -59,6 +70,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    request.setAttribute(ATRIBUTO_USUARIO_ACTUAL, usuario.get());
                 } else {
                     log.warn("Token válido pero usuario no existe: {}", username);
                 }
@@ -95,6 +107,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                path.startsWith("/api/tipos-cliente") ||
                path.startsWith("/api/tipo-identificacion") ||
                path.startsWith("/api/localizacion") ||
+               path.startsWith("/api/datos-referencia") ||
                path.startsWith("/api/configuracion-sistema") ||
                path.startsWith("/api/asignacion-series") ||
                path.startsWith("/api/pagos") ||
@@ -98,12 +98,19 @@ public class JwtTokenProvider {
      * Valida un token JWT
      */
     public boolean validateToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
+
+    /**
+     * Valida el token y devuelve sus claims con un solo parseo; null si no es válido
+     */
+    public Claims parseValidClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
+            return Jwts.parserBuilder()
                 .setSigningKey(key)
                 .build()
-                .parseClaimsJws(authToken);
-            return true;
+                .parseClaimsJws(authToken)
+                .getBody();
         } catch (SecurityException ex) {
             log.error("Token JWT con firma inválida: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -115,7 +122,7 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("Token JWT vacío: {}", ex.getMessage());
         }
-        return false;
+        return null;
     }
 
     /**
@@ -0,0 +1,26 @@
+package com.armasimportacion.security;
+
+import java.util.Set;
+
+/**
+ * Instantánea inmutable del usuario autenticado: lo que los controladores necesitan
+ * (id, email, nombre y códigos de rol) sin entidad JPA ni relaciones perezosas.
+ */
+public record UsuarioActual(Long id, String email, String nombreCompleto, Set<String> roles) {
+
+    public UsuarioActual {
+        roles = Set.copyOf(roles);
+    }
+
+    /**
+     * true si el usuario tiene alguno de los códigos de rol indicados.
+     */
+    public boolean tieneRol(String... codigos) {
+        for (String codigo : codigos) {
+            if (roles.contains(codigo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -28,8 +28,10 @@ import java.io.InputStreamReader;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -401,6 +403,16 @@ public class ArmaSerieService {
         List<String> errors = new ArrayList<>();
         
         List<Arma> armasCatalogo = armaRepository.findAllActiveWithCategoria();
+
+        // Duplicados resueltos antes del bucle: una consulta por fila haría que Hibernate
+        // vacíe los INSERT pendientes de arma_serie en cada fila y anularía el batching
+        Set<String> numerosExistentes = new HashSet<>(armaSerieRepository.findNumerosSerieExistentes(
+            seriesData.stream()
+                .map(row -> row.get("serialNumber"))
+                .filter(serie -> serie != null && !serie.isBlank())
+                .distinct()
+                .toArray(String[]::new)));
+
         for (int i = 0; i < seriesData.size(); i++) {
             Map<String, String> row = seriesData.get(i);
             int rowNum = i + 1;
@@ -420,8 +432,8 @@ public class ArmaSerieService {
                     continue;
                 }
                 
-                // Verificar si la serie ya existe
-                if (armaSerieRepository.existsByNumeroSerie(serialNumber)) {
+                // Verificar si la serie ya existe (en BD o repetida en la misma carga)
+                if (numerosExistentes.contains(serialNumber)) {
                     errors.add("Fila " + rowNum + ": Serie " + serialNumber + " ya existe (duplicada)");
                     continue;
                 }
@@ -455,6 +467,7 @@ public class ArmaSerieService {
                 // fechaCreacion y fechaCarga se setean automáticamente con @PrePersist
                 
                 armaSerieRepository.save(serie);
+                numerosExistentes.add(serialNumber);
                 successCount++;
                 
                 log.debug("Fila {}: Serie {} asignada a arma {} en grupo {}", rowNum, serialNumber, arma.getModelo(), grupoImportacion.getCodigo());
@@ -476,7 +489,8 @@ public class ArmaSerieService {
         return result;
     }
 
-    private Arma buscarArmaPorCaracteristicas(List<Arma> armasCatalogo, String modelo, String calibre, String categoria, String marca) {
+    // Visibilidad de paquete: medido por ArmaSerieNormalizacionBenchmark (src/jmh)
+    Arma buscarArmaPorCaracteristicas(List<Arma> armasCatalogo, String modelo, String calibre, String categoria, String marca) {
         String modeloNorm = normalizeText(modelo);
         String calibreNorm = normalizeCompact(calibre);
         String categoriaNorm = normalizeText(categoria);
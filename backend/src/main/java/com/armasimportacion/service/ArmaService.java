@@ -1,5 +1,6 @@
 package com.armasimportacion.service;
 
+import com.armasimportacion.config.CacheConfig;
 import com.armasimportacion.model.Arma;
 import com.armasimportacion.model.ArmaStock;
 import com.armasimportacion.model.CategoriaArma;
@@ -11,6 +12,8 @@ import com.armasimportacion.dto.ArmaUpdateDTO;
 import com.armasimportacion.dto.ArmaCreateDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,8 +42,10 @@ public class ArmaService {
     }
     
     /**
-     * Obtener todas las armas activas
+     * Obtener todas las armas activas (en cache, con categoría e imágenes cargadas).
+     * Cualquier alta, edición o cambio de estado de un arma o categoría la descarta.
      */
+    @Cacheable(cacheNames = CacheConfig.ARMAS, key = "'activas'")
     public List<Arma> findAllActive() {
         log.info("Obteniendo todas las armas activas");
         return armaRepository.findByEstado(true);
@@ -91,6 +96,7 @@ public class ArmaService {
     /**
      * Guardar arma
      */
+    @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
     public Arma save(Arma arma) {
         log.info("Guardando arma: {}", arma.getModelo());
         return armaRepository.save(arma);
@@ -99,6 +105,7 @@ public class ArmaService {
     /**
      * Actualizar arma
      */
+    @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
     public Arma update(Long id, Arma armaDetails) {
         log.info("Actualizando arma con ID: {}", id);
         Arma arma = findById(id);
@@ -133,6 +140,7 @@ public class ArmaService {
     /**
      * Actualizar arma con imagen
      */
+    @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
     public Arma updateWithImage(Long id, ArmaUpdateDTO updateDTO) throws IOException {
         log.info("Actualizando arma con ID: {} e imagen", id);
         Arma arma = findById(id);
@@ -214,6 +222,7 @@ public class ArmaService {
     /**
      * Cambiar estado de arma
      */
+    @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
     public Arma changeEstado(Long id, Boolean estado) {
         log.info("Cambiando estado de arma ID: {} a: {}", id, estado);
         Arma arma = findById(id);
@@ -224,6 +233,7 @@ public class ArmaService {
     /**
      * Eliminar arma (cambiar estado a false)
      */
+    @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
     public void delete(Long id) {
         log.info("Eliminando arma con ID: {}", id);
         changeEstado(id, false);
@@ -232,6 +242,7 @@ public class ArmaService {
     /**
      * Crear nueva arma con imagen
      */
+    @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
     public Arma createWithImage(ArmaCreateDTO createDTO) throws IOException {
         log.info("Creando nueva arma con imagen");
         
@@ -0,0 +1,257 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.dto.AsignacionMasivaSeriesDTO;
+import com.armasimportacion.dto.AsignacionMasivaSeriesDTO.Asignacion;
+import com.armasimportacion.dto.AsignacionMasivaSeriesDTO.ResumenArma;
+import com.armasimportacion.enums.EntidadAuditada;
+import com.armasimportacion.enums.EstadoCliente;
+import com.armasimportacion.enums.EstadoGrupoImportacion;
+import com.armasimportacion.exception.ResourceNotFoundException;
+import com.armasimportacion.model.ClienteArma;
+import com.armasimportacion.model.GrupoImportacion;
+import com.armasimportacion.repository.GrupoImportacionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asignación masiva de series al llegar un grupo de importación.
+ *
+ * Empareja en una pasada todas las series DISPONIBLE del grupo con las reservas RESERVADA
+ * sin serie de los clientes del grupo, agrupando ambas por arma_id en un HashMap. El orden
+ * es determinista: las reservas por fecha de creación (primero la más antigua) y las series
+ * por número de serie, así la vista previa y la asignación real producen los mismos pares.
+ *
+ * La asignación real bloquea las filas leídas (FOR UPDATE) y escribe todo con tres UPDATE
+ * ... FROM unnest(...): series, reservas y clientes, en una transacción corta que no
+ * depende del número de series.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AsignacionMasivaSeriesService {
+
+    private static final String SQL_SERIES = """
+            SELECT s.id, s.numero_serie, s.arma_id, a.modelo
+            FROM arma_serie s
+            JOIN arma a ON a.id = s.arma_id
+            WHERE s.grupo_importacion_id = ? AND s.estado = 'DISPONIBLE'
+            ORDER BY s.arma_id, s.numero_serie
+            """;
+
+    private static final String SQL_RESERVAS = """
+            SELECT ca.id, ca.arma_id, a.modelo, c.id AS cliente_id, c.nombres, c.apellidos, c.estado AS estado_cliente
+            FROM cliente_arma ca
+            JOIN cliente c ON c.id = ca.cliente_id
+            JOIN arma a ON a.id = ca.arma_id
+            WHERE ca.estado = 'RESERVADA' AND ca.numero_serie IS NULL
+              AND EXISTS (SELECT 1 FROM cliente_grupo_importacion cgi
+                          WHERE cgi.cliente_id = ca.cliente_id AND cgi.grupo_importacion_id = ?
+                            AND cgi.estado NOT IN ('CANCELADO', 'RECHAZADO'))
+            ORDER BY ca.fecha_creacion, ca.id
+            """;
+
+    private static final String SQL_ASIGNAR_SERIES = """
+            UPDATE arma_serie s
+            SET estado = 'ASIGNADO', cliente_arma_id = v.cliente_arma_id, usuario_asignador_id = ?,
+                fecha_asignacion = ?, fecha_actualizacion = ?
+            FROM unnest(?::bigint[], ?::bigint[]) AS v(serie_id, cliente_arma_id)
+            WHERE s.id = v.serie_id AND s.estado = 'DISPONIBLE'
+            """;
+
+    private static final String SQL_ASIGNAR_RESERVAS = """
+            UPDATE cliente_arma ca
+            SET estado = 'ASIGNADA', numero_serie = v.numero_serie, fecha_asignacion = ?, fecha_actualizacion = ?
+            FROM unnest(?::bigint[], ?::varchar[]) AS v(cliente_arma_id, numero_serie)
+            WHERE ca.id = v.cliente_arma_id AND ca.estado = 'RESERVADA' AND ca.numero_serie IS NULL
+            """;
+
+    private static final String SQL_ACTUALIZAR_CLIENTES = """
+            UPDATE cliente SET estado = 'SERIE_ASIGNADA', fecha_actualizacion = ?
+            WHERE id = ANY(?::bigint[])
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GrupoImportacionRepository grupoImportacionRepository;
+    private final AuditoriaService auditoriaService;
+    private final ClienteEstadisticasService clienteEstadisticasService;
+
+    private record SerieLibre(Long id, String numeroSerie, Long armaId, String armaModelo) {
+    }
+
+    private record Reserva(Long id, Long armaId, String armaModelo, Long clienteId, String cliente,
+                           String estadoCliente) {
+    }
+
+    private record Emparejamiento(AsignacionMasivaSeriesDTO resultado, Map<Long, String> estadosClientes) {
+    }
+
+    /**
+     * Vista previa: los pares que se asignarían, sin modificar nada
+     */
+    @Transactional(readOnly = true)
+    public AsignacionMasivaSeriesDTO previsualizar(Long grupoImportacionId) {
+        validarGrupo(grupoImportacionId);
+        return emparejar(grupoImportacionId, false).resultado();
+    }
+
+    /**
+     * Asigna todas las series posibles del grupo en una sola transacción
+     */
+    @Transactional
+    public AsignacionMasivaSeriesDTO asignar(Long grupoImportacionId, Long usuarioAsignadorId) {
+        validarGrupo(grupoImportacionId);
+        Emparejamiento emparejamiento = emparejar(grupoImportacionId, true);
+        AsignacionMasivaSeriesDTO resultado = emparejamiento.resultado();
+        List<Asignacion> asignaciones = resultado.asignaciones();
+        if (asignaciones.isEmpty()) {
+            log.info("Grupo {}: no hay series para asignar ({} reservas sin serie, {} series sobrantes)",
+                    grupoImportacionId, resultado.reservasSinSerie(), resultado.seriesSobrantes());
+            return resultado;
+        }
+
+        int n = asignaciones.size();
+        Long[] seriesIds = new Long[n];
+        Long[] reservasIds = new Long[n];
+        String[] numerosSerie = new String[n];
+        for (int i = 0; i < n; i++) {
+            Asignacion asignacion = asignaciones.get(i);
+            seriesIds[i] = asignacion.armaSerieId();
+            reservasIds[i] = asignacion.clienteArmaId();
+            numerosSerie[i] = asignacion.numeroSerie();
+        }
+        Long[] clientesIds = emparejamiento.estadosClientes().keySet().toArray(Long[]::new);
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+
+        int series = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_ASIGNAR_SERIES);
+            ps.setLong(1, usuarioAsignadorId);
+            ps.setTimestamp(2, ahora);
+            ps.setTimestamp(3, ahora);
+            ps.setArray(4, con.createArrayOf("bigint", seriesIds));
+            ps.setArray(5, con.createArrayOf("bigint", reservasIds));
+            return ps;
+        });
+        int reservas = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_ASIGNAR_RESERVAS);
+            ps.setTimestamp(1, ahora);
+            ps.setTimestamp(2, ahora);
+            ps.setArray(3, con.createArrayOf("bigint", reservasIds));
+            ps.setArray(4, con.createArrayOf("varchar", numerosSerie));
+            return ps;
+        });
+        if (series != n || reservas != n) {
+            // Las filas están bloqueadas desde la lectura; si no coincide, se revierte todo
+            throw new IllegalStateException("Las series o reservas del grupo cambiaron durante la asignación ("
+                    + series + "/" + reservas + " de " + n + "). Intente nuevamente.");
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_ACTUALIZAR_CLIENTES);
+            ps.setTimestamp(1, ahora);
+            ps.setArray(2, con.createArrayOf("bigint", clientesIds));
+            return ps;
+        });
+        // El UPDATE directo no pasa por ClienteEstadisticasListener: la instantánea se descarta
+        // aquí y otra vez al confirmar
+        clienteEstadisticasService.invalidar();
+
+        for (Asignacion asignacion : asignaciones) {
+            auditoriaService.registrar(EntidadAuditada.CLIENTE_ARMA, asignacion.clienteArmaId(), "ASIGNACION_SERIE",
+                    ClienteArma.EstadoClienteArma.RESERVADA, ClienteArma.EstadoClienteArma.ASIGNADA,
+                    "Serie " + asignacion.numeroSerie() + " (asignación masiva, grupo " + grupoImportacionId + ")");
+        }
+        emparejamiento.estadosClientes().forEach((clienteId, estadoAnterior) -> {
+            if (!EstadoCliente.SERIE_ASIGNADA.name().equals(estadoAnterior)) {
+                auditoriaService.registrar(EntidadAuditada.CLIENTE, clienteId, "CAMBIO_ESTADO",
+                        estadoAnterior, EstadoCliente.SERIE_ASIGNADA, "Asignación masiva de series, grupo " + grupoImportacionId);
+            }
+        });
+
+        log.info("Grupo {}: {} serie(s) asignada(s) a {} cliente(s); {} reservas sin serie, {} series sobrantes",
+                grupoImportacionId, n, clientesIds.length, resultado.reservasSinSerie(), resultado.seriesSobrantes());
+        return resultado;
+    }
+
+    private void validarGrupo(Long grupoImportacionId) {
+        GrupoImportacion grupo = grupoImportacionRepository.findById(grupoImportacionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Grupo de importación no encontrado con ID: " + grupoImportacionId));
+        if (grupo.getEstado() == EstadoGrupoImportacion.CANCELADO) {
+            throw new IllegalStateException("El grupo de importación está cancelado: no se pueden asignar series");
+        }
+    }
+
+    /**
+     * Con asignar = true las filas leídas quedan bloqueadas hasta el fin de la transacción
+     */
+    private Emparejamiento emparejar(Long grupoImportacionId, boolean asignar) {
+        List<SerieLibre> series = jdbcTemplate.query(asignar ? SQL_SERIES + "FOR UPDATE OF s" : SQL_SERIES,
+                (rs, i) -> new SerieLibre(rs.getLong("id"), rs.getString("numero_serie"),
+                        rs.getLong("arma_id"), rs.getString("modelo")),
+                grupoImportacionId);
+        List<Reserva> reservas = jdbcTemplate.query(asignar ? SQL_RESERVAS + "FOR UPDATE OF ca" : SQL_RESERVAS,
+                (rs, i) -> new Reserva(rs.getLong("id"), rs.getLong("arma_id"), rs.getString("modelo"),
+                        rs.getLong("cliente_id"), rs.getString("nombres") + " " + rs.getString("apellidos"),
+                        rs.getString("estado_cliente")),
+                grupoImportacionId);
+
+        // Series libres por arma, ya ordenadas por número de serie
+        Map<Long, ArrayDeque<SerieLibre>> seriesPorArma = new HashMap<>();
+        for (SerieLibre serie : series) {
+            seriesPorArma.computeIfAbsent(serie.armaId(), id -> new ArrayDeque<>()).add(serie);
+        }
+        Map<Long, int[]> conteoPorArma = new LinkedHashMap<>();
+        Map<Long, String> modelos = new HashMap<>();
+        series.forEach(serie -> modelos.putIfAbsent(serie.armaId(), serie.armaModelo()));
+
+        List<Asignacion> asignaciones = new ArrayList<>();
+        Map<Long, String> estadosClientes = new LinkedHashMap<>();
+        for (Reserva reserva : reservas) {
+            modelos.putIfAbsent(reserva.armaId(), reserva.armaModelo());
+            // [reservas, asignadas]
+            int[] conteo = conteoPorArma.computeIfAbsent(reserva.armaId(), id -> new int[2]);
+            conteo[0]++;
+            ArrayDeque<SerieLibre> libres = seriesPorArma.get(reserva.armaId());
+            SerieLibre serie = libres != null ? libres.pollFirst() : null;
+            if (serie == null) {
+                continue;
+            }
+            conteo[1]++;
+            asignaciones.add(new Asignacion(reserva.id(), reserva.clienteId(), reserva.cliente(),
+                    reserva.armaId(), reserva.armaModelo(), serie.id(), serie.numeroSerie()));
+            estadosClientes.putIfAbsent(reserva.clienteId(), reserva.estadoCliente());
+        }
+
+        Map<Long, Integer> seriesTotalesPorArma = new HashMap<>();
+        series.forEach(serie -> seriesTotalesPorArma.merge(serie.armaId(), 1, Integer::sum));
+        // Armas con series pero sin reservas, en el orden de la consulta
+        series.forEach(serie -> conteoPorArma.putIfAbsent(serie.armaId(), new int[2]));
+
+        List<ResumenArma> porArma = new ArrayList<>(conteoPorArma.size());
+        int reservasSinSerie = 0;
+        int seriesSobrantes = 0;
+        for (Map.Entry<Long, int[]> entrada : conteoPorArma.entrySet()) {
+            Long armaId = entrada.getKey();
+            int[] conteo = entrada.getValue();
+            int seriesArma = seriesTotalesPorArma.getOrDefault(armaId, 0);
+            porArma.add(new ResumenArma(armaId, modelos.get(armaId), conteo[0], seriesArma, conteo[1]));
+            reservasSinSerie += conteo[0] - conteo[1];
+            seriesSobrantes += seriesArma - conteo[1];
+        }
+
+        AsignacionMasivaSeriesDTO resultado = new AsignacionMasivaSeriesDTO(grupoImportacionId, !asignar,
+                asignaciones.size(), reservasSinSerie, seriesSobrantes, porArma, asignaciones);
+        return new Emparejamiento(resultado, estadosClientes);
+    }
+}
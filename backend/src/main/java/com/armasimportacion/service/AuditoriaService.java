@@ -0,0 +1,345 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.dto.EventoAuditoriaDTO;
+import com.armasimportacion.enums.EntidadAuditada;
+import com.armasimportacion.util.AnilloConcurrente;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bitácora de auditoría de cambios de estado (tabla audit_event, solo inserción).
+ *
+ * registrar() solo arma el evento y, al confirmar la transacción del llamador, lo deja en
+ * un buffer circular sin bloqueos: la petición no espera por la BD. Un hilo de fondo vacía
+ * el buffer cada app.auditoria.intervalo-ms con un INSERT ... SELECT FROM unnest(...) por
+ * lote. Un rollback descarta el evento.
+ *
+ * Un lote que falla al insertar (BD caída) se reintenta con espera exponencial, sin
+ * drenar más eventos mientras tanto; agotados app.auditoria.max-reintentos, o al detener
+ * la aplicación, sus eventos se escriben en el logger com.armasimportacion.audit (archivo
+ * de auditoría) y se cuentan en gmarm.auditoria.eventos{resultado=respaldo}. Lo mismo
+ * pasa con los eventos que no caben en el buffer ({resultado=descartado}).
+ *
+ * La tabla está particionada por mes, sin partición DEFAULT; el hilo crea la partición
+ * del mes siguiente antes de que haga falta, y otra vez antes de cada reintento.
+ */
+@Service
+@Slf4j
+public class AuditoriaService {
+
+    private static final String METRICA_EVENTOS = "gmarm.auditoria.eventos";
+    private static final DateTimeFormatter SUFIJO_PARTICION = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final int LARGO_DETALLE = 500;
+    private static final long ESPERA_MAXIMA_REINTENTO_MS = 60_000;
+    private static final Logger LOG_AUDITORIA = LoggerFactory.getLogger("com.armasimportacion.audit");
+
+    private static final String SQL_INSERTAR = """
+            INSERT INTO audit_event (entidad, entidad_id, accion, estado_anterior, estado_nuevo,
+                                     usuario, detalle, fecha_evento)
+            SELECT * FROM unnest(?::varchar[], ?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[],
+                                 ?::varchar[], ?::varchar[], ?::timestamp[])
+            """;
+
+    private static final String SQL_CONSULTAR = """
+            SELECT id, entidad, entidad_id, accion, estado_anterior, estado_nuevo, usuario, detalle, fecha_evento
+            FROM audit_event
+            WHERE entidad = ? AND fecha_evento >= ? AND fecha_evento < ? %s
+            ORDER BY fecha_evento, id
+            LIMIT ?
+            """;
+
+    private static final String SQL_CREAR_PARTICION =
+            "CREATE TABLE IF NOT EXISTS audit_event_%s PARTITION OF audit_event FOR VALUES FROM ('%s') TO ('%s')";
+
+    private static final RowMapper<EventoAuditoriaDTO> FILA_EVENTO = (rs, n) -> new EventoAuditoriaDTO(
+            rs.getLong("id"),
+            EntidadAuditada.valueOf(rs.getString("entidad")),
+            rs.getLong("entidad_id"),
+            rs.getString("accion"),
+            rs.getString("estado_anterior"),
+            rs.getString("estado_nuevo"),
+            rs.getString("usuario"),
+            rs.getString("detalle"),
+            rs.getTimestamp("fecha_evento").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final AnilloConcurrente<EventoAuditoriaDTO> pendientes;
+    private final boolean habilitado;
+    private final int tamanioLote;
+    private final long intervaloMs;
+    private final int maxReintentos;
+
+    private ScheduledExecutorService programador;
+
+    // Solo los usa el hilo escritor (y detener(), cuando ese hilo ya terminó)
+    private List<EventoAuditoriaDTO> loteFallido;
+    private int intentosFallidos;
+    private long proximoIntento;
+
+    public AuditoriaService(
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.auditoria.enabled:true}") boolean habilitado,
+            @Value("${app.auditoria.capacidad-buffer:8192}") int capacidadBuffer,
+            @Value("${app.auditoria.tamanio-lote:500}") int tamanioLote,
+            @Value("${app.auditoria.intervalo-ms:500}") long intervaloMs,
+            @Value("${app.auditoria.max-reintentos:8}") int maxReintentos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.tamanioLote = tamanioLote;
+        this.intervaloMs = intervaloMs;
+        this.maxReintentos = maxReintentos;
+        this.pendientes = new AnilloConcurrente<>(capacidadBuffer);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("gmarm.auditoria.pendientes", pendientes, AnilloConcurrente::tamanio)
+                    .description("Eventos de auditoría en el buffer sin escribir")
+                    .register(registry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void iniciar() {
+        if (!habilitado) {
+            log.info("Auditoría deshabilitada (app.auditoria.enabled=false)");
+            return;
+        }
+        programador = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("auditoria-escritor").daemon(true).factory());
+        programador.scheduleAtFixedRate(this::crearParticiones, 0, 1, TimeUnit.DAYS);
+        programador.scheduleWithFixedDelay(this::vaciar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void detener() throws InterruptedException {
+        if (programador == null) {
+            return;
+        }
+        programador.shutdown();
+        if (!programador.awaitTermination(10, TimeUnit.SECONDS)) {
+            programador.shutdownNow();
+        }
+        // Lo que quedó en el buffer se escribe antes de cerrar el pool de conexiones; si la BD
+        // no responde, va al archivo de auditoría
+        proximoIntento = 0;
+        vaciar();
+        if (loteFallido != null) {
+            respaldar(loteFallido, "aplicación detenida");
+            loteFallido = null;
+        }
+        List<EventoAuditoriaDTO> restantes = new ArrayList<>();
+        pendientes.drenar(restantes::add, Integer.MAX_VALUE);
+        if (!restantes.isEmpty()) {
+            respaldar(restantes, "aplicación detenida");
+        }
+    }
+
+    /**
+     * Registra un cambio de estado. Dentro de una transacción el evento se encola al
+     * confirmarla; fuera de ella, de inmediato. Nunca lanza excepción al llamador.
+     */
+    public void registrar(EntidadAuditada entidad, Long entidadId, String accion,
+                          Object estadoAnterior, Object estadoNuevo, String detalle) {
+        if (!habilitado || entidadId == null) {
+            return;
+        }
+        EventoAuditoriaDTO evento = new EventoAuditoriaDTO(null, entidad, entidadId, accion,
+                texto(estadoAnterior), texto(estadoNuevo), usuarioActual(), recortar(detalle), LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    encolar(evento);
+                }
+            });
+        } else {
+            encolar(evento);
+        }
+    }
+
+    /**
+     * Historial de una entidad (o de todas las de un tipo si entidadId es null) en
+     * [desde, hasta). Los eventos de los últimos app.auditoria.intervalo-ms pueden no
+     * estar escritos todavía.
+     */
+    public List<EventoAuditoriaDTO> consultar(EntidadAuditada entidad, Long entidadId,
+                                              LocalDateTime desde, LocalDateTime hasta, int limite) {
+        if (entidadId != null) {
+            return jdbcTemplate.query(SQL_CONSULTAR.formatted("AND entidad_id = ?"), FILA_EVENTO,
+                    entidad.name(), Timestamp.valueOf(desde), Timestamp.valueOf(hasta), entidadId, limite);
+        }
+        return jdbcTemplate.query(SQL_CONSULTAR.formatted(""), FILA_EVENTO,
+                entidad.name(), Timestamp.valueOf(desde), Timestamp.valueOf(hasta), limite);
+    }
+
+    private void encolar(EventoAuditoriaDTO evento) {
+        if (!pendientes.ofrecer(evento)) {
+            contar("descartado", 1);
+            log.warn("Buffer de auditoría lleno, evento enviado al archivo de auditoría");
+            LOG_AUDITORIA.info("Evento no persistido en BD (buffer lleno): {}", evento);
+        }
+    }
+
+    void vaciar() {
+        if (loteFallido != null) {
+            if (System.currentTimeMillis() < proximoIntento) {
+                return;
+            }
+            crearParticiones();
+            if (!insertar(loteFallido)) {
+                reintentarMasTarde();
+                return;
+            }
+            log.info("Auditoría: lote de {} evento(s) escrito tras {} intento(s) fallido(s)",
+                    loteFallido.size(), intentosFallidos);
+            loteFallido = null;
+            intentosFallidos = 0;
+        }
+        List<EventoAuditoriaDTO> lote = new ArrayList<>(tamanioLote);
+        while (pendientes.drenar(lote::add, tamanioLote) > 0) {
+            if (!insertar(lote)) {
+                loteFallido = lote;
+                reintentarMasTarde();
+                return;
+            }
+            lote.clear();
+        }
+    }
+
+    private void reintentarMasTarde() {
+        intentosFallidos++;
+        if (intentosFallidos > maxReintentos) {
+            respaldar(loteFallido, intentosFallidos + " intentos fallidos");
+            loteFallido = null;
+            intentosFallidos = 0;
+            return;
+        }
+        long espera = Math.min(ESPERA_MAXIMA_REINTENTO_MS, intervaloMs << Math.min(intentosFallidos, 20));
+        proximoIntento = System.currentTimeMillis() + espera;
+    }
+
+    private void respaldar(List<EventoAuditoriaDTO> lote, String motivo) {
+        contar("respaldo", lote.size());
+        log.error("Auditoría: {} evento(s) enviados al archivo de auditoría ({})", lote.size(), motivo);
+        for (EventoAuditoriaDTO evento : lote) {
+            LOG_AUDITORIA.info("Evento no persistido en BD ({}): {}", motivo, evento);
+        }
+    }
+
+    private boolean insertar(List<EventoAuditoriaDTO> lote) {
+        int n = lote.size();
+        String[] entidades = new String[n];
+        Long[] ids = new Long[n];
+        String[] acciones = new String[n];
+        String[] anteriores = new String[n];
+        String[] nuevos = new String[n];
+        String[] usuarios = new String[n];
+        String[] detalles = new String[n];
+        Timestamp[] fechas = new Timestamp[n];
+        for (int i = 0; i < n; i++) {
+            EventoAuditoriaDTO evento = lote.get(i);
+            entidades[i] = evento.entidad().name();
+            ids[i] = evento.entidadId();
+            acciones[i] = evento.accion();
+            anteriores[i] = evento.estadoAnterior();
+            nuevos[i] = evento.estadoNuevo();
+            usuarios[i] = evento.usuario();
+            detalles[i] = evento.detalle();
+            fechas[i] = Timestamp.valueOf(evento.fechaEvento());
+        }
+        try {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(SQL_INSERTAR);
+                ps.setArray(1, con.createArrayOf("varchar", entidades));
+                ps.setArray(2, con.createArrayOf("bigint", ids));
+                ps.setArray(3, con.createArrayOf("varchar", acciones));
+                ps.setArray(4, con.createArrayOf("varchar", anteriores));
+                ps.setArray(5, con.createArrayOf("varchar", nuevos));
+                ps.setArray(6, con.createArrayOf("varchar", usuarios));
+                ps.setArray(7, con.createArrayOf("varchar", detalles));
+                ps.setArray(8, con.createArrayOf("timestamp", fechas));
+                return ps;
+            });
+            contar("escrito", n);
+            return true;
+        } catch (RuntimeException e) {
+            contar("error", n);
+            log.error("Error escribiendo {} evento(s) de auditoría, se reintentará: {}", n, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Particiones del mes actual y el siguiente (la migración V17 crea las primeras)
+     */
+    private void crearParticiones() {
+        LocalDate mes = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= 1; i++) {
+            LocalDate inicio = mes.plusMonths(i);
+            try {
+                jdbcTemplate.execute(SQL_CREAR_PARTICION.formatted(
+                        inicio.format(SUFIJO_PARTICION), inicio, inicio.plusMonths(1)));
+            } catch (RuntimeException e) {
+                // Sin partición DEFAULT, los eventos de ese mes no se podrán escribir hasta crearla
+                log.error("No se pudo crear la partición de auditoría de {}: {}", inicio, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void contar(String resultado, int cantidad) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Counter.builder(METRICA_EVENTOS)
+                    .tag("resultado", resultado)
+                    .register(registry)
+                    .increment(cantidad);
+        }
+    }
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : null;
+    }
+
+    private static String recortar(String detalle) {
+        return detalle != null && detalle.length() > LARGO_DETALLE ? detalle.substring(0, LARGO_DETALLE) : detalle;
+    }
+
+    private static String usuarioActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
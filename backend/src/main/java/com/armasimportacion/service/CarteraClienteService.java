@@ -0,0 +1,231 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.enums.EstadoCuotaPago;
+import com.armasimportacion.model.CarteraCliente;
+import com.armasimportacion.repository.CarteraClienteRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cartera por cliente: una fila con lo pagado, lo pendiente y lo vencido.
+ *
+ * Los servicios que registran pagos o cuotas llaman a recalcular() dentro de su propia
+ * transacción, así la fila cambia junto con el pago. Los vencidos dependen de la fecha,
+ * por eso además se recalcula toda la cartera una vez al día (y al arrancar).
+ * Estado de pago, saldo y cuotas vencidas se leen de aquí sin sumar la tabla pago.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CarteraClienteService {
+
+    public static final String IMPAGO = "IMPAGO";
+    public static final String ABONADO = "ABONADO";
+    public static final String PAGO_COMPLETO = "PAGO_COMPLETO";
+
+    private static final ZoneId ZONA = ZoneId.of("America/Guayaquil");
+
+    /**
+     * Estados de cuota que siguen adeudados: vencida es la que pasó la fecha de corte
+     * ({@link #hoy()}) en uno de estos estados. La cartera, el listado de cuotas vencidas y
+     * la carga inicial (V15) usan esta misma definición.
+     */
+    public static final List<EstadoCuotaPago> ESTADOS_ADEUDADOS = List.of(
+            EstadoCuotaPago.PENDIENTE, EstadoCuotaPago.VENCIDA);
+
+    private static final String SQL_RECALCULAR = """
+            INSERT INTO cartera_cliente (cliente_id, monto_total, monto_pagado, monto_pendiente, monto_vencido,
+                                         cuotas_vencidas, proximo_vencimiento, fecha_corte, fecha_actualizacion)
+            SELECT p.cliente_id,
+                   COALESCE(SUM(p.monto_total), 0),
+                   COALESCE(SUM(p.monto_pagado), 0),
+                   COALESCE(SUM(p.monto_pendiente), 0),
+                   COALESCE(SUM(c.vencido), 0),
+                   COALESCE(SUM(c.cuotas_vencidas), 0),
+                   MIN(c.proximo_vencimiento),
+                   :hoy,
+                   NOW()
+            FROM pago p
+            LEFT JOIN (
+                SELECT pago_id,
+                       SUM(monto) FILTER (WHERE fecha_vencimiento < :hoy) AS vencido,
+                       COUNT(*) FILTER (WHERE fecha_vencimiento < :hoy) AS cuotas_vencidas,
+                       MIN(fecha_vencimiento) FILTER (WHERE fecha_vencimiento >= :hoy) AS proximo_vencimiento
+                FROM cuota_pago
+                WHERE estado IN (:estados) %1$s
+                GROUP BY pago_id
+            ) c ON c.pago_id = p.id
+            WHERE TRUE %2$s
+            GROUP BY p.cliente_id
+            ON CONFLICT (cliente_id) DO UPDATE SET
+                monto_total = EXCLUDED.monto_total,
+                monto_pagado = EXCLUDED.monto_pagado,
+                monto_pendiente = EXCLUDED.monto_pendiente,
+                monto_vencido = EXCLUDED.monto_vencido,
+                cuotas_vencidas = EXCLUDED.cuotas_vencidas,
+                proximo_vencimiento = EXCLUDED.proximo_vencimiento,
+                fecha_corte = EXCLUDED.fecha_corte,
+                fecha_actualizacion = EXCLUDED.fecha_actualizacion
+            """;
+
+    // Clientes que ya no tienen pagos (pago eliminado o reemplazado)
+    private static final String SQL_ELIMINAR_SIN_PAGOS = """
+            DELETE FROM cartera_cliente cc
+            WHERE NOT EXISTS (SELECT 1 FROM pago p WHERE p.cliente_id = cc.cliente_id) %s
+            """;
+
+    private final CarteraClienteRepository carteraClienteRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.pagos.cartera.hora-corte:00:05}")
+    private String horaCorte;
+
+    private ScheduledExecutorService programador;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void iniciar() {
+        programador = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("cartera-corte").daemon(true).factory());
+        programador.execute(this::corteDiario);
+        ZonedDateTime ahora = ZonedDateTime.now(ZONA);
+        ZonedDateTime proximo = ahora.toLocalDate().atTime(LocalTime.parse(horaCorte)).atZone(ZONA);
+        if (!proximo.isAfter(ahora)) {
+            proximo = proximo.plusDays(1);
+        }
+        programador.scheduleAtFixedRate(this::corteDiario,
+                Duration.between(ahora, proximo).toMillis(), TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void detener() {
+        if (programador != null) {
+            programador.shutdownNow();
+        }
+    }
+
+    /**
+     * Recalcula la cartera del cliente con los cambios de la transacción actual. Debe
+     * llamarse dentro de la transacción que modificó pagos o cuotas.
+     */
+    public void recalcular(Long clienteId) {
+        if (clienteId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Los cambios pendientes de JPA deben estar en la BD antes del SQL agregado
+            entityManager.flush();
+        }
+        MapSqlParameterSource parametros = parametrosCorte()
+                .addValue("clienteId", clienteId);
+        jdbcTemplate.update(SQL_RECALCULAR.formatted(
+                "AND pago_id IN (SELECT id FROM pago WHERE cliente_id = :clienteId)",
+                "AND p.cliente_id = :clienteId"), parametros);
+        jdbcTemplate.update(SQL_ELIMINAR_SIN_PAGOS.formatted("AND cc.cliente_id = :clienteId"), parametros);
+    }
+
+    @Transactional(readOnly = true)
+    public CarteraCliente obtener(Long clienteId) {
+        return carteraClienteRepository.findById(clienteId).orElseGet(() -> vacia(clienteId));
+    }
+
+    @Transactional(readOnly = true)
+    public String estadoPago(Long clienteId) {
+        return estadoPago(obtener(clienteId));
+    }
+
+    /**
+     * Estado de pago de varios clientes en una sola consulta por clave primaria.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, String> estadosPago(List<Long> clienteIds) {
+        Map<Long, String> resultado = new HashMap<>();
+        if (clienteIds == null || clienteIds.isEmpty()) {
+            return resultado;
+        }
+        for (CarteraCliente cartera : carteraClienteRepository.findAllById(clienteIds)) {
+            resultado.put(cartera.getClienteId(), estadoPago(cartera));
+        }
+        return resultado;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> clientesConCuotasVencidas() {
+        return carteraClienteRepository.findClienteIdsConCuotasVencidas();
+    }
+
+    public static String estadoPago(CarteraCliente cartera) {
+        if (cartera.getMontoPagado().compareTo(BigDecimal.ZERO) == 0) {
+            return IMPAGO;
+        }
+        if (cartera.getMontoPendiente().compareTo(BigDecimal.ZERO) > 0) {
+            return ABONADO;
+        }
+        return PAGO_COMPLETO;
+    }
+
+    /**
+     * Recalcula toda la cartera con la fecha de hoy (mueve cuotas a vencidas y corrige
+     * cualquier pago modificado fuera de los servicios que la mantienen).
+     */
+    void corteDiario() {
+        try {
+            long inicio = System.currentTimeMillis();
+            Integer clientes = transactionTemplate.execute(status -> {
+                MapSqlParameterSource parametros = parametrosCorte();
+                int actualizados = jdbcTemplate.update(SQL_RECALCULAR.formatted("", ""), parametros);
+                jdbcTemplate.update(SQL_ELIMINAR_SIN_PAGOS.formatted(""), parametros);
+                return actualizados;
+            });
+            log.info("Corte diario de cartera: {} clientes recalculados en {} ms",
+                    clientes, System.currentTimeMillis() - inicio);
+        } catch (RuntimeException e) {
+            log.error("Error en el corte diario de cartera: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fecha de corte de la cartera: el día actual en Ecuador, no en la zona de la JVM.
+     */
+    public static LocalDate hoy() {
+        return LocalDate.now(ZONA);
+    }
+
+    private static MapSqlParameterSource parametrosCorte() {
+        return new MapSqlParameterSource()
+                .addValue("hoy", hoy())
+                .addValue("estados", ESTADOS_ADEUDADOS.stream().map(Enum::name).toList());
+    }
+
+    private static CarteraCliente vacia(Long clienteId) {
+        CarteraCliente cartera = new CarteraCliente();
+        cartera.setClienteId(clienteId);
+        cartera.setFechaCorte(hoy());
+        return cartera;
+    }
+}
@@ -1,10 +1,14 @@
 package com.armasimportacion.service;
 
+import com.armasimportacion.config.CacheConfig;
 import com.armasimportacion.exception.ResourceNotFoundException;
 import com.armasimportacion.model.CategoriaArma;
 import com.armasimportacion.repository.CategoriaArmaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,11 +20,14 @@ import java.util.List;
 @Transactional
 public class CategoriaArmaService {
 
+    // Las armas en cache llevan su categoría: un cambio de categoría descarta ambas caches
+
     private final CategoriaArmaRepository categoriaArmaRepository;
 
     /**
      * Obtener todas las categorías de armas
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_ARMA, key = "'todas'")
     public List<CategoriaArma> getAllCategorias() {
         log.info("Obteniendo todas las categorías de armas");
         List<CategoriaArma> categorias = categoriaArmaRepository.findAll();
@@ -31,6 +38,7 @@ public class CategoriaArmaService {
     /**
      * Obtener categoría por ID
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_ARMA, key = "#id")
     public CategoriaArma getCategoriaById(Long id) {
         log.info("Obteniendo categoría de arma con ID: {}", id);
         return categoriaArmaRepository.findById(id)
@@ -40,6 +48,10 @@ public class CategoriaArmaService {
     /**
      * Crear nueva categoría
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_ARMA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
+    })
     public CategoriaArma createCategoria(CategoriaArma categoria) {
         log.info("Creando nueva categoría: {}", categoria.getNombre());
         
@@ -61,6 +73,10 @@ public class CategoriaArmaService {
     /**
      * Actualizar categoría existente
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_ARMA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
+    })
     public CategoriaArma updateCategoria(Long id, CategoriaArma categoriaActualizada) {
         log.info("Actualizando categoría con ID: {}", id);
         
@@ -94,6 +110,10 @@ public class CategoriaArmaService {
     /**
      * Eliminar categoría
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_ARMA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
+    })
     public void deleteCategoria(Long id) {
         log.info("Eliminando categoría con ID: {}", id);
         
@@ -109,6 +129,7 @@ public class CategoriaArmaService {
     /**
      * Obtener categorías activas
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_ARMA, key = "'activas'")
     public List<CategoriaArma> getCategoriasActivas() {
         log.info("Obteniendo categorías activas");
         List<CategoriaArma> categorias = categoriaArmaRepository.findByEstadoTrue();
@@ -119,6 +140,10 @@ public class CategoriaArmaService {
     /**
      * Cambiar estado de categoría
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_ARMA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ARMAS, allEntries = true)
+    })
     public CategoriaArma cambiarEstado(Long id, Boolean nuevoEstado) {
         log.info("Cambiando estado de categoría con ID: {} a: {}", id, nuevoEstado);
         
@@ -12,6 +12,7 @@ import com.armasimportacion.repository.ArmaRepository;
 import com.armasimportacion.repository.CuotaPagoRepository;
 import com.armasimportacion.repository.PagoRepository;
 import com.armasimportacion.exception.ResourceNotFoundException;
+import com.armasimportacion.enums.EntidadAuditada;
 import com.armasimportacion.enums.EstadoCliente;
 import com.armasimportacion.enums.EstadoClienteGrupo;
 import com.armasimportacion.enums.EstadoCuotaPago;
@@ -56,6 +57,8 @@ public class ClienteArmaService {
     private final CuotaPagoRepository cuotaPagoRepository;
     private final ConfiguracionSistemaService configuracionSistemaService;
     private final DocumentoPDFUtils documentoPDFUtils;
+    private final CarteraClienteService carteraClienteService;
+    private final AuditoriaService auditoriaService;
 
     /**
      * Verifica si un cliente tiene armas asignadas (RESERVADA o ASIGNADA).
@@ -569,6 +572,7 @@ public class ClienteArmaService {
             }
             log.info("Creadas {} cuotas de {} para pago ID: {}", numeroCuotas, montoCuota, pagoGuardado.getId());
         }
+        carteraClienteService.recalcular(clienteId);
     }
 
     private void eliminarDocumentosGenerados(Long clienteId) {
@@ -588,7 +592,7 @@ public class ClienteArmaService {
      */
     @Transactional
     public ClienteArmaDTO reasignarArmaACliente(Long clienteArmaId, Long nuevoClienteId) {
-        log.info("Reasignando arma ID {} al cliente ID {}", clienteArmaId, nuevoClienteId);
+        log.debug("Reasignando arma ID {} al cliente ID {}", clienteArmaId, nuevoClienteId);
         
         ClienteArma clienteArma = clienteArmaRepository.findById(clienteArmaId)
             .orElseThrow(() -> new ResourceNotFoundException("Relación Cliente-Arma no encontrada con ID: " + clienteArmaId));
@@ -612,13 +616,17 @@ public class ClienteArmaService {
         }
         
         Cliente clienteAnterior = clienteArma.getCliente();
+        ClienteArma.EstadoClienteArma estadoAnterior = clienteArma.getEstado();
         clienteArma.setCliente(nuevoCliente);
         clienteArma.setFechaAsignacion(java.time.LocalDateTime.now());
         clienteArma.setEstado(ClienteArma.EstadoClienteArma.REASIGNADO);
         
         ClienteArma clienteArmaActualizado = clienteArmaRepository.save(clienteArma);
         
-        log.info("Arma reasignada exitosamente: de cliente ID {} a cliente ID {} (documentos verificados)",
+        auditoriaService.registrar(EntidadAuditada.CLIENTE_ARMA, clienteArmaId, "REASIGNACION",
+            estadoAnterior, ClienteArma.EstadoClienteArma.REASIGNADO,
+            "Cliente " + clienteAnterior.getId() + " -> " + nuevoClienteId);
+        log.debug("Arma reasignada: de cliente ID {} a cliente ID {} (documentos verificados)",
             clienteAnterior.getId(), nuevoClienteId);
         
         return convertirADTO(clienteArmaActualizado);
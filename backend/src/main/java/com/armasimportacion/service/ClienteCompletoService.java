@@ -1,6 +1,7 @@
 package com.armasimportacion.service;
 
-import com.armasimportacion.dto.ClienteCreateDTO;
+import com.armasimportacion.dto.ClienteCompletoRequest;
+import com.armasimportacion.dto.ClienteDatosRequest;
 import com.armasimportacion.dto.ClienteDTO;
 import com.armasimportacion.enums.EstadoCliente;
 import com.armasimportacion.enums.EstadoMilitar;
@@ -16,15 +17,16 @@ import com.armasimportacion.repository.TipoClienteRepository;
 import com.armasimportacion.repository.TipoIdentificacionRepository;
 import com.armasimportacion.service.ClienteQueryService;
 import com.armasimportacion.service.helper.*;
+import com.armasimportacion.util.FechaFlexibleDeserializer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -45,11 +47,11 @@ public class ClienteCompletoService {
 
     @Transactional(rollbackFor = Exception.class)
     public Map<String, Object> actualizarClienteParcial(Long clienteId, Map<String, Object> requestData) {
-        log.info("ClienteCompletoService.actualizarClienteParcial EJECUTÁNDOSE (OPTIMIZADO)");
-        log.info("Actualizando cliente parcial ID: {}, campos recibidos: {}", clienteId, requestData.keySet());
+        log.debug("ClienteCompletoService.actualizarClienteParcial EJECUTÁNDOSE (OPTIMIZADO)");
+        log.debug("Actualizando cliente parcial ID: {}, campos recibidos: {}", clienteId, requestData.keySet());
         
         Cliente cliente = clienteService.findById(clienteId);
-        log.info("Cliente encontrado: ID={}, nombres={}", cliente.getId(), cliente.getNombres());
+        log.debug("Cliente encontrado: ID={}, nombres={}", cliente.getId(), cliente.getNombres());
 
         ClienteDTO clienteDTOActualizado = null;
 
@@ -65,12 +67,15 @@ public class ClienteCompletoService {
             clienteDTOActualizado = clienteQueryService.findByIdAsDTO(cliente.getId());
         }
         
-        if (requestData.containsKey("respuestas") && requestData.get("respuestas") != null) {
-            actualizarRespuestasDelCliente(requestData, cliente);
+        if (requestData.get("respuestas") instanceof List<?> respuestas) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> respuestasData = (List<Map<String, Object>>) respuestas;
+            actualizarRespuestasDelCliente(respuestasData, cliente);
         }
 
-        Map<String, Object> armaData = extraerDatosArma(requestData);
-        if (armaData != null && !armaData.isEmpty()) {
+        if (requestData.get("arma") instanceof Map<?, ?> arma && !arma.isEmpty()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> armaData = (Map<String, Object>) arma;
             actualizarArmaDelCliente(armaData, cliente);
         }
         
@@ -99,7 +104,7 @@ public class ClienteCompletoService {
             for (String campo : camposDatosPersonales) {
                 if (clientData.containsKey(campo)) {
                     datosPersonalesActualizados = true;
-                    log.info("Campo de datos personales actualizado: {}", campo);
+                    log.debug("Campo de datos personales actualizado: {}", campo);
                     break;
                 }
             }
@@ -126,7 +131,7 @@ public class ClienteCompletoService {
     }
     
     private ClienteDTO actualizarClienteBasicoParcial(Map<String, Object> clientData, Cliente cliente) {
-        log.info("Actualizando cliente parcial - campos recibidos: {}", clientData.keySet());
+        log.debug("Actualizando cliente parcial - campos recibidos: {}", clientData.keySet());
         
         if (clientData.containsKey("nombres")) {
             cliente.setNombres((String) clientData.get("nombres"));
@@ -213,13 +218,8 @@ public class ClienteCompletoService {
             Object fechaObj = clientData.get("fechaNacimiento");
             if (fechaObj != null) {
                 try {
-                    String fechaStr = fechaObj.toString();
-                    if (fechaStr.contains("T")) {
-                        fechaStr = fechaStr.split("T")[0];
-                    }
-                    java.time.LocalDate fechaParsed = java.time.LocalDate.parse(fechaStr);
-                    cliente.setFechaNacimiento(fechaParsed);
-                } catch (Exception e) {
+                    cliente.setFechaNacimiento(FechaFlexibleDeserializer.parsear(fechaObj.toString()));
+                } catch (DateTimeException e) {
                     log.warn("Error parseando fecha de nacimiento: {}", fechaObj);
                 }
             }
@@ -257,19 +257,16 @@ public class ClienteCompletoService {
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public Map<String, Object> actualizarClienteCompleto(Long clienteId, Map<String, Object> requestData) {
-        log.info("ClienteCompletoService.actualizarClienteCompleto EJECUTÁNDOSE");
-        log.info("Actualizando cliente completo ID: {}", clienteId);
-        logDatosRecibidos(requestData);
+    public Map<String, Object> actualizarClienteCompleto(Long clienteId, ClienteCompletoRequest request) {
+        log.debug("Actualizando cliente completo ID: {}", clienteId);
         
         Cliente cliente = clienteService.findById(clienteId);
-        log.info("Cliente encontrado: ID={}, nombres={}", cliente.getId(), cliente.getNombres());
+        log.debug("Cliente encontrado: ID={}, nombres={}", cliente.getId(), cliente.getNombres());
 
-        ClienteDTO clienteDTOActualizado = actualizarClienteBasico(requestData, cliente);
-        actualizarRespuestasDelCliente(requestData, cliente);
+        ClienteDTO clienteDTOActualizado = actualizarClienteBasico(request.cliente(), cliente);
+        actualizarRespuestasDelCliente(request.respuestas(), cliente);
 
-        Map<String, Object> armaData = extraerDatosArma(requestData);
-        if (armaData != null) {
+        if (request.arma() != null) {
             log.warn("Actualización de arma en actualizarClienteCompleto no está implementada. " +
                     "La actualización de arma debe hacerse mediante ClienteArmaService directamente.");
         }
@@ -287,21 +284,18 @@ public class ClienteCompletoService {
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public Map<String, Object> crearClienteCompleto(Map<String, Object> requestData, Long usuarioId) {
-        log.info("ClienteCompletoService.crearClienteCompleto EJECUTÁNDOSE");
-        log.info("Iniciando creación de cliente completo con usuarioId={}", usuarioId);
-        logDatosRecibidos(requestData);
-        
-        Cliente cliente = crearClienteBasico(requestData, usuarioId);
-        guardarRespuestasDelCliente(requestData, cliente);
-        asignarArmaAlCliente(requestData, cliente);
+    public Map<String, Object> crearClienteCompleto(ClienteCompletoRequest request, Long usuarioId) {
+        log.debug("Iniciando creación de cliente completo con usuarioId={}", usuarioId);
+        
+        Cliente cliente = crearClienteBasico(request.cliente(), usuarioId);
+        guardarRespuestasDelCliente(request.respuestas(), cliente);
+        asignarArmaAlCliente(request.armas(), request.arma(), cliente);
 
         Pago pago = null;
-        Map<String, Object> pagoData = extraerDatosPago(requestData);
-        if (pagoData != null && !pagoData.isEmpty()) {
-            pago = crearPagoDelCliente(requestData, cliente.getId());
+        if (request.pago() != null) {
+            pago = crearPagoDelCliente(request, cliente.getId());
         } else {
-            log.info("No hay datos de pago, se creará más adelante en el flujo");
+            log.debug("No hay datos de pago, se creará más adelante en el flujo");
         }
         
         // No asignar clientes fantasma (PENDIENTE_ASIGNACION_CLIENTE) a grupos
@@ -325,13 +319,14 @@ public class ClienteCompletoService {
         return crearRespuestaExitoso(cliente, pago);
     }
 
-    private Cliente crearClienteBasico(Map<String, Object> requestData, Long usuarioId) {
-        log.info("Paso 1: Creando cliente basico con usuarioId={}", usuarioId);
+    private Cliente crearClienteBasico(ClienteDatosRequest clientData, Long usuarioId) {
+        log.debug("Paso 1: Creando cliente basico con usuarioId={}", usuarioId);
 
-        Map<String, Object> clientData = extraerDatosCliente(requestData);
-        ClienteCreateDTO clienteCreateDTO = construirClienteCreateDTO(clientData);
+        if (clientData == null) {
+            throw new BadRequestException("No se encontró campo 'cliente' en la solicitud");
+        }
         
-        ClienteDTO clienteDTO = clienteService.createFromDTO(clienteCreateDTO, usuarioId);
+        ClienteDTO clienteDTO = clienteService.createFromDTO(clientData.toCreateDTO(), usuarioId);
         Cliente cliente = clienteService.findById(clienteDTO.getId());
         
         log.info("Cliente creado: ID={}, usuarioCreadorId={}", cliente.getId(), usuarioId);
@@ -339,75 +334,67 @@ public class ClienteCompletoService {
         return cliente;
     }
 
-    private void guardarRespuestasDelCliente(Map<String, Object> requestData, Cliente cliente) {
-        log.info("Paso 2: Guardando respuestas del formulario");
+    private void guardarRespuestasDelCliente(List<Map<String, Object>> respuestasData, Cliente cliente) {
+        log.debug("Paso 2: Guardando respuestas del formulario");
         
-        List<Map<String, Object>> respuestasData = extraerDatosRespuestas(requestData);
         if (respuestasData != null && !respuestasData.isEmpty()) {
             int respuestasGuardadas = respuestasHelper.guardarRespuestasCliente(respuestasData, cliente);
-            log.info("Respuestas guardadas: {} respuestas", respuestasGuardadas);
+            log.debug("Respuestas guardadas: {} respuestas", respuestasGuardadas);
         } else {
-            log.info("No hay respuestas para guardar");
+            log.debug("No hay respuestas para guardar");
         }
     }
 
-    private ClienteDTO actualizarClienteBasico(Map<String, Object> requestData, Cliente cliente) {
-        log.info("Actualizando cliente básico ID: {}", cliente.getId());
+    private ClienteDTO actualizarClienteBasico(ClienteDatosRequest clientData, Cliente cliente) {
+        log.debug("Actualizando cliente básico ID: {}", cliente.getId());
         
-        Map<String, Object> clientData = extraerDatosCliente(requestData);
-        if (clientData == null || clientData.isEmpty()) {
+        if (clientData == null || clientData.estaVacio()) {
             return clienteQueryService.findByIdAsDTO(cliente.getId());
         }
         
-        ClienteCreateDTO clienteCreateDTO = construirClienteCreateDTO(clientData);
-        ClienteDTO clienteDTO = clienteService.updateFromDTO(cliente.getId(), clienteCreateDTO);
+        ClienteDTO clienteDTO = clienteService.updateFromDTO(cliente.getId(), clientData.toCreateDTO());
         
-        log.info("Cliente actualizado: ID={}, nombres={}, apellidos={}",
+        log.debug("Cliente actualizado: ID={}, nombres={}, apellidos={}",
             clienteDTO.getId(), clienteDTO.getNombres(), clienteDTO.getApellidos());
         
         return clienteDTO;
     }
 
-    private void actualizarRespuestasDelCliente(Map<String, Object> requestData, Cliente cliente) {
-        log.info("Actualizando respuestas del formulario para cliente ID: {}", cliente.getId());
+    private void actualizarRespuestasDelCliente(List<Map<String, Object>> respuestasData, Cliente cliente) {
+        log.debug("Actualizando respuestas del formulario para cliente ID: {}", cliente.getId());
         
-        List<Map<String, Object>> respuestasData = extraerDatosRespuestas(requestData);
         if (respuestasData != null && !respuestasData.isEmpty()) {
             int respuestasGuardadas = respuestasHelper.guardarRespuestasCliente(respuestasData, cliente);
-            log.info("Respuestas actualizadas: {} respuestas", respuestasGuardadas);
+            log.debug("Respuestas actualizadas: {} respuestas", respuestasGuardadas);
         } else {
-            log.info("No hay respuestas para actualizar");
+            log.debug("No hay respuestas para actualizar");
         }
     }
 
-    private void asignarArmaAlCliente(Map<String, Object> requestData, Cliente cliente) {
-        log.info("Paso 3: Asignando arma al cliente (POST - creación)");
+    private void asignarArmaAlCliente(List<Map<String, Object>> armasData, Map<String, Object> armaData, Cliente cliente) {
+        log.debug("Paso 3: Asignando arma al cliente (POST - creación)");
         
-        List<Map<String, Object>> armasData = extraerDatosArmas(requestData);
         if (armasData != null && !armasData.isEmpty()) {
-            for (Map<String, Object> armaData : armasData) {
-                var clienteArma = armasHelper.asignarArmaACliente(armaData, cliente);
-                if (clienteArma != null) {
-                    log.info("Arma asignada: {}", clienteArma.getArma().getModelo());
-                } else {
-                    log.warn("No se pudo asignar arma al cliente");
-                }
+            for (Map<String, Object> datos : armasData) {
+                registrarArmaAsignada(armasHelper.asignarArmaACliente(datos, cliente));
             }
             return;
         }
 
-        Map<String, Object> armaData = extraerDatosArma(requestData);
         if (armaData != null) {
-            var clienteArma = armasHelper.asignarArmaACliente(armaData, cliente);
-            if (clienteArma != null) {
-                log.info("Arma asignada: {}", clienteArma.getArma().getModelo());
-            } else {
-                log.warn("No se pudo asignar arma al cliente");
-            }
+            registrarArmaAsignada(armasHelper.asignarArmaACliente(armaData, cliente));
             return;
         }
 
-        log.info("No hay datos de arma para asignar");
+        log.debug("No hay datos de arma para asignar");
+    }
+
+    private void registrarArmaAsignada(ClienteArma clienteArma) {
+        if (clienteArma != null) {
+            log.debug("Arma asignada: {}", clienteArma.getArma().getModelo());
+        } else {
+            log.warn("No se pudo asignar arma al cliente");
+        }
     }
     
     private void actualizarArmaDelCliente(Map<String, Object> armaData, Cliente cliente) {
@@ -459,21 +446,14 @@ public class ClienteCompletoService {
                 cliente.getId(), armaId, precioUnitario);
         } else {
             log.warn("No se encontró reserva activa para cliente {} y arma {}, creando como fallback", cliente.getId(), armaId);
-            java.util.Map<String, Object> requestData = new java.util.HashMap<>();
-            requestData.put("arma", armaData);
-            asignarArmaAlCliente(requestData, cliente);
+            asignarArmaAlCliente(null, armaData, cliente);
         }
     }
 
-    private Pago crearPagoDelCliente(Map<String, Object> requestData, Long clienteId) {
-        log.info("Paso 4: Creando pago del cliente");
+    private Pago crearPagoDelCliente(ClienteCompletoRequest request, Long clienteId) {
+        log.debug("Paso 4: Creando pago del cliente");
         
-        Map<String, Object> pagoData = extraerDatosPago(requestData);
-        // Cuotas vienen en requestData.cuotas, no en pago.cuotas
-        if (requestData.containsKey("cuotas")) {
-            pagoData.put("cuotas", requestData.get("cuotas"));
-        }
-        Pago pago = pagosHelper.crearPagoCompleto(pagoData, clienteId);
+        Pago pago = pagosHelper.crearPagoCompleto(request.pago(), request.cuotas(), clienteId);
         
         log.info("Pago creado: ID={}, monto={}, tipo={}",
             pago.getId(), pago.getMontoTotal(), pago.getTipoPago());
@@ -481,152 +461,6 @@ public class ClienteCompletoService {
         return pago;
     }
 
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> extraerDatosCliente(Map<String, Object> requestData) {
-        return Optional.ofNullable(requestData.get("cliente"))
-            .filter(obj -> obj instanceof Map)
-            .map(obj -> (Map<String, Object>) obj)
-            .orElseThrow(() -> new RuntimeException("No se encontró campo 'cliente' en requestData"));
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> extraerDatosRespuestas(Map<String, Object> requestData) {
-        return Optional.ofNullable(requestData.get("respuestas"))
-            .filter(obj -> obj instanceof List)
-            .map(obj -> (List<Map<String, Object>>) obj)
-            .orElse(null);
-    }
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> extraerDatosArma(Map<String, Object> requestData) {
-        return Optional.ofNullable(requestData.get("arma"))
-            .filter(obj -> obj instanceof Map)
-            .map(obj -> (Map<String, Object>) obj)
-            .orElse(null);
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> extraerDatosArmas(Map<String, Object> requestData) {
-        return Optional.ofNullable(requestData.get("armas"))
-            .filter(obj -> obj instanceof List)
-            .map(obj -> (List<Map<String, Object>>) obj)
-            .orElse(null);
-    }
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> extraerDatosPago(Map<String, Object> requestData) {
-        return Optional.ofNullable(requestData.get("pago"))
-            .filter(obj -> obj instanceof Map)
-            .map(obj -> (Map<String, Object>) obj)
-            .orElse(null);
-    }
-
-    private ClienteCreateDTO construirClienteCreateDTO(Map<String, Object> clientData) {
-        ClienteCreateDTO dto = new ClienteCreateDTO();
-        dto.setNumeroIdentificacion((String) clientData.get("numeroIdentificacion"));
-        dto.setNombres((String) clientData.get("nombres"));
-        dto.setApellidos((String) clientData.get("apellidos"));
-        dto.setEmail((String) clientData.get("email"));
-        dto.setTelefonoPrincipal((String) clientData.get("telefonoPrincipal"));
-        dto.setTelefonoSecundario((String) clientData.get("telefonoSecundario"));
-        dto.setTipoIdentificacionCodigo((String) clientData.get("tipoIdentificacionCodigo"));
-        dto.setTipoClienteCodigo((String) clientData.get("tipoClienteCodigo"));
-        
-        dto.setDireccion((String) clientData.get("direccion"));
-        dto.setProvincia((String) clientData.get("provincia"));
-        dto.setCanton((String) clientData.get("canton"));
-        
-        dto.setRepresentanteLegal((String) clientData.get("representanteLegal"));
-        dto.setRuc((String) clientData.get("ruc"));
-        dto.setNombreEmpresa((String) clientData.get("nombreEmpresa"));
-        dto.setDireccionFiscal((String) clientData.get("direccionFiscal"));
-        dto.setTelefonoReferencia((String) clientData.get("telefonoReferencia"));
-        dto.setCorreoEmpresa((String) clientData.get("correoEmpresa"));
-        dto.setProvinciaEmpresa((String) clientData.get("provinciaEmpresa"));
-        dto.setCantonEmpresa((String) clientData.get("cantonEmpresa"));
-        
-        dto.setEstadoMilitar((String) clientData.get("estadoMilitar"));
-        dto.setCodigoIssfa((String) clientData.get("codigoIssfa"));
-        dto.setCodigoIsspol((String) clientData.get("codigoIsspol"));
-        dto.setRango((String) clientData.get("rango"));
-        
-        if (clientData.containsKey("estado")) {
-            dto.setEstado((String) clientData.get("estado"));
-        }
-        
-        parsearFechaNacimiento(clientData, dto);
-        
-        return dto;
-    }
-
-    private void parsearFechaNacimiento(Map<String, Object> clientData, ClienteCreateDTO dto) {
-        Optional.ofNullable(clientData.get("fechaNacimiento"))
-            .map(Object::toString)
-            .ifPresentOrElse(
-                fechaStr -> {
-                    try {
-                        java.time.LocalDate fechaParseada = parsearFechaCompleta(fechaStr);
-                        dto.setFechaNacimiento(fechaParseada.toString()); // Guardar como String ISO YYYY-MM-DD
-                    } catch (Exception e) {
-                        dto.setFechaNacimiento(LocalDateTime.now().toLocalDate().minusYears(30).toString());
-                    }
-                },
-                () -> {
-                    dto.setFechaNacimiento(LocalDateTime.now().toLocalDate().minusYears(30).toString());
-                }
-            );
-    }
-
-    private java.time.LocalDate parsearFechaCompleta(String fechaStr) {
-        log.info("Parseando fecha: '{}'", fechaStr);
-        
-        if (fechaStr == null || fechaStr.isBlank()) {
-            throw new IllegalArgumentException("Fecha vacía");
-        }
-        
-        fechaStr = fechaStr.trim();
-        
-        if (fechaStr.contains("T")) {
-            String fechaSola = fechaStr.split("T")[0];
-            log.info("Detectado formato ISO DateTime, extrayendo fecha: {}", fechaSola);
-            return java.time.LocalDate.parse(fechaSola);
-        }
-        
-        if (fechaStr.matches("\\d{4}-\\d{2}-\\d{2}")) {
-            return java.time.LocalDate.parse(fechaStr);
-        }
-
-        if (fechaStr.matches("\\d{1,2}/\\d{1,2}/\\d{4}")) {
-            String[] partes = fechaStr.split("/");
-            int dia = Integer.parseInt(partes[0]);
-            int mes = Integer.parseInt(partes[1]);
-            int año = Integer.parseInt(partes[2]);
-            return java.time.LocalDate.of(año, mes, dia);
-        }
-        
-        if (fechaStr.matches("\\d{1,2}-\\d{1,2}-\\d{4}")) {
-            String[] partes = fechaStr.split("-");
-            int dia = Integer.parseInt(partes[0]);
-            int mes = Integer.parseInt(partes[1]);
-            int año = Integer.parseInt(partes[2]);
-            return java.time.LocalDate.of(año, mes, dia);
-        }
-        
-        if (fechaStr.matches("\\d{8}")) {
-            int año = Integer.parseInt(fechaStr.substring(0, 4));
-            int mes = Integer.parseInt(fechaStr.substring(4, 6));
-            int dia = Integer.parseInt(fechaStr.substring(6, 8));
-            return java.time.LocalDate.of(año, mes, dia);
-        }
-        
-        throw new IllegalArgumentException("Formato de fecha no reconocido: " + fechaStr);
-    }
-
-    private void logDatosRecibidos(Map<String, Object> requestData) {
-        log.info("Datos recibidos - keys: {}", requestData.keySet());
-    }
-
     private Map<String, Object> crearRespuestaExitoso(Cliente cliente, Pago pago) {
         Map<String, Object> response = new java.util.HashMap<>();
         response.put("success", true);
@@ -644,13 +478,13 @@ public class ClienteCompletoService {
     private void enviarCorreoVerificacion(Cliente cliente) {
         // Clientes fantasma (vendedores) no reciben correo
         if (cliente.getEstado() == EstadoCliente.PENDIENTE_ASIGNACION_CLIENTE) {
-            log.info("Cliente ID {} es cliente fantasma (vendedor), no se enviará correo de verificación", cliente.getId());
+            log.debug("Cliente ID {} es cliente fantasma (vendedor), no se enviará correo de verificación", cliente.getId());
             return;
         }
         
         // Compañías de seguridad se auto-validan sin correo
         if (cliente.esEmpresa()) {
-            log.info("Cliente ID {} es compañía de seguridad, auto-validando datos sin enviar correo", cliente.getId());
+            log.debug("Cliente ID {} es compañía de seguridad, auto-validando datos sin enviar correo", cliente.getId());
             cliente.setEmailVerificado(true);
             clienteRepository.save(cliente);
             log.info("Datos auto-validados para cliente empresa ID: {}", cliente.getId());
@@ -658,15 +492,15 @@ public class ClienteCompletoService {
         }
         
         if (cliente.getEmail() == null || cliente.getEmail().isBlank()) {
-            log.info("Cliente ID {} no tiene email, no se enviará correo de verificación", cliente.getId());
+            log.debug("Cliente ID {} no tiene email, no se enviará correo de verificación", cliente.getId());
             return;
         }
 
         try {
-            log.info("Enviando correo de verificación a cliente ID: {}, email: {}",
+            log.debug("Enviando correo de verificación a cliente ID: {}, email: {}",
                 cliente.getId(), cliente.getEmail());
             emailVerificationService.generateAndSendVerificationToken(cliente);
-            log.info("Correo de verificación enviado exitosamente");
+            log.debug("Correo de verificación programado para después del commit");
         } catch (Exception e) {
             log.error("Error enviando correo de verificación (no crítico): {}", e.getMessage(), e);
             // No lanzamos excepción para no romper el flujo de creación del cliente
@@ -0,0 +1,27 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.model.Cliente;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Listener JPA de Cliente: cualquier alta, cambio o baja invalida las estadísticas de ventas.
+ * Hibernate lo instancia a través del contenedor de Spring, por eso recibe el servicio por constructor.
+ */
+public class ClienteEstadisticasListener {
+
+    private final ObjectProvider<ClienteEstadisticasService> estadisticasService;
+
+    public ClienteEstadisticasListener(ObjectProvider<ClienteEstadisticasService> estadisticasService) {
+        this.estadisticasService = estadisticasService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void alCambiarCliente(Cliente cliente) {
+        estadisticasService.ifAvailable(ClienteEstadisticasService::invalidar);
+    }
+}
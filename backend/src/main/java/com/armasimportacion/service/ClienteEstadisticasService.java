@@ -0,0 +1,205 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.enums.EstadoCliente;
+import com.armasimportacion.repository.ClienteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Estadísticas de clientes para los dashboards de ventas.
+ *
+ * Todos los contadores salen de una única consulta agregada
+ * (GROUP BY vendedor, estado, proceso_completado, aprobado_por_jefe_ventas, rechazado)
+ * que se guarda como instantánea en memoria. La instantánea vence por TTL y se descarta
+ * al confirmar cualquier escritura de clientes (ver ClienteEstadisticasListener).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClienteEstadisticasService {
+
+    private static final String RECURSO_INVALIDACION = ClienteEstadisticasService.class.getName() + ".invalidacion";
+
+    /**
+     * Una fila del agregado: cuántos clientes comparten la misma combinación de atributos.
+     */
+    public record ConteoClientes(Long vendedorId, String vendedorNombres, EstadoCliente estado,
+                                 Boolean procesoCompletado, Boolean aprobadoPorJefeVentas,
+                                 boolean rechazado, long total) {
+    }
+
+    private record Instantanea(List<ConteoClientes> conteos, long generadaEn) {
+    }
+
+    /**
+     * Acumulado por vendedor: la clave es el id (dos vendedores pueden llamarse igual),
+     * el nombre solo se usa como etiqueta de la fila.
+     */
+    private static final class TotalVendedor {
+        private final String nombres;
+        private long total;
+
+        private TotalVendedor(String nombres) {
+            this.nombres = nombres;
+        }
+    }
+
+    private final ClienteRepository clienteRepository;
+
+    @Value("${app.estadisticas.clientes.ttl-ms:30000}")
+    private long ttlMs;
+
+    private volatile Instantanea instantanea;
+
+    public Map<String, Object> getEstadisticasJefeVentas() {
+        List<ConteoClientes> conteos = obtenerConteos();
+
+        Map<EstadoCliente, Long> porEstado = new EnumMap<>(EstadoCliente.class);
+        Map<Long, TotalVendedor> porVendedor = new LinkedHashMap<>();
+        long total = 0;
+        long aprobados = 0;
+        long pendientes = 0;
+        long rechazados = 0;
+
+        for (ConteoClientes conteo : conteos) {
+            total += conteo.total();
+            if (Boolean.TRUE.equals(conteo.aprobadoPorJefeVentas())) {
+                aprobados += conteo.total();
+            }
+            if (Boolean.FALSE.equals(conteo.aprobadoPorJefeVentas())) {
+                if (conteo.estado() == EstadoCliente.ACTIVO) {
+                    pendientes += conteo.total();
+                }
+                if (conteo.rechazado()) {
+                    rechazados += conteo.total();
+                }
+            }
+            if (conteo.estado() != null) {
+                porEstado.merge(conteo.estado(), conteo.total(), Long::sum);
+            }
+            porVendedor.computeIfAbsent(conteo.vendedorId(), id -> new TotalVendedor(conteo.vendedorNombres()))
+                    .total += conteo.total();
+        }
+
+        Map<String, Object> estadisticas = new HashMap<>();
+        estadisticas.put("totalClientes", total);
+        estadisticas.put("clientesAprobados", aprobados);
+        estadisticas.put("clientesPendientes", pendientes);
+        estadisticas.put("clientesRechazados", rechazados);
+        estadisticas.put("clientesPorEstado", aFilas(porEstado));
+        estadisticas.put("clientesPorVendedor", aFilasVendedor(porVendedor));
+        return estadisticas;
+    }
+
+    public Map<String, Object> getEstadisticasVendedor(Long usuarioId) {
+        long total = 0;
+        long activos = 0;
+        long bloqueados = 0;
+        long completados = 0;
+        long pendientes = 0;
+
+        for (ConteoClientes conteo : obtenerConteos()) {
+            if (!Objects.equals(conteo.vendedorId(), usuarioId)) {
+                continue;
+            }
+            total += conteo.total();
+            if (conteo.estado() == EstadoCliente.ACTIVO) {
+                activos += conteo.total();
+            }
+            if (conteo.estado() == EstadoCliente.BLOQUEADO) {
+                bloqueados += conteo.total();
+            }
+            if (Boolean.TRUE.equals(conteo.procesoCompletado())) {
+                completados += conteo.total();
+            }
+            if (Boolean.FALSE.equals(conteo.procesoCompletado())) {
+                pendientes += conteo.total();
+            }
+        }
+
+        Map<String, Object> estadisticas = new HashMap<>();
+        estadisticas.put("totalClientes", total);
+        estadisticas.put("clientesActivos", activos);
+        estadisticas.put("clientesBloqueados", bloqueados);
+        estadisticas.put("clientesCompletados", completados);
+        estadisticas.put("clientesPendientes", pendientes);
+        return estadisticas;
+    }
+
+    /**
+     * Descarta la instantánea. Dentro de una transacción se descarta otra vez al confirmar,
+     * para que una lectura concurrente no vuelva a cachear datos previos al commit.
+     */
+    public void invalidar() {
+        instantanea = null;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(RECURSO_INVALIDACION)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(RECURSO_INVALIDACION, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RECURSO_INVALIDACION);
+                instantanea = null;
+            }
+        });
+    }
+
+    private List<ConteoClientes> obtenerConteos() {
+        Instantanea actual = instantanea;
+        if (actual != null && System.currentTimeMillis() - actual.generadaEn() < ttlMs) {
+            return actual.conteos();
+        }
+        synchronized (this) {
+            actual = instantanea;
+            if (actual != null && System.currentTimeMillis() - actual.generadaEn() < ttlMs) {
+                return actual.conteos();
+            }
+            long inicio = System.currentTimeMillis();
+            List<ConteoClientes> conteos = clienteRepository.getConteosAgregados().stream()
+                    .map(this::aConteo)
+                    .toList();
+            instantanea = new Instantanea(conteos, System.currentTimeMillis());
+            log.debug("Estadísticas de clientes recalculadas: {} grupos en {} ms",
+                    conteos.size(), System.currentTimeMillis() - inicio);
+            return conteos;
+        }
+    }
+
+    private ConteoClientes aConteo(Object[] fila) {
+        return new ConteoClientes(
+                fila[0] != null ? ((Number) fila[0]).longValue() : null,
+                (String) fila[1],
+                fila[2] != null ? EstadoCliente.valueOf((String) fila[2]) : null,
+                (Boolean) fila[3],
+                (Boolean) fila[4],
+                Boolean.TRUE.equals(fila[5]),
+                ((Number) fila[6]).longValue());
+    }
+
+    private static <K> List<Object[]> aFilas(Map<K, Long> conteos) {
+        List<Object[]> filas = new ArrayList<>(conteos.size());
+        conteos.forEach((clave, total) -> filas.add(new Object[]{clave, total}));
+        return filas;
+    }
+
+    // [nombres, total, vendedorId]: las dos primeras posiciones se mantienen como antes
+    private static List<Object[]> aFilasVendedor(Map<Long, TotalVendedor> porVendedor) {
+        List<Object[]> filas = new ArrayList<>(porVendedor.size());
+        porVendedor.forEach((vendedorId, fila) -> filas.add(new Object[]{fila.nombres, fila.total, vendedorId}));
+        return filas;
+    }
+}
@@ -11,7 +11,6 @@ import com.armasimportacion.model.Cliente;
 import com.armasimportacion.model.ClienteArma;
 import com.armasimportacion.model.ClienteGrupoImportacion;
 import com.armasimportacion.model.GrupoImportacion;
-import com.armasimportacion.model.Pago;
 import com.armasimportacion.enums.TipoDocumentoGenerado;
 import com.armasimportacion.model.DocumentoGenerado;
 import com.armasimportacion.repository.ClienteArmaRepository;
@@ -19,7 +18,6 @@ import com.armasimportacion.repository.ClienteRepository;
 import com.armasimportacion.repository.ClienteGrupoImportacionRepository;
 import com.armasimportacion.repository.DocumentoClienteRepository;
 import com.armasimportacion.repository.DocumentoGeneradoRepository;
-import com.armasimportacion.repository.PagoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,13 +25,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -45,13 +41,17 @@ public class ClienteQueryService {
 
     private final ClienteRepository clienteRepository;
     private final ClienteMapper clienteMapper;
-    private final PagoRepository pagoRepository;
     private final ClienteGrupoImportacionRepository clienteGrupoImportacionRepository;
     private final DocumentoClienteService documentoClienteService;
     private final ClienteArmaService clienteArmaService;
     private final ClienteArmaRepository clienteArmaRepository;
     private final DocumentoClienteRepository documentoClienteRepository;
     private final DocumentoGeneradoRepository documentoGeneradoRepository;
+    private final ClienteEstadisticasService clienteEstadisticasService;
+    private final RespuestaClienteService respuestaClienteService;
+    private final FiltroIdentificacionesService filtroIdentificacionesService;
+    private final CarteraClienteService carteraClienteService;
+    private final ClienteAccesorioService clienteAccesorioService;
 
     public List<Cliente> findByUsuarioCreador(Long usuarioId) {
         return clienteRepository.findWithRelationsByUsuarioCreadorId(usuarioId);
@@ -108,16 +108,19 @@ public class ClienteQueryService {
         return clienteRepository.findByEstadoAndProcesoCompletadoFalse(EstadoCliente.ACTIVO);
     }
 
+    /**
+     * Detalle del cliente como DTOs: cada colección se carga con su propia consulta (y su
+     * fetch plan) dentro de esta transacción, sin entidades que Jackson deba recorrer después.
+     */
     public Map<String, Object> getDetalleCompleto(Long clienteId) {
-        Cliente cliente = clienteRepository.findByIdWithCollections(clienteId)
-            .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + clienteId));
+        ClienteDTO cliente = findByIdAsDTO(clienteId);
         Map<String, Object> detalle = new HashMap<>();
 
         detalle.put("cliente", cliente);
-        detalle.put("documentos", cliente.getDocumentos());
-        detalle.put("respuestas", cliente.getRespuestas());
-        detalle.put("asignacionesArma", cliente.getAsignacionesArma());
-        detalle.put("asignacionesAccesorio", cliente.getAsignacionesAccesorio());
+        detalle.put("documentos", documentoClienteService.getDocumentosByCliente(clienteId));
+        detalle.put("respuestas", respuestaClienteService.getRespuestasByCliente(clienteId));
+        detalle.put("asignacionesArma", clienteArmaService.obtenerReservasPorCliente(clienteId));
+        detalle.put("asignacionesAccesorio", clienteAccesorioService.obtenerReservasPorCliente(clienteId));
 
         return detalle;
     }
@@ -139,28 +142,11 @@ public class ClienteQueryService {
     }
 
     public Map<String, Object> getEstadisticasJefeVentas() {
-        Map<String, Object> estadisticas = new HashMap<>();
-
-        estadisticas.put("totalClientes", clienteRepository.count());
-        estadisticas.put("clientesAprobados", clienteRepository.countByAprobadoPorJefeVentasTrue());
-        estadisticas.put("clientesPendientes", clienteRepository.countByAprobadoPorJefeVentasFalseAndEstado(EstadoCliente.ACTIVO));
-        estadisticas.put("clientesRechazados", clienteRepository.countByAprobadoPorJefeVentasFalseAndMotivoRechazoIsNotNull());
-        estadisticas.put("clientesPorEstado", clienteRepository.getEstadisticasPorEstado());
-        estadisticas.put("clientesPorVendedor", clienteRepository.getEstadisticasPorVendedor());
-
-        return estadisticas;
+        return clienteEstadisticasService.getEstadisticasJefeVentas();
     }
 
     public Map<String, Object> getEstadisticasVendedor(Long usuarioId) {
-        Map<String, Object> estadisticas = new HashMap<>();
-
-        estadisticas.put("totalClientes", clienteRepository.countByUsuarioCreador(usuarioId));
-        estadisticas.put("clientesActivos", clienteRepository.countByUsuarioCreadorAndEstado(usuarioId, EstadoCliente.ACTIVO));
-        estadisticas.put("clientesBloqueados", clienteRepository.countByUsuarioCreadorAndEstado(usuarioId, EstadoCliente.BLOQUEADO));
-        estadisticas.put("clientesCompletados", clienteRepository.countByUsuarioCreadorAndProcesoCompletadoTrue(usuarioId));
-        estadisticas.put("clientesPendientes", clienteRepository.countByUsuarioCreadorAndProcesoCompletadoFalse(usuarioId));
-
-        return estadisticas;
+        return clienteEstadisticasService.getEstadisticasVendedor(usuarioId);
     }
 
     private static final List<EstadoCliente> ESTADOS_FINALES = List.of(
@@ -235,15 +221,12 @@ public class ClienteQueryService {
     }
 
     public boolean existsByNumeroIdentificacion(String numeroIdentificacion) {
-        // Excluir clientes en estados finales (ELIMINADO, PROCESO_COMPLETADO)
-        Optional<Cliente> clienteActivo = clienteRepository.findByNumeroIdentificacionAndEstadoNotIn(
-            numeroIdentificacion, ESTADOS_FINALES);
-        if (clienteActivo.isPresent()) {
-            return true;
+        // Número nunca registrado: se responde sin consultar la BD
+        if (!filtroIdentificacionesService.podriaExistir(numeroIdentificacion)) {
+            return false;
         }
-        List<Cliente> clientesRuc = clienteRepository.findByRuc(numeroIdentificacion);
-        return clientesRuc.stream()
-            .anyMatch(c -> !ESTADOS_FINALES.contains(c.getEstado()));
+        // Excluir clientes en estados finales (ELIMINADO, PROCESO_COMPLETADO)
+        return clienteRepository.existsIdentificacionActiva(numeroIdentificacion, ESTADOS_FINALES);
     }
 
     public Page<ClienteDTO> findByFiltrosAsDTO(String nombres, EstadoCliente estado, Long vendedorId,
@@ -391,22 +374,7 @@ public class ClienteQueryService {
     }
 
     private Map<Long, String> calcularEstadosPagoBatch(List<Long> clienteIds) {
-        Map<Long, String> resultado = new HashMap<>();
-        List<Object[]> rows = pagoRepository.findEstadoPagoBatchByClienteIds(clienteIds);
-        for (Object[] row : rows) {
-            Long clienteId = (Long) row[0];
-            BigDecimal totalPagado = (BigDecimal) row[1];
-            BigDecimal totalPendiente = (BigDecimal) row[2];
-
-            if (totalPagado.compareTo(BigDecimal.ZERO) == 0) {
-                resultado.put(clienteId, "IMPAGO");
-            } else if (totalPendiente.compareTo(BigDecimal.ZERO) > 0) {
-                resultado.put(clienteId, "ABONADO");
-            } else {
-                resultado.put(clienteId, "PAGO_COMPLETO");
-            }
-        }
-        return resultado;
+        return carteraClienteService.estadosPago(clienteIds);
     }
 
     private EstadoCliente calcularEstadoClienteBatch(Cliente cliente,
@@ -489,32 +457,6 @@ public class ClienteQueryService {
     }
 
     public String calcularEstadoPago(Long clienteId) {
-        List<Pago> pagos = pagoRepository.findByClienteId(clienteId);
-
-        if (pagos == null || pagos.isEmpty()) {
-            return "IMPAGO";
-        }
-
-        BigDecimal totalPagado = BigDecimal.ZERO;
-        BigDecimal totalPendiente = BigDecimal.ZERO;
-
-        for (Pago pago : pagos) {
-            if (pago.getMontoPagado() != null) {
-                totalPagado = totalPagado.add(pago.getMontoPagado());
-            }
-            if (pago.getMontoPendiente() != null) {
-                totalPendiente = totalPendiente.add(pago.getMontoPendiente());
-            }
-        }
-
-        if (totalPagado.compareTo(BigDecimal.ZERO) == 0) {
-            return "IMPAGO";
-        }
-
-        if (totalPendiente.compareTo(BigDecimal.ZERO) > 0) {
-            return "ABONADO";
-        }
-
-        return "PAGO_COMPLETO";
+        return carteraClienteService.estadoPago(clienteId);
     }
 }
@@ -16,6 +16,7 @@ import com.armasimportacion.repository.TipoClienteRepository;
 import com.armasimportacion.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -43,6 +44,7 @@ public class ClienteService {
     private final UsuarioRepository usuarioRepository;
     private final ClienteQueryService clienteQueryService;
     private final ConfiguracionSistemaService configuracionSistemaService;
+    private final FiltroIdentificacionesService filtroIdentificacionesService;
 
     public List<Cliente> findAll() {
         return clienteRepository.findAll();
@@ -53,7 +55,8 @@ public class ClienteService {
     }
 
     public Cliente findById(Long id) {
-        return clienteRepository.findById(id)
+        // Tipo de cliente e identificación casi siempre se consultan (esCivil, esMilitar, plantillas)
+        return clienteRepository.findByIdWithRelations(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
     }
 
@@ -63,7 +66,7 @@ public class ClienteService {
         cliente.setEstado(EstadoCliente.ACTIVO);
         cliente.setFechaCreacion(java.time.LocalDateTime.now());
 
-        return clienteRepository.save(cliente);
+        return guardarNuevo(cliente);
     }
 
     public Cliente update(Long id, Cliente clienteUpdate) {
@@ -79,6 +82,7 @@ public class ClienteService {
     public void delete(Long id) {
         Cliente cliente = findById(id);
         clienteRepository.delete(cliente);
+        filtroIdentificacionesService.registrarEliminacion();
     }
 
     public boolean existsByIdentificacion(Long tipoIdentificacionId, String numeroIdentificacion) {
@@ -91,7 +95,7 @@ public class ClienteService {
     }
 
     public boolean existsByRuc(String ruc) {
-        return !clienteRepository.findByRuc(ruc).isEmpty();
+        return clienteRepository.existsByRuc(ruc);
     }
 
     public boolean validateEdadMinima(LocalDate fechaNacimiento) {
@@ -238,7 +242,7 @@ public class ClienteService {
         }
         cliente.setFechaCreacion(java.time.LocalDateTime.now());
 
-        Cliente clienteGuardado = clienteRepository.save(cliente);
+        Cliente clienteGuardado = guardarNuevo(cliente);
         ClienteDTO resultado = clienteMapper.toDTO(clienteGuardado);
         clienteQueryService.enrichDTO(resultado, clienteGuardado);
         return resultado;
@@ -483,23 +487,33 @@ public class ClienteService {
         cliente.setCantonEmpresa(dto.getCantonEmpresa());
     }
 
-    private void validateClienteForCreate(Cliente cliente) {
-        if (clienteRepository.existsByTipoIdentificacionIdAndNumeroIdentificacion(
-                cliente.getTipoIdentificacion().getId(), cliente.getNumeroIdentificacion())) {
-            throw new BadRequestException("Ya existe un cliente con esta identificación: " +
-                cliente.getNumeroIdentificacion());
+    /**
+     * Inserta un cliente nuevo. La unicidad de cédula y RUC entre clientes activos la
+     * garantizan los índices uq_cliente_numero_identificacion_activo y uq_cliente_ruc_activo:
+     * el flush inmediato convierte un duplicado (aunque llegue en paralelo) en un 400.
+     */
+    private Cliente guardarNuevo(Cliente cliente) {
+        try {
+            return clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            String detalle = e.getMostSpecificCause().getMessage();
+            if (detalle != null && detalle.contains("uq_cliente_numero_identificacion_activo")) {
+                throw new BadRequestException("Ya existe un cliente activo con esta identificación: " +
+                    cliente.getNumeroIdentificacion(), e);
+            }
+            if (detalle != null && detalle.contains("uq_cliente_ruc_activo")) {
+                throw new BadRequestException("Ya existe una empresa activa con este RUC: " + cliente.getRuc(), e);
+            }
+            throw e;
         }
+    }
 
+    private void validateClienteForCreate(Cliente cliente) {
+        // Cédula y RUC duplicados los detectan los índices únicos al insertar (guardarNuevo)
         if (clienteRepository.existsByEmail(cliente.getEmail())) {
             throw new BadRequestException("Ya existe un cliente con este email: " + cliente.getEmail());
         }
 
-        if (cliente.getRuc() != null && !cliente.getRuc().isBlank()) {
-            if (!clienteRepository.findByRuc(cliente.getRuc()).isEmpty()) {
-                throw new BadRequestException("Ya existe una empresa con este RUC: " + cliente.getRuc());
-            }
-        }
-
         if (cliente.getFechaNacimiento() != null && !validateEdadMinima(cliente.getFechaNacimiento())) {
             int edadMinima = getEdadMinimaConfig();
             String mensajeError = cliente.getMensajeErrorEdad(edadMinima);
@@ -536,8 +550,7 @@ public class ClienteService {
         }
 
         if (clienteUpdate.getRuc() != null && !clienteUpdate.getRuc().isBlank()) {
-            List<Cliente> clientesConRuc = clienteRepository.findByRuc(clienteUpdate.getRuc());
-            if (!clientesConRuc.isEmpty() && !clientesConRuc.get(0).getId().equals(id)) {
+            if (clienteRepository.existsByRucAndIdNot(clienteUpdate.getRuc(), id)) {
                 throw new BadRequestException("Ya existe una empresa con este RUC: " + clienteUpdate.getRuc());
             }
         }
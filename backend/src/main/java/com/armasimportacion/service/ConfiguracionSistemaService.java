@@ -60,12 +60,10 @@ public class ConfiguracionSistemaService {
     }
 
     public String getValorConfiguracion(String clave) {
-        log.info("Obteniendo valor de configuración para clave: {}", clave);
-
+        // Sin log del valor: se consulta en cada petición y hay claves sensibles (SMTP_PASSWORD)
         ConfiguracionSistema configuracion = repository.findByClave(clave)
                 .orElseThrow(() -> new ResourceNotFoundException("Configuración no encontrada con clave: " + clave));
 
-        log.info("Valor obtenido para clave {}: {}", clave, configuracion.getValor());
         return configuracion.getValor();
     }
 
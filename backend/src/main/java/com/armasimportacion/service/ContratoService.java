@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -47,7 +48,7 @@ public class ContratoService {
             ContratoData datos = guardarContrato(clienteId, pagoId, vendedorId);
 
             // 2. Enviar email fuera de la transacción
-            enviarContratoPorEmail(datos.cliente, datos.vendedor, datos.pago, datos.pdfBytes, datos.nombreArchivo);
+            enviarContratoPorEmail(datos.cliente, datos.vendedor, datos.pago, datos.pdf, datos.nombreArchivo);
 
             log.info("Contrato generado y enviado exitosamente para cliente: {}", datos.cliente.getNombreCompleto());
 
@@ -83,10 +84,12 @@ public class ContratoService {
         documento.setDescripcion("Contrato de compra de arma generado automáticamente");
         documentoGeneradoRepository.save(documento);
 
-        return new ContratoData(cliente, vendedor, pago, pdfBytes, nombreArchivo);
+        // El correo adjunta el archivo guardado; los bytes no salen de esta transacción
+        Path pdf = fileStorageService.resolverArchivo(rutaArchivo);
+        return new ContratoData(cliente, vendedor, pago, pdf, nombreArchivo);
     }
 
-    private record ContratoData(Cliente cliente, Usuario vendedor, Pago pago, byte[] pdfBytes, String nombreArchivo) {}
+    private record ContratoData(Cliente cliente, Usuario vendedor, Pago pago, Path pdf, String nombreArchivo) {}
 
     private byte[] generarPDFContrato(Cliente cliente, Pago pago, Usuario vendedor) throws IOException {
         Map<String, Object> datosContrato = crearDatosContrato(cliente, pago, vendedor);
@@ -180,13 +183,13 @@ public class ContratoService {
     }
 
     private void enviarContratoPorEmail(Cliente cliente, Usuario vendedor, Pago pago,
-                                       byte[] pdfBytes, String nombreArchivo) {
+                                       Path pdf, String nombreArchivo) {
         try {
             emailService.enviarContratoConAdjunto(
                 cliente.getEmail(),
                 cliente.getNombres() + " " + cliente.getApellidos(),
                 pago,
-                pdfBytes,
+                pdf,
                 nombreArchivo
             );
 
@@ -195,7 +198,7 @@ public class ContratoService {
                 vendedor.getNombres() + " " + vendedor.getApellidos(),
                 cliente,
                 pago,
-                pdfBytes,
+                pdf,
                 nombreArchivo
             );
 
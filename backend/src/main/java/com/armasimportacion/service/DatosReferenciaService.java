@@ -0,0 +1,275 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.dto.PreguntaClienteDTO;
+import com.armasimportacion.dto.TipoClienteDTO;
+import com.armasimportacion.dto.TipoDocumentoDTO;
+import com.armasimportacion.dto.TipoIdentificacionDTO;
+import com.armasimportacion.mapper.PreguntaClienteMapper;
+import com.armasimportacion.mapper.TipoClienteMapper;
+import com.armasimportacion.mapper.TipoDocumentoMapper;
+import com.armasimportacion.mapper.TipoIdentificacionMapper;
+import com.armasimportacion.model.Canton;
+import com.armasimportacion.model.Provincia;
+import com.armasimportacion.model.TipoProceso;
+import com.armasimportacion.repository.CantonRepository;
+import com.armasimportacion.repository.PreguntaClienteRepository;
+import com.armasimportacion.repository.ProvinciaRepository;
+import com.armasimportacion.repository.TipoClienteRepository;
+import com.armasimportacion.repository.TipoDocumentoRepository;
+import com.armasimportacion.repository.TipoIdentificacionRepository;
+import com.armasimportacion.repository.TipoProcesoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro en memoria de los datos de referencia del formulario de clientes: tipos de
+ * cliente, tipos de identificación, provincias y cantones, y preguntas/documentos por
+ * tipo de proceso.
+ *
+ * Se carga al arrancar y se reconstruye completo (tras el commit) cuando un administrador
+ * edita alguno de esos catálogos. La edición avisa además por el canal LISTEN/NOTIFY
+ * {@link #CANAL_AVISOS} para que las otras réplicas también reconstruyan; como respaldo
+ * (canal caído, cambios hechos directo en la BD) se recarga cada
+ * app.datos-referencia.recarga-ms. Cada reconstrucción publica una instantánea inmutable
+ * con el bundle ya serializado y su versión (hash del contenido), que sirve de ETag:
+ * los endpoints de lectura no tocan la BD.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DatosReferenciaService {
+
+    public record Formulario(List<PreguntaClienteDTO> preguntas, List<TipoDocumentoDTO> documentos) {
+    }
+
+    /**
+     * Instantánea inmutable del registro.
+     *
+     * @param version hash del bundle; cambia solo si cambia el contenido
+     * @param bundle  JSON de todos los datos de referencia, listo para enviar
+     */
+    public record DatosReferencia(String version,
+                                  byte[] bundle,
+                                  List<TipoClienteDTO> tiposCliente,
+                                  Map<Long, TipoClienteDTO> tiposClientePorId,
+                                  List<TipoClienteDTO> tiposClienteActivos,
+                                  List<TipoIdentificacionDTO> tiposIdentificacionActivos,
+                                  List<Map<String, String>> provincias,
+                                  Map<String, List<String>> cantonesPorProvincia,
+                                  Map<Long, Formulario> formulariosPorTipoProceso) {
+    }
+
+    public static final String CANAL_AVISOS = "gmarm_datos_referencia";
+
+    private static final Formulario FORMULARIO_VACIO = new Formulario(List.of(), List.of());
+
+    private final TipoClienteRepository tipoClienteRepository;
+    private final TipoIdentificacionRepository tipoIdentificacionRepository;
+    private final TipoDocumentoRepository tipoDocumentoRepository;
+    private final PreguntaClienteRepository preguntaClienteRepository;
+    private final TipoProcesoRepository tipoProcesoRepository;
+    private final ProvinciaRepository provinciaRepository;
+    private final CantonRepository cantonRepository;
+    private final TipoClienteMapper tipoClienteMapper;
+    private final TipoIdentificacionMapper tipoIdentificacionMapper;
+    private final TipoDocumentoMapper tipoDocumentoMapper;
+    private final PreguntaClienteMapper preguntaClienteMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificacionTiempoRealService notificacionTiempoRealService;
+
+    @Value("${app.datos-referencia.recarga-ms:600000}")
+    private long recargaMs;
+
+    private volatile DatosReferencia actual;
+    private ScheduledExecutorService programador;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void cargarAlIniciar() {
+        reconstruir();
+        programador = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("datos-referencia-recarga").daemon(true).factory());
+        programador.scheduleAtFixedRate(this::recargar, recargaMs, recargaMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void detener() {
+        if (programador != null) {
+            programador.shutdownNow();
+        }
+    }
+
+    /**
+     * Otra réplica (o esta misma) editó un catálogo, o el canal se reconectó.
+     */
+    @EventListener
+    void alAvisarReplica(NotificacionTiempoRealService.AvisoReplica aviso) {
+        if (CANAL_AVISOS.equals(aviso.canal())) {
+            recargar();
+        }
+    }
+
+    public DatosReferencia actual() {
+        DatosReferencia datos = actual;
+        if (datos == null) {
+            synchronized (this) {
+                datos = actual;
+                if (datos == null) {
+                    datos = reconstruir();
+                }
+            }
+        }
+        return datos;
+    }
+
+    public Optional<TipoClienteDTO> tipoCliente(Long id) {
+        return Optional.ofNullable(actual().tiposClientePorId().get(id));
+    }
+
+    public Formulario formulario(Long tipoProcesoId) {
+        return actual().formulariosPorTipoProceso().getOrDefault(tipoProcesoId, FORMULARIO_VACIO);
+    }
+
+    public List<String> cantones(String provinciaNombre) {
+        return actual().cantonesPorProvincia().getOrDefault(provinciaNombre, List.of());
+    }
+
+    /**
+     * Reconstruye el registro después del commit de la transacción actual (o de inmediato
+     * si no hay transacción), para no publicar datos que todavía no son visibles, y avisa
+     * a las demás réplicas con el mismo commit.
+     */
+    public void invalidar() {
+        notificacionTiempoRealService.avisarReplicas(CANAL_AVISOS);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconstruir();
+                }
+            });
+        } else {
+            reconstruir();
+        }
+    }
+
+    private void recargar() {
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            // Se sigue sirviendo la instantánea anterior hasta la próxima recarga
+            log.error("Error recargando datos de referencia: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized DatosReferencia reconstruir() {
+        long inicio = System.currentTimeMillis();
+        DatosReferencia datos = transactionTemplate.execute(status -> cargar());
+        String versionAnterior = actual != null ? actual.version() : null;
+        actual = datos;
+        if (!datos.version().equals(versionAnterior)) {
+            log.info("Datos de referencia cargados: versión {}, {} bytes, {} ms",
+                    datos.version(), datos.bundle().length, System.currentTimeMillis() - inicio);
+        }
+        return datos;
+    }
+
+    private DatosReferencia cargar() {
+        List<TipoClienteDTO> tiposCliente = List.copyOf(tipoClienteMapper.toDTOList(tipoClienteRepository.findAll()));
+        Map<Long, TipoClienteDTO> tiposClientePorId = tiposCliente.stream()
+                .collect(Collectors.toUnmodifiableMap(TipoClienteDTO::getId, Function.identity()));
+        List<TipoClienteDTO> tiposClienteActivos = tiposCliente.stream()
+                .filter(tipo -> Boolean.TRUE.equals(tipo.getEstado()))
+                .toList();
+
+        List<TipoIdentificacionDTO> tiposIdentificacion = List.copyOf(
+                tipoIdentificacionMapper.toDTOList(tipoIdentificacionRepository.findByEstado(true)));
+
+        List<Map<String, String>> provincias = new ArrayList<>();
+        for (Provincia provincia : provinciaRepository.findByEstadoTrue()) {
+            Map<String, String> provinciaMap = new HashMap<>();
+            provinciaMap.put("codigo", provincia.getCodigo());
+            provinciaMap.put("nombre", provincia.getNombre());
+            provincias.add(Collections.unmodifiableMap(provinciaMap));
+        }
+        Map<String, List<String>> cantones = new LinkedHashMap<>();
+        for (Canton canton : cantonRepository.findConProvinciaByEstadoTrue()) {
+            cantones.computeIfAbsent(canton.getProvincia().getNombre(), nombre -> new ArrayList<>())
+                    .add(canton.getNombre());
+        }
+        cantones.replaceAll((provincia, nombres) -> List.copyOf(nombres));
+
+        Map<Long, Formulario> formularios = new LinkedHashMap<>();
+        for (TipoProceso tipoProceso : tipoProcesoRepository.findAll()) {
+            Long id = tipoProceso.getId();
+            formularios.put(id, new Formulario(
+                    List.copyOf(preguntaClienteMapper.toDTOList(
+                            preguntaClienteRepository.findByTipoProcesoIdAndEstado(id, true))),
+                    List.copyOf(tipoDocumentoMapper.toDTOList(
+                            tipoDocumentoRepository.findByTipoProcesoIdAndEstadoAndGruposImportacionFalse(id, true)))));
+        }
+
+        Map<String, Object> contenido = new LinkedHashMap<>();
+        contenido.put("tiposCliente", tiposClienteActivos);
+        contenido.put("tiposIdentificacion", tiposIdentificacion);
+        contenido.put("provincias", provincias);
+        contenido.put("cantones", cantones);
+        contenido.put("formularios", formularios);
+        String version = calcularVersion(serializar(contenido));
+        contenido.put("version", version);
+
+        return new DatosReferencia(
+                version,
+                serializar(contenido),
+                tiposCliente,
+                tiposClientePorId,
+                tiposClienteActivos,
+                tiposIdentificacion,
+                List.copyOf(provincias),
+                Map.copyOf(cantones),
+                Map.copyOf(formularios));
+    }
+
+    private byte[] serializar(Object contenido) {
+        try {
+            return objectMapper.writeValueAsBytes(contenido);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar los datos de referencia", e);
+        }
+    }
+
+    private static String calcularVersion(byte[] contenido) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(contenido);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.armasimportacion.model.Usuario;
 import com.armasimportacion.repository.ClienteRepository;
 import com.armasimportacion.repository.DocumentoClienteRepository;
 import com.armasimportacion.repository.TipoDocumentoRepository;
+import com.armasimportacion.enums.EntidadAuditada;
 import com.armasimportacion.enums.EstadoCliente;
 import com.armasimportacion.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +34,7 @@ public class DocumentoClienteService {
     private final UsuarioRepository usuarioRepository;
     private final FileStorageService fileStorageService;
     private final DocumentoClienteMapper mapper;
+    private final AuditoriaService auditoriaService;
 
     public DocumentoClienteDTO cargarDocumento(Long clienteId, Long tipoDocumentoId, 
                                              MultipartFile archivo, String descripcion, Long usuarioId) throws IOException {
@@ -180,15 +182,19 @@ public class DocumentoClienteService {
         DocumentoCliente documento = repository.findById(documentoId)
             .orElseThrow(() -> new RuntimeException("Documento no encontrado"));
         
+        DocumentoCliente.EstadoDocumento estadoAnterior = documento.getEstado();
         documento.setEstado(nuevoEstado);
         documento.setFechaActualizacion(LocalDateTime.now());
         
         DocumentoCliente updated = repository.save(documento);
+        auditoriaService.registrar(EntidadAuditada.DOCUMENTO_CLIENTE, documentoId, "CAMBIO_ESTADO",
+            estadoAnterior, nuevoEstado, null);
         return mapper.toDTO(updated);
     }
 
     public boolean verificarDocumentosCompletos(Long clienteId) {
-        Cliente cliente = clienteRepository.findById(clienteId)
+        // Con tipoCliente: getTipoProcesoId lo lee y se llama también fuera de transacción
+        Cliente cliente = clienteRepository.findByIdWithRelations(clienteId)
             .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
         
         // Clientes fantasma son temporales para almacenar armas sin cliente específico
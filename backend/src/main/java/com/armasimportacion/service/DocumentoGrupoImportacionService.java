@@ -34,12 +34,22 @@ import java.util.stream.Collectors;
 @Transactional
 public class DocumentoGrupoImportacionService {
 
+    /**
+     * Documentos que deben estar cargados para notificar el pago a fábrica
+     */
+    public static final List<String> NOMBRES_DOCUMENTOS_REQUERIDOS = List.of(
+        "Proforma a fabrica para importacion",
+        "Solicitar carta inspeccion de rastrillo",
+        "Documento de resolucion de importacion"
+    );
+
     private final DocumentoGrupoImportacionRepository repository;
     private final GrupoImportacionRepository grupoImportacionRepository;
     private final TipoDocumentoRepository tipoDocumentoRepository;
     private final UsuarioRepository usuarioRepository;
     private final FileStorageService fileStorageService;
     private final DocumentoGrupoImportacionMapper mapper;
+    private final TableroOperacionesService tableroOperacionesService;
 
     /**
      * Carga un documento para un grupo de importación
@@ -92,6 +102,7 @@ public class DocumentoGrupoImportacionService {
         
         DocumentoGrupoImportacion saved = repository.save(documento);
         log.info("Documento guardado con ID: {}", saved.getId());
+        tableroOperacionesService.refrescarGrupo(grupoId);
         
         return mapper.toDTO(saved);
     }
@@ -138,6 +149,7 @@ public class DocumentoGrupoImportacionService {
         
         repository.delete(documento);
         log.info("Documento eliminado con ID: {}", documentoId);
+        tableroOperacionesService.refrescarGrupo(documento.getGrupoImportacion().getId());
     }
 
     /**
@@ -152,14 +164,8 @@ public class DocumentoGrupoImportacionService {
         List<TipoDocumento> tiposRequeridos = tipoDocumentoRepository.findByGruposImportacionAndEstado(true, true);
         
         // Filtrar solo los primeros 3 documentos requeridos
-        List<String> nombresRequeridos = List.of(
-            "Proforma a fabrica para importacion",
-            "Solicitar carta inspeccion de rastrillo",
-            "Documento de resolucion de importacion"
-        );
-        
         tiposRequeridos = tiposRequeridos.stream()
-            .filter(td -> nombresRequeridos.contains(td.getNombre()))
+            .filter(td -> NOMBRES_DOCUMENTOS_REQUERIDOS.contains(td.getNombre()))
             .toList();
         
         if (tiposRequeridos.size() != 3) {
@@ -197,6 +203,7 @@ public class DocumentoGrupoImportacionService {
         
         DocumentoGrupoImportacion updated = repository.save(documento);
         log.info("Estado del documento {} cambiado a: {}", documentoId, nuevoEstado);
+        tableroOperacionesService.refrescarGrupo(documento.getGrupoImportacion().getId());
         
         return mapper.toDTO(updated);
     }
@@ -228,14 +235,8 @@ public class DocumentoGrupoImportacionService {
         int documentosFaltantes = totalDocumentos - documentosCargadosCount;
         
         // Identificar los primeros 3 documentos requeridos
-        List<String> nombresRequeridos = List.of(
-            "Proforma a fabrica para importacion",
-            "Solicitar carta inspeccion de rastrillo",
-            "Documento de resolucion de importacion"
-        );
-        
         List<TipoDocumento> documentosRequeridos = todosLosTipos.stream()
-            .filter(td -> nombresRequeridos.contains(td.getNombre()))
+            .filter(td -> NOMBRES_DOCUMENTOS_REQUERIDOS.contains(td.getNombre()))
             .toList();
         
         int documentosRequeridosCargados = (int) documentosRequeridos.stream()
@@ -0,0 +1,112 @@
+package com.armasimportacion.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Despachador de efectos secundarios (correos, notificaciones, render de documentos).
+ *
+ * El efecto se registra durante la transacción de negocio y solo se ejecuta si ésta
+ * confirma, en un ejecutor propio: la petición devuelve su conexión al pool sin esperar
+ * al SMTP ni al render de PDF, y un rollback descarta el efecto. Cada efecto debe abrir
+ * sus propias transacciones cortas si necesita leer o escribir en la BD.
+ */
+@Service
+@Slf4j
+public class EfectosPostCommitService {
+
+    private static final String METRICA_EFECTOS = "gmarm.efectos.post_commit";
+
+    private final ExecutorService executor;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public EfectosPostCommitService(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales,
+            @Value("${app.efectos.max-pool-size:4}") int maxPoolSize,
+            @Value("${app.efectos.queue-capacity:1000}") int queueCapacity) {
+        this.meterRegistry = meterRegistry;
+        if (hilosVirtuales) {
+            // La concurrencia real la acotan los limitadores de SMTP/PDF/JDBC (ConcurrencyConfig)
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("efectos-", 0).factory());
+        } else {
+            AtomicInteger secuencia = new AtomicInteger();
+            // Core = max: con una cola acotada el pool solo crece al llenarse, así que un
+            // SMTP lento bloquearía a los demás efectos. Los hilos ociosos se liberan a los 60 s.
+            // Con la cola llena el efecto corre en el hilo que confirma: nunca se pierde
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    maxPoolSize, maxPoolSize, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread hilo = new Thread(r, "efectos-" + secuencia.incrementAndGet());
+                        hilo.setDaemon(true);
+                        return hilo;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+    }
+
+    @PreDestroy
+    void detener() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Quedaron efectos post-commit pendientes al detener la aplicación");
+        }
+    }
+
+    /**
+     * Ejecuta el efecto tras el commit de la transacción actual, o de inmediato (en el
+     * ejecutor) si no hay transacción activa.
+     *
+     * @param nombre nombre corto del efecto, usado en logs y como tag de la métrica
+     */
+    public void alConfirmar(String nombre, Runnable efecto) {
+        Runnable tarea = () -> ejecutar(nombre, efecto);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(tarea);
+                }
+            });
+        } else {
+            executor.execute(tarea);
+        }
+    }
+
+    private void ejecutar(String nombre, Runnable efecto) {
+        long inicio = System.nanoTime();
+        String resultado = "ok";
+        try {
+            efecto.run();
+        } catch (RuntimeException e) {
+            resultado = "error";
+            log.error("Error en efecto post-commit '{}': {}", nombre, e.getMessage(), e);
+        } finally {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                Timer.builder(METRICA_EFECTOS)
+                        .tag("efecto", nombre)
+                        .tag("resultado", resultado)
+                        .register(registry)
+                        .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
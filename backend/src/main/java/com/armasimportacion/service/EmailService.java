@@ -1,5 +1,6 @@
 package com.armasimportacion.service;
 
+import com.armasimportacion.config.ConcurrencyLimits;
 import com.armasimportacion.model.Cliente;
 import com.armasimportacion.model.DocumentoCliente;
 import com.armasimportacion.model.Licencia;
@@ -19,9 +20,12 @@ import org.thymeleaf.context.Context;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.io.File;
+import java.io.UnsupportedEncodingException;
 import com.armasimportacion.exception.EmailSendException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -36,25 +40,31 @@ public class EmailService {
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
     private final LocalizacionService localizacionService;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final EntregaCorreoService entregaCorreoService;
 
     @Value("${app.email.from-name:GMARM}")
     private String fromName;
 
+    /**
+     * Adjunto respaldado por un archivo en disco: se lee por streaming al codificar el
+     * mensaje, sin cargar el PDF completo en memoria.
+     */
     public static class DocumentoAdjunto {
         private final String nombreArchivo;
-        private final byte[] contenido;
+        private final Path archivo;
 
-        public DocumentoAdjunto(String nombreArchivo, byte[] contenido) {
+        public DocumentoAdjunto(String nombreArchivo, Path archivo) {
             this.nombreArchivo = nombreArchivo;
-            this.contenido = contenido;
+            this.archivo = archivo;
         }
 
         public String getNombreArchivo() {
             return nombreArchivo;
         }
 
-        public byte[] getContenido() {
-            return contenido;
+        public Path getArchivo() {
+            return archivo;
         }
     }
 
@@ -119,7 +129,7 @@ public class EmailService {
             helper.setText(htmlContent, true);
 
             // Enviar correo
-            mailSender.send(message);
+            enviar(message);
             log.info("Correo de verificación enviado exitosamente a: {}", cliente.getEmail());
 
         } catch (MessagingException e) {
@@ -168,7 +178,7 @@ public class EmailService {
             }
 
             // Enviar correo
-            mailSender.send(message);
+            enviar(message);
             log.info("Contrato enviado exitosamente a: {}", email);
 
         } catch (MessagingException e) {
@@ -181,16 +191,16 @@ public class EmailService {
     }
 
     /**
-     * Envía contrato con adjunto desde bytes en memoria
+     * Envía contrato con adjunto leído desde disco
      * 
      * @param email Email del destinatario
      * @param nombreCompleto Nombre completo del destinatario
      * @param pago Información del pago
-     * @param pdfBytes Bytes del PDF a adjuntar
+     * @param pdf Ruta del PDF a adjuntar
      * @param nombreArchivo Nombre del archivo PDF
      */
     public void enviarContratoConAdjunto(String email, String nombreCompleto, Pago pago, 
-                                        byte[] pdfBytes, String nombreArchivo) {
+                                        Path pdf, String nombreArchivo) {
         log.info("Enviando contrato con adjunto a: {}", email);
 
         try {
@@ -217,11 +227,11 @@ public class EmailService {
             String htmlContent = templateEngine.process("email/contrato-con-pago", context);
             helper.setText(htmlContent, true);
 
-            // Adjuntar PDF desde bytes
-            helper.addAttachment(nombreArchivo, () -> new java.io.ByteArrayInputStream(pdfBytes));
+            // Adjuntar PDF desde disco
+            helper.addAttachment(nombreArchivo, new FileSystemResource(pdf));
 
             // Enviar correo
-            mailSender.send(message);
+            enviar(message);
             log.info("Contrato con adjunto enviado exitosamente a: {}", email);
 
         } catch (MessagingException e) {
@@ -240,11 +250,11 @@ public class EmailService {
      * @param nombreVendedor Nombre completo del vendedor
      * @param cliente Información del cliente
      * @param pago Información del pago
-     * @param pdfBytes Bytes del PDF a adjuntar
+     * @param pdf Ruta del PDF a adjuntar
      * @param nombreArchivo Nombre del archivo PDF
      */
     public void enviarConfirmacionContratoVendedor(String email, String nombreVendedor, Cliente cliente, 
-                                                   Pago pago, byte[] pdfBytes, String nombreArchivo) {
+                                                   Pago pago, Path pdf, String nombreArchivo) {
         log.info("Enviando confirmación de contrato a vendedor: {}", email);
 
         try {
@@ -266,11 +276,11 @@ public class EmailService {
             String htmlContent = templateEngine.process("email/notificacion-vendedor", context);
             helper.setText(htmlContent, true);
 
-            // Adjuntar PDF desde bytes
-            helper.addAttachment(nombreArchivo, () -> new java.io.ByteArrayInputStream(pdfBytes));
+            // Adjuntar PDF desde disco
+            helper.addAttachment(nombreArchivo, new FileSystemResource(pdf));
 
             // Enviar correo
-            mailSender.send(message);
+            enviar(message);
             log.info("Confirmación de contrato enviada exitosamente a vendedor: {}", email);
 
         } catch (MessagingException e) {
@@ -326,14 +336,14 @@ public class EmailService {
 
             if (adjuntos != null) {
                 for (DocumentoAdjunto adjunto : adjuntos) {
-                    if (adjunto == null || adjunto.getContenido() == null || adjunto.getNombreArchivo() == null) {
+                    if (adjunto == null || adjunto.getArchivo() == null || adjunto.getNombreArchivo() == null) {
                         continue;
                     }
-                    helper.addAttachment(adjunto.getNombreArchivo(), () -> new java.io.ByteArrayInputStream(adjunto.getContenido()));
+                    helper.addAttachment(adjunto.getNombreArchivo(), new FileSystemResource(adjunto.getArchivo()));
                 }
             }
 
-            mailSender.send(message);
+            enviar(message);
             log.info("Documentos generados enviados exitosamente a: {}", email);
         } catch (MessagingException e) {
             log.error("Error enviando documentos generados a {}: {}", email, e.getMessage(), e);
@@ -365,7 +375,7 @@ public class EmailService {
             String htmlContent = templateEngine.process("email/alerta-proceso-importacion", context);
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            enviar(message);
             log.info("Alertas enviadas exitosamente a: {}", email);
         } catch (MessagingException e) {
             log.error("Error enviando alertas a {}: {}", email, e.getMessage(), e);
@@ -406,7 +416,7 @@ public class EmailService {
             helper.setText(htmlContent, true);
 
             // Enviar correo
-            mailSender.send(message);
+            enviar(message);
             log.info("Contrato con documentos enviado exitosamente a: {}", cliente.getEmail());
 
         } catch (MessagingException e) {
@@ -443,7 +453,7 @@ public class EmailService {
             helper.setText(htmlContent, true);
 
             // Enviar correo
-            mailSender.send(message);
+            enviar(message);
             log.info("Confirmación de proceso enviada exitosamente a: {}", cliente.getEmail());
 
         } catch (MessagingException e) {
@@ -457,57 +467,75 @@ public class EmailService {
 
     /**
      * Envía recibo de pago por correo a múltiples destinatarios
-     * Los destinatarios incluyen el cliente y los correos configurados en CORREOS_RECIBO
+     * Los destinatarios incluyen el cliente y los correos configurados en CORREOS_RECIBO.
+     * La plantilla y el MIME se construyen una vez y se entregan por una sola conexión SMTP;
+     * el primer destinatario (el cliente) va en el encabezado Para y el resto solo en el sobre.
      * 
      * @param emails Lista de emails destinatarios (cliente + correos configurados en sistema)
      * @param clienteNombre Nombre completo del cliente
-     * @param pdfBytes Bytes del PDF del recibo
+     * @param pdf Ruta del PDF del recibo
      * @param nombreArchivo Nombre del archivo PDF
      * @param numeroRecibo Número de recibo
      * @param monto Monto pagado
+     * @return Estado de entrega por destinatario
      */
-    public void enviarReciboPorCorreo(List<String> emails, String clienteNombre, 
-                                     byte[] pdfBytes, String nombreArchivo, 
+    public List<EntregaCorreoService.EstadoEntrega> enviarReciboPorCorreo(List<String> emails, String clienteNombre, 
+                                     Path pdf, String nombreArchivo, 
                                      String numeroRecibo, BigDecimal monto) {
-        log.info("Enviando recibo a {} destinatarios", emails.size());
-
+        List<String> destinatarios = new ArrayList<>();
         for (String email : emails) {
             if (email == null || email.isBlank()) {
                 log.warn("Email vacío, omitiendo envío");
                 continue;
             }
+            String limpio = email.trim();
+            if (destinatarios.stream().noneMatch(limpio::equalsIgnoreCase)) {
+                destinatarios.add(limpio);
+            }
+        }
+        if (destinatarios.isEmpty()) {
+            return List.of();
+        }
+        log.info("Enviando recibo a {} destinatarios", destinatarios.size());
 
-            try {
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        List<EntregaCorreoService.EstadoEntrega> estados;
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
-                helper.setFrom(getFromEmail(), fromName);
-                helper.setTo(email);
-                helper.setSubject("Recibo de Pago - GMARM - " + numeroRecibo);
+            helper.setFrom(getFromEmail(), fromName);
+            helper.setTo(destinatarios.get(0));
+            helper.setSubject("Recibo de Pago - GMARM - " + numeroRecibo);
 
-                // Crear contexto para la plantilla
-                Context context = new Context();
-                context.setVariable("nombreCliente", clienteNombre);
-                context.setVariable("numeroRecibo", numeroRecibo);
-                context.setVariable("monto", formatCurrency(monto));
+            // Crear contexto para la plantilla
+            Context context = new Context();
+            context.setVariable("nombreCliente", clienteNombre);
+            context.setVariable("numeroRecibo", numeroRecibo);
+            context.setVariable("monto", formatCurrency(monto));
 
-                // Procesar plantilla HTML
-                String htmlContent = templateEngine.process("email/recibo-pago", context);
-                helper.setText(htmlContent, true);
+            // Procesar plantilla HTML
+            String htmlContent = templateEngine.process("email/recibo-pago", context);
+            helper.setText(htmlContent, true);
 
-                // Adjuntar PDF desde bytes
-                helper.addAttachment(nombreArchivo, () -> new java.io.ByteArrayInputStream(pdfBytes));
+            // Adjuntar PDF desde disco
+            helper.addAttachment(nombreArchivo, new FileSystemResource(pdf));
 
-                // Enviar correo
-                mailSender.send(message);
-                log.info("Recibo enviado exitosamente a: {}", email);
+            estados = entregaCorreoService.enviarPorDestinatario(message, destinatarios);
+        } catch (MessagingException | UnsupportedEncodingException e) {
+            log.error("Error construyendo recibo {}: {}", numeroRecibo, e.getMessage(), e);
+            return destinatarios.stream()
+                .map(d -> new EntregaCorreoService.EstadoEntrega(d, false, e.getMessage()))
+                .toList();
+        }
 
-            } catch (MessagingException e) {
-                log.error("Error enviando recibo a {}: {}", email, e.getMessage(), e);
-            } catch (Exception e) {
-                log.error("Error inesperado enviando recibo a {}: {}", email, e.getMessage(), e);
+        for (EntregaCorreoService.EstadoEntrega estado : estados) {
+            if (estado.enviado()) {
+                log.info("Recibo enviado exitosamente a: {}", estado.destinatario());
+            } else {
+                log.error("Error enviando recibo a {}: {}", estado.destinatario(), estado.error());
             }
         }
+        return estados;
     }
 
 
@@ -554,12 +582,12 @@ public class EmailService {
 
             if (adjuntos != null) {
                 for (DocumentoAdjunto adjunto : adjuntos) {
-                    if (adjunto == null || adjunto.getContenido() == null) continue;
-                    helper.addAttachment(adjunto.getNombreArchivo(), () -> new java.io.ByteArrayInputStream(adjunto.getContenido()));
+                    if (adjunto == null || adjunto.getArchivo() == null) continue;
+                    helper.addAttachment(adjunto.getNombreArchivo(), new FileSystemResource(adjunto.getArchivo()));
                 }
             }
 
-            mailSender.send(message);
+            enviar(message);
             log.info("Contratos firmados completos enviados al cliente: {}", clienteEmail);
         } catch (MessagingException e) {
             log.error("Error enviando contratos firmados al cliente {}: {}", clienteEmail, e.getMessage(), e);
@@ -570,6 +598,13 @@ public class EmailService {
         }
     }
 
+    /**
+     * Envía el mensaje respetando el límite de conexiones SMTP simultáneas
+     */
+    private void enviar(MimeMessage message) {
+        concurrencyLimits.smtp().ejecutar(() -> mailSender.send(message));
+    }
+
     /**
      * Formatea un monto como moneda
      */
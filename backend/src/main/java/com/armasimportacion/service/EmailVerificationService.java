@@ -31,6 +31,7 @@ public class EmailVerificationService {
     private final RespuestaClienteRepository respuestaClienteRepository;
     private final LocalizacionService localizacionService;
     private final GrupoImportacionClienteService grupoImportacionClienteService;
+    private final EfectosPostCommitService efectosPostCommitService;
     
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendBaseUrl;
@@ -50,7 +51,7 @@ public class EmailVerificationService {
     }
 
     /**
-     * Genera un token de verificación para un cliente y envía el correo
+     * Genera un token de verificación para un cliente y programa el correo para después del commit
      * 
      * @param cliente Cliente al que se le enviará el correo de verificación
      * @param baseUrl URL base de la aplicación (ej: https://mi-dominio.com)
@@ -91,22 +92,36 @@ public class EmailVerificationService {
         EmailVerificationToken savedToken = tokenRepository.save(token);
         log.info("Token de verificacion generado para cliente ID: {} (expira en: {})", cliente.getId(), expiresAt);
 
-        // Enviar correo de verificación con todos los datos del cliente
+        // El correo sale después del commit: el SMTP no retiene la conexión de la transacción
+        Long clienteId = cliente.getId();
+        efectosPostCommitService.alConfirmar("correo-verificacion",
+            () -> sendVerificationEmail(clienteId, tokenValue, baseUrl));
+
+        return savedToken;
+    }
+
+    /**
+     * Envía el correo de verificación de un token ya generado.
+     * Sin transacción: los datos se leen con consultas cortas y el SMTP corre sin conexión tomada.
+     */
+    public void sendVerificationEmail(Long clienteId, String tokenValue, String baseUrl) {
         try {
+            Cliente cliente = clienteRepository.findParaCorreoById(clienteId).orElse(null);
+            if (cliente == null) {
+                log.warn("Cliente ID {} no existe, no se envía correo de verificacion", clienteId);
+                return;
+            }
             String verificationUrl = baseUrl + "/verify?token=" + tokenValue;
             
             // Verificar si el cliente respondió NO a la pregunta sobre cuenta en Sicoar
-            boolean noTieneCuentaSicoar = verificarNoTieneCuentaSicoar(cliente.getId());
+            boolean noTieneCuentaSicoar = verificarNoTieneCuentaSicoar(clienteId);
             
             emailService.sendVerificationEmail(cliente, verificationUrl, noTieneCuentaSicoar);
-            log.info("Correo de verificacion enviado para cliente ID: {}", cliente.getId());
+            log.info("Correo de verificacion enviado para cliente ID: {}", clienteId);
         } catch (Exception e) {
-            log.error("Error enviando correo de verificacion para cliente ID {}: {}", cliente.getId(), e.getMessage());
-            // No lanzamos excepción para no romper el flujo de creación del cliente
-            // El token se guarda pero el correo puede fallar
+            log.error("Error enviando correo de verificacion para cliente ID {}: {}", clienteId, e.getMessage());
+            // El token queda guardado aunque el correo falle
         }
-
-        return savedToken;
     }
 
     /**
@@ -0,0 +1,168 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.config.ConcurrencyLimits;
+import com.armasimportacion.util.MensajeMimeEnDisco;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Message;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entrega un mismo mensaje a varios destinatarios con un solo envío SMTP autenticado.
+ *
+ * El MIME (plantilla ya procesada y adjuntos codificados) se serializa una vez a un
+ * archivo temporal y se transmite una sola vez, con todos los destinatarios en el sobre
+ * (un RCPT TO por dirección). Las cabeceras no cambian, así que los destinatarios que no
+ * están en To no ven a los demás, igual que con copia oculta. Con mail.smtp.sendpartial
+ * (EmailConfig) un rechazo no impide la entrega a los demás, y el resultado se informa por
+ * destinatario a partir de las direcciones que el servidor aceptó.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntregaCorreoService {
+
+    public record EstadoEntrega(String destinatario, boolean enviado, String error) {
+    }
+
+    private final JavaMailSender mailSender;
+    private final ConcurrencyLimits concurrencyLimits;
+
+    public List<EstadoEntrega> enviarPorDestinatario(MimeMessage mensaje, List<String> destinatarios) {
+        if (destinatarios.isEmpty()) {
+            return List.of();
+        }
+        if (!(mailSender instanceof JavaMailSenderImpl impl)) {
+            return enviarConCopiaOculta(mensaje, destinatarios);
+        }
+        return concurrencyLimits.smtp().ejecutar(() -> enviarPorConexionUnica(impl, mensaje, destinatarios));
+    }
+
+    private List<EstadoEntrega> enviarPorConexionUnica(JavaMailSenderImpl impl, MimeMessage mensaje,
+                                                       List<String> destinatarios) {
+        // Estados en el orden recibido; las direcciones mal formadas no entran al sobre
+        EstadoEntrega[] estados = new EstadoEntrega[destinatarios.size()];
+        List<Integer> enSobre = new ArrayList<>(destinatarios.size());
+        List<Address> sobre = new ArrayList<>(destinatarios.size());
+        for (int i = 0; i < destinatarios.size(); i++) {
+            try {
+                sobre.add(new InternetAddress(destinatarios.get(i), true));
+                enSobre.add(i);
+            } catch (AddressException e) {
+                log.warn("Dirección de correo inválida {}: {}", destinatarios.get(i), e.getMessage());
+                estados[i] = new EstadoEntrega(destinatarios.get(i), false, e.getMessage());
+            }
+        }
+        if (sobre.isEmpty()) {
+            return List.of(estados);
+        }
+
+        MensajeMimeEnDisco serializado;
+        try {
+            serializado = MensajeMimeEnDisco.serializar(impl.getSession(), mensaje);
+        } catch (MessagingException | IOException e) {
+            log.error("No se pudo construir el mensaje: {}", e.getMessage(), e);
+            enSobre.forEach(i -> estados[i] = new EstadoEntrega(destinatarios.get(i), false, e.getMessage()));
+            return List.of(estados);
+        }
+
+        Transport transport = null;
+        try (serializado) {
+            transport = conectar(impl);
+            transport.sendMessage(serializado.getMensaje(), sobre.toArray(Address[]::new));
+            enSobre.forEach(i -> estados[i] = new EstadoEntrega(destinatarios.get(i), true, null));
+        } catch (SendFailedException e) {
+            // Entrega parcial: solo las direcciones aceptadas por el servidor recibieron el mensaje
+            Set<String> enviadas = direcciones(e.getValidSentAddresses());
+            for (int i : enSobre) {
+                String destinatario = destinatarios.get(i);
+                boolean enviado = enviadas.contains(destinatario.toLowerCase());
+                if (!enviado) {
+                    log.warn("No se pudo entregar el correo a {}: {}", destinatario, e.getMessage());
+                }
+                estados[i] = new EstadoEntrega(destinatario, enviado, enviado ? null : e.getMessage());
+            }
+        } catch (MessagingException e) {
+            log.warn("No se pudo entregar el correo a {} destinatarios: {}", enSobre.size(), e.getMessage());
+            enSobre.forEach(i -> estados[i] = new EstadoEntrega(destinatarios.get(i), false, e.getMessage()));
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar o borrar el temporal del correo: {}", e.getMessage());
+        } finally {
+            cerrar(transport);
+        }
+        return List.of(estados);
+    }
+
+    private static Set<String> direcciones(Address[] direcciones) {
+        Set<String> resultado = new HashSet<>();
+        if (direcciones != null) {
+            for (Address direccion : direcciones) {
+                resultado.add(((InternetAddress) direccion).getAddress().toLowerCase());
+            }
+        }
+        return resultado;
+    }
+
+    private Transport conectar(JavaMailSenderImpl impl) throws MessagingException {
+        Transport transport = impl.getSession().getTransport(impl.getProtocol() != null ? impl.getProtocol() : "smtp");
+        String usuario = impl.getUsername();
+        String clave = impl.getPassword();
+        // Igual que JavaMailSenderImpl: credenciales vacías se tratan como ausentes
+        transport.connect(impl.getHost(), impl.getPort(),
+                usuario != null && !usuario.isEmpty() ? usuario : null,
+                clave != null && !clave.isEmpty() ? clave : null);
+        return transport;
+    }
+
+    private void cerrar(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error cerrando la conexión SMTP: {}", e.getMessage());
+        }
+    }
+
+    // Sin acceso a la sesión (otro JavaMailSender): un solo envío con copia oculta
+    private List<EstadoEntrega> enviarConCopiaOculta(MimeMessage mensaje, List<String> destinatarios) {
+        List<EstadoEntrega> estados = new ArrayList<>(destinatarios.size());
+        try {
+            List<String> visibles = new ArrayList<>();
+            Address[] actuales = mensaje.getAllRecipients();
+            if (actuales != null) {
+                for (Address actual : actuales) {
+                    visibles.add(((InternetAddress) actual).getAddress().toLowerCase());
+                }
+            }
+            for (String destinatario : destinatarios) {
+                if (!visibles.contains(destinatario.toLowerCase())) {
+                    mensaje.addRecipient(Message.RecipientType.BCC, new InternetAddress(destinatario, true));
+                }
+            }
+            concurrencyLimits.smtp().ejecutar(() -> mailSender.send(mensaje));
+            destinatarios.forEach(d -> estados.add(new EstadoEntrega(d, true, null)));
+        } catch (MessagingException | MailException e) {
+            log.error("No se pudo enviar el correo: {}", e.getMessage(), e);
+            destinatarios.forEach(d -> estados.add(new EstadoEntrega(d, false, e.getMessage())));
+        }
+        return estados;
+    }
+}
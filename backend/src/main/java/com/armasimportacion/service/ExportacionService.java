@@ -0,0 +1,143 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.dto.ClienteExportacionDTO;
+import com.armasimportacion.dto.CuotaExportacionDTO;
+import com.armasimportacion.dto.PagoExportacionDTO;
+import com.armasimportacion.dto.SerieAsignadaExportacionDTO;
+import com.armasimportacion.enums.EstadoCliente;
+import com.armasimportacion.enums.EstadoCuotaPago;
+import com.armasimportacion.enums.EstadoPago;
+import com.armasimportacion.enums.FormatoExportacion;
+import com.armasimportacion.repository.ArmaSerieRepository;
+import com.armasimportacion.repository.ClienteRepository;
+import com.armasimportacion.repository.CuotaPagoRepository;
+import com.armasimportacion.repository.PagoRepository;
+import com.armasimportacion.util.EscritorCsv;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Exportaciones de pagos, cuotas, clientes y series asignadas en CSV o JSONL.
+ *
+ * Cada exportación corre en una transacción de solo lectura (va a la réplica si está
+ * configurada) con un cursor del servidor: el repositorio devuelve un Stream de
+ * proyecciones y PostgreSQL entrega las filas de a 1000 (fetch size) a medida que se
+ * escriben en la respuesta. No se cargan entidades ni listas completas, así que la
+ * memoria usada no depende del número de filas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacionService {
+
+    private static final int BUFFER_SALIDA = 64 * 1024;
+
+    private final PagoRepository pagoRepository;
+    private final CuotaPagoRepository cuotaPagoRepository;
+    private final ClienteRepository clienteRepository;
+    private final ArmaSerieRepository armaSerieRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportarPagos(OutputStream salida, FormatoExportacion formato, EstadoPago estado,
+                              Long clienteId, LocalDateTime fechaInicio, LocalDateTime fechaFin) throws IOException {
+        try (Stream<PagoExportacionDTO> filas =
+                     pagoRepository.streamParaExportacion(estado, clienteId, fechaInicio, fechaFin)) {
+            return escribir(filas, PagoExportacionDTO.class, formato, salida);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarCuotas(OutputStream salida, FormatoExportacion formato, EstadoCuotaPago estado,
+                               Long clienteId, LocalDate vencimientoDesde, LocalDate vencimientoHasta) throws IOException {
+        try (Stream<CuotaExportacionDTO> filas =
+                     cuotaPagoRepository.streamParaExportacion(estado, clienteId, vencimientoDesde, vencimientoHasta)) {
+            return escribir(filas, CuotaExportacionDTO.class, formato, salida);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarClientes(OutputStream salida, FormatoExportacion formato, EstadoCliente estado,
+                                 LocalDateTime fechaInicio, LocalDateTime fechaFin) throws IOException {
+        try (Stream<ClienteExportacionDTO> filas =
+                     clienteRepository.streamParaExportacion(estado, fechaInicio, fechaFin)) {
+            return escribir(filas, ClienteExportacionDTO.class, formato, salida);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarSeriesAsignadas(OutputStream salida, FormatoExportacion formato, Long grupoImportacionId,
+                                        LocalDateTime fechaInicio, LocalDateTime fechaFin) throws IOException {
+        try (Stream<SerieAsignadaExportacionDTO> filas =
+                     armaSerieRepository.streamParaExportacion(grupoImportacionId, fechaInicio, fechaFin)) {
+            return escribir(filas, SerieAsignadaExportacionDTO.class, formato, salida);
+        }
+    }
+
+    private <T extends Record> long escribir(Stream<T> filas, Class<T> tipo, FormatoExportacion formato,
+                                             OutputStream salida) throws IOException {
+        long inicio = System.nanoTime();
+        Iterator<T> iterador = filas.iterator();
+        long total = switch (formato) {
+            case CSV -> escribirCsv(iterador, tipo, salida);
+            case JSONL -> escribirJsonl(iterador, tipo, salida);
+        };
+        log.info("Exportación {} en {}: {} filas en {} ms", tipo.getSimpleName(), formato, total,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return total;
+    }
+
+    private <T extends Record> long escribirCsv(Iterator<T> filas, Class<T> tipo, OutputStream salida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), BUFFER_SALIDA);
+        // BOM: Excel abre el archivo como UTF-8 (tildes y ñ en nombres)
+        writer.write('\uFEFF');
+        EscritorCsv<T> csv = new EscritorCsv<>(tipo, writer);
+        long total = 0;
+        while (filas.hasNext()) {
+            csv.escribir(filas.next());
+            total++;
+        }
+        writer.flush();
+        return total;
+    }
+
+    private <T extends Record> long escribirJsonl(Iterator<T> filas, Class<T> tipo, OutputStream salida) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(salida, BUFFER_SALIDA);
+        long total = 0;
+        try (SequenceWriter secuencia = objectMapper.writerFor(tipo)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(buffer)) {
+            while (filas.hasNext()) {
+                secuencia.write(filas.next());
+                total++;
+            }
+        }
+        if (total > 0) {
+            buffer.write('\n');
+        }
+        buffer.flush();
+        return total;
+    }
+}
@@ -105,11 +105,19 @@ public class FileStorageService {
     }
 
     public byte[] loadFile(String filePath) throws IOException {
+        return Files.readAllBytes(resolverArchivo(filePath));
+    }
+
+    /**
+     * Ruta en disco de un archivo guardado, para adjuntarlo o leerlo por streaming
+     * sin cargarlo completo en memoria
+     */
+    public Path resolverArchivo(String filePath) throws IOException {
         Path fullPath = Paths.get(uploadDir, filePath);
         if (!Files.exists(fullPath)) {
             throw new IOException("Archivo no encontrado: " + filePath);
         }
-        return Files.readAllBytes(fullPath);
+        return fullPath;
     }
 
     public void deleteFile(String filePath) {
@@ -0,0 +1,26 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.model.Cliente;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Listener JPA de Cliente: toda alta o edición registra su cédula y RUC en el filtro de
+ * identificaciones, sea cual sea el servicio que guardó el cliente.
+ */
+public class FiltroIdentificacionesListener {
+
+    private final ObjectProvider<FiltroIdentificacionesService> filtroIdentificacionesService;
+
+    public FiltroIdentificacionesListener(ObjectProvider<FiltroIdentificacionesService> filtroIdentificacionesService) {
+        this.filtroIdentificacionesService = filtroIdentificacionesService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void alGuardarCliente(Cliente cliente) {
+        filtroIdentificacionesService.ifAvailable(filtro ->
+                filtro.registrar(cliente.getNumeroIdentificacion(), cliente.getRuc()));
+    }
+}
@@ -0,0 +1,208 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.util.FiltroBloom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filtro en memoria de todas las cédulas y RUC registrados en cliente (cualquier estado).
+ *
+ * Sirve para responder "disponible" sin ir a la BD: si el filtro no conoce el número,
+ * ningún cliente lo tiene. Si lo conoce (o aún no está cargado) hay que consultar.
+ * Toda alta o edición de cliente registra sus números ({@link FiltroIdentificacionesListener}):
+ * al momento en esta réplica y, por el canal LISTEN/NOTIFY {@link #CANAL_AVISOS}, en las
+ * demás al confirmar. Sin ese canal activo no hay forma de enterarse de altas ajenas y el
+ * filtro no se usa (siempre se consulta la BD); al reconectar se descarta y se reconstruye.
+ *
+ * Las bajas físicas no se pueden quitar de un filtro de Bloom, así que se cuentan y el
+ * filtro se reconstruye al pasar un umbral o por edad. La unicidad real la garantizan los
+ * índices únicos parciales al insertar, no este filtro.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FiltroIdentificacionesService {
+
+    public static final String CANAL_AVISOS = "gmarm_identificaciones";
+
+    private static final String SQL_CONTAR = "SELECT COUNT(*) FROM cliente";
+    private static final String SQL_NUMEROS = """
+            SELECT numero_identificacion FROM cliente WHERE numero_identificacion IS NOT NULL
+            UNION ALL
+            SELECT ruc FROM cliente WHERE ruc IS NOT NULL AND ruc <> ''
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EfectosPostCommitService efectosPostCommitService;
+    private final NotificacionTiempoRealService notificacionTiempoRealService;
+
+    @Value("${app.clientes.filtro-identificaciones.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${app.clientes.filtro-identificaciones.fpp:0.01}")
+    private double probabilidadFalsoPositivo;
+
+    @Value("${app.clientes.filtro-identificaciones.reconstruir-ms:600000}")
+    private long intervaloReconstruccionMs;
+
+    @Value("${app.clientes.filtro-identificaciones.max-eliminaciones:500}")
+    private int maxEliminaciones;
+
+    private volatile FiltroBloom filtro;
+    private volatile long construidoEn;
+
+    private final AtomicBoolean reconstruyendo = new AtomicBoolean();
+    private final AtomicBoolean repetirReconstruccion = new AtomicBoolean();
+    private final AtomicInteger eliminaciones = new AtomicInteger();
+    private final Queue<String> agregadosDuranteReconstruccion = new ConcurrentLinkedQueue<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    void cargarAlIniciar() {
+        if (habilitado) {
+            programarReconstruccion();
+        }
+    }
+
+    /**
+     * false solo si ningún cliente tiene ese número como cédula ni como RUC.
+     */
+    public boolean podriaExistir(String numero) {
+        String valor = normalizar(numero);
+        FiltroBloom actual = filtro;
+        if (valor == null || actual == null || !notificacionTiempoRealService.escuchandoReplicas()) {
+            return true;
+        }
+        if (System.currentTimeMillis() - construidoEn > intervaloReconstruccionMs) {
+            programarReconstruccion();
+        }
+        return actual.podriaContener(valor);
+    }
+
+    /**
+     * Agrega los números de un cliente creado o modificado: en esta réplica de inmediato, y
+     * en las demás (incluida ésta otra vez) cuando la transacción actual confirma. Si se
+     * revierte queda un falso positivo local, que solo cuesta una consulta.
+     */
+    public void registrar(String... numeros) {
+        for (String numero : numeros) {
+            String valor = normalizar(numero);
+            if (valor != null) {
+                agregar(valor);
+                notificacionTiempoRealService.avisarReplicas(CANAL_AVISOS, valor);
+            }
+        }
+    }
+
+    /**
+     * Número registrado por otra réplica; sin parámetro, el canal se reconectó y pudieron
+     * perderse avisos, así que el filtro se descarta hasta reconstruirlo.
+     */
+    @EventListener
+    void alAvisarReplica(NotificacionTiempoRealService.AvisoReplica aviso) {
+        if (!CANAL_AVISOS.equals(aviso.canal())) {
+            return;
+        }
+        String valor = normalizar(aviso.parametro());
+        if (valor != null) {
+            agregar(valor);
+            return;
+        }
+        filtro = null;
+        repetirReconstruccion.set(true);
+        programarReconstruccion();
+    }
+
+    private void agregar(String valor) {
+        FiltroBloom actual = filtro;
+        if (actual != null) {
+            actual.agregar(valor);
+        }
+        if (reconstruyendo.get()) {
+            agregadosDuranteReconstruccion.add(valor);
+        }
+    }
+
+    /**
+     * Cuenta una baja física; al pasar el umbral el filtro se reconstruye para no
+     * acumular falsos positivos.
+     */
+    public void registrarEliminacion() {
+        if (eliminaciones.incrementAndGet() >= maxEliminaciones) {
+            programarReconstruccion();
+        }
+    }
+
+    private void programarReconstruccion() {
+        if (!habilitado || !reconstruyendo.compareAndSet(false, true)) {
+            return;
+        }
+        efectosPostCommitService.alConfirmar("filtro-identificaciones", this::reconstruir);
+    }
+
+    private void reconstruir() {
+        try {
+            long inicio = System.currentTimeMillis();
+            repetirReconstruccion.set(false);
+            agregadosDuranteReconstruccion.clear();
+            eliminaciones.set(0);
+
+            Long clientes = jdbcTemplate.queryForObject(SQL_CONTAR, Long.class);
+            // Holgura para cédula + RUC y para las altas hasta la próxima reconstrucción
+            FiltroBloom nuevo = new FiltroBloom(Math.max(1_000, (clientes != null ? clientes : 0) * 3),
+                    probabilidadFalsoPositivo);
+            AtomicInteger cargados = new AtomicInteger();
+            jdbcTemplate.query(SQL_NUMEROS, rs -> {
+                String valor = normalizar(rs.getString(1));
+                if (valor != null) {
+                    nuevo.agregar(valor);
+                    cargados.incrementAndGet();
+                }
+            });
+
+            // Altas confirmadas mientras se leía la tabla, antes y después de publicarlo
+            agregarPendientes(nuevo);
+            if (repetirReconstruccion.get()) {
+                return;
+            }
+            filtro = nuevo;
+            construidoEn = System.currentTimeMillis();
+            agregarPendientes(nuevo);
+            log.info("Filtro de identificaciones reconstruido: {} números, {} bits, {} hashes, {} ms",
+                    cargados.get(), nuevo.getTotalBits(), nuevo.getFuncionesHash(),
+                    System.currentTimeMillis() - inicio);
+        } catch (RuntimeException e) {
+            log.error("No se pudo reconstruir el filtro de identificaciones: {}", e.getMessage(), e);
+        } finally {
+            reconstruyendo.set(false);
+        }
+        // El canal se reconectó mientras se leía la tabla: la lectura pudo perder avisos
+        if (repetirReconstruccion.get()) {
+            programarReconstruccion();
+        }
+    }
+
+    private void agregarPendientes(FiltroBloom nuevo) {
+        String pendiente;
+        while ((pendiente = agregadosDuranteReconstruccion.poll()) != null) {
+            nuevo.agregar(pendiente);
+        }
+    }
+
+    private static String normalizar(String numero) {
+        if (numero == null) {
+            return null;
+        }
+        String valor = numero.trim();
+        return valor.isEmpty() ? null : valor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.armasimportacion.service;
 
+import com.armasimportacion.config.ConcurrencyLimits;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -8,6 +9,7 @@ import org.thymeleaf.context.Context;
 import org.xhtmlrenderer.pdf.ITextRenderer;
 
 import com.armasimportacion.exception.DocumentGenerationException;
+import com.armasimportacion.exception.ServiceBusyException;
 import java.io.ByteArrayOutputStream;
 import java.util.Map;
 
@@ -17,38 +19,67 @@ import java.util.Map;
 public class FlyingSaucerPdfService {
 
     private final TemplateEngine templateEngine;
+    private final ConcurrencyLimits concurrencyLimits;
 
     /**
      * Genera un PDF desde un template HTML usando Flying Saucer
      */
     public byte[] generarPdfDesdeTemplate(String templateName, Map<String, Object> variables) {
+        return generarPdfDesdeHtml(procesarTemplate(templateName, variables));
+    }
+
+    /**
+     * Procesa el template Thymeleaf a HTML (paso barato; el costoso es el render del PDF)
+     */
+    public String procesarTemplate(String templateName, Map<String, Object> variables) {
         try {
-            log.info("Generando PDF con Flying Saucer desde template: {}", templateName);
-            
+            log.info("Procesando template HTML: {}", templateName);
+
             // Crear contexto de Thymeleaf
             Context context = new Context();
             context.setVariables(variables);
-            
-            // Procesar template HTML
+
             String htmlContent = templateEngine.process(templateName, context);
             log.info("Template HTML procesado exitosamente, longitud: {} caracteres", htmlContent.length());
-            
-            // Generar PDF usando Flying Saucer
+            return htmlContent;
+
+        } catch (Exception e) {
+            log.error("Error procesando template {}: {}", templateName, e.getMessage(), e);
+            throw new DocumentGenerationException("Error procesando template " + templateName, e);
+        }
+    }
+
+    /**
+     * Genera el PDF a partir del HTML ya procesado
+     */
+    public byte[] generarPdfDesdeHtml(String htmlContent) {
+        try {
+            // Generar PDF usando Flying Saucer (render limitado: es el paso más costoso en CPU y memoria)
+            byte[] pdfBytes = concurrencyLimits.pdf().ejecutar(() -> renderizarPdf(htmlContent));
+
+            log.info("PDF generado exitosamente con Flying Saucer, tamaño: {} bytes", pdfBytes.length);
+            return pdfBytes;
+
+        } catch (ServiceBusyException | DocumentGenerationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error generando PDF con Flying Saucer: {}", e.getMessage(), e);
+            throw new DocumentGenerationException("Error generando PDF con Flying Saucer", e);
+        }
+    }
+
+    private byte[] renderizarPdf(String htmlContent) {
+        try {
             ITextRenderer renderer = new ITextRenderer();
             renderer.setDocumentFromString(htmlContent, "classpath:/templates/");
             renderer.layout();
-            
+
             // Convertir a bytes
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             renderer.createPDF(outputStream);
-            byte[] pdfBytes = outputStream.toByteArray();
-            
-            log.info("PDF generado exitosamente con Flying Saucer, tamaño: {} bytes", pdfBytes.length);
-            return pdfBytes;
-            
+            return outputStream.toByteArray();
         } catch (Exception e) {
-            log.error("Error generando PDF con Flying Saucer: {}", e.getMessage(), e);
-            throw new DocumentGenerationException("Error generando PDF con Flying Saucer", e);
+            throw new DocumentGenerationException("Error renderizando PDF con Flying Saucer", e);
         }
     }
 }
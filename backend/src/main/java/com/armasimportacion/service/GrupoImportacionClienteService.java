@@ -147,8 +147,9 @@ public class GrupoImportacionClienteService {
         clienteGrupoRepository.delete(clienteGrupo);
     }
 
+    @Transactional(readOnly = true)
     public List<ClienteGrupoImportacion> obtenerClientesPorGrupo(Long grupoId) {
-        return clienteGrupoRepository.findByGrupoImportacionId(grupoId);
+        return clienteGrupoRepository.findConClienteByGrupoImportacionId(grupoId);
     }
 
     @Transactional(readOnly = true)
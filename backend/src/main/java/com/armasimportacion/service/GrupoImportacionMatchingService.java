@@ -387,7 +387,8 @@ public class GrupoImportacionMatchingService {
         candidatos.add(new GrupoImportacionConPrioridad(grupo, porcentajeOcupado, cupoDisponible));
     }
 
-    private GrupoImportacion seleccionarMejorGrupo(List<GrupoImportacionConPrioridad> candidatos,
+    // Visibilidad de paquete: medido por GrupoImportacionMatchingBenchmark (src/jmh)
+    GrupoImportacion seleccionarMejorGrupo(List<GrupoImportacionConPrioridad> candidatos,
             Long vendedorId, Long categoriaArmaId) {
         candidatos.sort((a, b) -> {
             if (a.cupoDisponible > 0 && b.cupoDisponible > 0) {
@@ -473,7 +474,7 @@ public class GrupoImportacionMatchingService {
         return asignadas;
     }
 
-    private static class GrupoImportacionConPrioridad {
+    static class GrupoImportacionConPrioridad {
         GrupoImportacion grupo;
         int porcentajeOcupado;
         int cupoDisponible;
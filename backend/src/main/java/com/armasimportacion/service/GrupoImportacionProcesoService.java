@@ -7,12 +7,9 @@ import com.armasimportacion.enums.EtapaProcesoImportacion;
 import com.armasimportacion.exception.ResourceNotFoundException;
 import com.armasimportacion.model.GrupoImportacion;
 import com.armasimportacion.model.GrupoImportacionProceso;
-import com.armasimportacion.model.Notificacion;
-import com.armasimportacion.model.Usuario;
 import com.armasimportacion.repository.GrupoImportacionProcesoRepository;
 import com.armasimportacion.repository.GrupoImportacionRepository;
 import com.armasimportacion.enums.TipoNotificacion;
-import com.armasimportacion.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -37,8 +34,8 @@ public class GrupoImportacionProcesoService {
 
     private final GrupoImportacionProcesoRepository procesoRepository;
     private final GrupoImportacionRepository grupoImportacionRepository;
-    private final UsuarioRepository usuarioRepository;
-    private final NotificacionService notificacionService;
+    private final MiembrosRolCache miembrosRolCache;
+    private final NotificacionDifusionService notificacionDifusionService;
     private final EmailService emailService;
     private final ConfiguracionSistemaService configuracionSistemaService;
 
@@ -133,27 +130,25 @@ public class GrupoImportacionProcesoService {
     }
 
     private void notificarUsuarios(List<AlertaProcesoImportacionDTO> alertas) {
-        List<Usuario> destinatarios = usuarioRepository.findByRolesNombreIn(List.of("FINANZAS", "JEFE_VENTAS"));
+        List<MiembrosRolCache.Miembro> destinatarios = miembrosRolCache.obtenerMiembros(List.of("FINANZAS", "JEFE_VENTAS"));
         if (destinatarios.isEmpty()) {
             return;
         }
 
-        for (Usuario usuario : destinatarios) {
-            String mensaje = construirMensaje(alertas);
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Alertas de procesos de importación");
-            notificacion.setMensaje(mensaje);
-            notificacion.setTipo(TipoNotificacion.SISTEMA);
-            notificacion.setUsuarioDestinatario(usuario);
-            notificacionService.crearNotificacion(notificacion);
-        }
+        notificacionDifusionService.notificarUsuarios(
+            destinatarios.stream().map(MiembrosRolCache.Miembro::id).toList(),
+            "Alertas de procesos de importación",
+            construirMensaje(alertas),
+            TipoNotificacion.SISTEMA,
+            null
+        );
 
         try {
-            for (Usuario usuario : destinatarios) {
-                if (usuario.getEmail() != null && !usuario.getEmail().isBlank()) {
+            for (MiembrosRolCache.Miembro usuario : destinatarios) {
+                if (usuario.email() != null && !usuario.email().isBlank()) {
                     emailService.enviarAlertasProcesoImportacion(
-                        usuario.getEmail(),
-                        usuario.getNombreCompleto(),
+                        usuario.email(),
+                        usuario.nombreCompleto(),
                         alertas
                     );
                 }
@@ -33,6 +33,7 @@ import com.armasimportacion.enums.EstadoCliente;
 import com.armasimportacion.enums.TipoGrupo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -67,6 +68,8 @@ public class GrupoImportacionService {
     private final GrupoImportacionWorkflowService workflowService;
     private final GrupoImportacionMatchingService matchingService;
     private final NotificacionService notificacionService;
+    private final LicenciaService licenciaService;
+    private final TableroOperacionesService tableroOperacionesService;
 
     public GrupoImportacion crearGrupoDesdeDTO(GrupoImportacionCreateDTO dto, Long usuarioId) {
         log.info("Creando nuevo grupo de importación desde DTO: {}", dto.getNombre());
@@ -292,6 +295,7 @@ public class GrupoImportacionService {
                 licenciaRepository.save(nuevaLicencia);
 
                 grupo.setLicencia(nuevaLicencia);
+                licenciaService.invalidarCache();
 
                 log.info("Licencia actualizada. El cupo del grupo se mantiene: {}", grupo.getCupoTotal());
             }
@@ -439,6 +443,7 @@ public class GrupoImportacionService {
             }
         }
 
+        tableroOperacionesService.refrescarGrupo(grupoGuardado.getId());
         return grupoGuardado;
     }
 
@@ -464,35 +469,26 @@ public class GrupoImportacionService {
         grupo.setUsuarioActualizador(usuario);
         grupo.setFechaActualizacion(LocalDateTime.now());
 
-        return grupoImportacionRepository.save(grupo);
+        GrupoImportacion guardado = grupoImportacionRepository.save(grupo);
+        tableroOperacionesService.refrescarGrupo(guardado.getId());
+        return guardado;
     }
 
+    /**
+     * Grupo con el fetch plan del detalle (GET /api/grupos-importacion/{id}): licencia, tipo de
+     * proceso, documentos generados, vendedores y límites quedan inicializados para que el
+     * controlador arme la respuesta sin sesión abierta. getId() sobre un proxy no lo inicializa.
+     */
     @Transactional(readOnly = true)
     public GrupoImportacion obtenerGrupoImportacion(Long id) {
-        return grupoImportacionRepository.findById(id)
-                .map(grupo -> {
-                    if (grupo.getLicencia() != null) {
-                        grupo.getLicencia().getId();
-                    }
-                    if (grupo.getVendedores() != null) {
-                        grupo.getVendedores().size();
-                        grupo.getVendedores().forEach(gv -> {
-                            if (gv.getVendedor() != null) {
-                                gv.getVendedor().getId();
-                            }
-                        });
-                    }
-                    if (grupo.getLimitesCategoria() != null) {
-                        grupo.getLimitesCategoria().size();
-                        grupo.getLimitesCategoria().forEach(gl -> {
-                            if (gl.getCategoriaArma() != null) {
-                                gl.getCategoriaArma().getId();
-                            }
-                        });
-                    }
-                    return grupo;
-                })
+        GrupoImportacion grupo = grupoImportacionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo de importación no encontrado con ID: " + id));
+        Hibernate.initialize(grupo.getLicencia());
+        Hibernate.initialize(grupo.getTipoProceso());
+        Hibernate.initialize(grupo.getDocumentosGenerados());
+        grupo.getVendedores().forEach(gv -> Hibernate.initialize(gv.getVendedor()));
+        grupo.getLimitesCategoria().forEach(gl -> Hibernate.initialize(gl.getCategoriaArma()));
+        return grupo;
     }
 
     public Page<GrupoImportacion> obtenerGruposImportacion(Pageable pageable) {
@@ -547,7 +543,9 @@ public class GrupoImportacionService {
         grupo.setObservaciones(grupoActualizado.getObservaciones());
         grupo.setFechaActualizacion(LocalDateTime.now());
 
-        return grupoImportacionRepository.save(grupo);
+        GrupoImportacion guardado = grupoImportacionRepository.save(grupo);
+        tableroOperacionesService.refrescarGrupo(guardado.getId());
+        return guardado;
     }
 
     public void eliminarGrupoImportacion(Long id) {
@@ -555,6 +553,8 @@ public class GrupoImportacionService {
             throw new ResourceNotFoundException("Grupo de importación no encontrado con ID: " + id);
         }
         grupoImportacionRepository.deleteById(id);
+        // Tras el commit la fila ya no existe y el refresco la quita del tablero
+        tableroOperacionesService.refrescarGrupo(id);
     }
 
     public List<GrupoImportacion> obtenerGruposActivos() {
@@ -564,37 +564,25 @@ public class GrupoImportacionService {
 
     @Transactional(readOnly = true)
     public List<GrupoImportacion> obtenerGruposActivosParaVendedor(Long vendedorId) {
-        log.info("Obteniendo grupos activos disponibles para vendedor ID: {}", vendedorId);
-
         List<GrupoImportacionVendedor> asignacionesVendedor =
             grupoImportacionVendedorRepository.findGruposActivosByVendedorId(
                 vendedorId,
                 EstadoGrupoImportacion.EN_PREPARACION,
                 EstadoGrupoImportacion.EN_PROCESO_ASIGNACION_CLIENTES);
 
-        log.info("RESULTADO CONSULTA: {} asignación(es) encontrada(s) para vendedor ID {}", asignacionesVendedor.size(), vendedorId);
-
-        if (!asignacionesVendedor.isEmpty()) {
-            asignacionesVendedor.forEach(asig -> {
-                GrupoImportacion grupo = asig.getGrupoImportacion();
-                log.info("Grupo encontrado: ID={}, Nombre={}, Estado={}, Tipo={}, CupoTotal={}",
-                    grupo.getId(), grupo.getNombre(), grupo.getEstado(), grupo.getTipoGrupo(), grupo.getCupoTotal());
-            });
-        }
-
         if (asignacionesVendedor.isEmpty()) {
-            log.warn("No hay grupos activos (EN_PREPARACION/EN_PROCESO_ASIGNACION_CLIENTES) asignados al vendedor ID {}", vendedorId);
+            log.debug("No hay grupos activos (EN_PREPARACION/EN_PROCESO_ASIGNACION_CLIENTES) asignados al vendedor ID {}", vendedorId);
             return List.of();
         }
 
         List<GrupoImportacion> gruposDisponibles = asignacionesVendedor.stream()
             .map(GrupoImportacionVendedor::getGrupoImportacion)
-            .peek(grupo -> log.info("Grupo DISPONIBLE: ID={}, Nombre={}, Estado={}, Tipo={}, CupoTotal={}",
-                grupo.getId(), grupo.getNombre(), grupo.getEstado(), grupo.getTipoGrupo(), grupo.getCupoTotal()))
             .collect(Collectors.toList());
 
-        log.info("RESULTADO FINAL: {} grupo(s) disponible(s) para vendedor ID: {}",
-            gruposDisponibles.size(), vendedorId);
+        if (log.isDebugEnabled()) {
+            log.debug("{} grupo(s) disponible(s) para vendedor ID {}: {}", gruposDisponibles.size(), vendedorId,
+                gruposDisponibles.stream().map(GrupoImportacion::getId).toList());
+        }
 
         return gruposDisponibles;
     }
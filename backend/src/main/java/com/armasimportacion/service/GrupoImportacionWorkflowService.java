@@ -6,6 +6,7 @@ import com.armasimportacion.model.Cliente;
 import com.armasimportacion.model.ClienteGrupoImportacion;
 import com.armasimportacion.model.GrupoImportacion;
 import com.armasimportacion.model.Usuario;
+import com.armasimportacion.enums.EntidadAuditada;
 import com.armasimportacion.enums.EstadoClienteGrupo;
 import com.armasimportacion.enums.EstadoCliente;
 import com.armasimportacion.enums.EstadoGrupoImportacion;
@@ -43,6 +44,8 @@ public class GrupoImportacionWorkflowService {
     private final PedidoArmasGrupoImportacionService pedidoArmasService;
     private final DocumentoGrupoImportacionService documentoGrupoImportacionService;
     private final DocumentoClienteService documentoClienteService;
+    private final TableroOperacionesService tableroOperacionesService;
+    private final AuditoriaService auditoriaService;
 
     /**
      * Define el pedido para un grupo de importación
@@ -193,8 +196,6 @@ public class GrupoImportacionWorkflowService {
      * Cambia el estado del grupo (método genérico mejorado)
      */
     public void cambiarEstado(Long grupoId, EstadoGrupoImportacion nuevoEstado, Long usuarioId) {
-        log.info("Cambiando estado del grupo ID: {} a {}", grupoId, nuevoEstado);
-
         GrupoImportacion grupo = grupoImportacionRepository.findById(grupoId)
             .orElseThrow(() -> new ResourceNotFoundException("Grupo de importación no encontrado"));
 
@@ -204,10 +205,14 @@ public class GrupoImportacionWorkflowService {
             grupo.setUsuarioActualizador(usuario);
         }
 
+        EstadoGrupoImportacion estadoAnterior = grupo.getEstado();
         grupo.setEstado(nuevoEstado);
         grupo.setFechaActualizacion(LocalDateTime.now());
 
         grupoImportacionRepository.save(grupo);
+        tableroOperacionesService.refrescarGrupo(grupoId);
+        auditoriaService.registrar(EntidadAuditada.GRUPO_IMPORTACION, grupoId, "CAMBIO_ESTADO",
+            estadoAnterior, nuevoEstado, null);
 
         Set<EstadoGrupoImportacion> estadosImportacionActiva = Set.of(
             EstadoGrupoImportacion.SOLICITAR_PROFORMA_FABRICA,
@@ -220,11 +225,11 @@ public class GrupoImportacionWorkflowService {
             actualizarEstadoClientesDelGrupo(grupoId, EstadoCliente.EN_CURSO_IMPORTACION);
         }
 
-        log.info("Estado del grupo ID: {} cambiado a {}", grupoId, nuevoEstado);
+        log.debug("Estado del grupo ID: {} cambiado a {}", grupoId, nuevoEstado);
     }
 
     private void actualizarEstadoClientesDelGrupo(Long grupoId, EstadoCliente nuevoEstado) {
-        log.info("Actualizando estado de clientes del grupo {} a {}", grupoId, nuevoEstado);
+        log.debug("Actualizando estado de clientes del grupo {} a {}", grupoId, nuevoEstado);
 
         List<ClienteGrupoImportacion> clientesGrupo = clienteGrupoRepository.findByGrupoImportacionId(grupoId);
 
@@ -235,12 +240,12 @@ public class GrupoImportacionWorkflowService {
                 cliente.setEstado(nuevoEstado);
                 clienteRepository.save(cliente);
                 clientesActualizados++;
-                log.info("Cliente {} {} actualizado a {}",
-                    cliente.getNombres(), cliente.getApellidos(), nuevoEstado);
+                auditoriaService.registrar(EntidadAuditada.CLIENTE, cliente.getId(), "CAMBIO_ESTADO",
+                    EstadoCliente.LISTO_IMPORTACION, nuevoEstado, "Grupo de importación " + grupoId);
             }
         }
 
-        log.info("{} clientes actualizados a estado {} en grupo {}",
+        log.debug("{} clientes actualizados a estado {} en grupo {}",
             clientesActualizados, nuevoEstado, grupoId);
     }
 }
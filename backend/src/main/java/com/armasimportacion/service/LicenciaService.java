@@ -1,5 +1,6 @@
 package com.armasimportacion.service;
 
+import com.armasimportacion.config.CacheConfig;
 import com.armasimportacion.enums.EstadoOcupacionLicencia;
 import com.armasimportacion.exception.BadRequestException;
 import com.armasimportacion.exception.ResourceNotFoundException;
@@ -7,6 +8,8 @@ import com.armasimportacion.model.Licencia;
 import com.armasimportacion.repository.LicenciaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +32,7 @@ public class LicenciaService {
     private final ConfiguracionSistemaService configuracionSistemaService;
 
     // Métodos CRUD básicos
+    @CacheEvict(cacheNames = CacheConfig.LICENCIAS, allEntries = true)
     public Licencia crearLicencia(Licencia licencia, Long usuarioId) {
         // Validar que el número de licencia sea único
         if (licenciaRepository.existsByNumero(licencia.getNumero())) {
@@ -41,6 +45,7 @@ public class LicenciaService {
         return licenciaRepository.save(licencia);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LICENCIAS, allEntries = true)
     public Licencia actualizarLicencia(Long id, Licencia licencia, Long usuarioId) {
         Licencia licenciaExistente = licenciaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Licencia no encontrada con ID: " + id));
@@ -69,6 +74,7 @@ public class LicenciaService {
         return licenciaRepository.findAll(pageable);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LICENCIAS, allEntries = true)
     public void eliminarLicencia(Long id) {
         if (!licenciaRepository.existsById(id)) {
             throw new ResourceNotFoundException("Licencia no encontrada con ID: " + id);
@@ -76,8 +82,22 @@ public class LicenciaService {
         licenciaRepository.deleteById(id);
     }
 
+    /**
+     * Licencias activas (listado de disponibles del controlador), en cache hasta que alguna
+     * licencia cambie (ver invalidarCache).
+     */
+    @Cacheable(cacheNames = CacheConfig.LICENCIAS, key = "'activas'")
     public List<Licencia> obtenerLicenciasActivas() {
-        return licenciaRepository.findByEstado(true); // true = ACTIVA
+        return licenciaRepository.findActivasConUbicacion();
+    }
+
+    /**
+     * Descarta las licencias en cache. La llaman quienes guardan licencias sin pasar por
+     * este servicio (controlador, asignación de licencia a un grupo).
+     */
+    @CacheEvict(cacheNames = CacheConfig.LICENCIAS, allEntries = true)
+    public void invalidarCache() {
+        log.debug("Cache de licencias invalidada");
     }
 
     /**
@@ -120,6 +140,7 @@ public class LicenciaService {
         return licenciaRepository.countByEstado();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LICENCIAS, allEntries = true)
     public void cambiarEstado(Long id, Boolean nuevoEstado) {
         Licencia licencia = obtenerLicencia(id);
         licencia.setEstado(nuevoEstado);
@@ -210,6 +231,7 @@ public class LicenciaService {
      * Resetea el estado de ocupación de una licencia cuando se completa un grupo
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.LICENCIAS, allEntries = true)
     public Licencia resetearEstadoLicencia(Long licenciaId) {
         log.info("Reseteando estado de licencia ID: {}", licenciaId);
 
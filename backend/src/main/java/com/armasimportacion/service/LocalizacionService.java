@@ -1,14 +1,11 @@
 package com.armasimportacion.service;
 
-import com.armasimportacion.model.Canton;
 import com.armasimportacion.model.Provincia;
-import com.armasimportacion.repository.CantonRepository;
 import com.armasimportacion.repository.ProvinciaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -19,35 +16,23 @@ import java.util.stream.Collectors;
 public class LocalizacionService {
 
     private final ProvinciaRepository provinciaRepository;
-    private final CantonRepository cantonRepository;
+    private final DatosReferenciaService datosReferenciaService;
+
+    // Provincias y cantones activos salen del registro en memoria (DatosReferenciaService)
 
     public List<String> getProvincias() {
-        log.info("Obteniendo lista de provincias activas");
-        return provinciaRepository.findByEstadoTrue()
+        return datosReferenciaService.actual().provincias()
             .stream()
-            .map(Provincia::getNombre)
+            .map(provincia -> provincia.get("nombre"))
             .collect(Collectors.toList());
     }
 
     public List<String> getCantones(String provinciaNombre) {
-        log.info("Obteniendo cantones para la provincia: {}", provinciaNombre);
-        return cantonRepository.findByProvinciaNombreAndEstadoTrue(provinciaNombre)
-            .stream()
-            .map(Canton::getNombre)
-            .collect(Collectors.toList());
+        return datosReferenciaService.cantones(provinciaNombre);
     }
 
     public List<Map<String, String>> getProvinciasCompletas() {
-        log.info("Obteniendo lista de provincias completas con códigos");
-        return provinciaRepository.findByEstadoTrue()
-            .stream()
-            .map(provincia -> {
-                Map<String, String> provinciaMap = new HashMap<>();
-                provinciaMap.put("codigo", provincia.getCodigo());
-                provinciaMap.put("nombre", provincia.getNombre());
-                return provinciaMap;
-            })
-            .collect(Collectors.toList());
+        return datosReferenciaService.actual().provincias();
     }
 
     public Provincia getProvinciaPorNombre(String nombre) {
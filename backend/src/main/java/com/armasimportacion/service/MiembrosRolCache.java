@@ -0,0 +1,106 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.config.CacheConfig;
+import com.armasimportacion.model.Usuario;
+import com.armasimportacion.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de usuarios por rol para los destinatarios de notificaciones.
+ *
+ * Guarda instantáneas inmutables (id, email, nombre) y no entidades, así se puede usar
+ * fuera de la transacción que la cargó. Vive en la cache miembros-rol de
+ * {@link CacheConfig}: UsuarioService y los cambios de roles la invalidan; el TTL de
+ * app.cache.miembros-rol.spec cubre los cambios hechos desde otras réplicas.
+ *
+ * Una invalidación puede llegar mientras otro hilo está cargando un rol: cada invalidación
+ * sube una versión y la carga solo guarda su resultado si la versión no cambió desde que
+ * empezó a consultar (gana la invalidación).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MiembrosRolCache {
+
+    public record Miembro(Long id, String email, String nombreCompleto) {
+    }
+
+    private final UsuarioRepository usuarioRepository;
+    private final CacheManager cacheManager;
+    private final AtomicLong versiones = new AtomicLong();
+
+    /**
+     * Usuarios con alguno de los roles indicados, sin repetidos.
+     */
+    public List<Miembro> obtenerMiembros(Collection<String> roles) {
+        Map<Long, Miembro> unicos = new LinkedHashMap<>();
+        for (String rol : roles) {
+            for (Miembro miembro : obtenerMiembros(rol)) {
+                unicos.putIfAbsent(miembro.id(), miembro);
+            }
+        }
+        return new ArrayList<>(unicos.values());
+    }
+
+    public List<Miembro> obtenerMiembros(String rol) {
+        Cache<Object, Object> cache = cache();
+        @SuppressWarnings("unchecked")
+        List<Miembro> enCache = (List<Miembro>) cache.getIfPresent(rol);
+        if (enCache != null) {
+            return enCache;
+        }
+        long version = versiones.get();
+        List<Miembro> miembros = usuarioRepository.findByRolesNombre(rol).stream()
+                .map(this::aMiembro)
+                .toList();
+        // Solo se guarda si nada se invalidó después de empezar a cargar
+        cache.asMap().compute(rol, (clave, actual) -> versiones.get() == version ? miembros : actual);
+        log.debug("Miembros del rol {} recargados: {}", rol, miembros.size());
+        return miembros;
+    }
+
+    /**
+     * Descarta la cache. Dentro de una transacción se aplica después del commit, para no
+     * volver a cargar datos que todavía no son visibles.
+     */
+    public void invalidar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartar();
+                }
+            });
+        } else {
+            descartar();
+        }
+    }
+
+    private void descartar() {
+        // Primero la versión: una carga en curso que guarde antes del vaciado se borra con él
+        versiones.incrementAndGet();
+        cache().invalidateAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> cache() {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfig.MIEMBROS_ROL).getNativeCache();
+    }
+
+    private Miembro aMiembro(Usuario usuario) {
+        return new Miembro(usuario.getId(), usuario.getEmail(), usuario.getNombreCompleto());
+    }
+}
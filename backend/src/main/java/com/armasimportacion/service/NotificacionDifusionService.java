@@ -0,0 +1,92 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.enums.EstadoNotificacion;
+import com.armasimportacion.enums.TipoNotificacion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Envío de una misma notificación a todos los usuarios de uno o más roles.
+ *
+ * El mensaje se arma una sola vez y se inserta para todos los destinatarios con un único
+ * INSERT ... SELECT FROM unnest(?), en su propia transacción y como efecto post-commit
+ * (EfectosPostCommitService): un rollback del llamador no deja notificaciones huérfanas
+ * y el llamador no espera por ellas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificacionDifusionService {
+
+    private static final String SQL_INSERTAR = """
+            INSERT INTO notificacion (titulo, mensaje, tipo, estado, usuario_destinatario_id,
+                                      url_redireccion, fecha_creacion, fecha_actualizacion)
+            SELECT ?, ?, ?, ?, destinatario, ?, ?, ?
+            FROM unnest(?) AS destinatario
+            """;
+
+    private final MiembrosRolCache miembrosRolCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificacionTiempoRealService notificacionTiempoRealService;
+    private final EfectosPostCommitService efectosPostCommitService;
+
+    public void notificarRol(String rol, String titulo, String mensaje, TipoNotificacion tipo, String urlRedireccion) {
+        notificarRoles(List.of(rol), titulo, mensaje, tipo, urlRedireccion);
+    }
+
+    public void notificarRoles(Collection<String> roles, String titulo, String mensaje,
+                               TipoNotificacion tipo, String urlRedireccion) {
+        List<Long> destinatarios = miembrosRolCache.obtenerMiembros(roles).stream()
+                .map(MiembrosRolCache.Miembro::id)
+                .toList();
+        notificarUsuarios(destinatarios, titulo, mensaje, tipo, urlRedireccion);
+    }
+
+    public void notificarUsuarios(Collection<Long> usuarioIds, String titulo, String mensaje,
+                                  TipoNotificacion tipo, String urlRedireccion) {
+        if (usuarioIds.isEmpty()) {
+            return;
+        }
+        Long[] destinatarios = usuarioIds.toArray(Long[]::new);
+        efectosPostCommitService.alConfirmar("notificacion-difusion",
+                () -> insertar(destinatarios, titulo, mensaje, tipo, urlRedireccion));
+    }
+
+    private void insertar(Long[] destinatarios, String titulo, String mensaje,
+                          TipoNotificacion tipo, String urlRedireccion) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.update(con -> {
+                    Array ids = con.createArrayOf("bigint", destinatarios);
+                    PreparedStatement ps = con.prepareStatement(SQL_INSERTAR);
+                    ps.setString(1, titulo);
+                    ps.setString(2, mensaje);
+                    ps.setString(3, tipo.name());
+                    ps.setString(4, EstadoNotificacion.NO_LEIDA.name());
+                    ps.setString(5, urlRedireccion);
+                    ps.setTimestamp(6, ahora);
+                    ps.setTimestamp(7, ahora);
+                    ps.setArray(8, ids);
+                    return ps;
+                });
+                notificacionTiempoRealService.publicarCambios(List.of(destinatarios));
+            });
+            log.info("Notificación '{}' creada para {} destinatario(s)", titulo, destinatarios.length);
+        } catch (RuntimeException e) {
+            log.error("Error creando notificación '{}' para {} destinatario(s): {}",
+                    titulo, destinatarios.length, e.getMessage(), e);
+        }
+    }
+}
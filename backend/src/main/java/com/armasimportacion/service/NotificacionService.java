@@ -4,11 +4,9 @@ import com.armasimportacion.exception.ResourceNotFoundException;
 import com.armasimportacion.model.Cliente;
 import com.armasimportacion.model.GrupoImportacion;
 import com.armasimportacion.model.Notificacion;
-import com.armasimportacion.model.Usuario;
 import com.armasimportacion.repository.ClienteRepository;
 import com.armasimportacion.repository.GrupoImportacionRepository;
 import com.armasimportacion.repository.NotificacionRepository;
-import com.armasimportacion.repository.UsuarioRepository;
 import com.armasimportacion.enums.TipoNotificacion;
 import com.armasimportacion.enums.EstadoNotificacion;
 import lombok.RequiredArgsConstructor;
@@ -26,9 +24,10 @@ import java.util.List;
 public class NotificacionService {
     
     private final NotificacionRepository notificacionRepository;
-    private final UsuarioRepository usuarioRepository;
     private final ClienteRepository clienteRepository;
     private final GrupoImportacionRepository grupoImportacionRepository;
+    private final NotificacionTiempoRealService notificacionTiempoRealService;
+    private final NotificacionDifusionService notificacionDifusionService;
     
     // CRUD Operations
     public Notificacion crearNotificacion(Notificacion notificacion) {
@@ -37,7 +36,9 @@ public class NotificacionService {
         notificacion.setEstado(EstadoNotificacion.NO_LEIDA);
         notificacion.setFechaCreacion(LocalDateTime.now());
         
-        return notificacionRepository.save(notificacion);
+        Notificacion guardada = notificacionRepository.save(notificacion);
+        notificacionTiempoRealService.publicarCambio(guardada.getUsuarioDestinatario().getId());
+        return guardada;
     }
     
     public Notificacion obtenerNotificacion(Long id) {
@@ -55,10 +56,18 @@ public class NotificacionService {
     
     public void marcarComoLeida(Long notificacionId) {
         Notificacion notificacion = obtenerNotificacion(notificacionId);
+        boolean estabaNoLeida = notificacion.getEstado() == EstadoNotificacion.NO_LEIDA;
+        marcarLeida(notificacion);
+        notificacionRepository.save(notificacion);
+        if (estabaNoLeida) {
+            notificacionTiempoRealService.publicarCambio(notificacion.getUsuarioDestinatario().getId());
+        }
+    }
+    
+    private void marcarLeida(Notificacion notificacion) {
         notificacion.setEstado(EstadoNotificacion.LEIDA);
         notificacion.setFechaLectura(LocalDateTime.now());
         notificacion.setFechaActualizacion(LocalDateTime.now());
-        notificacionRepository.save(notificacion);
     }
     
     public void marcarComoEnviada(Long notificacionId) {
@@ -69,10 +78,11 @@ public class NotificacionService {
     }
     
     public void eliminarNotificacion(Long id) {
-        if (!notificacionRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Notificación no encontrada con ID: " + id);
+        Notificacion notificacion = obtenerNotificacion(id);
+        notificacionRepository.delete(notificacion);
+        if (notificacion.getEstado() == EstadoNotificacion.NO_LEIDA) {
+            notificacionTiempoRealService.publicarCambio(notificacion.getUsuarioDestinatario().getId());
         }
-        notificacionRepository.deleteById(id);
     }
     
     // Business Logic - Notificaciones específicas del sistema
@@ -83,16 +93,10 @@ public class NotificacionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado"));
         
         // Notificar al jefe de ventas
-        List<Usuario> jefesVentas = usuarioRepository.findByRolesNombre("JEFE_VENTAS");
-        for (Usuario jefe : jefesVentas) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Nuevo Cliente Registrado");
-            notificacion.setMensaje("El vendedor ha registrado un nuevo cliente: " + cliente.getNombreCompleto());
-            notificacion.setTipo(TipoNotificacion.SISTEMA);
-            notificacion.setUsuarioDestinatario(jefe);
-            
-            crearNotificacion(notificacion);
-        }
+        notificacionDifusionService.notificarRol("JEFE_VENTAS",
+                "Nuevo Cliente Registrado",
+                "El vendedor ha registrado un nuevo cliente: " + cliente.getNombreCompleto(),
+                TipoNotificacion.SISTEMA, null);
     }
     
     // Notificación de solicitud de aprobación
@@ -104,16 +108,10 @@ public class NotificacionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo de importación no encontrado"));
         
         // Notificar al jefe de ventas
-        List<Usuario> jefesVentas = usuarioRepository.findByRolesNombre("JEFE_VENTAS");
-        for (Usuario jefe : jefesVentas) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Solicitud de Aprobación");
-            notificacion.setMensaje("Cliente " + cliente.getNombreCompleto() + " solicita aprobación para grupo " + grupo.getNombre());
-            notificacion.setTipo(TipoNotificacion.SISTEMA);
-            notificacion.setUsuarioDestinatario(jefe);
-            
-            crearNotificacion(notificacion);
-        }
+        notificacionDifusionService.notificarRol("JEFE_VENTAS",
+                "Solicitud de Aprobación",
+                "Cliente " + cliente.getNombreCompleto() + " solicita aprobación para grupo " + grupo.getNombre(),
+                TipoNotificacion.SISTEMA, null);
     }
     
     // Notificación de contrato firmado
@@ -122,16 +120,10 @@ public class NotificacionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado"));
         
         // Notificar a finanzas
-        List<Usuario> finanzas = usuarioRepository.findByRolesNombre("FINANZAS");
-        for (Usuario usuario : finanzas) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Contrato Firmado");
-            notificacion.setMensaje("El cliente " + cliente.getNombreCompleto() + " ha firmado el contrato");
-            notificacion.setTipo(TipoNotificacion.SISTEMA);
-            notificacion.setUsuarioDestinatario(usuario);
-            
-            crearNotificacion(notificacion);
-        }
+        notificacionDifusionService.notificarRol("FINANZAS",
+                "Contrato Firmado",
+                "El cliente " + cliente.getNombreCompleto() + " ha firmado el contrato",
+                TipoNotificacion.SISTEMA, null);
     }
     
     // Notificación de pago registrado
@@ -140,16 +132,10 @@ public class NotificacionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado"));
         
         // Notificar a operaciones
-        List<Usuario> operaciones = usuarioRepository.findByRolesNombre("OPERACIONES");
-        for (Usuario usuario : operaciones) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Pago Registrado");
-            notificacion.setMensaje("Se ha registrado un pago para el cliente " + cliente.getNombreCompleto());
-            notificacion.setTipo(TipoNotificacion.SISTEMA);
-            notificacion.setUsuarioDestinatario(usuario);
-            
-            crearNotificacion(notificacion);
-        }
+        notificacionDifusionService.notificarRol("OPERACIONES",
+                "Pago Registrado",
+                "Se ha registrado un pago para el cliente " + cliente.getNombreCompleto(),
+                TipoNotificacion.SISTEMA, null);
     }
     
     // Notificación de documento cargado
@@ -158,16 +144,10 @@ public class NotificacionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo de importación no encontrado"));
         
         // Notificar a operaciones
-        List<Usuario> operaciones = usuarioRepository.findByRolesNombre("OPERACIONES");
-        for (Usuario usuario : operaciones) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Documento Cargado");
-            notificacion.setMensaje("Se ha cargado el documento " + tipoDocumento + " para el grupo " + grupo.getNombre());
-            notificacion.setTipo(TipoNotificacion.SISTEMA);
-            notificacion.setUsuarioDestinatario(usuario);
-            
-            crearNotificacion(notificacion);
-        }
+        notificacionDifusionService.notificarRol("OPERACIONES",
+                "Documento Cargado",
+                "Se ha cargado el documento " + tipoDocumento + " para el grupo " + grupo.getNombre(),
+                TipoNotificacion.SISTEMA, null);
     }
     
     // Notificación de llegada de importación
@@ -176,16 +156,10 @@ public class NotificacionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo de importación no encontrado"));
         
         // Notificar a operaciones y jefe de ventas
-        List<Usuario> usuarios = usuarioRepository.findByRolesNombreIn(List.of("OPERACIONES", "JEFE_VENTAS"));
-        for (Usuario usuario : usuarios) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Importación Llegada");
-            notificacion.setMensaje("La importación " + grupo.getNombre() + " ha llegado y está lista para procesar");
-            notificacion.setTipo(TipoNotificacion.SISTEMA);
-            notificacion.setUsuarioDestinatario(usuario);
-            
-            crearNotificacion(notificacion);
-        }
+        notificacionDifusionService.notificarRoles(List.of("OPERACIONES", "JEFE_VENTAS"),
+                "Importación Llegada",
+                "La importación " + grupo.getNombre() + " ha llegado y está lista para procesar",
+                TipoNotificacion.SISTEMA, null);
     }
     
     // Notificación de asignación de serie
@@ -229,66 +203,42 @@ public class NotificacionService {
             "Considere preparar un nuevo grupo CUPO."
         );
 
-        List<Usuario> jefesVentas = usuarioRepository.findByRolesNombre("JEFE_VENTAS");
-        for (Usuario jefe : jefesVentas) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo(titulo);
-            notificacion.setMensaje(mensaje);
-            notificacion.setTipo(TipoNotificacion.ALERTA);
-            notificacion.setUsuarioDestinatario(jefe);
-            notificacion.setUrlRedireccion("/jefe-ventas/grupos/" + grupoId);
-            crearNotificacion(notificacion);
-        }
+        notificacionDifusionService.notificarRol("JEFE_VENTAS", titulo, mensaje,
+            TipoNotificacion.ALERTA, "/jefe-ventas/grupos/" + grupoId);
 
         log.info("Alerta de cupo bajo enviada: grupo={}, categoría={}, restantes={}/{}",
             grupoNombre, categoriaNombre, cuposRestantes, limiteMaximo);
     }
 
     public void notificarArmaEnEspera(String clienteNombre, String categoriaNombre) {
-        List<Usuario> jefesVentas = usuarioRepository.findByRolesNombre("JEFE_VENTAS");
-        for (Usuario jefe : jefesVentas) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Arma en espera de grupo");
-            notificacion.setMensaje(String.format(
+        notificacionDifusionService.notificarRol("JEFE_VENTAS",
+            "Arma en espera de grupo",
+            String.format(
                 "El cliente %s tiene un arma de categoría %s sin grupo CUPO disponible. " +
                 "Cree un nuevo grupo CUPO para asignarla automáticamente.",
                 clienteNombre, categoriaNombre
-            ));
-            notificacion.setTipo(TipoNotificacion.ALERTA);
-            notificacion.setUsuarioDestinatario(jefe);
-            crearNotificacion(notificacion);
-        }
+            ),
+            TipoNotificacion.ALERTA, null);
     }
 
     public void notificarArmasDistribuidasEnGrupos(String clienteNombre, String grupo1Nombre, String grupo2Nombre) {
-        List<Usuario> jefesVentas = usuarioRepository.findByRolesNombre("JEFE_VENTAS");
-        for (Usuario jefe : jefesVentas) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Armas en grupos diferentes");
-            notificacion.setMensaje(String.format(
+        notificacionDifusionService.notificarRol("JEFE_VENTAS",
+            "Armas en grupos diferentes",
+            String.format(
                 "El cliente %s tiene armas asignadas en grupos diferentes: \"%s\" y \"%s\".",
                 clienteNombre, grupo1Nombre, grupo2Nombre
-            ));
-            notificacion.setTipo(TipoNotificacion.ALERTA);
-            notificacion.setUsuarioDestinatario(jefe);
-            crearNotificacion(notificacion);
-        }
+            ),
+            TipoNotificacion.ALERTA, null);
     }
 
     public void notificarAutoAsignacionArmas(Long grupoId, String grupoNombre, int cantidadAsignada) {
-        List<Usuario> jefesVentas = usuarioRepository.findByRolesNombre("JEFE_VENTAS");
-        for (Usuario jefe : jefesVentas) {
-            Notificacion notificacion = new Notificacion();
-            notificacion.setTitulo("Armas auto-asignadas");
-            notificacion.setMensaje(String.format(
+        notificacionDifusionService.notificarRol("JEFE_VENTAS",
+            "Armas auto-asignadas",
+            String.format(
                 "Se asignaron automáticamente %d arma(s) en espera al nuevo grupo \"%s\".",
                 cantidadAsignada, grupoNombre
-            ));
-            notificacion.setTipo(TipoNotificacion.SISTEMA);
-            notificacion.setUsuarioDestinatario(jefe);
-            notificacion.setUrlRedireccion("/jefe-ventas/grupos/" + grupoId);
-            crearNotificacion(notificacion);
-        }
+            ),
+            TipoNotificacion.SISTEMA, "/jefe-ventas/grupos/" + grupoId);
     }
 
     public static int getUmbralAlertaAmarilla() { return UMBRAL_ALERTA_AMARILLA; }
@@ -296,14 +246,17 @@ public class NotificacionService {
 
     // Utilidades
     public int contarNotificacionesNoLeidas(Long usuarioId) {
-        return notificacionRepository.countByUsuarioDestinatarioIdAndEstado(usuarioId, EstadoNotificacion.NO_LEIDA);
+        return notificacionTiempoRealService.contarNoLeidas(usuarioId);
     }
     
     public void marcarTodasComoLeidas(Long usuarioId) {
         List<Notificacion> notificaciones = obtenerNotificacionesNoLeidas(usuarioId);
-        for (Notificacion notificacion : notificaciones) {
-            marcarComoLeida(notificacion.getId());
+        if (notificaciones.isEmpty()) {
+            return;
         }
+        notificaciones.forEach(this::marcarLeida);
+        notificacionRepository.saveAll(notificaciones);
+        notificacionTiempoRealService.publicarCambio(usuarioId);
     }
     
     public List<Notificacion> obtenerNotificacionesPorTipo(Long usuarioId, TipoNotificacion tipo) {
@@ -0,0 +1,396 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.enums.EstadoNotificacion;
+import com.armasimportacion.repository.NotificacionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Push de notificaciones por SSE con contador de no leídas en memoria.
+ *
+ * El contador de cada usuario se carga desde la BD la primera vez que se consulta y se
+ * invalida cuando llega un aviso por el canal LISTEN/NOTIFY de PostgreSQL. Como NOTIFY
+ * solo se entrega al confirmar la transacción, todas las réplicas reciben el cambio ya
+ * visible y recalculan el contador de los usuarios que tengan conexiones SSE abiertas.
+ *
+ * Una invalidación puede llegar mientras otro hilo está contando en la BD: cada cambio deja
+ * en el mapa una marca con una versión mayor a la que tenía la carga al empezar, y esa carga
+ * ya no guarda su resultado (gana la invalidación).
+ *
+ * La misma conexión escucha los canales de {@link #CANALES_REPLICAS}, que otros servicios
+ * usan para invalidar sus caches en todas las réplicas: cada aviso se publica como un
+ * {@link AvisoReplica} en el contexto, y al reconectar se publica uno por canal para que
+ * recarguen lo que pudo cambiar mientras no se escuchaba.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificacionTiempoRealService {
+
+    private static final String CANAL = "gmarm_notificaciones";
+    private static final String EVENTO_NO_LEIDAS = "no-leidas";
+    private static final long INTERVALO_HEARTBEAT_MS = 25_000;
+    private static final int ESPERA_AVISOS_MS = 5_000;
+    private static final long ESPERA_RECONEXION_MS = 5_000;
+    private static final List<String> CANALES_REPLICAS = List.of(
+            DatosReferenciaService.CANAL_AVISOS, FiltroIdentificacionesService.CANAL_AVISOS);
+
+    /**
+     * Aviso recibido por uno de los canales de CANALES_REPLICAS (de esta u otra réplica).
+     */
+    public record AvisoReplica(String canal, String parametro) {
+    }
+
+    private final NotificacionRepository notificacionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.notificaciones.listen.enabled:true}")
+    private boolean listenHabilitado;
+
+    @Value("${app.notificaciones.sse.timeout-ms:1800000}")
+    private long timeoutSseMs;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${spring.datasource.username}")
+    private String datasourceUsername;
+
+    @Value("${spring.datasource.password}")
+    private String datasourcePassword;
+
+    /**
+     * Contador de un usuario; noLeidas null es una invalidación pendiente de recarga.
+     */
+    private record Contador(long version, Integer noLeidas) {
+    }
+
+    private final Map<Long, Contador> contadores = new ConcurrentHashMap<>();
+    private final AtomicLong versiones = new AtomicLong();
+    private volatile long versionLimpieza;
+    private final Map<Long, Set<SseEmitter>> emisores = new ConcurrentHashMap<>();
+
+    private volatile boolean escuchando;
+    private boolean huboConexion;
+    private volatile boolean detenido;
+    private volatile Connection conexionListen;
+    private Thread hiloListener;
+
+    @PostConstruct
+    void iniciar() {
+        hiloListener = new Thread(this::bucleListener, "notificaciones-listener");
+        hiloListener.setDaemon(true);
+        hiloListener.start();
+    }
+
+    @PreDestroy
+    void detener() {
+        detenido = true;
+        if (hiloListener != null) {
+            hiloListener.interrupt();
+        }
+        cerrarConexionListen();
+        emisores.values().forEach(set -> set.forEach(SseEmitter::complete));
+        emisores.clear();
+    }
+
+    /**
+     * Abre el canal SSE del usuario y envía de inmediato el contador actual.
+     */
+    public SseEmitter suscribir(Long usuarioId) {
+        SseEmitter emitter = new SseEmitter(timeoutSseMs);
+        Set<SseEmitter> conexiones = emisores.computeIfAbsent(usuarioId, id -> new CopyOnWriteArraySet<>());
+        conexiones.add(emitter);
+
+        Runnable quitar = () -> quitarEmisor(usuarioId, emitter);
+        emitter.onCompletion(quitar);
+        emitter.onTimeout(quitar);
+        emitter.onError(e -> quitar.run());
+
+        enviar(usuarioId, emitter, contarNoLeidas(usuarioId));
+        log.debug("SSE de notificaciones abierto para usuario {} ({} conexiones)", usuarioId, conexiones.size());
+        return emitter;
+    }
+
+    /**
+     * Contador de no leídas. Solo se sirve desde memoria mientras el canal LISTEN está
+     * activo; sin él no hay forma de enterarse de cambios hechos por otras réplicas.
+     */
+    public int contarNoLeidas(Long usuarioId) {
+        if (!escuchando) {
+            return contarEnBaseDeDatos(usuarioId);
+        }
+        Contador enMemoria = contadores.get(usuarioId);
+        if (enMemoria != null && enMemoria.noLeidas() != null) {
+            return enMemoria.noLeidas();
+        }
+        long version = versiones.get();
+        int noLeidas = contarEnBaseDeDatos(usuarioId);
+        // Solo se guarda si nada se invalidó después de empezar a contar
+        contadores.compute(usuarioId, (id, actual) ->
+                (actual != null && actual.version() > version) || versionLimpieza > version
+                        ? actual
+                        : new Contador(version, noLeidas));
+        return noLeidas;
+    }
+
+    /**
+     * Avisa que cambiaron las notificaciones del usuario. Con LISTEN/NOTIFY el aviso viaja
+     * dentro de la transacción actual (PostgreSQL descarta duplicados y solo lo entrega al
+     * confirmar); sin él se aplica localmente tras el commit.
+     */
+    public void publicarCambio(Long usuarioId) {
+        if (usuarioId == null) {
+            return;
+        }
+        if (listenHabilitado) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, CANAL, String.valueOf(usuarioId));
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicarCambio(usuarioId);
+                }
+            });
+        } else {
+            aplicarCambio(usuarioId);
+        }
+    }
+
+    /**
+     * Igual que publicarCambio para varios usuarios, con una sola sentencia.
+     */
+    public void publicarCambios(Collection<Long> usuarioIds) {
+        if (usuarioIds.isEmpty()) {
+            return;
+        }
+        if (!listenHabilitado) {
+            usuarioIds.forEach(this::publicarCambio);
+            return;
+        }
+        Long[] ids = usuarioIds.toArray(Long[]::new);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT pg_notify(?, id::text) FROM unnest(?) AS id");
+            ps.setString(1, CANAL);
+            ps.setArray(2, con.createArrayOf("bigint", ids));
+            return ps;
+        }, rs -> { });
+    }
+
+    /**
+     * Avisa a todas las réplicas por uno de los canales de CANALES_REPLICAS. Como
+     * publicarCambio, viaja en la transacción actual y se entrega al confirmar; sin LISTEN
+     * no hace nada (quien avisa aplica su propio cambio).
+     */
+    public void avisarReplicas(String canal) {
+        avisarReplicas(canal, "");
+    }
+
+    public void avisarReplicas(String canal, String parametro) {
+        if (listenHabilitado) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, canal, parametro);
+        }
+    }
+
+    /**
+     * true mientras el canal LISTEN está activo, es decir, mientras llegan los avisos de
+     * las demás réplicas.
+     */
+    public boolean escuchandoReplicas() {
+        return escuchando;
+    }
+
+    private void aplicarCambio(Long usuarioId) {
+        contadores.put(usuarioId, new Contador(versiones.incrementAndGet(), null));
+        Set<SseEmitter> conexiones = emisores.get(usuarioId);
+        if (conexiones == null || conexiones.isEmpty()) {
+            return;
+        }
+        int noLeidas = contarNoLeidas(usuarioId);
+        for (SseEmitter emitter : conexiones) {
+            enviar(usuarioId, emitter, noLeidas);
+        }
+    }
+
+    private int contarEnBaseDeDatos(Long usuarioId) {
+        return notificacionRepository.countByUsuarioDestinatarioIdAndEstado(usuarioId, EstadoNotificacion.NO_LEIDA);
+    }
+
+    private void enviar(Long usuarioId, SseEmitter emitter, int noLeidas) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENTO_NO_LEIDAS).data(Map.of("count", noLeidas)));
+        } catch (IOException | IllegalStateException e) {
+            quitarEmisor(usuarioId, emitter);
+        }
+    }
+
+    private void quitarEmisor(Long usuarioId, SseEmitter emitter) {
+        emisores.computeIfPresent(usuarioId, (id, conexiones) -> {
+            conexiones.remove(emitter);
+            return conexiones.isEmpty() ? null : conexiones;
+        });
+    }
+
+    private void enviarHeartbeat() {
+        emisores.forEach((usuarioId, conexiones) -> {
+            for (SseEmitter emitter : conexiones) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    quitarEmisor(usuarioId, emitter);
+                }
+            }
+        });
+    }
+
+    // ==================== LISTEN/NOTIFY ====================
+
+    private void bucleListener() {
+        long ultimoHeartbeat = System.currentTimeMillis();
+        while (!detenido) {
+            try {
+                if (listenHabilitado && conexionListen == null) {
+                    conectarListen();
+                }
+                if (conexionListen != null) {
+                    PGNotification[] avisos = conexionListen.unwrap(PGConnection.class)
+                            .getNotifications(ESPERA_AVISOS_MS);
+                    if (avisos != null) {
+                        for (PGNotification aviso : avisos) {
+                            procesarAviso(aviso);
+                        }
+                    }
+                } else {
+                    Thread.sleep(ESPERA_AVISOS_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException e) {
+                if (!detenido) {
+                    log.warn("Canal LISTEN de notificaciones caído, reintentando en {} ms: {}", ESPERA_RECONEXION_MS, e.getMessage());
+                    perderCanal();
+                    dormir(ESPERA_RECONEXION_MS);
+                }
+            } catch (RuntimeException e) {
+                log.error("Error procesando avisos de notificaciones: {}", e.getMessage(), e);
+            }
+
+            if (System.currentTimeMillis() - ultimoHeartbeat >= INTERVALO_HEARTBEAT_MS) {
+                enviarHeartbeat();
+                verificarCanal();
+                ultimoHeartbeat = System.currentTimeMillis();
+            }
+        }
+    }
+
+    /**
+     * Un socket cortado no siempre se detecta esperando avisos; se valida con cada heartbeat.
+     */
+    private void verificarCanal() {
+        Connection conexion = conexionListen;
+        try {
+            if (conexion != null && !conexion.isValid(2)) {
+                log.warn("Conexión LISTEN de notificaciones inválida, reconectando");
+                perderCanal();
+            }
+        } catch (SQLException e) {
+            perderCanal();
+        }
+    }
+
+    private void conectarListen() throws SQLException {
+        Connection conexion = DriverManager.getConnection(datasourceUrl, datasourceUsername, datasourcePassword);
+        try (Statement statement = conexion.createStatement()) {
+            statement.execute("LISTEN " + CANAL);
+            for (String canal : CANALES_REPLICAS) {
+                statement.execute("LISTEN " + canal);
+            }
+        } catch (SQLException e) {
+            conexion.close();
+            throw e;
+        }
+        boolean reconexion = huboConexion;
+        conexionListen = conexion;
+        huboConexion = true;
+        // Lo que haya cambiado mientras no escuchábamos se recarga bajo demanda
+        limpiarContadores();
+        escuchando = true;
+        log.info("Escuchando canales {} y {} entre réplicas", CANAL, CANALES_REPLICAS);
+        if (reconexion) {
+            CANALES_REPLICAS.forEach(canal -> eventPublisher.publishEvent(new AvisoReplica(canal, null)));
+        }
+    }
+
+    private void procesarAviso(PGNotification aviso) {
+        if (!CANAL.equals(aviso.getName())) {
+            eventPublisher.publishEvent(new AvisoReplica(aviso.getName(), aviso.getParameter()));
+            return;
+        }
+        String parametro = aviso.getParameter();
+        try {
+            aplicarCambio(Long.valueOf(parametro));
+        } catch (NumberFormatException e) {
+            log.warn("Aviso de notificación con usuario inválido: {}", parametro);
+        }
+    }
+
+    private void perderCanal() {
+        escuchando = false;
+        limpiarContadores();
+        cerrarConexionListen();
+    }
+
+    private void limpiarContadores() {
+        versionLimpieza = versiones.incrementAndGet();
+        contadores.clear();
+    }
+
+    private void cerrarConexionListen() {
+        Connection conexion = conexionListen;
+        conexionListen = null;
+        if (conexion != null) {
+            try {
+                conexion.close();
+            } catch (SQLException e) {
+                log.debug("Error cerrando conexión LISTEN: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.armasimportacion.service;
 
 import com.armasimportacion.dto.CuotaPagoCreateDTO;
+import com.armasimportacion.enums.EntidadAuditada;
 import com.armasimportacion.enums.EstadoPago;
 import com.armasimportacion.enums.TipoPago;
 import com.armasimportacion.model.Pago;
@@ -16,14 +17,19 @@ import com.armasimportacion.model.Usuario;
 import com.armasimportacion.repository.ClienteGrupoImportacionRepository;
 import com.armasimportacion.repository.ClienteRepository;
 import com.armasimportacion.service.helper.GestionDocumentosServiceHelper;
+import com.armasimportacion.service.helper.documentos.ReciboPDFGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -44,6 +50,10 @@ public class PagoService {
     private final LicenciaService licenciaService;
     private final FileStorageService fileStorageService;
     private final ConfiguracionSistemaService configuracionSistemaService;
+    private final EfectosPostCommitService efectosPostCommitService;
+    private final TransactionTemplate transactionTemplate;
+    private final CarteraClienteService carteraClienteService;
+    private final AuditoriaService auditoriaService;
 
     public Pago crearPago(Pago pago) {
         log.info("Creando pago para cliente: {}", pago.getClienteId());
@@ -62,6 +72,7 @@ public class PagoService {
         if (pago.getTipoPago() == TipoPago.CREDITO && pago.getNumeroCuotas() > 1) {
             crearCuotasAutomaticamente(pagoGuardado);
         }
+        carteraClienteService.recalcular(pagoGuardado.getClienteId());
         
         return pagoGuardado;
     }
@@ -87,12 +98,16 @@ public class PagoService {
         // Actualizar cuota actual basada en cuotas pagadas
         actualizarCuotaActual(pago);
         
-        return pagoRepository.save(pago);
+        Pago pagoGuardado = pagoRepository.save(pago);
+        carteraClienteService.recalcular(pagoGuardado.getClienteId());
+        return pagoGuardado;
     }
 
     public void eliminarPago(Long id) {
         log.info("Eliminando pago: {}", id);
+        Long clienteId = pagoRepository.findById(id).map(Pago::getClienteId).orElse(null);
         pagoRepository.deleteById(id);
+        carteraClienteService.recalcular(clienteId);
     }
 
     public Page<Pago> buscarPagos(String numeroComprobante, EstadoPago estado, 
@@ -102,13 +117,7 @@ public class PagoService {
     }
 
     public BigDecimal obtenerSaldoCliente(Long clienteId) {
-        BigDecimal totalPagado = pagoRepository.findTotalPagadoByCliente(clienteId);
-        BigDecimal totalPendiente = pagoRepository.findTotalPendienteByCliente(clienteId);
-        
-        if (totalPagado == null) totalPagado = BigDecimal.ZERO;
-        if (totalPendiente == null) totalPendiente = BigDecimal.ZERO;
-        
-        return totalPendiente;
+        return carteraClienteService.obtener(clienteId).getMontoPendiente();
     }
 
     public boolean clienteTieneSaldoPendiente(Long clienteId) {
@@ -126,13 +135,15 @@ public class PagoService {
 
     public CuotaPago pagarCuota(Long cuotaId, String referenciaPago, Long usuarioConfirmadorId, 
                                 BigDecimal monto, String numeroRecibo, String comprobanteArchivo, String observaciones) {
-        Optional<CuotaPago> cuotaOpt = cuotaPagoRepository.findById(cuotaId);
+        Optional<CuotaPago> cuotaOpt = cuotaPagoRepository.findDetalleById(cuotaId);
         if (cuotaOpt.isEmpty()) {
             throw new IllegalArgumentException("Cuota no encontrada");
         }
 
         CuotaPago cuota = cuotaOpt.get();
         Pago pago = cuota.getPago();
+        EstadoCuotaPago estadoCuotaAnterior = cuota.getEstado();
+        EstadoPago estadoPagoAnterior = pago.getEstado();
         
         // Si la cuota ya estaba pagada, revertir el monto anterior
         BigDecimal montoAnterior = BigDecimal.ZERO;
@@ -182,20 +193,19 @@ public class PagoService {
         
         pagoRepository.save(pago);
         CuotaPago cuotaGuardada = cuotaPagoRepository.save(cuota);
-        
-        // Generar y enviar recibo automáticamente al cliente
-        try {
-            DocumentoGenerado recibo = generarRecibo(cuotaId);
-            log.info("Recibo generado automáticamente para cuota ID: {}", cuotaId);
-            
-            // Enviar recibo por correo al cliente
-            enviarReciboACliente(cliente, recibo, cuotaGuardada);
-            
-        } catch (Exception e) {
-            log.error("Error generando/enviando recibo (no crítico): {}", e.getMessage(), e);
-            // No fallar el proceso de pago si falla el envío del recibo
+        carteraClienteService.recalcular(pago.getClienteId());
+
+        auditoriaService.registrar(EntidadAuditada.CUOTA_PAGO, cuotaId, "PAGO_CUOTA",
+            estadoCuotaAnterior, EstadoCuotaPago.PAGADA,
+            "Monto " + montoAPagar + ", recibo " + cuotaGuardada.getNumeroRecibo());
+        if (estadoPagoAnterior != pago.getEstado()) {
+            auditoriaService.registrar(EntidadAuditada.PAGO, pago.getId(), "CAMBIO_ESTADO",
+                estadoPagoAnterior, pago.getEstado(), "Pago de cuota " + cuotaId);
         }
         
+        // Generar y enviar recibo al cliente después del commit, fuera de esta transacción
+        efectosPostCommitService.alConfirmar("recibo-cuota", () -> generarYEnviarRecibo(cuotaId));
+        
         return cuotaGuardada;
     }
 
@@ -254,7 +264,13 @@ public class PagoService {
     }
 
     public List<CuotaPago> obtenerCuotasVencidas() {
-        return cuotaPagoRepository.findCuotasVencidas(LocalDate.now());
+        // La cartera indica qué clientes tienen vencidos; solo se leen sus cuotas
+        List<Long> clienteIds = carteraClienteService.clientesConCuotasVencidas();
+        if (clienteIds.isEmpty()) {
+            return List.of();
+        }
+        return cuotaPagoRepository.findCuotasVencidasByClienteIds(clienteIds,
+            CarteraClienteService.hoy(), CarteraClienteService.ESTADOS_ADEUDADOS);
     }
 
     public List<CuotaPago> obtenerCuotasPorCliente(Long clienteId) {
@@ -269,33 +285,14 @@ public class PagoService {
 
         Pago pago = pagoOpt.get();
         
-        // Obtener todas las cuotas existentes
-        List<CuotaPago> cuotasExistentes = cuotaPagoRepository.findByPagoIdOrderByNumeroCuota(pagoId);
-        
-        // Separar cuotas pagadas de cuotas pendientes
-        List<CuotaPago> cuotasPagadas = cuotasExistentes.stream()
-            .filter(c -> c.getEstado() == EstadoCuotaPago.PAGADA)
-            .collect(java.util.stream.Collectors.toList());
-        
-        List<CuotaPago> cuotasPendientes = cuotasExistentes.stream()
-            .filter(c -> c.getEstado() != EstadoCuotaPago.PAGADA)
-            .collect(java.util.stream.Collectors.toList());
-        
-        // Calcular monto ya pagado
-        BigDecimal montoPagado = cuotasPagadas.stream()
-            .map(CuotaPago::getMonto)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Calcular monto ya pagado (cuotas PAGADA)
+        BigDecimal montoPagado = cuotaPagoRepository.sumMontoPagadoByPagoId(pagoId);
         
         // Calcular saldo pendiente (monto total - monto pagado)
         BigDecimal saldoPendiente = pago.getMontoTotal().subtract(montoPagado);
         
         // Obtener el siguiente número de cuota
-        int siguienteNumeroCuota = cuotasExistentes.isEmpty() 
-            ? 1 
-            : cuotasExistentes.stream()
-                .mapToInt(CuotaPago::getNumeroCuota)
-                .max()
-                .orElse(0) + 1;
+        int siguienteNumeroCuota = cuotaPagoRepository.findMaxNumeroCuotaByPagoId(pagoId) + 1;
 
         // VALIDAR: El monto especificado no debe exceder el saldo pendiente
         BigDecimal montoCuotaNueva = dto.getMonto();
@@ -321,36 +318,15 @@ public class PagoService {
             cuota.setUsuarioConfirmador(usuario);
         }
 
-        // RECALCULAR: Dividir el saldo RESTANTE (después de restar esta cuota) solo entre las cuotas pendientes EXISTENTES
+        // RECALCULAR: Dividir el saldo RESTANTE (después de restar esta cuota) solo entre las cuotas pendientes EXISTENTES.
+        // Va antes de guardar la nueva cuota para que el UPDATE no la incluya.
         BigDecimal saldoRestante = saldoPendiente.subtract(montoCuotaNueva);
         
-        if (!cuotasPendientes.isEmpty() && saldoRestante.compareTo(BigDecimal.ZERO) > 0) {
-            // Dividir saldo restante entre las cuotas pendientes existentes
-            int numeroCuotasPendientes = cuotasPendientes.size();
-            BigDecimal montoPorCuota = saldoRestante.divide(
-                BigDecimal.valueOf(numeroCuotasPendientes), 
-                2, 
-                java.math.RoundingMode.HALF_UP
-            );
-            
-            // Actualizar montos de cuotas pendientes existentes
-            BigDecimal totalRedistribuido = BigDecimal.ZERO;
-            for (int i = 0; i < cuotasPendientes.size(); i++) {
-                CuotaPago cuotaExistente = cuotasPendientes.get(i);
-                // Para la última cuota, asignar lo que sobra para compensar redondeos
-                if (i == cuotasPendientes.size() - 1) {
-                    BigDecimal montoUltimaCuota = saldoRestante.subtract(totalRedistribuido);
-                    cuotaExistente.setMonto(montoUltimaCuota);
-                } else {
-                    cuotaExistente.setMonto(montoPorCuota);
-                    totalRedistribuido = totalRedistribuido.add(montoPorCuota);
-                }
-                cuotaPagoRepository.save(cuotaExistente);
-            }
-            
+        if (saldoRestante.compareTo(BigDecimal.ZERO) > 0) {
+            int recalculadas = cuotaPagoRepository.redistribuirSaldoPendiente(pagoId, saldoRestante);
             log.info("Cuotas pendientes recalculadas. Saldo restante: {} distribuido en {} cuotas",
-                saldoRestante, numeroCuotasPendientes);
-        } else if (!cuotasPendientes.isEmpty()) {
+                saldoRestante, recalculadas);
+        } else {
             log.warn("Saldo restante es 0 o negativo. Las cuotas pendientes mantienen su monto original.");
         }
         
@@ -361,6 +337,7 @@ public class PagoService {
         // El monto pendiente ya es correcto: montoTotal - montoPagado
         pago.setMontoPendiente(saldoPendiente);
         pagoRepository.save(pago);
+        carteraClienteService.recalcular(pago.getClienteId());
         
         log.info("Nueva cuota creada con monto {} y cuotas pendientes recalculadas. Saldo restante: {}",
             montoCuotaNueva, saldoRestante);
@@ -374,87 +351,90 @@ public class PagoService {
      * Si el saldo es 0 o menor, CANCELA las cuotas pendientes restantes
      */
     private void recalcularCuotasPendientes(Pago pago) {
-        log.info("Recalculando cuotas pendientes para pago ID: {}", pago.getId());
-
-        // Obtener todas las cuotas del pago
-        List<CuotaPago> todasLasCuotas = cuotaPagoRepository.findByPagoIdOrderByNumeroCuota(pago.getId());
-
-        // Separar cuotas pagadas de pendientes (excluir las ya canceladas)
-        List<CuotaPago> cuotasPendientes = todasLasCuotas.stream()
-            .filter(c -> c.getEstado() != EstadoCuotaPago.PAGADA &&
-                        c.getEstado() != EstadoCuotaPago.CANCELADA)
-            .collect(java.util.stream.Collectors.toList());
-
-        if (cuotasPendientes.isEmpty()) {
-            log.info("No hay cuotas pendientes para recalcular");
-            return;
-        }
-
         // El saldo pendiente ya está actualizado en el pago
         BigDecimal saldoPendiente = pago.getMontoPendiente();
 
         // Si el saldo pendiente es 0 o menor, CANCELAR todas las cuotas pendientes
         if (saldoPendiente.compareTo(BigDecimal.ZERO) <= 0) {
-            log.info("Saldo pendiente es {} (<=0). Cancelando {} cuotas pendientes restantes.",
-                saldoPendiente, cuotasPendientes.size());
-
-            for (CuotaPago cuotaPendiente : cuotasPendientes) {
-                cuotaPendiente.setEstado(EstadoCuotaPago.CANCELADA);
-                cuotaPendiente.setMonto(BigDecimal.ZERO); // Poner monto en 0 ya que no se debe nada
-                cuotaPendiente.setObservaciones("Cuota cancelada - Saldo total cubierto");
-                cuotaPagoRepository.save(cuotaPendiente);
-                log.info("Cuota #{} cancelada (saldo ya cubierto)", cuotaPendiente.getNumeroCuota());
-            }
-
-            log.info("{} cuotas pendientes fueron canceladas porque el saldo total ya fue cubierto",
-                cuotasPendientes.size());
+            int canceladas = cuotaPagoRepository.cancelarCuotasPendientes(pago.getId());
+            log.info("Pago ID {}: {} cuotas pendientes canceladas porque el saldo total ya fue cubierto",
+                pago.getId(), canceladas);
             return;
         }
 
-        // Dividir saldo pendiente entre las cuotas pendientes
-        int numeroCuotasPendientes = cuotasPendientes.size();
-        BigDecimal montoPorCuota = saldoPendiente.divide(
-            BigDecimal.valueOf(numeroCuotasPendientes),
-            2,
-            java.math.RoundingMode.HALF_UP
-        );
-
-        // Actualizar montos de cuotas pendientes
-        BigDecimal totalRedistribuido = BigDecimal.ZERO;
-        for (int i = 0; i < cuotasPendientes.size(); i++) {
-            CuotaPago cuotaPendiente = cuotasPendientes.get(i);
-            // Para la última cuota, asignar lo que sobra para compensar redondeos
-            if (i == cuotasPendientes.size() - 1) {
-                BigDecimal montoUltimaCuota = saldoPendiente.subtract(totalRedistribuido);
-                cuotaPendiente.setMonto(montoUltimaCuota);
-            } else {
-                cuotaPendiente.setMonto(montoPorCuota);
-                totalRedistribuido = totalRedistribuido.add(montoPorCuota);
-            }
-            cuotaPagoRepository.save(cuotaPendiente);
-        }
-
-        log.info("Cuotas pendientes recalculadas. Saldo pendiente: {} distribuido en {} cuotas",
-            saldoPendiente, numeroCuotasPendientes);
+        // Dividir saldo pendiente entre las cuotas pendientes (un solo UPDATE)
+        int recalculadas = cuotaPagoRepository.redistribuirSaldoPendiente(pago.getId(), saldoPendiente);
+        log.info("Pago ID {}: saldo pendiente {} distribuido en {} cuotas",
+            pago.getId(), saldoPendiente, recalculadas);
     }
 
     /**
-     * Envía el recibo de pago automáticamente al cliente por correo
+     * Genera el recibo y lo envía por correo. Se ejecuta como efecto post-commit de
+     * pagarCuota, en tres pasos para no tener una conexión tomada mientras Flying Saucer
+     * renderiza: los datos se leen en una transacción corta, el PDF se renderiza fuera de
+     * toda transacción y el DocumentoGenerado se guarda en una segunda transacción corta.
+     * El correo se envía al final, también sin conexión.
      */
-    private void enviarReciboACliente(Cliente cliente, DocumentoGenerado recibo, CuotaPago cuota) {
+    private void generarYEnviarRecibo(Long cuotaId) {
+        EnvioRecibo envio;
         try {
-            log.info("Enviando recibo automáticamente al cliente: {}", cliente.getEmail());
-            
-            if (cliente.getEmail() == null || cliente.getEmail().isBlank()) {
+            DatosRecibo datos = transactionTemplate.execute(status -> cargarDatosRecibo(cuotaId));
+            ReciboPDFGenerator.ReciboPreparado preparado = datos.recibo();
+
+            DocumentoGenerado recibo = preparado.vigente();
+            if (recibo == null) {
+                byte[] pdfBytes = gestionDocumentosServiceHelper.renderizarRecibo(preparado);
+                recibo = transactionTemplate.execute(status -> gestionDocumentosServiceHelper.guardarRecibo(
+                    clienteRepository.getReferenceById(preparado.clienteId()), preparado, pdfBytes));
+            }
+            log.info("Recibo generado automáticamente para cuota ID: {}", cuotaId);
+
+            if (datos.emails().isEmpty()) {
                 log.warn("Cliente no tiene email configurado. No se puede enviar recibo.");
                 return;
             }
-            
-            // Leer archivo PDF
-            byte[] pdfBytes = fileStorageService.loadFile(recibo.getRutaArchivo());
-            
-            // Enviar recibo por correo: cliente + CORREOS_RECIBO (joseluis, valeria)
-            List<String> emails = new java.util.ArrayList<>();
+            // Ubicar el PDF: el correo lo adjunta leyendo del disco al enviar
+            Path pdf;
+            try {
+                pdf = fileStorageService.resolverArchivo(recibo.getRutaArchivo());
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el recibo generado", e);
+            }
+            envio = new EnvioRecibo(datos.emails(), datos.nombreCompleto(), pdf, recibo.getNombreArchivo(),
+                datos.numeroRecibo(), datos.monto());
+        } catch (Exception e) {
+            log.error("Error generando recibo (no crítico) para cuota ID {}: {}", cuotaId, e.getMessage(), e);
+            return;
+        }
+        try {
+            List<EntregaCorreoService.EstadoEntrega> entregas = emailService.enviarReciboPorCorreo(envio.emails(),
+                envio.nombreCompleto(), envio.pdf(), envio.nombreArchivo(), envio.numeroRecibo(), envio.monto());
+            long enviados = entregas.stream().filter(EntregaCorreoService.EstadoEntrega::enviado).count();
+            log.info("Recibo {} entregado a {} de {} destinatarios", envio.numeroRecibo(), enviados, entregas.size());
+        } catch (Exception e) {
+            log.error("Error enviando recibo al cliente: {}", e.getMessage(), e);
+            // No lanzar excepción: el pago ya está confirmado
+        }
+    }
+
+    /**
+     * Paso 1 (con transacción): número de recibo, plantilla procesada y destinatarios.
+     */
+    private DatosRecibo cargarDatosRecibo(Long cuotaId) {
+        CuotaPago cuota = obtenerCuotaPorId(cuotaId);
+        Pago pago = cuota.getPago();
+        Cliente cliente = clienteRepository.findById(pago.getClienteId())
+            .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado"));
+        if (cuota.getNumeroRecibo() == null || cuota.getNumeroRecibo().isBlank()) {
+            cuota.setNumeroRecibo(generarNumeroReciboUnico(cliente));
+            cuotaPagoRepository.save(cuota);
+        }
+
+        ReciboPDFGenerator.ReciboPreparado preparado = gestionDocumentosServiceHelper.prepararRecibo(cliente, pago, cuota);
+
+        // Enviar recibo por correo: cliente + CORREOS_RECIBO (joseluis, valeria)
+        List<String> emails = new java.util.ArrayList<>();
+        if (cliente.getEmail() != null && !cliente.getEmail().isBlank()) {
             emails.add(cliente.getEmail().trim());
             List<String> correosRecibo = configuracionSistemaService.getCorreosRecibo();
             for (String correo : correosRecibo) {
@@ -462,20 +442,18 @@ public class PagoService {
                     emails.add(correo.trim());
                 }
             }
-            String numeroRecibo = cuota.getNumeroRecibo() != null
-                ? cuota.getNumeroRecibo()
-                : String.format("RC-%s-%d-%06d", obtenerInicialesImportador(cliente), java.time.LocalDate.now().getYear(), cuota.getId());
-            String nombreCompleto = cliente.getNombres() + " " + cliente.getApellidos();
-            
-            emailService.enviarReciboPorCorreo(emails, nombreCompleto, pdfBytes, 
-                recibo.getNombreArchivo(), numeroRecibo, cuota.getMonto());
-            
-            log.info("Recibo enviado exitosamente al cliente: {}", cliente.getEmail());
-            
-        } catch (Exception e) {
-            log.error("Error enviando recibo al cliente: {}", e.getMessage(), e);
-            // No lanzar excepción para no interrumpir el proceso de pago
         }
+        String nombreCompleto = cliente.getNombres() + " " + cliente.getApellidos();
+
+        return new DatosRecibo(preparado, emails, nombreCompleto, cuota.getNumeroRecibo(), cuota.getMonto());
+    }
+
+    private record DatosRecibo(ReciboPDFGenerator.ReciboPreparado recibo, List<String> emails,
+                               String nombreCompleto, String numeroRecibo, BigDecimal monto) {
+    }
+
+    private record EnvioRecibo(List<String> emails, String nombreCompleto, Path pdf,
+                               String nombreArchivo, String numeroRecibo, BigDecimal monto) {
     }
 
     public DocumentoGenerado generarRecibo(Long cuotaId) {
@@ -44,6 +44,7 @@ public class PedidoArmasGrupoImportacionService {
     private final FileStorageService fileStorageService;
     private final ClienteGrupoImportacionRepository clienteGrupoRepository;
     private final ClienteArmaRepository clienteArmaRepository;
+    private final TableroOperacionesService tableroOperacionesService;
     
     // Inyección lazy para romper dependencia circular
     private final GrupoImportacionService grupoImportacionService;
@@ -56,6 +57,7 @@ public class PedidoArmasGrupoImportacionService {
             FileStorageService fileStorageService,
             ClienteGrupoImportacionRepository clienteGrupoRepository,
             ClienteArmaRepository clienteArmaRepository,
+            TableroOperacionesService tableroOperacionesService,
             @Lazy GrupoImportacionService grupoImportacionService) {
         this.grupoImportacionRepository = grupoImportacionRepository;
         this.documentoGeneradoRepository = documentoGeneradoRepository;
@@ -63,6 +65,7 @@ public class PedidoArmasGrupoImportacionService {
         this.fileStorageService = fileStorageService;
         this.clienteGrupoRepository = clienteGrupoRepository;
         this.clienteArmaRepository = clienteArmaRepository;
+        this.tableroOperacionesService = tableroOperacionesService;
         this.grupoImportacionService = grupoImportacionService;
     }
 
@@ -137,6 +140,7 @@ public class PedidoArmasGrupoImportacionService {
             grupo.setEstado(EstadoGrupoImportacion.SOLICITAR_PROFORMA_FABRICA);
             grupo.setFechaActualizacion(LocalDateTime.now());
             grupoImportacionRepository.save(grupo);
+            tableroOperacionesService.refrescarGrupo(grupo.getId());
             
             log.info("Pedido de armas generado y guardado con ID: {}, archivo: {}",
                 documentoGuardado.getId(), nombreArchivo);
@@ -170,7 +174,14 @@ public class PedidoArmasGrupoImportacionService {
                 List.of(ClienteArma.EstadoClienteArma.RESERVADA, ClienteArma.EstadoClienteArma.ASIGNADA));
         
         log.info("Total de armas encontradas para el grupo: {}", armasGrupo.size());
-        
+        return construirExcelPedido(grupo, armasGrupo);
+    }
+
+    /**
+     * Construye el workbook del pedido a partir de las armas ya cargadas (sin acceso a BD).
+     * Visibilidad de paquete: medido por PedidoArmasExcelBenchmark (src/jmh)
+     */
+    byte[] construirExcelPedido(GrupoImportacion grupo, List<ClienteArma> armasGrupo) throws IOException {
         // Agrupar armas por modelo (incluye atributos para no mezclar variantes) y sumar cantidades
         Map<String, Map<String, Object>> armasAgrupadas = new HashMap<>();
         for (ClienteArma clienteArma : armasGrupo) {
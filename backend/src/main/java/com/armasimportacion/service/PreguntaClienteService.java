@@ -14,6 +14,7 @@ import java.util.List;
 public class PreguntaClienteService {
 
     private final PreguntaClienteRepository repository;
+    private final DatosReferenciaService datosReferenciaService;
 
     public List<PreguntaCliente> findByTipoProcesoId(Long tipoProcesoId) {
         return repository.findByTipoProcesoIdAndEstado(tipoProcesoId, true);
@@ -34,11 +35,14 @@ public class PreguntaClienteService {
 
     public PreguntaCliente save(PreguntaCliente pregunta) {
         log.info("Guardando pregunta: {}", pregunta.getPregunta());
-        return repository.save(pregunta);
+        PreguntaCliente guardada = repository.save(pregunta);
+        datosReferenciaService.invalidar();
+        return guardada;
     }
 
     public void delete(Long id) {
         log.info("Eliminando pregunta con ID: {}", id);
         repository.deleteById(id);
+        datosReferenciaService.invalidar();
     }
 }
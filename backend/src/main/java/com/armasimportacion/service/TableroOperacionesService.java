@@ -0,0 +1,209 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.dto.GrupoImportacionDTO;
+import com.armasimportacion.enums.EstadoGrupoImportacion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tablero de operaciones: grupos en SOLICITAR_PROFORMA_FABRICA o EN_PROCESO_OPERACIONES
+ * con el conteo de documentos cargados, faltantes y requeridos cargados.
+ *
+ * Las filas salen de una sola consulta agregada y se mantienen en memoria. Cargar,
+ * eliminar o cambiar el estado de un documento, o editar, eliminar o mover de estado un
+ * grupo, refresca solo la fila de ese grupo (tras el commit); la carga completa se repite por edad para
+ * recoger cambios hechos por otras réplicas o por los catálogos de tipos de documento.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TableroOperacionesService {
+
+    public static final List<EstadoGrupoImportacion> ESTADOS_TABLERO = List.of(
+            EstadoGrupoImportacion.SOLICITAR_PROFORMA_FABRICA,
+            EstadoGrupoImportacion.EN_PROCESO_OPERACIONES);
+
+    private static final String SQL_TABLERO = """
+            WITH tipos AS (
+                SELECT id, nombre IN (:requeridos) AS requerido
+                FROM tipo_documento
+                WHERE grupos_importacion = TRUE AND estado = TRUE
+            )
+            SELECT g.id, g.nombre, g.descripcion, g.estado, g.fecha_creacion, g.fecha_actualizacion,
+                   (SELECT COUNT(*) FROM tipos) AS total_tipos,
+                   COUNT(DISTINCT t.id) AS cargados,
+                   COUNT(DISTINCT t.id) FILTER (WHERE t.requerido) AS requeridos_cargados
+            FROM grupo_importacion g
+            LEFT JOIN documento_grupo_importacion d
+                   ON d.grupo_importacion_id = g.id AND d.estado IN ('CARGADO', 'APROBADO')
+            LEFT JOIN tipos t ON t.id = d.tipo_documento_id
+            WHERE g.estado IN (:estados) %s
+            GROUP BY g.id, g.nombre, g.descripcion, g.estado, g.fecha_creacion, g.fecha_actualizacion
+            """;
+
+    private static final Comparator<FilaTablero> ORDEN = Comparator
+            .comparing(FilaTablero::fechaCreacion, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(FilaTablero::id, Comparator.reverseOrder());
+
+    /**
+     * Fila inmutable del tablero; se copia a un DTO nuevo en cada respuesta.
+     */
+    record FilaTablero(Long id, String nombre, String descripcion, EstadoGrupoImportacion estado,
+                       LocalDateTime fechaCreacion, LocalDateTime fechaActualizacion,
+                       int documentosCargados, int documentosFaltantes, int documentosRequeridosCargados) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${app.operaciones.tablero.ttl-ms:300000}")
+    private long ttlMs;
+
+    // Instantánea copy-on-write: lecturas sin bloqueo, escrituras serializadas con synchronized
+    private volatile Map<Long, FilaTablero> filas;
+    private volatile long cargadoEn;
+
+    /**
+     * Página del tablero, ordenada por fecha de creación descendente.
+     */
+    public Page<GrupoImportacionDTO> listar(Pageable pageable) {
+        List<FilaTablero> ordenadas = filasVigentes().values().stream().sorted(ORDEN).toList();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ordenadas.stream().map(TableroOperacionesService::toDTO).toList());
+        }
+        int desde = (int) Math.min(pageable.getOffset(), ordenadas.size());
+        int hasta = Math.min(desde + pageable.getPageSize(), ordenadas.size());
+        List<GrupoImportacionDTO> contenido = ordenadas.subList(desde, hasta).stream()
+                .map(TableroOperacionesService::toDTO)
+                .toList();
+        return new PageImpl<>(contenido, pageable, ordenadas.size());
+    }
+
+    /**
+     * Vuelve a leer la fila de un grupo después del commit de la transacción actual (o de
+     * inmediato si no hay transacción). Si el grupo ya no está en un estado del tablero,
+     * sale de él.
+     */
+    public void refrescarGrupo(Long grupoId) {
+        if (grupoId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicarRefresco(grupoId);
+                }
+            });
+        } else {
+            aplicarRefresco(grupoId);
+        }
+    }
+
+    private Map<Long, FilaTablero> filasVigentes() {
+        Map<Long, FilaTablero> actuales = filas;
+        if (actuales == null || System.currentTimeMillis() - cargadoEn > ttlMs) {
+            actuales = recargar();
+        }
+        return actuales;
+    }
+
+    private synchronized Map<Long, FilaTablero> recargar() {
+        if (filas != null && System.currentTimeMillis() - cargadoEn <= ttlMs) {
+            return filas;
+        }
+        long inicio = System.currentTimeMillis();
+        Map<Long, FilaTablero> nuevas = new HashMap<>();
+        for (FilaTablero fila : consultar(null)) {
+            nuevas.put(fila.id(), fila);
+        }
+        filas = Map.copyOf(nuevas);
+        cargadoEn = System.currentTimeMillis();
+        log.debug("Tablero de operaciones cargado: {} grupos en {} ms", nuevas.size(), cargadoEn - inicio);
+        return filas;
+    }
+
+    private synchronized void aplicarRefresco(Long grupoId) {
+        if (filas == null) {
+            // Aún no se cargó: la primera lectura hará la carga completa
+            return;
+        }
+        try {
+            List<FilaTablero> resultado = consultar(grupoId);
+            Map<Long, FilaTablero> nuevas = new HashMap<>(filas);
+            if (resultado.isEmpty()) {
+                nuevas.remove(grupoId);
+            } else {
+                nuevas.put(grupoId, resultado.get(0));
+            }
+            filas = Map.copyOf(nuevas);
+        } catch (RuntimeException e) {
+            // El commit ya ocurrió: se fuerza la recarga completa en la próxima lectura
+            log.warn("No se pudo refrescar el grupo {} en el tablero de operaciones: {}", grupoId, e.getMessage());
+            cargadoEn = 0;
+        }
+    }
+
+    private List<FilaTablero> consultar(Long grupoId) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("requeridos", DocumentoGrupoImportacionService.NOMBRES_DOCUMENTOS_REQUERIDOS)
+                .addValue("estados", ESTADOS_TABLERO.stream().map(Enum::name).toList());
+        String filtroGrupo = "";
+        if (grupoId != null) {
+            filtroGrupo = "AND g.id = :grupoId";
+            parametros.addValue("grupoId", grupoId);
+        }
+        return jdbcTemplate.query(SQL_TABLERO.formatted(filtroGrupo), parametros, MAPEO_FILA);
+    }
+
+    private static final RowMapper<FilaTablero> MAPEO_FILA = (rs, rowNum) -> {
+        int totalTipos = rs.getInt("total_tipos");
+        int cargados = rs.getInt("cargados");
+        return new FilaTablero(
+                rs.getLong("id"),
+                rs.getString("nombre"),
+                rs.getString("descripcion"),
+                EstadoGrupoImportacion.valueOf(rs.getString("estado")),
+                aFecha(rs.getTimestamp("fecha_creacion")),
+                aFecha(rs.getTimestamp("fecha_actualizacion")),
+                cargados,
+                totalTipos - cargados,
+                rs.getInt("requeridos_cargados"));
+    };
+
+    private static LocalDateTime aFecha(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static GrupoImportacionDTO toDTO(FilaTablero fila) {
+        GrupoImportacionDTO dto = new GrupoImportacionDTO();
+        dto.setId(fila.id());
+        dto.setNombre(fila.nombre());
+        dto.setDescripcion(fila.descripcion());
+        dto.setEstado(fila.estado());
+        dto.setFechaCreacion(fila.fechaCreacion());
+        dto.setFechaActualizacion(fila.fechaActualizacion());
+        dto.setDocumentosCargados(fila.documentosCargados());
+        dto.setDocumentosFaltantes(fila.documentosFaltantes());
+        dto.setDocumentosRequeridosCargados(fila.documentosRequeridosCargados());
+        dto.setPuedeNotificarPago(
+                fila.documentosRequeridosCargados() == DocumentoGrupoImportacionService.NOMBRES_DOCUMENTOS_REQUERIDOS.size());
+        return dto;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
 public class TipoClienteService {
     
     private final TipoClienteRepository repository;
+    private final DatosReferenciaService datosReferenciaService;
 
     public List<TipoCliente> findAll() {
         return repository.findAll();
@@ -34,7 +35,9 @@ public class TipoClienteService {
     
     public TipoCliente create(TipoCliente tipoCliente) {
         log.info("Creando nuevo tipo de cliente: {}", tipoCliente.getNombre());
-        return repository.save(tipoCliente);
+        TipoCliente creado = repository.save(tipoCliente);
+        datosReferenciaService.invalidar();
+        return creado;
     }
     
     public TipoCliente update(Long id, TipoCliente tipoCliente) {
@@ -72,7 +75,9 @@ public class TipoClienteService {
             existing.setEstado(tipoCliente.getEstado());
         }
         
-        return repository.save(existing);
+        TipoCliente actualizado = repository.save(existing);
+        datosReferenciaService.invalidar();
+        return actualizado;
     }
     
     public void delete(Long id) {
@@ -80,5 +85,6 @@ public class TipoClienteService {
         TipoCliente tipoCliente = findById(id);
         tipoCliente.setEstado(false);
         repository.save(tipoCliente);
+        datosReferenciaService.invalidar();
     }
 }
@@ -14,6 +14,7 @@ import java.util.List;
 public class TipoDocumentoService {
 
     private final TipoDocumentoRepository repository;
+    private final DatosReferenciaService datosReferenciaService;
 
     public List<TipoDocumento> findByTipoProcesoId(Long tipoProcesoId) {
         // Filtrar solo documentos para clientes (excluir documentos de grupos de importación)
@@ -47,12 +48,15 @@ public class TipoDocumentoService {
             throw new IllegalArgumentException("Los documentos para clientes (grupos_importacion = false) requieren un tipo_proceso_id");
         }
         
-        return repository.save(tipoDocumento);
+        TipoDocumento guardado = repository.save(tipoDocumento);
+        datosReferenciaService.invalidar();
+        return guardado;
     }
 
     public void delete(Long id) {
         log.info("Eliminando tipo de documento con ID: {}", id);
         repository.deleteById(id);
+        datosReferenciaService.invalidar();
     }
 
     public List<TipoDocumento> findByGruposImportacion(Boolean gruposImportacion) {
@@ -14,6 +14,7 @@ import java.util.List;
 public class TipoIdentificacionService {
     
     private final TipoIdentificacionRepository repository;
+    private final DatosReferenciaService datosReferenciaService;
     
     public List<TipoIdentificacion> findAllActive() {
         return repository.findByEstado(true);
@@ -35,11 +36,14 @@ public class TipoIdentificacionService {
     
     public TipoIdentificacion save(TipoIdentificacion tipoIdentificacion) {
         log.info("Guardando tipo de identificación: {}", tipoIdentificacion.getNombre());
-        return repository.save(tipoIdentificacion);
+        TipoIdentificacion guardado = repository.save(tipoIdentificacion);
+        datosReferenciaService.invalidar();
+        return guardado;
     }
     
     public void delete(Long id) {
         log.info("Eliminando tipo de identificación con ID: {}", id);
         repository.deleteById(id);
+        datosReferenciaService.invalidar();
     }
 }
@@ -0,0 +1,74 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.config.CacheConfig;
+import com.armasimportacion.model.Rol;
+import com.armasimportacion.model.Usuario;
+import com.armasimportacion.repository.UsuarioRepository;
+import com.armasimportacion.security.UsuarioActual;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Cache por email de la instantánea {@link UsuarioActual} que usan el filtro JWT y
+ * {@code @CurrentUser}: una consulta (usuario + roles) por usuario cada TTL en lugar de
+ * una por petición. Vive en la cache usuario-actual de {@link CacheConfig} (política en
+ * app.cache.usuario-actual.spec); UsuarioService descarta el email del usuario que cambia.
+ */
+@Component
+@RequiredArgsConstructor
+public class UsuarioActualCache {
+
+    private final UsuarioRepository usuarioRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Usuario por email; vacío si no existe (los inexistentes no se guardan).
+     */
+    public Optional<UsuarioActual> obtener(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Cache cache = cache();
+        UsuarioActual enCache = cache.get(email, UsuarioActual.class);
+        if (enCache != null) {
+            return Optional.of(enCache);
+        }
+        Optional<UsuarioActual> usuario = usuarioRepository.findConRolesByEmail(email).map(this::aInstantanea);
+        usuario.ifPresent(u -> cache.put(email, u));
+        return usuario;
+    }
+
+    /**
+     * Descarta un usuario. Dentro de una transacción se aplica después del commit (gestor
+     * de caches transaccional).
+     */
+    public void evictar(String email) {
+        if (email != null) {
+            cache().evict(email);
+        }
+    }
+
+    /**
+     * Descarta todos los usuarios; para cambios que afectan a muchos, como editar un rol.
+     */
+    public void invalidar() {
+        cache().clear();
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.USUARIO_ACTUAL);
+    }
+
+    private UsuarioActual aInstantanea(Usuario usuario) {
+        return new UsuarioActual(
+                usuario.getId(),
+                usuario.getEmail(),
+                usuario.getNombreCompleto(),
+                usuario.getRoles().stream().map(Rol::getCodigo).collect(Collectors.toSet()));
+    }
+}
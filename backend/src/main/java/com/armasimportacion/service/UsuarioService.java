@@ -1,5 +1,7 @@
 package com.armasimportacion.service;
 
+import com.armasimportacion.config.CacheConfig;
+import com.armasimportacion.dto.PerfilUsuarioDTO;
 import com.armasimportacion.model.Rol;
 import com.armasimportacion.model.Usuario;
 import com.armasimportacion.repository.UsuarioRepository;
@@ -8,6 +10,9 @@ import com.armasimportacion.exception.ResourceNotFoundException;
 import com.armasimportacion.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,6 +31,9 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final RolRepository rolRepository;
+    private final MiembrosRolCache miembrosRolCache;
+    private final UsuarioActualCache usuarioActualCache;
+    private final CacheManager cacheManager;
 
     // ===== OPERACIONES CRUD =====
 
@@ -47,11 +55,24 @@ public class UsuarioService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con username: " + username));
     }
 
+    /**
+     * Entidad con sus roles y passwordHash, leída de la BD en cada llamada (login).
+     */
     public Usuario findByEmail(String email) {
-        return usuarioRepository.findByEmail(email)
+        return usuarioRepository.findConRolesByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con email: " + email));
     }
 
+    /**
+     * Perfil inmutable del usuario, sin passwordHash, cacheado por email. Las escrituras
+     * que cambian datos del perfil descartan solo ese email.
+     */
+    @Cacheable(cacheNames = CacheConfig.USUARIOS, key = "#email")
+    @Transactional(readOnly = true)
+    public PerfilUsuarioDTO obtenerPerfil(String email) {
+        return PerfilUsuarioDTO.de(findByEmail(email));
+    }
+
     public boolean existsByEmail(String email) {
         return usuarioRepository.findByEmail(email).isPresent();
     }
@@ -69,11 +90,13 @@ public class UsuarioService {
         usuario.setBloqueado(false);
         usuario.setFechaCreacion(LocalDateTime.now());
 
+        miembrosRolCache.invalidar();
         return usuarioRepository.save(usuario);
     }
 
     public Usuario update(Long id, Usuario usuarioUpdate) {
         Usuario usuario = findById(id);
+        evictarCache(usuario); // email anterior, por si cambia
         
         // Validaciones
         validateUsuarioForUpdate(usuarioUpdate, id);
@@ -93,6 +116,8 @@ public class UsuarioService {
             usuario.setPasswordHash(usuarioUpdate.getPasswordHash());
         }
 
+        evictarCache(usuario);
+        miembrosRolCache.invalidar();
         return usuarioRepository.save(usuario);
     }
 
@@ -102,6 +127,8 @@ public class UsuarioService {
         usuario.setBloqueado(false);
         usuario.setIntentosLogin(0);
         usuarioRepository.save(usuario);
+        evictarCache(usuario);
+        miembrosRolCache.invalidar();
     }
 
     // ===== GESTIÓN DE ROLES =====
@@ -111,12 +138,16 @@ public class UsuarioService {
         Set<Rol> roles = rolRepository.findAllById(roleIds).stream().collect(java.util.stream.Collectors.toSet());
         
         usuario.setRoles(roles);
+        evictarCache(usuario);
+        miembrosRolCache.invalidar();
         return usuarioRepository.save(usuario);
     }
 
     public Usuario removeRole(Long usuarioId, Long roleId) {
         Usuario usuario = findById(usuarioId);
         usuario.getRoles().removeIf(rol -> rol.getId().equals(roleId));
+        evictarCache(usuario);
+        miembrosRolCache.invalidar();
         return usuarioRepository.save(usuario);
     }
 
@@ -131,6 +162,8 @@ public class UsuarioService {
             usuario.setIntentosLogin(0);
         }
         
+        evictarCache(usuario);
+        miembrosRolCache.invalidar();
         return usuarioRepository.save(usuario);
     }
 
@@ -169,12 +202,40 @@ public class UsuarioService {
         }
     }
 
+    // Fuera de las caches (perfil e instantánea no incluyen ultimoLogin): no se descarta nada
     public void updateLastLogin(Long id) {
         Usuario usuario = findById(id);
         usuario.setUltimoLogin(LocalDateTime.now());
         usuarioRepository.save(usuario);
     }
 
+    /**
+     * Vacía las caches de usuarios (perfiles, usuario autenticado y miembros por rol); para
+     * cambios que afectan a muchos usuarios a la vez, como editar o eliminar un rol.
+     */
+    public void invalidarCache() {
+        Cache cache = cacheManager.getCache(CacheConfig.USUARIOS);
+        if (cache != null) {
+            cache.clear();
+        }
+        usuarioActualCache.invalidar();
+        miembrosRolCache.invalidar();
+        log.debug("Caches de usuarios invalidadas");
+    }
+
+    // Perfil e instantánea del usuario autenticado, por email. El evict se aplica tras el
+    // commit (gestor de caches transaccional)
+    private void evictarCache(Usuario usuario) {
+        if (usuario.getEmail() == null) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.USUARIOS);
+        if (cache != null) {
+            cache.evict(usuario.getEmail());
+        }
+        usuarioActualCache.evictar(usuario.getEmail());
+    }
+
     // ===== BÚSQUEDAS ESPECÍFICAS =====
 
     public List<Usuario> findVendedoresActivos() {
@@ -105,6 +105,20 @@ public class GestionDocumentosServiceHelper {
         return reciboPDFGenerator.generarYGuardar(cliente, pago, cuota);
     }
 
+    // Recibo en tres pasos (preparar y guardar con sesión, renderizar sin ella)
+
+    public ReciboPDFGenerator.ReciboPreparado prepararRecibo(Cliente cliente, Pago pago, CuotaPago cuota) {
+        return reciboPDFGenerator.preparar(cliente, pago, cuota);
+    }
+
+    public byte[] renderizarRecibo(ReciboPDFGenerator.ReciboPreparado preparado) {
+        return reciboPDFGenerator.renderizar(preparado);
+    }
+
+    public DocumentoGenerado guardarRecibo(Cliente cliente, ReciboPDFGenerator.ReciboPreparado preparado, byte[] pdfBytes) {
+        return reciboPDFGenerator.guardar(cliente, preparado, pdfBytes);
+    }
+
     /**
      * Valida que el cliente tenga todos los datos necesarios para generar un contrato
      */
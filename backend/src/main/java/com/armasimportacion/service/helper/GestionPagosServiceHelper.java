@@ -1,5 +1,7 @@
 package com.armasimportacion.service.helper;
 
+import com.armasimportacion.dto.CuotaClienteRequest;
+import com.armasimportacion.dto.PagoClienteRequest;
 import com.armasimportacion.exception.BadRequestException;
 import com.armasimportacion.model.Pago;
 import com.armasimportacion.model.CuotaPago;
@@ -8,6 +10,7 @@ import com.armasimportacion.repository.CuotaPagoRepository;
 import com.armasimportacion.enums.EstadoPago;
 import com.armasimportacion.enums.EstadoCuotaPago;
 import com.armasimportacion.enums.TipoPago;
+import com.armasimportacion.service.CarteraClienteService;
 import com.armasimportacion.service.ConfiguracionSistemaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,11 +37,12 @@ public class GestionPagosServiceHelper {
     private final PagoRepository pagoRepository;
     private final CuotaPagoRepository cuotaPagoRepository;
     private final ConfiguracionSistemaService configuracionService;
+    private final CarteraClienteService carteraClienteService;
 
     /**
      * Crea un pago completo con todos los datos necesarios
      */
-    public Pago crearPagoCompleto(Map<String, Object> pagoData, Long clienteId) {
+    public Pago crearPagoCompleto(PagoClienteRequest pagoData, List<CuotaClienteRequest> cuotasData, Long clienteId) {
         try {
             log.info("Creando pago completo para cliente ID: {}", clienteId);
             
@@ -53,7 +57,8 @@ public class GestionPagosServiceHelper {
                 pagoGuardado.getId(), pagoGuardado.getMontoTotal(), pagoGuardado.getTipoPago());
             
             // Crear cuotas: usar las específicas del frontend si están disponibles, sino automáticas
-            crearCuotasDesdeDatos(pagoGuardado, pagoData);
+            crearCuotasDesdeDatos(pagoGuardado, cuotasData);
+            carteraClienteService.recalcular(clienteId);
             
             return pagoGuardado;
             
@@ -83,30 +88,27 @@ public class GestionPagosServiceHelper {
         
         Pago pagoGuardado = pagoRepository.save(pago);
         log.info("Pago por defecto creado con ID: {}", pagoGuardado.getId());
+        carteraClienteService.recalcular(clienteId);
         return pagoGuardado;
     }
 
     /**
      * Construye un pago desde los datos del frontend
      */
-    private Pago construirPagoDesdeDatos(Map<String, Object> pagoData, Long clienteId) {
+    private Pago construirPagoDesdeDatos(PagoClienteRequest pagoData, Long clienteId) {
         // Obtener IVA dinámicamente desde configuración
         double ivaDecimal = obtenerIVADelSistema();
         
-        // Calcular montos con desglose
-        BigDecimal subtotal = pagoData.containsKey("subtotal") && pagoData.get("subtotal") != null
-            ? new BigDecimal(pagoData.get("subtotal").toString())
-            : null;
-            
         // El frontend envía "total", no "montoTotal"
-        BigDecimal montoTotal = pagoData.containsKey("total") 
-            ? new BigDecimal(pagoData.get("total").toString())
-            : new BigDecimal(pagoData.get("montoTotal").toString());
+        BigDecimal montoTotal = pagoData.totalInformado();
+        if (montoTotal == null) {
+            throw new BadRequestException("El pago no tiene monto total");
+        }
         
         // Si no viene subtotal, calcularlo desde el total
-        if (subtotal == null) {
-            subtotal = montoTotal.divide(BigDecimal.valueOf(1 + ivaDecimal), 2, java.math.RoundingMode.HALF_UP);
-        }
+        BigDecimal subtotal = pagoData.subtotal() != null
+            ? pagoData.subtotal()
+            : montoTotal.divide(BigDecimal.valueOf(1 + ivaDecimal), 2, java.math.RoundingMode.HALF_UP);
         
         BigDecimal montoIva = montoTotal.subtract(subtotal);
         
@@ -120,9 +122,8 @@ public class GestionPagosServiceHelper {
         log.info("Pago construido: subtotal={}, IVA={}, total={}", subtotal, montoIva, montoTotal);
         
         // Establecer tipo de pago desde los datos o usar valor por defecto
-        String tipoPagoRaw = Optional.ofNullable(pagoData.get("tipoPago"))
-            .map(Object::toString)
-            .or(() -> Optional.ofNullable(pagoData.get("metodoPagoCodigo")).map(Object::toString))
+        String tipoPagoRaw = Optional.ofNullable(pagoData.tipoPago())
+            .or(() -> Optional.ofNullable(pagoData.metodoPagoCodigo()))
             .orElse("CONTADO");
 
         // Normalizar: el frontend envía "CUOTAS", el backend usa CREDITO
@@ -134,9 +135,9 @@ public class GestionPagosServiceHelper {
         log.info("Tipo de pago normalizado: '{}' -> '{}'", tipoPagoRaw, tipoPagoEnum);
 
         // Establecer número de cuotas desde los datos o calcular basado en tipo de pago
-        Integer numeroCuotas = Optional.ofNullable(pagoData.get("numeroCuotas"))
-            .map(obj -> Integer.valueOf(obj.toString()))
-            .orElse(tipoPagoEnum == TipoPago.CONTADO ? 1 : getMaxCuotasConfig());
+        Integer numeroCuotas = pagoData.numeroCuotas() != null
+            ? pagoData.numeroCuotas()
+            : (tipoPagoEnum == TipoPago.CONTADO ? 1 : getMaxCuotasConfig());
         pago.setNumeroCuotas(numeroCuotas);
         
         // Calcular monto por cuota
@@ -144,22 +145,15 @@ public class GestionPagosServiceHelper {
         pago.setMontoCuota(montoCuota);
         
         // Establecer montos iniciales
-        BigDecimal montoPagado = Optional.ofNullable(pagoData.get("montoPagado"))
-            .map(obj -> new BigDecimal(obj.toString()))
-            .orElse(BigDecimal.ZERO);
+        BigDecimal montoPagado = pagoData.montoPagado() != null ? pagoData.montoPagado() : BigDecimal.ZERO;
         pago.setMontoPagado(montoPagado);
         pago.setMontoPendiente(montoTotal.subtract(montoPagado));
         
         // Establecer cuota actual
-        Integer cuotaActual = Optional.ofNullable(pagoData.get("cuotaActual"))
-            .map(obj -> Integer.valueOf(obj.toString()))
-            .orElse(1);
-        pago.setCuotaActual(cuotaActual);
+        pago.setCuotaActual(pagoData.cuotaActual() != null ? pagoData.cuotaActual() : 1);
         
         // Establecer estado desde los datos o usar valor por defecto
-        String estadoStr = Optional.ofNullable(pagoData.get("estado"))
-            .map(Object::toString)
-            .orElse("PENDIENTE");
+        String estadoStr = pagoData.estado() != null ? pagoData.estado() : "PENDIENTE";
         try {
             pago.setEstado(EstadoPago.valueOf(estadoStr));
         } catch (IllegalArgumentException e) {
@@ -172,7 +166,7 @@ public class GestionPagosServiceHelper {
     /**
      * Crea las cuotas usando los datos específicos del frontend o automáticamente
      */
-    public void crearCuotasDesdeDatos(Pago pago, Map<String, Object> pagoData) {
+    public void crearCuotasDesdeDatos(Pago pago, List<CuotaClienteRequest> cuotasData) {
         if (pago.getTipoPago() != TipoPago.CREDITO || pago.getNumeroCuotas() <= 1) {
             log.info("Pago no requiere cuotas: tipo={}, cuotas={}", 
                 pago.getTipoPago(), pago.getNumeroCuotas());
@@ -180,9 +174,6 @@ public class GestionPagosServiceHelper {
         }
         
         // Verificar si vienen cuotas específicas del frontend
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> cuotasData = (List<Map<String, Object>>) pagoData.get("cuotas");
-        
         if (cuotasData != null && !cuotasData.isEmpty()) {
             crearCuotasEspecificas(pago, cuotasData);
         } else {
@@ -195,35 +186,23 @@ public class GestionPagosServiceHelper {
     /**
      * Crea cuotas específicas desde los datos del frontend
      */
-    private void crearCuotasEspecificas(Pago pago, List<Map<String, Object>> cuotasData) {
-        for (Map<String, Object> cuotaData : cuotasData) {
-            try {
-                CuotaPago cuota = new CuotaPago();
-                cuota.setPago(pago);
-                
-                // Número de cuota
-                Integer numeroCuota = Integer.valueOf(cuotaData.get("numeroCuota").toString());
-                cuota.setNumeroCuota(numeroCuota);
-                
-                // Monto
-                BigDecimal monto = new BigDecimal(cuotaData.get("monto").toString());
-                cuota.setMonto(monto);
-                
-                // Fecha de vencimiento - el frontend envía "fechaVencimiento" no "fecha"
-                String fechaStr = cuotaData.get("fechaVencimiento").toString();
-                LocalDate fechaVencimiento = parsearFechaEcuador(fechaStr);
-                cuota.setFechaVencimiento(fechaVencimiento);
-                
-                cuota.setEstado(EstadoCuotaPago.PENDIENTE);
-                
-                cuotaPagoRepository.save(cuota);
-                log.info("Cuota {} creada desde frontend: monto={}, vencimiento={}", 
-                    numeroCuota, monto, fechaVencimiento);
-                    
-            } catch (Exception e) {
-                log.error("Error creando cuota específica: {}", e.getMessage(), e);
-                throw new BadRequestException("Error creando cuota específica", e);
+    private void crearCuotasEspecificas(Pago pago, List<CuotaClienteRequest> cuotasData) {
+        for (CuotaClienteRequest cuotaData : cuotasData) {
+            if (cuotaData.numeroCuota() == null || cuotaData.monto() == null || cuotaData.fechaVencimiento() == null) {
+                log.error("Cuota específica incompleta: {}", cuotaData);
+                throw new BadRequestException("Error creando cuota específica: faltan número, monto o fecha de vencimiento");
             }
+            CuotaPago cuota = new CuotaPago();
+            cuota.setPago(pago);
+            cuota.setNumeroCuota(cuotaData.numeroCuota());
+            cuota.setMonto(cuotaData.monto());
+            // La fecha llega ya como LocalDate, sin conversión de zona horaria
+            cuota.setFechaVencimiento(cuotaData.fechaVencimiento());
+            cuota.setEstado(EstadoCuotaPago.PENDIENTE);
+            
+            cuotaPagoRepository.save(cuota);
+            log.info("Cuota {} creada desde frontend: monto={}, vencimiento={}", 
+                cuotaData.numeroCuota(), cuotaData.monto(), cuotaData.fechaVencimiento());
         }
     }
     
@@ -278,26 +257,6 @@ public class GestionPagosServiceHelper {
         }
     }
 
-    /**
-     * Parsea una fecha string considerando la zona horaria de Ecuador (America/Guayaquil)
-     * Esto evita desfases de fechas causados por diferencias de zona horaria
-     */
-    private LocalDate parsearFechaEcuador(String fechaStr) {
-        try {
-            // Si la fecha viene con hora (ISO DateTime con 'T'), extraer solo YYYY-MM-DD
-            if (fechaStr.contains("T")) {
-                fechaStr = fechaStr.split("T")[0];
-            }
-            
-            // Parsear directamente como LocalDate (sin conversiones de timezone)
-            return LocalDate.parse(fechaStr);
-            
-        } catch (Exception e) {
-            log.error("Error parseando fecha '{}': {}", fechaStr, e.getMessage());
-            throw new BadRequestException("Error parseando fecha: " + fechaStr, e);
-        }
-    }
-
     /**
      * Valida que los datos de pago sean correctos
      */
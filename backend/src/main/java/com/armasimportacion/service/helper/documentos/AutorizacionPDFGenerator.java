@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Generador de autorizaciones de venta en PDF.
@@ -30,9 +31,16 @@ public class AutorizacionPDFGenerator {
         try {
             log.info("GENERANDO AUTORIZACIÓN DE VENTA PARA CLIENTE ID: {}", cliente.getId());
 
+            DocumentoPDFUtils.PlantillaProcesada plantilla = procesarPlantilla(cliente, clienteArma, numeroFactura, tramite);
+            Optional<DocumentoGenerado> vigente = utils.buscarVigente(
+                cliente.getId(), TipoDocumentoGenerado.AUTORIZACION, plantilla);
+            if (vigente.isPresent()) {
+                return vigente.get();
+            }
+
             utils.eliminarDocumentosAnterioresDelTipo(cliente.getId(), TipoDocumentoGenerado.AUTORIZACION);
 
-            byte[] pdfBytes = generarPDF(cliente, clienteArma, numeroFactura, tramite);
+            byte[] pdfBytes = utils.renderizarPdf(plantilla);
             log.info("DEBUG: PDF autorización generado, tamaño: {} bytes", pdfBytes.length);
 
             String nombreArchivo = generarNombreArchivo(cliente);
@@ -40,6 +48,7 @@ public class AutorizacionPDFGenerator {
                 cliente.getNumeroIdentificacion(), pdfBytes, nombreArchivo);
 
             DocumentoGenerado documento = crearDocumentoAutorizacion(cliente, nombreArchivo, rutaArchivo, pdfBytes);
+            utils.registrarHuella(documento, plantilla);
             DocumentoGenerado documentoGuardado = utils.guardarDocumento(documento);
 
             log.info("Autorización generada y guardada con ID: {}, archivo: {}",
@@ -53,9 +62,9 @@ public class AutorizacionPDFGenerator {
         }
     }
 
-    private byte[] generarPDF(Cliente cliente, ClienteArma clienteArma,
-                              String numeroFactura, String tramite) throws Exception {
-        log.info("Generando PDF de autorización con Flying Saucer para cliente: {}", cliente.getNombres());
+    private DocumentoPDFUtils.PlantillaProcesada procesarPlantilla(Cliente cliente, ClienteArma clienteArma,
+                                                                   String numeroFactura, String tramite) throws Exception {
+        log.info("Preparando autorización para cliente: {}", cliente.getNombres());
 
         try {
             String ultimos4Numeros = "0000";
@@ -128,13 +137,10 @@ public class AutorizacionPDFGenerator {
             log.info("Variables preparadas para template de autorización: cliente={}, arma={}, factura={}, tramite={}",
                 cliente.getNombres(), clienteArma.getArma().getModelo(), numeroFactura, tramite);
 
-            byte[] pdfBytes = utils.generarPdf("autorizaciones/autorizacion_venta", variables);
-
-            log.info("PDF de autorización generado exitosamente, tamaño: {} bytes", pdfBytes.length);
-            return pdfBytes;
+            return utils.procesarTemplate("autorizaciones/autorizacion_venta", variables);
 
         } catch (Exception e) {
-            log.error("Error generando PDF de autorización: {}", e.getMessage(), e);
+            log.error("Error preparando autorización: {}", e.getMessage(), e);
             throw e;
         }
     }
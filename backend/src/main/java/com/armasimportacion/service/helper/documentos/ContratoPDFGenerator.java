@@ -17,6 +17,7 @@ import com.armasimportacion.exception.ResourceNotFoundException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Generador de contratos de compraventa en PDF.
@@ -39,10 +40,17 @@ public class ContratoPDFGenerator {
             log.info("GENERANDO CONTRATO CON FLYING SAUCER PARA CLIENTE ID: {}", cliente.getId());
             log.info("DEBUG: Cliente nombres: {}, apellidos: {}", cliente.getNombres(), cliente.getApellidos());
 
+            DocumentoPDFUtils.PlantillaProcesada plantilla = procesarPlantilla(cliente, pago);
+            Optional<DocumentoGenerado> vigente = utils.buscarVigente(
+                cliente.getId(), TipoDocumentoGenerado.CONTRATO, plantilla);
+            if (vigente.isPresent()) {
+                return vigente.get();
+            }
+
             utils.eliminarDocumentosAnterioresDelTipo(cliente.getId(), TipoDocumentoGenerado.CONTRATO);
 
             log.info("Generando PDF profesional con Flying Saucer + Thymeleaf");
-            byte[] pdfBytes = generarPDF(cliente, pago);
+            byte[] pdfBytes = utils.renderizarPdf(plantilla);
             log.info("DEBUG: PDF profesional generado con Flying Saucer, tamaño: {} bytes", pdfBytes.length);
 
             String nombreArchivo = generarNombreArchivo(cliente);
@@ -51,6 +59,7 @@ public class ContratoPDFGenerator {
                 cliente.getNumeroIdentificacion(), pdfBytes, nombreArchivo);
 
             DocumentoGenerado documento = utils.crearDocumentoGenerado(cliente, pago, nombreArchivo, rutaArchivo, pdfBytes, TipoDocumentoGenerado.CONTRATO);
+            utils.registrarHuella(documento, plantilla);
             DocumentoGenerado documentoGuardado = utils.guardarDocumento(documento);
 
             log.info("Contrato generado y guardado con ID: {}, archivo: {}",
@@ -64,8 +73,8 @@ public class ContratoPDFGenerator {
         }
     }
 
-    private byte[] generarPDF(Cliente cliente, Pago pago) throws Exception {
-        log.info("Generando PDF con Flying Saucer para cliente: {}", cliente.getNombres());
+    private DocumentoPDFUtils.PlantillaProcesada procesarPlantilla(Cliente cliente, Pago pago) throws Exception {
+        log.info("Preparando contrato para cliente: {}", cliente.getNombres());
 
         try {
             List<ClienteArma> armasCliente = clienteArmaRepository.findActiveByClienteIdWithArmaAndCategoria(cliente.getId());
@@ -189,13 +198,10 @@ public class ContratoPDFGenerator {
             String nombreTemplate = determinarTemplateContrato(cliente);
             log.info("Usando template: {}", nombreTemplate);
 
-            byte[] pdfBytes = utils.generarPdf(nombreTemplate, variables);
-
-            log.info("PDF generado exitosamente con Flying Saucer, tamaño: {} bytes", pdfBytes.length);
-            return pdfBytes;
+            return utils.procesarTemplate(nombreTemplate, variables);
 
         } catch (Exception e) {
-            log.error("Error generando PDF con Flying Saucer: {}", e.getMessage(), e);
+            log.error("Error preparando contrato: {}", e.getMessage(), e);
             throw e;
         }
     }
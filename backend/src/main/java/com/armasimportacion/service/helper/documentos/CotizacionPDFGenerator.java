@@ -18,6 +18,7 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Generador de cotizaciones en PDF.
@@ -39,11 +40,18 @@ public class CotizacionPDFGenerator {
         try {
             log.info("GENERANDO COTIZACIÓN PARA CLIENTE ID: {}", cliente.getId());
 
+            // Si la cotización vigente se generó con los mismos datos, se reutiliza con su número
+            Optional<DocumentoGenerado> vigente = buscarCotizacionVigente(cliente, pago);
+            if (vigente.isPresent()) {
+                return vigente.get();
+            }
+
             String numeroCotizacion = determinarNumeroCotizacion(cliente);
+            DocumentoPDFUtils.PlantillaProcesada plantilla = procesarPlantilla(cliente, pago, numeroCotizacion);
 
             utils.eliminarDocumentosAnterioresDelTipo(cliente.getId(), TipoDocumentoGenerado.COTIZACION);
 
-            byte[] pdfBytes = generarPDF(cliente, pago, numeroCotizacion);
+            byte[] pdfBytes = utils.renderizarPdf(plantilla);
             log.info("DEBUG: PDF de cotización generado, tamaño: {} bytes", pdfBytes.length);
 
             String nombreArchivo = generarNombreArchivo(cliente);
@@ -53,6 +61,7 @@ public class CotizacionPDFGenerator {
 
             DocumentoGenerado documento = utils.crearDocumentoGenerado(cliente, pago, nombreArchivo, rutaArchivo, pdfBytes, TipoDocumentoGenerado.COTIZACION);
             documento.setNombre(numeroCotizacion);
+            utils.registrarHuella(documento, plantilla);
             DocumentoGenerado documentoGuardado = utils.guardarDocumento(documento);
 
             log.info("Cotización generada y guardada con ID: {}, archivo: {}",
@@ -66,6 +75,27 @@ public class CotizacionPDFGenerator {
         }
     }
 
+    /**
+     * El número de cotización forma parte del PDF, así que la huella se compara procesando
+     * el template con el número de la cotización anterior.
+     */
+    private Optional<DocumentoGenerado> buscarCotizacionVigente(Cliente cliente, Pago pago) throws Exception {
+        List<DocumentoGenerado> anteriores = documentoGeneradoRepository
+            .findByClienteIdAndTipo(cliente.getId(), TipoDocumentoGenerado.COTIZACION);
+        for (DocumentoGenerado anterior : anteriores) {
+            if (anterior.getHuella() == null || anterior.getNombre() == null) {
+                continue;
+            }
+            DocumentoPDFUtils.PlantillaProcesada plantilla = procesarPlantilla(cliente, pago, anterior.getNombre());
+            if (plantilla.huella().equals(anterior.getHuella()) && utils.archivoExiste(anterior)) {
+                log.info("Cotización {} sin cambios para cliente ID {}: se reutiliza sin renderizar",
+                    anterior.getNombre(), cliente.getId());
+                return Optional.of(anterior);
+            }
+        }
+        return Optional.empty();
+    }
+
     private String determinarNumeroCotizacion(Cliente cliente) {
         int year = java.time.LocalDate.now().getYear();
         String iniciales = utils.obtenerInicialesImportador(cliente);
@@ -93,8 +123,9 @@ public class CotizacionPDFGenerator {
         return numeroCotizacion;
     }
 
-    private byte[] generarPDF(Cliente cliente, Pago pago, String numeroCotizacion) throws Exception {
-        log.info("Generando PDF de Cotización con Flying Saucer para cliente: {}", cliente.getNombres());
+    private DocumentoPDFUtils.PlantillaProcesada procesarPlantilla(Cliente cliente, Pago pago,
+                                                                   String numeroCotizacion) throws Exception {
+        log.info("Preparando cotización {} para cliente: {}", numeroCotizacion, cliente.getNombres());
 
         try {
             List<ClienteArma> armasCliente = clienteArmaRepository.findActiveByClienteIdWithArmaAndCategoria(cliente.getId());
@@ -199,13 +230,10 @@ public class CotizacionPDFGenerator {
             String nombreTemplate = utils.determinarTemplateUniformado(cliente, "cotizacion");
             log.info("Usando template de cotización: {}", nombreTemplate);
 
-            byte[] pdfBytes = utils.generarPdf(nombreTemplate, variables);
-
-            log.info("PDF de cotización generado exitosamente, tamaño: {} bytes", pdfBytes.length);
-            return pdfBytes;
+            return utils.procesarTemplate(nombreTemplate, variables);
 
         } catch (Exception e) {
-            log.error("Error generando PDF de cotización: {}", e.getMessage(), e);
+            log.error("Error preparando cotización: {}", e.getMessage(), e);
             throw e;
         }
     }
@@ -12,15 +12,22 @@ import com.armasimportacion.service.NumberToTextService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Utilidades compartidas para la generación de documentos PDF.
@@ -31,6 +38,12 @@ import java.util.Map;
 @Slf4j
 public class DocumentoPDFUtils {
 
+    /**
+     * Template ya procesado a HTML, con la huella que identifica el PDF resultante
+     */
+    public record PlantillaProcesada(String nombreTemplate, String html, String huella) {
+    }
+
     private final DocumentoGeneradoRepository documentoGeneradoRepository;
     private final UsuarioRepository usuarioRepository;
     private final ClienteGrupoImportacionRepository clienteGrupoImportacionRepository;
@@ -40,6 +53,11 @@ public class DocumentoPDFUtils {
     @Getter
     private final NumberToTextService numberToTextService;
 
+    // Subir al desplegar cambios en los templates: invalida todas las huellas anteriores
+    @Getter
+    @Value("${app.documentos.version-templates:1}")
+    private String versionTemplates;
+
     // ======================== Fecha formatting ========================
 
     public String obtenerFechaActualFormateada() {
@@ -353,12 +371,74 @@ public class DocumentoPDFUtils {
         return documento;
     }
 
-    // ======================== Delegate methods ========================
+    // ======================== Huella / reutilización ========================
+
+    /**
+     * Procesa el template a HTML y calcula su huella. El HTML ya contiene todos los datos
+     * que llegan al PDF (cliente, pago, armas, fecha), así que dos huellas iguales producen
+     * el mismo documento.
+     */
+    public PlantillaProcesada procesarTemplate(String nombreTemplate, Map<String, Object> variables) {
+        String html = flyingSaucerPdfService.procesarTemplate(nombreTemplate, variables);
+        return new PlantillaProcesada(nombreTemplate, html, calcularHuella(nombreTemplate, html));
+    }
+
+    public byte[] renderizarPdf(PlantillaProcesada plantilla) {
+        return flyingSaucerPdfService.generarPdfDesdeHtml(plantilla.html());
+    }
+
+    /**
+     * Documento ya generado con la misma huella cuyo archivo sigue en disco.
+     */
+    public Optional<DocumentoGenerado> buscarVigente(Long clienteId, TipoDocumentoGenerado tipoDocumento,
+                                                     PlantillaProcesada plantilla) {
+        for (DocumentoGenerado documento : documentoGeneradoRepository
+                .findByClienteIdAndTipoAndHuella(clienteId, tipoDocumento, plantilla.huella())) {
+            if (archivoExiste(documento)) {
+                log.info("Documento {} sin cambios para cliente ID {}: se reutiliza ID={} sin renderizar",
+                    tipoDocumento, clienteId, documento.getId());
+                return Optional.of(documento);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean archivoExiste(DocumentoGenerado documento) {
+        if (documento.getRutaArchivo() == null || documento.getNombreArchivo() == null) {
+            return false;
+        }
+        return new File(construirRutaCompletaDocumentoGenerado(
+            documento.getRutaArchivo(), documento.getNombreArchivo())).isFile();
+    }
+
+    public void registrarHuella(DocumentoGenerado documento, PlantillaProcesada plantilla) {
+        documento.setHuella(plantilla.huella());
+        documento.setVersionTemplate(versionTemplates);
+    }
 
-    public byte[] generarPdf(String nombreTemplate, Map<String, Object> variables) throws Exception {
-        return flyingSaucerPdfService.generarPdfDesdeTemplate(nombreTemplate, variables);
+    /**
+     * Quita la huella a los documentos generados con esa versión de templates, para que
+     * la próxima generación los vuelva a renderizar.
+     */
+    @Transactional
+    public int invalidarHuellasPorVersionTemplate(String versionTemplate) {
+        int invalidados = documentoGeneradoRepository.invalidarHuellasPorVersionTemplate(versionTemplate);
+        log.info("Huellas invalidadas para la versión de templates {}: {} documento(s)", versionTemplate, invalidados);
+        return invalidados;
     }
 
+    private String calcularHuella(String nombreTemplate, String html) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((versionTemplates + "\n" + nombreTemplate + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(html.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // ======================== Delegate methods ========================
+
     public String guardarArchivo(String cedula, byte[] pdfBytes, String nombreArchivo) throws java.io.IOException {
         return fileStorageService.guardarDocumentoGeneradoCliente(cedula, pdfBytes, nombreArchivo);
     }
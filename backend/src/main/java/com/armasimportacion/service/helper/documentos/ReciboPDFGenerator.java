@@ -17,6 +17,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Generador de recibos de pago de cuotas en PDF.
@@ -35,38 +36,88 @@ public class ReciboPDFGenerator {
     private final ConfiguracionSistemaService configuracionService;
     private final NumberToTextService numberToTextService;
 
+    /**
+     * Datos del recibo resueltos con la sesión abierta (plantilla ya procesada, nombre del
+     * archivo y documento vigente si la huella no cambió). No referencia entidades, así que
+     * se puede renderizar después de cerrar la transacción.
+     */
+    public record ReciboPreparado(Long cuotaId, Long clienteId, String identificacionCliente,
+                                  Integer numeroCuota, DocumentoPDFUtils.PlantillaProcesada plantilla,
+                                  String nombreArchivo, DocumentoGenerado vigente) {
+    }
+
     public DocumentoGenerado generarYGuardar(Cliente cliente, Pago pago, CuotaPago cuota) {
+        ReciboPreparado preparado = preparar(cliente, pago, cuota);
+        if (preparado.vigente() != null) {
+            return preparado.vigente();
+        }
+        return guardar(cliente, preparado, renderizar(preparado));
+    }
+
+    /**
+     * Lee los datos del recibo y procesa el template. Requiere la sesión abierta.
+     */
+    public ReciboPreparado preparar(Cliente cliente, Pago pago, CuotaPago cuota) {
         try {
             log.info("GENERANDO RECIBO CON FLYING SAUCER PARA CUOTA ID: {}", cuota.getId());
 
-            // Eliminar recibo anterior de la misma cuota para evitar duplicados
-            String nombreRecibo = "Recibo de Pago - Cuota #" + cuota.getNumeroCuota();
-            utils.eliminarDocumentoAnteriorPorNombre(cliente.getId(), TipoDocumentoGenerado.RECIBO, nombreRecibo);
+            DocumentoPDFUtils.PlantillaProcesada plantilla = procesarPlantilla(cliente, pago, cuota);
+            Optional<DocumentoGenerado> vigente = utils.buscarVigente(
+                cliente.getId(), TipoDocumentoGenerado.RECIBO, plantilla);
+
+            return new ReciboPreparado(cuota.getId(), cliente.getId(), cliente.getNumeroIdentificacion(),
+                cuota.getNumeroCuota(), plantilla, generarNombreArchivo(cliente, cuota), vigente.orElse(null));
+        } catch (Exception e) {
+            log.error("Error generando recibo para cuota ID: {}: {}", cuota.getId(), e.getMessage(), e);
+            throw new DocumentGenerationException("Error generando recibo", e);
+        }
+    }
 
-            byte[] pdfBytes = generarPDF(cliente, pago, cuota);
+    /**
+     * Render con Flying Saucer. No toca la BD: se puede llamar fuera de toda transacción.
+     */
+    public byte[] renderizar(ReciboPreparado preparado) {
+        try {
+            byte[] pdfBytes = utils.renderizarPdf(preparado.plantilla());
             log.info("PDF de recibo generado con Flying Saucer, tamaño: {} bytes", pdfBytes.length);
+            return pdfBytes;
+        } catch (Exception e) {
+            log.error("Error generando recibo para cuota ID: {}: {}", preparado.cuotaId(), e.getMessage(), e);
+            throw new DocumentGenerationException("Error generando recibo", e);
+        }
+    }
 
-            String nombreArchivo = generarNombreArchivo(cliente, cuota);
+    /**
+     * Reemplaza el recibo anterior de la cuota (registro y archivo) por el PDF renderizado.
+     * El anterior se elimina antes de escribir el nuevo porque pueden tener el mismo nombre.
+     */
+    public DocumentoGenerado guardar(Cliente cliente, ReciboPreparado preparado, byte[] pdfBytes) {
+        try {
+            // Eliminar recibo anterior de la misma cuota para evitar duplicados
+            String nombreRecibo = "Recibo de Pago - Cuota #" + preparado.numeroCuota();
+            utils.eliminarDocumentoAnteriorPorNombre(preparado.clienteId(), TipoDocumentoGenerado.RECIBO, nombreRecibo);
 
             String rutaArchivo = utils.guardarArchivo(
-                cliente.getNumeroIdentificacion(), pdfBytes, nombreArchivo);
+                preparado.identificacionCliente(), pdfBytes, preparado.nombreArchivo());
 
-            DocumentoGenerado documento = crearDocumentoRecibo(cliente, pago, cuota, nombreArchivo, rutaArchivo, pdfBytes);
+            DocumentoGenerado documento = crearDocumentoRecibo(cliente, preparado.numeroCuota(),
+                preparado.nombreArchivo(), rutaArchivo, pdfBytes);
+            utils.registrarHuella(documento, preparado.plantilla());
             DocumentoGenerado documentoGuardado = utils.guardarDocumento(documento);
 
             log.info("Recibo generado y guardado con ID: {}, archivo: {}",
-                documentoGuardado.getId(), nombreArchivo);
+                documentoGuardado.getId(), preparado.nombreArchivo());
 
             return documentoGuardado;
 
         } catch (Exception e) {
-            log.error("Error generando recibo para cuota ID: {}: {}", cuota.getId(), e.getMessage(), e);
+            log.error("Error generando recibo para cuota ID: {}: {}", preparado.cuotaId(), e.getMessage(), e);
             throw new DocumentGenerationException("Error generando recibo", e);
         }
     }
 
-    private byte[] generarPDF(Cliente cliente, Pago pago, CuotaPago cuota) throws Exception {
-        log.info("Generando PDF de recibo con Flying Saucer para cuota: {}", cuota.getNumeroCuota());
+    private DocumentoPDFUtils.PlantillaProcesada procesarPlantilla(Cliente cliente, Pago pago, CuotaPago cuota) throws Exception {
+        log.info("Preparando recibo para cuota: {}", cuota.getNumeroCuota());
 
         try {
             List<ClienteArma> armasCliente = clienteArmaRepository.findActiveByClienteIdWithArmaAndCategoria(cliente.getId());
@@ -170,13 +221,10 @@ public class ReciboPDFGenerator {
                 variables.put("montoEnLetras", "");
             }
 
-            byte[] pdfBytes = utils.generarPdf("recibo-cuota-pago", variables);
-
-            log.info("PDF de recibo generado exitosamente con Flying Saucer, tamaño: {} bytes", pdfBytes.length);
-            return pdfBytes;
+            return utils.procesarTemplate("recibo-cuota-pago", variables);
 
         } catch (Exception e) {
-            log.error("Error generando PDF de recibo con Flying Saucer: {}", e.getMessage(), e);
+            log.error("Error preparando recibo: {}", e.getMessage(), e);
             throw e;
         }
     }
@@ -193,11 +241,11 @@ public class ReciboPDFGenerator {
             cliente.getNumeroIdentificacion(), fecha);
     }
 
-    private DocumentoGenerado crearDocumentoRecibo(Cliente cliente, Pago pago, CuotaPago cuota,
+    private DocumentoGenerado crearDocumentoRecibo(Cliente cliente, Integer numeroCuota,
                                                     String nombreArchivo, String rutaArchivo, byte[] pdfBytes) {
-        DocumentoGenerado documento = utils.crearDocumentoGenerado(cliente, pago, nombreArchivo, rutaArchivo, pdfBytes, TipoDocumentoGenerado.RECIBO);
-        documento.setNombre("Recibo de Pago - Cuota #" + cuota.getNumeroCuota());
-        documento.setDescripcion("Recibo generado automáticamente para el pago de cuota #" + cuota.getNumeroCuota());
+        DocumentoGenerado documento = utils.crearDocumentoGenerado(cliente, null, nombreArchivo, rutaArchivo, pdfBytes, TipoDocumentoGenerado.RECIBO);
+        documento.setNombre("Recibo de Pago - Cuota #" + numeroCuota);
+        documento.setDescripcion("Recibo generado automáticamente para el pago de cuota #" + numeroCuota);
         return documento;
     }
 }
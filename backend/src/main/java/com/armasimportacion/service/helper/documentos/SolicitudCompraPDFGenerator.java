@@ -13,6 +13,7 @@ import com.armasimportacion.exception.ResourceNotFoundException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Generador de solicitudes de compra en PDF.
@@ -31,9 +32,16 @@ public class SolicitudCompraPDFGenerator {
         try {
             log.info("GENERANDO SOLICITUD DE COMPRA PARA CLIENTE ID: {}", cliente.getId());
 
+            DocumentoPDFUtils.PlantillaProcesada plantilla = procesarPlantilla(cliente, pago);
+            Optional<DocumentoGenerado> vigente = utils.buscarVigente(
+                cliente.getId(), TipoDocumentoGenerado.SOLICITUD_COMPRA, plantilla);
+            if (vigente.isPresent()) {
+                return vigente.get();
+            }
+
             utils.eliminarDocumentosAnterioresDelTipo(cliente.getId(), TipoDocumentoGenerado.SOLICITUD_COMPRA);
 
-            byte[] pdfBytes = generarPDF(cliente, pago);
+            byte[] pdfBytes = utils.renderizarPdf(plantilla);
             log.info("DEBUG: PDF de solicitud de compra generado, tamaño: {} bytes", pdfBytes.length);
 
             String nombreArchivo = generarNombreArchivo(cliente);
@@ -42,6 +50,7 @@ public class SolicitudCompraPDFGenerator {
                 cliente.getNumeroIdentificacion(), pdfBytes, nombreArchivo);
 
             DocumentoGenerado documento = utils.crearDocumentoGenerado(cliente, pago, nombreArchivo, rutaArchivo, pdfBytes, TipoDocumentoGenerado.SOLICITUD_COMPRA);
+            utils.registrarHuella(documento, plantilla);
             DocumentoGenerado documentoGuardado = utils.guardarDocumento(documento);
 
             log.info("Solicitud de compra generada y guardada con ID: {}, archivo: {}",
@@ -55,8 +64,8 @@ public class SolicitudCompraPDFGenerator {
         }
     }
 
-    private byte[] generarPDF(Cliente cliente, Pago pago) throws Exception {
-        log.info("Generando PDF de Solicitud de Compra con Flying Saucer para cliente: {}", cliente.getNombres());
+    private DocumentoPDFUtils.PlantillaProcesada procesarPlantilla(Cliente cliente, Pago pago) throws Exception {
+        log.info("Preparando solicitud de compra para cliente: {}", cliente.getNombres());
 
         try {
             List<ClienteArma> armasCliente = clienteArmaRepository.findActiveByClienteIdWithArmaAndCategoria(cliente.getId());
@@ -122,13 +131,10 @@ public class SolicitudCompraPDFGenerator {
             }
             log.info("Usando template de solicitud: {}", nombreTemplate);
 
-            byte[] pdfBytes = utils.generarPdf(nombreTemplate, variables);
-
-            log.info("PDF de solicitud de compra generado exitosamente, tamaño: {} bytes", pdfBytes.length);
-            return pdfBytes;
+            return utils.procesarTemplate(nombreTemplate, variables);
 
         } catch (Exception e) {
-            log.error("Error generando PDF de solicitud de compra: {}", e.getMessage(), e);
+            log.error("Error preparando solicitud de compra: {}", e.getMessage(), e);
             throw e;
         }
     }
@@ -0,0 +1,95 @@
+package com.armasimportacion.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Buffer circular acotado sin bloqueos: muchos productores y un solo consumidor.
+ *
+ * Cada celda lleva un número de secuencia que dice si está libre para el productor de esa
+ * vuelta o lista para el consumidor; los productores se reservan la celda con un CAS sobre
+ * la posición de escritura, sin locks ni asignaciones por elemento. Con el buffer lleno,
+ * ofrecer() devuelve false de inmediato y el llamador decide qué hacer con el elemento.
+ */
+public class AnilloConcurrente<T> {
+
+    private final int mascara;
+    private final AtomicReferenceArray<T> elementos;
+    private final AtomicLongArray secuencias;
+    private final AtomicLong escritura = new AtomicLong();
+    private final AtomicLong lectura = new AtomicLong();
+
+    /**
+     * @param capacidad se redondea a la siguiente potencia de dos
+     */
+    public AnilloConcurrente(int capacidad) {
+        int tamanio = Integer.highestOneBit(Math.max(2, capacidad) - 1) << 1;
+        this.mascara = tamanio - 1;
+        this.elementos = new AtomicReferenceArray<>(tamanio);
+        this.secuencias = new AtomicLongArray(tamanio);
+        for (int i = 0; i < tamanio; i++) {
+            secuencias.set(i, i);
+        }
+    }
+
+    public boolean ofrecer(T elemento) {
+        long posicion = escritura.get();
+        while (true) {
+            int indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (escritura.compareAndSet(posicion, posicion + 1)) {
+                    elementos.lazySet(indice, elemento);
+                    // Publica el elemento: el consumidor lo ve al leer la secuencia
+                    secuencias.set(indice, posicion + 1);
+                    return true;
+                }
+                posicion = escritura.get();
+            } else if (diferencia < 0) {
+                // La celda aún tiene un elemento de la vuelta anterior sin consumir
+                return false;
+            } else {
+                posicion = escritura.get();
+            }
+        }
+    }
+
+    /**
+     * Entrega al destino hasta maximo elementos en orden de llegada. Solo debe llamarlo un
+     * hilo a la vez.
+     *
+     * @return cuántos elementos se entregaron
+     */
+    public int drenar(Consumer<? super T> destino, int maximo) {
+        long posicion = lectura.get();
+        int entregados = 0;
+        while (entregados < maximo) {
+            int indice = (int) (posicion & mascara);
+            if (secuencias.get(indice) != posicion + 1) {
+                // Vacío, o un productor reservó la celda y todavía no la publicó
+                break;
+            }
+            T elemento = elementos.get(indice);
+            elementos.lazySet(indice, null);
+            secuencias.set(indice, posicion + mascara + 1);
+            posicion++;
+            lectura.lazySet(posicion);
+            entregados++;
+            destino.accept(elemento);
+        }
+        return entregados;
+    }
+
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+
+    /**
+     * Elementos pendientes (aproximado con productores concurrentes)
+     */
+    public int tamanio() {
+        return (int) Math.max(0, Math.min(escritura.get() - lectura.get(), mascara + 1L));
+    }
+}
@@ -0,0 +1,95 @@
+package com.armasimportacion.util;
+
+import com.armasimportacion.exception.ServiceBusyException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limita cuántos hilos usan a la vez un recurso escaso (pool JDBC, render de PDF, SMTP).
+ * Con hilos virtuales el número de peticiones concurrentes deja de estar acotado por
+ * el pool de Tomcat, así que el límite se traslada a cada recurso compartido.
+ * Con permisos <= 0 el limitador no restringe nada (modo clásico).
+ */
+public class ConcurrencyLimiter {
+
+    private final String nombre;
+    private final int permisos;
+    private final long timeoutMs;
+    private final Semaphore semaforo;
+
+    public ConcurrencyLimiter(String nombre, int permisos, long timeoutMs) {
+        this.nombre = nombre;
+        this.permisos = permisos;
+        this.timeoutMs = timeoutMs;
+        this.semaforo = permisos > 0 ? new Semaphore(permisos, true) : null;
+    }
+
+    public static ConcurrencyLimiter sinLimite(String nombre) {
+        return new ConcurrencyLimiter(nombre, 0, 0);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public boolean isActivo() {
+        return semaforo != null;
+    }
+
+    public int getPermisos() {
+        return permisos;
+    }
+
+    public int getPermisosDisponibles() {
+        return semaforo != null ? semaforo.availablePermits() : 0;
+    }
+
+    public int getHilosEnEspera() {
+        return semaforo != null ? semaforo.getQueueLength() : 0;
+    }
+
+    /**
+     * Intenta obtener un permiso esperando como máximo el timeout configurado.
+     * Devuelve false si el recurso sigue saturado al vencer el plazo.
+     */
+    public boolean adquirir() {
+        if (semaforo == null) {
+            return true;
+        }
+        try {
+            return semaforo.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void liberar() {
+        if (semaforo != null) {
+            semaforo.release();
+        }
+    }
+
+    /**
+     * Ejecuta la operación con un permiso; lanza ServiceBusyException si no se obtiene a tiempo.
+     */
+    public <T> T ejecutar(Supplier<T> operacion) {
+        if (!adquirir()) {
+            throw new ServiceBusyException("Recurso saturado (" + nombre + "), intente nuevamente en unos segundos");
+        }
+        try {
+            return operacion.get();
+        } finally {
+            liberar();
+        }
+    }
+
+    public void ejecutar(Runnable operacion) {
+        ejecutar(() -> {
+            operacion.run();
+            return null;
+        });
+    }
+}
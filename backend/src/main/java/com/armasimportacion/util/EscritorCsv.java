@@ -0,0 +1,80 @@
+package com.armasimportacion.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+
+/**
+ * Escribe records como filas CSV (RFC 4180), una a una, sobre un Writer.
+ *
+ * Las columnas son los componentes del record, en orden, y la cabecera sus nombres.
+ * Los textos que empiezan con =, +, - o @ se prefijan con ' para que Excel no los
+ * interprete como fórmulas.
+ */
+public class EscritorCsv<T extends Record> {
+
+    private final Writer salida;
+    private final Method[] accesores;
+
+    public EscritorCsv(Class<T> tipo, Writer salida) throws IOException {
+        this.salida = salida;
+        RecordComponent[] componentes = tipo.getRecordComponents();
+        this.accesores = new Method[componentes.length];
+        for (int i = 0; i < componentes.length; i++) {
+            accesores[i] = componentes[i].getAccessor();
+            if (i > 0) {
+                salida.write(',');
+            }
+            salida.write(componentes[i].getName());
+        }
+        salida.write("\r\n");
+    }
+
+    public void escribir(T fila) throws IOException {
+        for (int i = 0; i < accesores.length; i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            escribirCampo(valor(fila, accesores[i]));
+        }
+        salida.write("\r\n");
+    }
+
+    private void escribirCampo(Object valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor instanceof BigDecimal numero) {
+            salida.write(numero.toPlainString());
+            return;
+        }
+        if (!(valor instanceof String texto)) {
+            salida.write(valor.toString());
+            return;
+        }
+        boolean formula = !texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0;
+        boolean comillas = formula || texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0
+                || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0;
+        if (!comillas) {
+            salida.write(texto);
+            return;
+        }
+        salida.write('"');
+        if (formula) {
+            salida.write('\'');
+        }
+        salida.write(texto.replace("\"", "\"\""));
+        salida.write('"');
+    }
+
+    private static Object valor(Record fila, Method accesor) {
+        try {
+            return accesor.invoke(fila);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("No se pudo leer " + accesor.getName() + " de " + fila.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.armasimportacion.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+
+/**
+ * LocalDate en los formatos que envía el frontend: yyyy-MM-dd, fecha ISO con hora
+ * (se toma solo la fecha, sin convertir zona horaria), d/M/yyyy, d-M-yyyy y yyyyMMdd.
+ *
+ * El formato se elige mirando los separadores, sin expresiones regulares, y los
+ * formateadores se crean una sola vez. Fechas imposibles (31/02) se rechazan.
+ */
+public class FechaFlexibleDeserializer extends StdScalarDeserializer<LocalDate> {
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter DIA_MES_ANIO_BARRA = DateTimeFormatter.ofPattern("d/M/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter DIA_MES_ANIO_GUION = DateTimeFormatter.ofPattern("d-M-uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter COMPACTO = DateTimeFormatter.ofPattern("uuuuMMdd")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    public FechaFlexibleDeserializer() {
+        super(LocalDate.class);
+    }
+
+    /**
+     * @throws DateTimeException si el texto no está en ninguno de los formatos admitidos
+     */
+    public static LocalDate parsear(String texto) {
+        String valor = texto.trim();
+        int largo = valor.length();
+        if (largo >= 10 && valor.charAt(4) == '-' && valor.charAt(7) == '-') {
+            if (largo == 10) {
+                return LocalDate.parse(valor, ISO);
+            }
+            if (valor.charAt(10) != 'T') {
+                throw new DateTimeException("Formato de fecha no reconocido: " + valor);
+            }
+            // Fecha con hora: se parsea solo el prefijo yyyy-MM-dd
+            return LocalDate.from(ISO.parse(valor, new ParsePosition(0)));
+        }
+        if (valor.indexOf('/') > 0) {
+            return LocalDate.parse(valor, DIA_MES_ANIO_BARRA);
+        }
+        if (valor.indexOf('-') > 0) {
+            return LocalDate.parse(valor, DIA_MES_ANIO_GUION);
+        }
+        if (largo == 8) {
+            return LocalDate.parse(valor, COMPACTO);
+        }
+        throw new DateTimeException("Formato de fecha no reconocido: " + valor);
+    }
+
+    @Override
+    public LocalDate deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT) {
+            // Un entero solo puede ser yyyyMMdd
+            String texto = parser.getText();
+            if (texto.isBlank()) {
+                return null;
+            }
+            try {
+                return parsear(texto);
+            } catch (DateTimeException e) {
+                return (LocalDate) ctxt.handleWeirdStringValue(LocalDate.class, texto, e.getMessage());
+            }
+        }
+        return (LocalDate) ctxt.handleUnexpectedToken(LocalDate.class, parser);
+    }
+}
@@ -0,0 +1,83 @@
+package com.armasimportacion.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para lecturas y escrituras concurrentes.
+ *
+ * podriaContener() nunca da falsos negativos: si devuelve false el valor no se agregó.
+ * Un true puede ser un falso positivo (con la probabilidad configurada al crearlo), por
+ * eso solo sirve para descartar búsquedas, no para confirmarlas. No admite borrados.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int funcionesHash;
+
+    /**
+     * @param elementosEsperados cuántos valores se prevé agregar
+     * @param probabilidadFalsoPositivo tasa de falsos positivos aceptada con esa carga (ej. 0.01)
+     */
+    public FiltroBloom(long elementosEsperados, double probabilidadFalsoPositivo) {
+        long n = Math.max(1, elementosEsperados);
+        long m = (long) Math.ceil(-n * Math.log(probabilidadFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.totalBits = Math.max(64, m);
+        this.funcionesHash = Math.max(1, (int) Math.round((double) totalBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE, (totalBits + 63) / 64));
+    }
+
+    public void agregar(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcionesHash; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual = bits.get(palabra);
+            while ((actual & mascara) == 0 && !bits.compareAndSet(palabra, actual, actual | mascara)) {
+                actual = bits.get(palabra);
+            }
+        }
+    }
+
+    public boolean podriaContener(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcionesHash; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getTotalBits() {
+        return totalBits;
+    }
+
+    public int getFuncionesHash() {
+        return funcionesHash;
+    }
+
+    // FNV-1a de 64 bits sobre UTF-8, con mezcla final para repartir los bits altos
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
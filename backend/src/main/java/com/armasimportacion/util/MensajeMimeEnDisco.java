@@ -0,0 +1,66 @@
+package com.armasimportacion.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.SharedFileInputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * MIME ya codificado (cuerpo y adjuntos en base64) guardado en un archivo temporal.
+ *
+ * El mensaje que devuelve getMensaje() lee su contenido del archivo con un
+ * SharedFileInputStream: cada envío vuelve a escribir esos bytes desde disco sin
+ * cargarlos en el heap, aunque el paquete de adjuntos pese decenas de MB.
+ * close() cierra el archivo y lo borra.
+ */
+public final class MensajeMimeEnDisco implements AutoCloseable {
+
+    private final Path archivo;
+    private final SharedFileInputStream entrada;
+    private final MimeMessage mensaje;
+
+    private MensajeMimeEnDisco(Path archivo, SharedFileInputStream entrada, MimeMessage mensaje) {
+        this.archivo = archivo;
+        this.entrada = entrada;
+        this.mensaje = mensaje;
+    }
+
+    public static MensajeMimeEnDisco serializar(Session session, MimeMessage original)
+            throws MessagingException, IOException {
+        original.saveChanges();
+        Path archivo = Files.createTempFile("gmarm-correo-", ".eml");
+        SharedFileInputStream entrada = null;
+        try {
+            try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(archivo))) {
+                original.writeTo(salida);
+            }
+            entrada = new SharedFileInputStream(archivo.toFile());
+            return new MensajeMimeEnDisco(archivo, entrada, new MimeMessage(session, entrada));
+        } catch (MessagingException | IOException | RuntimeException e) {
+            if (entrada != null) {
+                entrada.close();
+            }
+            Files.deleteIfExists(archivo);
+            throw e;
+        }
+    }
+
+    public MimeMessage getMensaje() {
+        return mensaje;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            entrada.close();
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
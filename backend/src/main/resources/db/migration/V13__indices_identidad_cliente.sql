@@ -0,0 +1,29 @@
+-- V13: Índices de identidad de cliente (cédula y RUC)
+-- La disponibilidad de cédula/RUC se valida contra estos índices, y la unicidad entre
+-- clientes activos se detecta al insertar (el servicio traduce la violación a un 400)
+
+-- 1. Búsqueda por RUC (existsByRuc, validación de disponibilidad)
+CREATE INDEX IF NOT EXISTS idx_cliente_ruc
+ON cliente (ruc)
+WHERE ruc IS NOT NULL AND ruc <> '';
+
+-- 2. Solo un cliente activo por RUC, igual que uq_cliente_numero_identificacion_activo (V12).
+-- Si ya hay RUC duplicados entre clientes activos no se crea el índice (la migración no
+-- debe fallar en producción); se avisa para depurarlos y crearlo a mano.
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT ruc
+        FROM cliente
+        WHERE ruc IS NOT NULL AND ruc <> ''
+          AND estado NOT IN ('ELIMINADO', 'PROCESO_COMPLETADO')
+        GROUP BY ruc
+        HAVING COUNT(*) > 1
+    ) THEN
+        RAISE WARNING 'Hay RUC duplicados entre clientes activos: no se crea uq_cliente_ruc_activo';
+    ELSE
+        CREATE UNIQUE INDEX IF NOT EXISTS uq_cliente_ruc_activo
+        ON cliente (ruc)
+        WHERE ruc IS NOT NULL AND ruc <> '' AND estado NOT IN ('ELIMINADO', 'PROCESO_COMPLETADO');
+    END IF;
+END $$;
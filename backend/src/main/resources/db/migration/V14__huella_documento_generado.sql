@@ -0,0 +1,15 @@
+-- V14: Huella de los documentos generados
+-- Permite reutilizar el PDF existente cuando el template y los datos no cambiaron,
+-- en lugar de volver a renderizarlo en cada clic de "generar"
+
+ALTER TABLE documento_generado ADD COLUMN IF NOT EXISTS huella VARCHAR(64);
+ALTER TABLE documento_generado ADD COLUMN IF NOT EXISTS version_template VARCHAR(50);
+
+-- Búsqueda del documento vigente por cliente y tipo (reutilización y reemplazo)
+CREATE INDEX IF NOT EXISTS idx_documento_generado_cliente_tipo
+    ON documento_generado(cliente_id, tipo_documento);
+
+-- Invalidación masiva al desplegar una nueva versión de templates
+CREATE INDEX IF NOT EXISTS idx_documento_generado_version_template
+    ON documento_generado(version_template)
+    WHERE huella IS NOT NULL;
@@ -0,0 +1,51 @@
+-- V15: Cartera por cliente (cuentas por cobrar precalculadas)
+-- Una fila por cliente con lo pagado, lo pendiente y lo vencido. Se actualiza en la misma
+-- transacción que registra pagos y cuotas, y cada día para mover cuotas a vencidas.
+-- Estado de pago del cliente, saldo y dashboard leen esta fila en vez de sumar pago.
+
+CREATE TABLE IF NOT EXISTS cartera_cliente (
+    cliente_id BIGINT PRIMARY KEY REFERENCES cliente(id) ON DELETE CASCADE,
+    monto_total DECIMAL(12,2) NOT NULL DEFAULT 0,
+    monto_pagado DECIMAL(12,2) NOT NULL DEFAULT 0,
+    monto_pendiente DECIMAL(12,2) NOT NULL DEFAULT 0,
+    monto_vencido DECIMAL(12,2) NOT NULL DEFAULT 0,
+    cuotas_vencidas INTEGER NOT NULL DEFAULT 0,
+    proximo_vencimiento DATE,
+    fecha_corte DATE NOT NULL,
+    fecha_actualizacion TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Clientes con cuotas vencidas (listado de cuotas vencidas y cobranza)
+CREATE INDEX IF NOT EXISTS idx_cartera_cliente_vencidos
+    ON cartera_cliente(cliente_id)
+    WHERE cuotas_vencidas > 0;
+
+-- Carga inicial con los pagos existentes. Los vencidos se calculan como la cartera
+-- (CarteraClienteService.hoy()) y el listado de cuotas vencidas: día en America/Guayaquil,
+-- no CURRENT_DATE (depende de la zona horaria de la sesión), y estados PENDIENTE y VENCIDA.
+INSERT INTO cartera_cliente (cliente_id, monto_total, monto_pagado, monto_pendiente, monto_vencido,
+                             cuotas_vencidas, proximo_vencimiento, fecha_corte, fecha_actualizacion)
+WITH corte AS (
+    SELECT (NOW() AT TIME ZONE 'America/Guayaquil')::date AS hoy
+)
+SELECT p.cliente_id,
+       COALESCE(SUM(p.monto_total), 0),
+       COALESCE(SUM(p.monto_pagado), 0),
+       COALESCE(SUM(p.monto_pendiente), 0),
+       COALESCE(SUM(c.vencido), 0),
+       COALESCE(SUM(c.cuotas_vencidas), 0),
+       MIN(c.proximo_vencimiento),
+       (SELECT hoy FROM corte),
+       NOW()
+FROM pago p
+LEFT JOIN (
+    SELECT cp.pago_id,
+           SUM(cp.monto) FILTER (WHERE cp.fecha_vencimiento < corte.hoy) AS vencido,
+           COUNT(*) FILTER (WHERE cp.fecha_vencimiento < corte.hoy) AS cuotas_vencidas,
+           MIN(cp.fecha_vencimiento) FILTER (WHERE cp.fecha_vencimiento >= corte.hoy) AS proximo_vencimiento
+    FROM cuota_pago cp, corte
+    WHERE cp.estado IN ('PENDIENTE', 'VENCIDA')
+    GROUP BY cp.pago_id
+) c ON c.pago_id = p.id
+GROUP BY p.cliente_id
+ON CONFLICT (cliente_id) DO NOTHING;
@@ -0,0 +1,23 @@
+-- ========================================
+-- V16: Secuencias con bloques de 50 ids para las tablas de alto volumen
+-- ========================================
+-- Con IDENTITY Hibernate necesita el id de cada fila en el momento del INSERT y
+-- desactiva el batching JDBC. Estas entidades pasan a SEQUENCE con allocationSize=50
+-- (optimizador pooled-lo): Hibernate reserva 50 ids con un solo nextval y agrupa los
+-- INSERT. Se reutilizan las secuencias de BIGSERIAL, así el DEFAULT nextval de la
+-- columna sigue funcionando para INSERT manuales sin chocar con los bloques reservados.
+-- Cada secuencia se alinea al MAX(id) actual.
+
+DO $$
+DECLARE
+    tabla TEXT;
+BEGIN
+    FOREACH tabla IN ARRAY ARRAY[
+        'cliente', 'respuestas_cliente', 'cliente_arma', 'pago', 'cuota_pago',
+        'arma_serie', 'cliente_grupo_importacion'
+    ] LOOP
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', tabla || '_id_seq');
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)',
+                       tabla || '_id_seq', tabla);
+    END LOOP;
+END $$;
@@ -0,0 +1,39 @@
+-- V17: Bitácora de auditoría de cambios de estado (solo inserción)
+-- Clientes, pagos, cuotas, documentos, reservas de arma y grupos de importación.
+-- AuditoriaService escribe por lotes desde un hilo de fondo; la tabla se particiona por mes
+-- para que las consultas por rango de fechas lean solo las particiones del rango y los
+-- meses viejos se puedan archivar con DETACH PARTITION sin borrar fila a fila.
+
+CREATE TABLE IF NOT EXISTS audit_event (
+    id BIGINT GENERATED ALWAYS AS IDENTITY,
+    entidad VARCHAR(50) NOT NULL,
+    entidad_id BIGINT NOT NULL,
+    accion VARCHAR(50) NOT NULL,
+    estado_anterior VARCHAR(50),
+    estado_nuevo VARCHAR(50),
+    usuario VARCHAR(100),
+    detalle VARCHAR(500),
+    fecha_evento TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, fecha_evento)
+) PARTITION BY RANGE (fecha_evento);
+
+-- Historial de una entidad en un rango de fechas (API de consulta)
+CREATE INDEX IF NOT EXISTS idx_audit_event_entidad
+    ON audit_event(entidad, entidad_id, fecha_evento);
+
+-- Sin partición DEFAULT: una fila suelta en ella haría fallar el CREATE TABLE ... PARTITION OF
+-- de ese mes. Un evento sin partición falla al insertar y AuditoriaService lo reintenta tras
+-- crear la partición.
+
+-- Mes actual y siguiente; AuditoriaService crea los próximos meses al arrancar y cada día
+DO $$
+DECLARE
+    mes DATE;
+BEGIN
+    FOR i IN 0..1 LOOP
+        mes := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::date;
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_event FOR VALUES FROM (%L) TO (%L)',
+            'audit_event_' || to_char(mes, 'YYYY_MM'), mes, (mes + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
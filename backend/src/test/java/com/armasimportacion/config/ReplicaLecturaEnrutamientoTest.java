@@ -0,0 +1,124 @@
+package com.armasimportacion.config;
+
+import com.armasimportacion.config.ReplicaLecturaConfig.EnrutadorLecturaDataSource;
+import com.armasimportacion.support.PostgresEmbebido;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutamiento de ReplicaLecturaConfig con dos PostgreSQL embebidos (primaria y réplica),
+ * armado como en la aplicación: LazyConnectionDataSourceProxy sobre el enrutador y
+ * transacciones de Spring. Cada instancia se reconoce por su puerto.
+ */
+class ReplicaLecturaEnrutamientoTest {
+
+    private static final long VENTANA_MS = 300;
+    private static final long REINTENTO_MS = 60_000;
+
+    private static EmbeddedPostgres replica;
+
+    private final DataSource primaria = PostgresEmbebido.obtener().getPostgresDatabase();
+
+    @BeforeAll
+    static void iniciarReplica() {
+        replica = PostgresEmbebido.iniciarAdicional();
+    }
+
+    @AfterAll
+    static void cerrarReplica() throws IOException {
+        replica.close();
+    }
+
+    @AfterEach
+    void limpiarUsuario() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void lecturasVanALaReplicaYEscriturasALaPrimaria() {
+        Entorno entorno = new Entorno(replica.getPostgresDatabase());
+
+        assertThat(entorno.puertoLectura()).isEqualTo(replica.getPort());
+        assertThat(entorno.puertoEscritura()).isEqualTo(PostgresEmbebido.obtener().getPort());
+    }
+
+    @Test
+    void trasEscribirElMismoUsuarioLeeDeLaPrimariaDuranteLaVentana() throws InterruptedException {
+        Entorno entorno = new Entorno(replica.getPostgresDatabase());
+        int puertoPrimaria = PostgresEmbebido.obtener().getPort();
+
+        autenticar("vendedor@test.com");
+        entorno.puertoEscritura();
+        assertThat(entorno.puertoLectura()).isEqualTo(puertoPrimaria);
+
+        autenticar("otro@test.com");
+        assertThat(entorno.puertoLectura()).isEqualTo(replica.getPort());
+
+        Thread.sleep(VENTANA_MS + 100);
+        autenticar("vendedor@test.com");
+        assertThat(entorno.puertoLectura()).isEqualTo(replica.getPort());
+    }
+
+    @Test
+    void replicaCaidaSeLeeDeLaPrimaria() throws IOException {
+        EmbeddedPostgres caida = PostgresEmbebido.iniciarAdicional();
+        Entorno entorno = new Entorno(caida.getPostgresDatabase());
+        assertThat(entorno.puertoLectura()).isEqualTo(caida.getPort());
+
+        caida.close();
+
+        int puertoPrimaria = PostgresEmbebido.obtener().getPort();
+        assertThat(entorno.puertoLectura()).isEqualTo(puertoPrimaria);
+        // Dentro de app.datasource.replica.reintento-ms ni se intenta la réplica
+        assertThat(entorno.puertoLectura()).isEqualTo(puertoPrimaria);
+    }
+
+    private static void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private final class Entorno {
+
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate lectura;
+        private final TransactionTemplate escritura;
+
+        Entorno(DataSource replicaDataSource) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(
+                    new EnrutadorLecturaDataSource(primaria, replicaDataSource, VENTANA_MS, REINTENTO_MS));
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.lectura = new TransactionTemplate(transactionManager);
+            this.lectura.setReadOnly(true);
+            this.escritura = new TransactionTemplate(transactionManager);
+        }
+
+        int puertoLectura() {
+            return lectura.execute(status -> puerto());
+        }
+
+        int puertoEscritura() {
+            return escritura.execute(status -> puerto());
+        }
+
+        private int puerto() {
+            return jdbc.queryForObject("SELECT current_setting('port')::int", Integer.class);
+        }
+    }
+}
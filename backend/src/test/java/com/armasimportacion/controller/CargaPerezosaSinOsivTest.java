@@ -0,0 +1,144 @@
+package com.armasimportacion.controller;
+
+import com.armasimportacion.service.ClienteQueryService;
+import com.armasimportacion.support.PruebaIntegracion;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Endpoints con fetch plan explícito, con spring.jpa.open-in-view=false (perfil no-osiv de
+ * {@link PruebaIntegracion}): la sesión se cierra al salir del servicio, así que cualquier
+ * relación que el endpoint no cargue termina en LazyInitializationException, que
+ * GlobalExceptionHandler responde con 500 y cuenta en gmarm.jpa.lazy_initialization.
+ */
+@Sql(scripts = "/sql/carga-perezosa.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class CargaPerezosaSinOsivTest extends PruebaIntegracion {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClienteQueryService clienteQueryService;
+
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    private String token;
+    private long clienteId;
+    private long grupoId;
+
+    @BeforeEach
+    void iniciarSesion() throws Exception {
+        assertThat(openInView).as("spring.jpa.open-in-view").isFalse();
+
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("email", "admin@armasimportacion.com", "password", "admin123"))))
+                .andReturn();
+        assertThat(login.getResponse().getStatus()).as("login admin").isEqualTo(200);
+        token = objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+
+        clienteId = jdbcTemplate.queryForObject(
+                "SELECT id FROM cliente WHERE numero_identificacion = '1799999901'", Long.class);
+        grupoId = jdbcTemplate.queryForObject(
+                "SELECT id FROM grupo_importacion WHERE codigo = 'LAZY-GRUPO'", Long.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/clientes/{cliente}",
+            "/api/clientes/{cliente}/datos-contrato",
+            "/api/grupos-importacion/{grupo}",
+            "/api/grupos-importacion/{grupo}/clientes",
+            "/api/grupos-importacion/clientes-disponibles",
+            "/api/pagos/cliente/{cliente}/cuotas",
+            "/api/pagos/cuotas/vencidas",
+            "/api/notificaciones",
+            "/api/notificaciones/no-leidas",
+            "/api/inventario/armas-disponibles",
+            "/api/licencia/disponibles"
+    })
+    void endpointSeSerializaSinSesionAbierta(String plantilla) throws Exception {
+        String uri = plantilla
+                .replace("{cliente}", String.valueOf(clienteId))
+                .replace("{grupo}", String.valueOf(grupoId));
+        double cargasPerezosasAntes = cargasPerezosas();
+
+        MvcResult resultado = mockMvc.perform(get(uri).header("Authorization", "Bearer " + token)).andReturn();
+
+        assertThat(resultado.getResolvedException())
+                .as("excepción resuelta en %s", uri)
+                .isNull();
+        assertThat(resultado.getResponse().getStatus())
+                .as("%s respondió %s", uri, resultado.getResponse().getContentAsString())
+                .isEqualTo(200);
+        assertThat(cargasPerezosas())
+                .as("LazyInitializationException en %s", uri)
+                .isEqualTo(cargasPerezosasAntes);
+    }
+
+    @Test
+    void respuestasIncluyenLosDatosDelFixture() throws Exception {
+        JsonNode cuotas = getJson("/api/pagos/cliente/" + clienteId + "/cuotas");
+        assertThat(cuotas).hasSize(2);
+
+        JsonNode vencidas = getJson("/api/pagos/cuotas/vencidas");
+        assertThat(vencidas.findValuesAsText("numeroCuota")).contains("1");
+
+        JsonNode clientesGrupo = getJson("/api/grupos-importacion/" + grupoId + "/clientes");
+        assertThat(clientesGrupo).hasSize(1);
+    }
+
+    @Test
+    void detalleCompletoSeSerializaFueraDeLaTransaccion() throws Exception {
+        // Sin transacción alrededor: lo que devuelve el servicio se serializa ya sin sesión
+        Map<String, Object> detalle = clienteQueryService.getDetalleCompleto(clienteId);
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(detalle));
+
+        assertThat(json.get("cliente").get("id").asLong()).isEqualTo(clienteId);
+        assertThat(json.get("asignacionesArma")).hasSize(1);
+        JsonNode accesorios = json.get("asignacionesAccesorio");
+        assertThat(accesorios).hasSize(1);
+        assertThat(accesorios.get(0).get("accesorioCodigo").asText()).isEqualTo("LAZY-FUNDA");
+        assertThat(accesorios.get(0).get("clienteNombre").asText()).contains("LAZY");
+        assertThat(accesorios.get(0).get("cantidad").asInt()).isEqualTo(2);
+    }
+
+    private JsonNode getJson(String uri) throws Exception {
+        MvcResult resultado = mockMvc.perform(get(uri).header("Authorization", "Bearer " + token)).andReturn();
+        assertThat(resultado.getResponse().getStatus()).as(uri).isEqualTo(200);
+        return objectMapper.readTree(resultado.getResponse().getContentAsString());
+    }
+
+    private static double cargasPerezosas() {
+        return Metrics.globalRegistry.find("gmarm.jpa.lazy_initialization").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
@@ -0,0 +1,97 @@
+package com.armasimportacion.controller;
+
+import com.armasimportacion.config.ConcurrencyLimits;
+import com.armasimportacion.support.PruebaIntegracion;
+import com.armasimportacion.util.ConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Las exportaciones en curso están acotadas por app.exportaciones.max-concurrentes: con el
+ * tope ocupado la petición recibe 503 sin abrir transacción, y cada stream terminado
+ * devuelve su permiso.
+ */
+class ExportacionConcurrenciaTest extends PruebaIntegracion {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ConcurrencyLimits concurrencyLimits;
+
+    private String token;
+
+    @BeforeEach
+    void iniciarSesion() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("email", "admin@armasimportacion.com", "password", "admin123"))))
+                .andReturn();
+        assertThat(login.getResponse().getStatus()).as("login admin").isEqualTo(200);
+        token = objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    void conElTopeOcupadoResponde503YCadaStreamDevuelveSuPermiso() throws Exception {
+        ConcurrencyLimiter limite = concurrencyLimits.exportaciones();
+        assertThat(limite.isActivo()).isTrue();
+        int permisos = limite.getPermisos();
+
+        List<MvcResult> enCurso = new ArrayList<>();
+        for (int i = 0; i < permisos; i++) {
+            MvcResult iniciada = exportar();
+            assertThat(iniciada.getRequest().isAsyncStarted()).isTrue();
+            enCurso.add(iniciada);
+        }
+
+        MvcResult rechazada = exportar();
+        assertThat(rechazada.getResponse().getStatus()).isEqualTo(503);
+
+        for (MvcResult iniciada : enCurso) {
+            MvcResult terminada = mockMvc.perform(asyncDispatch(iniciada)).andReturn();
+            assertThat(terminada.getResponse().getStatus()).isEqualTo(200);
+        }
+        assertThat(limite.getPermisosDisponibles()).isEqualTo(permisos);
+        assertThat(exportar().getRequest().isAsyncStarted()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"pagos", "cuotas", "clientes", "series-asignadas"})
+    void exportacionSinFiltrosLiberaSuPermiso(String recurso) throws Exception {
+        ConcurrencyLimiter limite = concurrencyLimits.exportaciones();
+        int disponibles = limite.getPermisosDisponibles();
+
+        MvcResult iniciada = mockMvc.perform(get("/api/exportaciones/" + recurso)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn();
+        MvcResult terminada = mockMvc.perform(asyncDispatch(iniciada)).andReturn();
+
+        assertThat(terminada.getResponse().getStatus()).as(recurso).isEqualTo(200);
+        assertThat(limite.getPermisosDisponibles()).isEqualTo(disponibles);
+    }
+
+    private MvcResult exportar() throws Exception {
+        return mockMvc.perform(get("/api/exportaciones/pagos").header("Authorization", "Bearer " + token))
+                .andReturn();
+    }
+}
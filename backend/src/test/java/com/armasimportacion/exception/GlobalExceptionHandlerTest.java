@@ -0,0 +1,51 @@
+package com.armasimportacion.exception;
+
+import org.hibernate.exception.JDBCConnectionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El limitador JDBC saturado (SQLTransientConnectionException) llega envuelto según quién
+ * pidió la conexión; en todos los casos responde 503, no 500.
+ */
+class GlobalExceptionHandlerTest {
+
+    private static final SQLTransientConnectionException SATURADO =
+            new SQLTransientConnectionException("Pool de conexiones saturado, sin permiso disponible a tiempo");
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void poolSaturadoResponde503() {
+        // JdbcTemplate
+        assertThat(estado(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection", SATURADO)))
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        // Repositorio JPA (Hibernate traducido por Spring)
+        assertThat(estado(new DataAccessResourceFailureException("Unable to acquire JDBC Connection",
+                new JDBCConnectionException("Unable to acquire JDBC Connection", SATURADO))))
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        // Inicio de la transacción
+        assertThat(estado(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new JDBCConnectionException("Unable to acquire JDBC Connection", SATURADO))))
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void otrosErroresDeConexionSiguenSiendo500() {
+        assertThat(estado(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                new SQLException("Connection refused"))))
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private HttpStatus estado(RuntimeException ex) {
+        return HttpStatus.valueOf(handler.handleConexionNoDisponible(ex).getStatusCode().value());
+    }
+}
@@ -0,0 +1,90 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.enums.EstadoCliente;
+import com.armasimportacion.support.PruebaIntegracion;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * La asignación masiva cambia el estado de los clientes con un UPDATE directo: las
+ * estadísticas de clientes (instantánea con TTL) deben reflejarlo en la siguiente lectura.
+ * La vista previa no modifica nada.
+ */
+@Sql(scripts = "/sql/asignacion-masiva.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class AsignacionMasivaSeriesTest extends PruebaIntegracion {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClienteEstadisticasService clienteEstadisticasService;
+
+    @Test
+    void asignacionRealSeReflejaEnLasEstadisticasSinEsperarElTtl() throws Exception {
+        String token = iniciarSesion();
+        long grupoId = jdbcTemplate.queryForObject(
+                "SELECT id FROM grupo_importacion WHERE codigo = 'ASIGNACION-GRUPO'", Long.class);
+        long asignadosAntes = clientesSerieAsignada();
+
+        JsonNode vistaPrevia = autoAsignar(token, grupoId, true);
+        assertThat(vistaPrevia.get("asignadas").asInt()).isEqualTo(2);
+        assertThat(clientesSerieAsignada()).isEqualTo(asignadosAntes);
+
+        JsonNode asignacion = autoAsignar(token, grupoId, false);
+        assertThat(asignacion.get("asignadas").asInt()).isEqualTo(2);
+        assertThat(clientesSerieAsignada()).isEqualTo(asignadosAntes + 2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM arma_serie WHERE numero_serie LIKE 'ASIGNACION-SERIE-%' AND estado = 'ASIGNADO'",
+                Long.class)).isEqualTo(2);
+    }
+
+    private JsonNode autoAsignar(String token, long grupoId, boolean simular) throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/api/asignacion-series/grupos/{grupoId}/auto-asignar", grupoId)
+                        .param("simular", String.valueOf(simular))
+                        .header("Authorization", "Bearer " + token))
+                .andReturn();
+        assertThat(resultado.getResponse().getStatus())
+                .as(resultado.getResponse().getContentAsString())
+                .isEqualTo(200);
+        return objectMapper.readTree(resultado.getResponse().getContentAsString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private long clientesSerieAsignada() {
+        List<Object[]> porEstado = (List<Object[]>) clienteEstadisticasService.getEstadisticasJefeVentas()
+                .get("clientesPorEstado");
+        return porEstado.stream()
+                .filter(fila -> fila[0] == EstadoCliente.SERIE_ASIGNADA)
+                .mapToLong(fila -> (Long) fila[1])
+                .sum();
+    }
+
+    private String iniciarSesion() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("email", "admin@armasimportacion.com", "password", "admin123"))))
+                .andReturn();
+        assertThat(login.getResponse().getStatus()).as("login admin").isEqualTo(200);
+        return objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+    }
+}
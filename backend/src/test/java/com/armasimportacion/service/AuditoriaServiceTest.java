@@ -0,0 +1,91 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.enums.EntidadAuditada;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Un lote que falla al insertar no se pierde: se reintenta y, agotados los reintentos,
+ * se escribe en el archivo de auditoría.
+ */
+class AuditoriaServiceTest {
+
+    private final BaseDeDatosIntermitente jdbc = new BaseDeDatosIntermitente();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AuditoriaService auditoria;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        auditoria = new AuditoriaService(jdbc, beanFactory.getBeanProvider(MeterRegistry.class),
+                true, 16, 500, 10, 2);
+    }
+
+    @Test
+    void loteFallidoSeReintentaHastaEscribirse() {
+        jdbc.fallosRestantes = 2;
+        auditoria.registrar(EntidadAuditada.PAGO, 1L, "CAMBIO_ESTADO", "PENDIENTE", "PAGADO", null);
+
+        auditoria.vaciar();
+        reintentarYa();
+        auditoria.vaciar();
+        assertThat(eventos("escrito")).isZero();
+
+        reintentarYa();
+        auditoria.vaciar();
+        assertThat(eventos("escrito")).isEqualTo(1);
+        assertThat(eventos("respaldo")).isZero();
+    }
+
+    @Test
+    void reintentosAgotadosVanAlArchivoDeAuditoria() {
+        jdbc.fallosRestantes = Integer.MAX_VALUE;
+        auditoria.registrar(EntidadAuditada.PAGO, 1L, "CAMBIO_ESTADO", "PENDIENTE", "PAGADO", null);
+
+        for (int i = 0; i < 3; i++) {
+            reintentarYa();
+            auditoria.vaciar();
+        }
+
+        assertThat(eventos("respaldo")).isEqualTo(1);
+        assertThat(ReflectionTestUtils.getField(auditoria, "loteFallido")).isNull();
+    }
+
+    private void reintentarYa() {
+        ReflectionTestUtils.setField(auditoria, "proximoIntento", 0L);
+    }
+
+    private double eventos(String resultado) {
+        var contador = registry.find("gmarm.auditoria.eventos").tag("resultado", resultado).counter();
+        return contador != null ? contador.count() : 0;
+    }
+
+    private static class BaseDeDatosIntermitente extends JdbcTemplate {
+
+        private int fallosRestantes;
+
+        @Override
+        public int update(PreparedStatementCreator psc) {
+            if (fallosRestantes > 0) {
+                fallosRestantes--;
+                throw new DataAccessResourceFailureException("BD no disponible");
+            }
+            return 1;
+        }
+
+        @Override
+        public void execute(String sql) {
+            // Particiones: nada que crear
+        }
+    }
+}
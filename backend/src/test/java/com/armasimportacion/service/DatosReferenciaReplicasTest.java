@@ -0,0 +1,51 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.dto.TipoClienteDTO;
+import com.armasimportacion.service.NotificacionTiempoRealService.AvisoReplica;
+import com.armasimportacion.support.PruebaIntegracion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Un cambio de catálogo hecho por otra réplica (aquí, directo en la BD) llega como
+ * {@link AvisoReplica} por el canal de datos de referencia y reconstruye el registro.
+ */
+class DatosReferenciaReplicasTest extends PruebaIntegracion {
+
+    private static final String CODIGO = "REPLICA-PRB";
+
+    @Autowired
+    private DatosReferenciaService datosReferenciaService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void limpiar() {
+        jdbcTemplate.update("DELETE FROM tipo_cliente WHERE codigo = ?", CODIGO);
+        datosReferenciaService.invalidar();
+    }
+
+    @Test
+    void avisoDeOtraReplicaReconstruyeElRegistro() {
+        String versionInicial = datosReferenciaService.actual().version();
+        jdbcTemplate.update("INSERT INTO tipo_cliente (nombre, codigo, estado) VALUES ('Réplica', ?, true)", CODIGO);
+
+        eventPublisher.publishEvent(new AvisoReplica("otro_canal", null));
+        assertThat(datosReferenciaService.actual().version()).isEqualTo(versionInicial);
+
+        eventPublisher.publishEvent(new AvisoReplica(DatosReferenciaService.CANAL_AVISOS, ""));
+        assertThat(datosReferenciaService.actual().version()).isNotEqualTo(versionInicial);
+        assertThat(datosReferenciaService.actual().tiposClienteActivos())
+                .extracting(TipoClienteDTO::getCodigo)
+                .contains(CODIGO);
+    }
+}
@@ -0,0 +1,45 @@
+package com.armasimportacion.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Con hilos de plataforma el ejecutor arranca con app.efectos.max-pool-size hilos: un
+ * efecto bloqueado (SMTP lento) no retiene a los que vienen detrás en la cola.
+ */
+class EfectosPostCommitServiceTest {
+
+    private final CountDownLatch liberarLento = new CountDownLatch(1);
+    private EfectosPostCommitService efectos;
+
+    @AfterEach
+    void detener() throws InterruptedException {
+        liberarLento.countDown();
+        efectos.detener();
+    }
+
+    @Test
+    void efectoLentoNoBloqueaALosDemas() throws InterruptedException {
+        efectos = new EfectosPostCommitService(
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), false, 4, 1000);
+        CountDownLatch rapidoEjecutado = new CountDownLatch(1);
+
+        efectos.alConfirmar("smtp-lento", () -> {
+            try {
+                liberarLento.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        efectos.alConfirmar("notificacion", rapidoEjecutado::countDown);
+
+        assertThat(rapidoEjecutado.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,164 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.config.ConcurrencyLimits;
+import com.armasimportacion.service.EntregaCorreoService.EstadoEntrega;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Envío de un paquete de adjuntos mucho mayor que el heap: 4 PDF de 32 MB (unos 170 MB
+ * codificados) a tres destinatarios, con el SMTP reemplazado por {@link TransporteNulo}.
+ *
+ * Corre sólo en la ejecución heap-reducido de surefire (-Xmx64m, ver pom.xml): si algún
+ * paso de EntregaCorreoService o MensajeMimeEnDisco volviera a cargar los adjuntos o el
+ * MIME en memoria, el test falla con OutOfMemoryError.
+ */
+@Tag("heap-reducido")
+class EntregaCorreoHeapReducidoTest {
+
+    private static final int DOCUMENTOS = 4;
+    private static final int MEGAS_POR_DOCUMENTO = 32;
+    private static final List<String> DESTINATARIOS = List.of(
+            "cliente@correo.ec", "importador@correo.ec", "ventas@correo.ec");
+
+    private static Path directorio;
+    private static List<Path> pdfs;
+
+    @BeforeAll
+    static void crearAdjuntos() throws IOException {
+        directorio = Files.createTempDirectory("gmarm-adjuntos-");
+        pdfs = new ArrayList<>(DOCUMENTOS);
+        Random random = new Random(42L);
+        byte[] bloque = new byte[1024 * 1024];
+        for (int i = 0; i < DOCUMENTOS; i++) {
+            Path pdf = directorio.resolve("contrato_" + i + ".pdf");
+            try (OutputStream salida = Files.newOutputStream(pdf)) {
+                for (int mb = 0; mb < MEGAS_POR_DOCUMENTO; mb++) {
+                    random.nextBytes(bloque);
+                    salida.write(bloque);
+                }
+            }
+            pdfs.add(pdf);
+        }
+    }
+
+    @AfterAll
+    static void borrarAdjuntos() throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+
+    @Test
+    void paqueteMayorQueElHeapSeEntregaATodosLosDestinatarios() throws Exception {
+        long tamanoPaquete = (long) DOCUMENTOS * MEGAS_POR_DOCUMENTO * 1024 * 1024;
+        assertThat(Runtime.getRuntime().maxMemory())
+                .as("el test debe correr en la ejecución heap-reducido")
+                .isLessThan(tamanoPaquete / 2);
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(25);
+        Session session = Session.getInstance(new Properties());
+        session.setProvider(new Provider(Provider.Type.TRANSPORT, "smtp",
+                TransporteNulo.class.getName(), "gmarm", "1"));
+        mailSender.setSession(session);
+        EntregaCorreoService servicio = new EntregaCorreoService(mailSender, ConcurrencyLimits.sinLimites());
+
+        MimeMessage mensaje = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mensaje, true, "UTF-8");
+        helper.setFrom("gmarm@correo.ec");
+        helper.setTo(DESTINATARIOS.get(0));
+        helper.setSubject("Documentos firmados - GMARM");
+        helper.setText("<p>Documentos firmados</p>", true);
+        for (Path pdf : pdfs) {
+            helper.addAttachment(pdf.getFileName().toString(), new FileSystemResource(pdf));
+        }
+
+        TransporteNulo.BYTES_POR_DESTINATARIO.clear();
+        List<EstadoEntrega> estados = servicio.enviarPorDestinatario(mensaje, DESTINATARIOS);
+
+        assertThat(estados).extracting(EstadoEntrega::destinatario).containsExactlyElementsOf(DESTINATARIOS);
+        assertThat(estados).allSatisfy(estado -> assertThat(estado.enviado()).as(estado.error()).isTrue());
+        // Cada destinatario recibió el paquete completo codificado en base64 (4/3 del original)
+        assertThat(TransporteNulo.BYTES_POR_DESTINATARIO).containsOnlyKeys(DESTINATARIOS);
+        assertThat(TransporteNulo.BYTES_POR_DESTINATARIO.values())
+                .allSatisfy(bytes -> assertThat(bytes).isGreaterThan(tamanoPaquete * 4 / 3));
+    }
+
+    /**
+     * Transporte SMTP que acepta la conexión y escribe cada mensaje a un OutputStream nulo,
+     * contando los bytes que recibiría el servidor por destinatario del sobre.
+     */
+    public static class TransporteNulo extends Transport {
+
+        static final Map<String, Long> BYTES_POR_DESTINATARIO = new ConcurrentHashMap<>();
+
+        public TransporteNulo(Session session, URLName urlName) {
+            super(session, urlName);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String usuario, String clave) {
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message mensaje, Address[] destinatarios) throws MessagingException {
+            ContadorBytes contador = new ContadorBytes();
+            try {
+                mensaje.writeTo(contador);
+            } catch (IOException e) {
+                throw new MessagingException("Error escribiendo el mensaje", e);
+            }
+            for (Address destinatario : destinatarios) {
+                BYTES_POR_DESTINATARIO.merge(destinatario.toString(), contador.bytes, Long::sum);
+            }
+        }
+    }
+
+    private static final class ContadorBytes extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.config.ConcurrencyLimits;
+import com.armasimportacion.service.EntregaCorreoService.EstadoEntrega;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El mensaje se transmite una sola vez con todos los destinatarios en el sobre, y el
+ * estado por destinatario sale de las direcciones que el servidor aceptó.
+ */
+class EntregaCorreoServiceTest {
+
+    private EntregaCorreoService servicio;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() throws MessagingException {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(25);
+        Session session = Session.getInstance(new Properties());
+        session.setProvider(new Provider(Provider.Type.TRANSPORT, "smtp",
+                TransporteSelectivo.class.getName(), "gmarm", "1"));
+        mailSender.setSession(session);
+        servicio = new EntregaCorreoService(mailSender, ConcurrencyLimits.sinLimites());
+        TransporteSelectivo.SOBRES.clear();
+    }
+
+    @Test
+    void unSoloEnvioConTodosLosDestinatariosEnElSobre() throws Exception {
+        List<String> destinatarios = List.of("cliente@correo.ec", "importador@correo.ec", "ventas@correo.ec");
+
+        List<EstadoEntrega> estados = servicio.enviarPorDestinatario(recibo(), destinatarios);
+
+        assertThat(TransporteSelectivo.SOBRES).hasSize(1);
+        assertThat(TransporteSelectivo.SOBRES.get(0)).containsExactlyElementsOf(destinatarios);
+        assertThat(estados).extracting(EstadoEntrega::destinatario).containsExactlyElementsOf(destinatarios);
+        assertThat(estados).allMatch(EstadoEntrega::enviado);
+    }
+
+    @Test
+    void rechazosSeInformanPorDestinatario() throws Exception {
+        List<String> destinatarios = List.of("cliente@correo.ec", "rechazado@correo.ec", "no es correo", "ventas@correo.ec");
+
+        List<EstadoEntrega> estados = servicio.enviarPorDestinatario(recibo(), destinatarios);
+
+        assertThat(TransporteSelectivo.SOBRES).hasSize(1);
+        assertThat(TransporteSelectivo.SOBRES.get(0))
+                .containsExactly("cliente@correo.ec", "rechazado@correo.ec", "ventas@correo.ec");
+        assertThat(estados).extracting(EstadoEntrega::destinatario).containsExactlyElementsOf(destinatarios);
+        assertThat(estados).extracting(EstadoEntrega::enviado).containsExactly(true, false, false, true);
+        assertThat(estados.get(1).error()).isNotBlank();
+        assertThat(estados.get(2).error()).isNotBlank();
+    }
+
+    private MimeMessage recibo() throws MessagingException {
+        MimeMessage mensaje = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mensaje, true, "UTF-8");
+        helper.setFrom("gmarm@correo.ec");
+        helper.setTo("cliente@correo.ec");
+        helper.setSubject("Recibo de Pago - GMARM");
+        helper.setText("<p>Recibo</p>", true);
+        return mensaje;
+    }
+
+    /**
+     * Transporte que registra el sobre de cada envío y, como un servidor con sendpartial,
+     * entrega a todos salvo a las direcciones que empiezan con "rechazado".
+     */
+    public static class TransporteSelectivo extends Transport {
+
+        static final List<List<String>> SOBRES = new ArrayList<>();
+
+        public TransporteSelectivo(Session session, URLName urlName) {
+            super(session, urlName);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String usuario, String clave) {
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message mensaje, Address[] destinatarios) throws MessagingException {
+            SOBRES.add(Arrays.stream(destinatarios).map(Address::toString).toList());
+            Address[] rechazados = Arrays.stream(destinatarios)
+                    .filter(d -> d.toString().startsWith("rechazado"))
+                    .toArray(Address[]::new);
+            if (rechazados.length > 0) {
+                Address[] enviados = Arrays.stream(destinatarios)
+                        .filter(d -> !d.toString().startsWith("rechazado"))
+                        .toArray(Address[]::new);
+                throw new SendFailedException("550 buzón inexistente", null, enviados, new Address[0], rechazados);
+            }
+        }
+    }
+}
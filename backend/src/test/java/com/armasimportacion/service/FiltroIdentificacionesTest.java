@@ -0,0 +1,99 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.service.NotificacionTiempoRealService.AvisoReplica;
+import com.armasimportacion.support.PruebaIntegracion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El filtro de identificaciones conoce los números guardados por cualquier camino (aquí la
+ * edición parcial, que no pasa por ClienteService) y los que avisan otras réplicas.
+ *
+ * Las pruebas corren sin LISTEN; se marca el canal como activo para que el filtro se use.
+ */
+@Sql(scripts = "/sql/filtro-identificaciones.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class FiltroIdentificacionesTest extends PruebaIntegracion {
+
+    private static final String RUC_EDITADO = "1799999977001";
+    private static final String CEDULA_OTRA_REPLICA = "0999999988";
+
+    @Autowired
+    private FiltroIdentificacionesService filtroIdentificacionesService;
+
+    @Autowired
+    private NotificacionTiempoRealService notificacionTiempoRealService;
+
+    @Autowired
+    private ClienteCompletoService clienteCompletoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long clienteId;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        ReflectionTestUtils.setField(notificacionTiempoRealService, "escuchando", true);
+        esperarFiltro();
+        clienteId = jdbcTemplate.queryForObject(
+                "SELECT id FROM cliente WHERE numero_identificacion = '1799999903'", Long.class);
+    }
+
+    @AfterEach
+    void restaurar() {
+        jdbcTemplate.update("UPDATE cliente SET ruc = NULL WHERE id = ?", clienteId);
+        ReflectionTestUtils.setField(notificacionTiempoRealService, "escuchando", false);
+    }
+
+    @Test
+    void edicionParcialRegistraElNuevoRuc() {
+        assertThat(filtroIdentificacionesService.podriaExistir(RUC_EDITADO)).isFalse();
+
+        clienteCompletoService.actualizarClienteParcial(clienteId, Map.of("cliente", Map.of("ruc", RUC_EDITADO)));
+
+        assertThat(filtroIdentificacionesService.podriaExistir(RUC_EDITADO)).isTrue();
+    }
+
+    @Test
+    void avisosDeOtraReplica() throws InterruptedException {
+        assertThat(filtroIdentificacionesService.podriaExistir(CEDULA_OTRA_REPLICA)).isFalse();
+
+        eventPublisher.publishEvent(new AvisoReplica(FiltroIdentificacionesService.CANAL_AVISOS, CEDULA_OTRA_REPLICA));
+        assertThat(filtroIdentificacionesService.podriaExistir(CEDULA_OTRA_REPLICA)).isTrue();
+
+        // Reconexión: el filtro se descarta (se consulta la BD) hasta reconstruirlo
+        eventPublisher.publishEvent(new AvisoReplica(FiltroIdentificacionesService.CANAL_AVISOS, null));
+        assertThat(filtroIdentificacionesService.podriaExistir("0999999999")).isTrue();
+        esperarFiltro();
+        assertThat(filtroIdentificacionesService.podriaExistir(CEDULA_OTRA_REPLICA)).isFalse();
+    }
+
+    @Test
+    void sinCanalActivoSiempreSeConsultaLaBaseDeDatos() {
+        ReflectionTestUtils.setField(notificacionTiempoRealService, "escuchando", false);
+
+        assertThat(filtroIdentificacionesService.podriaExistir(RUC_EDITADO)).isTrue();
+    }
+
+    private void esperarFiltro() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 30_000;
+        while (ReflectionTestUtils.getField(filtroIdentificacionesService, "filtro") == null
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+        }
+        assertThat(ReflectionTestUtils.getField(filtroIdentificacionesService, "filtro")).isNotNull();
+    }
+}
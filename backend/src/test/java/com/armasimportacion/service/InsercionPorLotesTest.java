@@ -0,0 +1,158 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.repository.ArmaSerieRepository;
+import com.armasimportacion.support.LotesJdbc;
+import com.armasimportacion.support.LotesJdbc.Ejecucion;
+import com.armasimportacion.support.PruebaIntegracion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Las inserciones masivas salen en lotes JDBC de hibernate.jdbc.batch_size filas que el
+ * driver reescribe como INSERT multi-fila: el alta completa de un cliente (respuestas y
+ * cuotas) y la carga masiva de series. Ningún INSERT de esas tablas sale fuera de un lote.
+ */
+@Sql(scripts = "/sql/insercion-lotes.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class InsercionPorLotesTest extends PruebaIntegracion {
+
+    private static final int TAMANO_LOTE = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LotesJdbc lotesJdbc;
+
+    @Autowired
+    private ArmaSerieService armaSerieService;
+
+    @Autowired
+    private ArmaSerieRepository armaSerieRepository;
+
+    private long grupoId;
+
+    @BeforeEach
+    void setUp() {
+        grupoId = jdbcTemplate.queryForObject(
+                "SELECT id FROM grupo_importacion WHERE codigo = 'LOTES-GRUPO'", Long.class);
+        lotesJdbc.reiniciar();
+    }
+
+    @Test
+    void altaDeClienteInsertaRespuestasYCuotasEnLotesMultiFila() throws Exception {
+        String token = iniciarSesion();
+        List<Long> preguntas = jdbcTemplate.queryForList("SELECT id FROM preguntas ORDER BY id", Long.class);
+        assertThat(preguntas).hasSizeGreaterThan(1);
+
+        int numeroCuotas = 45;
+        List<Map<String, Object>> cuotas = IntStream.rangeClosed(1, numeroCuotas)
+                .mapToObj(n -> Map.<String, Object>of(
+                        "numeroCuota", n,
+                        "monto", "100.00",
+                        "fechaVencimiento", LocalDate.now().plusMonths(n).toString()))
+                .toList();
+        Map<String, Object> solicitud = new HashMap<>();
+        solicitud.put("cliente", Map.of(
+                "nombres", "LOTES",
+                "apellidos", "CLIENTE PRUEBA",
+                "numeroIdentificacion", "1799999902",
+                "tipoIdentificacionCodigo", "CED",
+                "tipoClienteCodigo", "CIV",
+                "provincia", "Pichincha",
+                "canton", "Quito"));
+        solicitud.put("respuestas", preguntas.stream()
+                .map(id -> Map.<String, Object>of("preguntaId", id, "respuesta", "NO"))
+                .toList());
+        solicitud.put("pago", Map.of(
+                "subtotal", "3913.04",
+                "total", "4500.00",
+                "tipoPago", "CREDITO",
+                "numeroCuotas", numeroCuotas));
+        solicitud.put("cuotas", cuotas);
+
+        MvcResult resultado = mockMvc.perform(post("/api/clientes")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(solicitud)))
+                .andReturn();
+        assertThat(resultado.getResponse().getStatus())
+                .as(resultado.getResponse().getContentAsString())
+                .isEqualTo(201);
+
+        assertInsercionesEnLotes("cuota_pago", numeroCuotas);
+        assertInsercionesEnLotes("respuestas_cliente", preguntas.size());
+    }
+
+    @Test
+    void cargaMasivaDeSeriesInsertaEnLotesMultiFila() {
+        int numeroSeries = 45;
+        List<Map<String, String>> filas = new ArrayList<>();
+        for (int i = 1; i <= numeroSeries; i++) {
+            filas.add(Map.of("serialNumber", "LOTES-SERIE-" + i, "codigo", "CZ-P09-C-NOCTURNE"));
+        }
+
+        Map<String, Object> resultado = armaSerieService.bulkUploadSeriesFromJson(filas, grupoId);
+
+        assertThat(resultado.get("errors")).asList().isEmpty();
+        assertThat(resultado.get("success")).isEqualTo(numeroSeries);
+        assertInsercionesEnLotes("arma_serie", numeroSeries);
+    }
+
+    @Test
+    void seriesExistentesConMasParametrosQueElLimiteDelProtocolo() {
+        jdbcTemplate.update("INSERT INTO arma_serie (numero_serie, arma_id, estado) "
+                + "VALUES ('LOTES-EXISTENTE', (SELECT id FROM arma WHERE codigo = 'CZ-P09-C-NOCTURNE'), 'DISPONIBLE')");
+        // Por encima de los 32767 parámetros que admite un mensaje Bind de PostgreSQL
+        String[] numeros = IntStream.range(0, 40_000)
+                .mapToObj(i -> i == 39_999 ? "LOTES-EXISTENTE" : "LOTES-NUEVA-" + i)
+                .toArray(String[]::new);
+
+        assertThat(armaSerieRepository.findNumerosSerieExistentes(numeros))
+                .containsExactly("LOTES-EXISTENTE");
+    }
+
+    private void assertInsercionesEnLotes(String tabla, int filasEsperadas) {
+        List<Ejecucion> inserciones = lotesJdbc.insercionesEn(tabla);
+
+        assertThat(inserciones).as("INSERT en %s", tabla).isNotEmpty();
+        assertThat(inserciones).as("INSERT en %s fuera de un lote", tabla).allMatch(Ejecucion::lote);
+        assertThat(inserciones).as("lotes de %s no reescritos como INSERT multi-fila", tabla)
+                .allMatch(Ejecucion::multiFila);
+        assertThat(inserciones.stream().mapToInt(Ejecucion::filas).sum()).isEqualTo(filasEsperadas);
+        assertThat(inserciones).as("lotes de %s", tabla)
+                .hasSize((filasEsperadas + TAMANO_LOTE - 1) / TAMANO_LOTE);
+    }
+
+    private String iniciarSesion() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("email", "admin@armasimportacion.com", "password", "admin123"))))
+                .andReturn();
+        assertThat(login.getResponse().getStatus()).as("login admin").isEqualTo(200);
+        return objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,62 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.config.CacheConfig;
+import com.armasimportacion.enums.EstadoOcupacionLicencia;
+import com.armasimportacion.model.Licencia;
+import com.armasimportacion.support.PruebaIntegracion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Las licencias activas (listado de disponibles) salen de la cache licencias, y liberar
+ * una licencia al completar un grupo la descarta.
+ */
+class LicenciaCacheTest extends PruebaIntegracion {
+
+    private static final String NUMERO = "DOC-000788583";
+
+    @Autowired
+    private LicenciaService licenciaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restaurar() {
+        jdbcTemplate.update("UPDATE licencia SET estado_ocupacion = 'DISPONIBLE' WHERE numero = ?", NUMERO);
+        licenciaService.invalidarCache();
+    }
+
+    @Test
+    void resetearEstadoDescartaLasLicenciasEnCache() {
+        Cache licencias = cacheManager.getCache(CacheConfig.LICENCIAS);
+        long licenciaId = jdbcTemplate.queryForObject("SELECT id FROM licencia WHERE numero = ?", Long.class, NUMERO);
+        jdbcTemplate.update("UPDATE licencia SET estado_ocupacion = 'BLOQUEADA' WHERE id = ?", licenciaId);
+        licenciaService.invalidarCache();
+
+        assertThat(ocupacion(licenciaId)).isEqualTo(EstadoOcupacionLicencia.BLOQUEADA);
+        assertThat(licencias.get("activas")).isNotNull();
+
+        licenciaService.resetearEstadoLicencia(licenciaId);
+
+        assertThat(licencias.get("activas")).isNull();
+        assertThat(ocupacion(licenciaId)).isEqualTo(EstadoOcupacionLicencia.DISPONIBLE);
+    }
+
+    private EstadoOcupacionLicencia ocupacion(long licenciaId) {
+        return licenciaService.obtenerLicenciasActivas().stream()
+                .filter(licencia -> licencia.getId() == licenciaId)
+                .map(Licencia::getEstadoOcupacion)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,119 @@
+package com.armasimportacion.service;
+
+import com.armasimportacion.config.CacheConfig;
+import com.armasimportacion.dto.PerfilUsuarioDTO;
+import com.armasimportacion.model.Usuario;
+import com.armasimportacion.repository.UsuarioRepository;
+import com.armasimportacion.security.UsuarioActual;
+import com.armasimportacion.support.PruebaIntegracion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Caches de usuarios en el CacheManager compartido: guardan perfiles inmutables sin
+ * passwordHash, y solo las escrituras que cambian esos datos descartan el email afectado.
+ * En la de miembros por rol, una invalidación durante la carga gana a la carga.
+ */
+class UsuarioCacheTest extends PruebaIntegracion {
+
+    private static final String ADMIN = "admin@armasimportacion.com";
+    private static final String VENDEDOR = "vendedor@test.com";
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioActualCache usuarioActualCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Cache usuarios;
+    private Cache usuarioActual;
+
+    @BeforeEach
+    void setUp() {
+        usuarios = cacheManager.getCache(CacheConfig.USUARIOS);
+        usuarioActual = cacheManager.getCache(CacheConfig.USUARIO_ACTUAL);
+        usuarioService.invalidarCache();
+    }
+
+    @Test
+    void perfilCacheadoNoEsEntidadNiIncluyeElHash() {
+        PerfilUsuarioDTO perfil = usuarioService.obtenerPerfil(ADMIN);
+
+        assertThat(usuarios.get(ADMIN, Object.class)).isSameAs(perfil).isNotInstanceOf(Usuario.class);
+        assertThat(PerfilUsuarioDTO.class.getRecordComponents())
+                .extracting(c -> c.getName())
+                .doesNotContain("passwordHash");
+        assertThat(perfil.roles()).isNotEmpty();
+    }
+
+    @Test
+    void loginNoDescartaEntradas() {
+        usuarioService.obtenerPerfil(ADMIN);
+        usuarioService.obtenerPerfil(VENDEDOR);
+        usuarioActualCache.obtener(ADMIN);
+        Usuario admin = usuarioService.findByEmail(ADMIN);
+
+        usuarioService.updateLastLogin(admin.getId());
+        usuarioService.resetLoginAttempts(admin.getUsername());
+
+        assertThat(usuarios.get(ADMIN)).isNotNull();
+        assertThat(usuarios.get(VENDEDOR)).isNotNull();
+        assertThat(usuarioActual.get(ADMIN, UsuarioActual.class)).isNotNull();
+    }
+
+    @Test
+    void edicionDescartaSoloElUsuarioEditado() {
+        usuarioService.obtenerPerfil(ADMIN);
+        usuarioService.obtenerPerfil(VENDEDOR);
+        usuarioActualCache.obtener(ADMIN);
+        usuarioActualCache.obtener(VENDEDOR);
+        Usuario vendedor = usuarioService.findByEmail(VENDEDOR);
+
+        usuarioService.changeStatus(vendedor.getId(), true);
+
+        assertThat(usuarios.get(VENDEDOR)).isNull();
+        assertThat(usuarioActual.get(VENDEDOR)).isNull();
+        assertThat(usuarios.get(ADMIN)).isNotNull();
+        assertThat(usuarioActual.get(ADMIN)).isNotNull();
+    }
+
+    @Test
+    void invalidacionDuranteLaCargaDeMiembrosGana() {
+        MiembrosRolCache[] miembrosRol = new MiembrosRolCache[1];
+        // Repositorio que recibe la invalidación (p.ej. un cambio de roles confirmado) mientras consulta
+        UsuarioRepository repositorioLento = (UsuarioRepository) Proxy.newProxyInstance(
+                UsuarioRepository.class.getClassLoader(), new Class<?>[]{UsuarioRepository.class},
+                (proxy, metodo, argumentos) -> {
+                    try {
+                        Object resultado = metodo.invoke(usuarioRepository, argumentos);
+                        if (metodo.getName().equals("findByRolesNombre")) {
+                            miembrosRol[0].invalidar();
+                        }
+                        return resultado;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        miembrosRol[0] = new MiembrosRolCache(repositorioLento, cacheManager);
+        Cache cache = cacheManager.getCache(CacheConfig.MIEMBROS_ROL);
+        cache.clear();
+
+        assertThat(miembrosRol[0].obtenerMiembros("Administrador")).isNotEmpty();
+
+        assertThat(cache.get("Administrador")).isNull();
+    }
+}
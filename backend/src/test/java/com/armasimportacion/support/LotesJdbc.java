@@ -0,0 +1,85 @@
+package com.armasimportacion.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Registra cada ejecución JDBC del DataSource de la aplicación (envuelto con
+ * datasource-proxy): si fue un executeBatch, cuántas filas llevaba y qué devolvió el driver.
+ *
+ * Con reWriteBatchedInserts el driver de PostgreSQL manda el lote como INSERT multi-fila
+ * y devuelve SUCCESS_NO_INFO por cada fila reescrita, así se distingue de un lote que el
+ * driver ejecutó fila por fila.
+ */
+@TestComponent
+public class LotesJdbc implements BeanPostProcessor, QueryExecutionListener {
+
+    public record Ejecucion(String sql, boolean lote, int filas, int[] resultados) {
+
+        /**
+         * El driver parte el lote en INSERT de 2^n filas (un lote de 5 sale como uno de 4 y
+         * uno de 1), así que basta con que alguna fila venga como SUCCESS_NO_INFO.
+         */
+        public boolean multiFila() {
+            return lote && Arrays.stream(resultados).anyMatch(r -> r == Statement.SUCCESS_NO_INFO);
+        }
+
+        @Override
+        public String toString() {
+            return (lote ? "lote de " + filas + " " + Arrays.toString(resultados) : "sin lote") + ": " + sql;
+        }
+    }
+
+    private final Queue<Ejecucion> ejecuciones = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name("gmarm-test")
+                    .listener(this)
+                    .build();
+        }
+        return bean;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo info, List<QueryInfo> consultas) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo info, List<QueryInfo> consultas) {
+        if (consultas.isEmpty()) {
+            return;
+        }
+        int[] resultados = info.isBatch() && info.getResult() instanceof int[] r ? r : new int[0];
+        int filas = info.isBatch() ? info.getBatchSize() : 1;
+        ejecuciones.add(new Ejecucion(consultas.get(0).getQuery(), info.isBatch(), filas, resultados));
+    }
+
+    public void reiniciar() {
+        ejecuciones.clear();
+    }
+
+    /**
+     * INSERT ejecutados sobre la tabla desde el último {@link #reiniciar()}.
+     */
+    public List<Ejecucion> insercionesEn(String tabla) {
+        String prefijo = "insert into " + tabla.toLowerCase(Locale.ROOT) + " ";
+        return ejecuciones.stream()
+                .filter(e -> e.sql().toLowerCase(Locale.ROOT).startsWith(prefijo))
+                .toList();
+    }
+}
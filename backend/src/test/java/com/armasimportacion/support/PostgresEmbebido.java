@@ -0,0 +1,81 @@
+package com.armasimportacion.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * PostgreSQL embebido compartido por todos los tests de integración de la JVM.
+ *
+ * Se inicia una sola vez con el esquema y los catálogos del SQL maestro
+ * (datos/00_gmarm_completo.sql), igual que el contenedor de docker-compose.local; Flyway
+ * aplica las migraciones encima al levantar el contexto de Spring.
+ */
+public final class PostgresEmbebido {
+
+    private static final Path SQL_MAESTRO = Path.of("..", "datos", "00_gmarm_completo.sql");
+
+    private static EmbeddedPostgres instancia;
+
+    private PostgresEmbebido() {
+    }
+
+    public static synchronized EmbeddedPostgres obtener() {
+        if (instancia == null) {
+            try {
+                EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                cargarSqlMaestro(postgres);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> cerrar(postgres), "postgres-embebido-cierre"));
+                instancia = postgres;
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo iniciar PostgreSQL embebido", e);
+            }
+        }
+        return instancia;
+    }
+
+    /**
+     * Otra instancia, vacía e independiente de la compartida (p.ej. como réplica de lectura).
+     * La cierra el llamador.
+     */
+    public static EmbeddedPostgres iniciarAdicional() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo iniciar PostgreSQL embebido adicional", e);
+        }
+    }
+
+    public static String url() {
+        return obtener().getJdbcUrl("postgres", "postgres");
+    }
+
+    private static void cargarSqlMaestro(EmbeddedPostgres postgres) throws IOException {
+        String script = Files.readString(SQL_MAESTRO, StandardCharsets.UTF_8);
+        try (Connection conexion = postgres.getPostgresDatabase().getConnection();
+             Statement statement = conexion.createStatement()) {
+            // Protocolo simple: el driver ejecuta el script completo, funciones $$ incluidas
+            statement.execute(script);
+            // El SQL maestro ya crea el índice de V12 y V12 no usa IF NOT EXISTS: sin esto
+            // Flyway no pasa de V11 sobre una base recién creada con el maestro
+            statement.execute("DROP INDEX IF EXISTS uq_cliente_numero_identificacion_activo");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error cargando " + SQL_MAESTRO + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void cerrar(EmbeddedPostgres postgres) {
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            // La JVM termina de todos modos
+        }
+    }
+}
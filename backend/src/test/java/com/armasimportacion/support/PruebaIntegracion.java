@@ -0,0 +1,39 @@
+package com.armasimportacion.support;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Base de los tests de integración: contexto completo contra {@link PostgresEmbebido}.
+ *
+ * Corre con el perfil no-osiv (spring.jpa.open-in-view=false), el modo al que apuntan los
+ * fetch plans: una relación que un endpoint no cargue falla aquí con
+ * LazyInitializationException. El batching de inserciones es el de
+ * application-prod.properties, y {@link LotesJdbc} registra los lotes JDBC. Todas las
+ * subclases comparten el mismo contexto.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=0",
+        "app.notificaciones.listen.enabled=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=20",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("no-osiv")
+@Import(LotesJdbc.class)
+public abstract class PruebaIntegracion {
+
+    @DynamicPropertySource
+    static void baseDeDatos(DynamicPropertyRegistry registro) {
+        registro.add("spring.datasource.url", PostgresEmbebido::url);
+        registro.add("spring.datasource.username", () -> "postgres");
+        registro.add("spring.datasource.password", () -> "postgres");
+    }
+}
@@ -0,0 +1,38 @@
+-- Datos para AsignacionMasivaSeriesTest: un grupo CUPO como el de inserción por lotes, con
+-- dos clientes ACTIVO que reservaron el mismo arma y dos series DISPONIBLE de ese arma.
+
+INSERT INTO grupo_importacion (nombre, descripcion, licencia_id, tipo_proceso_id, tipo_grupo, fecha_inicio,
+                               cupo_total, codigo, estado, usuario_creador_id)
+VALUES ('ASIGNACION-GRUPO', 'Grupo de prueba de asignación masiva de series',
+        (SELECT id FROM licencia WHERE numero = 'DOC-000788583'),
+        (SELECT id FROM tipo_proceso WHERE codigo = 'CUPO_CIV'),
+        'CUPO', CURRENT_DATE, 100, 'ASIGNACION-GRUPO', 'EN_PREPARACION',
+        (SELECT id FROM usuario WHERE username = 'admin'));
+
+INSERT INTO cliente (numero_identificacion, tipo_identificacion_id, nombres, apellidos, email, estado,
+                     tipo_cliente_id, usuario_creador_id, provincia, canton)
+SELECT v.cedula,
+       (SELECT id FROM tipo_identificacion WHERE codigo = 'CED'),
+       'ASIGNACION', v.apellidos, v.email, 'ACTIVO',
+       (SELECT id FROM tipo_cliente WHERE codigo = 'CIV'),
+       (SELECT id FROM usuario WHERE username = 'admin'),
+       'Pichincha', 'Quito'
+FROM (VALUES ('1799999904', 'CLIENTE UNO', 'asignacion-uno@test.com'),
+             ('1799999905', 'CLIENTE DOS', 'asignacion-dos@test.com')) AS v(cedula, apellidos, email);
+
+INSERT INTO cliente_grupo_importacion (cliente_id, grupo_importacion_id, estado)
+SELECT c.id, (SELECT id FROM grupo_importacion WHERE codigo = 'ASIGNACION-GRUPO'), 'CONFIRMADO'
+FROM cliente c
+WHERE c.numero_identificacion IN ('1799999904', '1799999905');
+
+INSERT INTO cliente_arma (cliente_id, arma_id, cantidad, estado)
+SELECT c.id, (SELECT id FROM arma WHERE codigo = 'CZ-P09-C-NOCTURNE'), 1, 'RESERVADA'
+FROM cliente c
+WHERE c.numero_identificacion IN ('1799999904', '1799999905');
+
+INSERT INTO arma_serie (numero_serie, arma_id, estado, grupo_importacion_id)
+SELECT v.numero_serie,
+       (SELECT id FROM arma WHERE codigo = 'CZ-P09-C-NOCTURNE'),
+       'DISPONIBLE',
+       (SELECT id FROM grupo_importacion WHERE codigo = 'ASIGNACION-GRUPO')
+FROM (VALUES ('ASIGNACION-SERIE-1'), ('ASIGNACION-SERIE-2')) AS v(numero_serie);
@@ -0,0 +1,60 @@
+-- Datos para CargaPerezosaSinOsivTest: un cliente con reserva de arma y de accesorio,
+-- pago a crédito con una cuota vencida, asignado a un grupo de importación, y una
+-- notificación para el administrador. Todo se identifica por claves naturales 'LAZY-*'.
+
+INSERT INTO cliente (numero_identificacion, tipo_identificacion_id, nombres, apellidos, email, estado,
+                     tipo_cliente_id, usuario_creador_id, provincia, canton)
+VALUES ('1799999901',
+        (SELECT id FROM tipo_identificacion WHERE codigo = 'CED'),
+        'LAZY', 'CLIENTE PRUEBA', 'lazy-cliente@test.com', 'ACTIVO',
+        (SELECT id FROM tipo_cliente WHERE codigo = 'CIV'),
+        (SELECT id FROM usuario WHERE username = 'admin'),
+        'Pichincha', 'Quito');
+
+INSERT INTO cliente_arma (cliente_id, arma_id, cantidad, precio_unitario, estado)
+VALUES ((SELECT id FROM cliente WHERE numero_identificacion = '1799999901'),
+        (SELECT id FROM arma WHERE codigo = 'CZ-P09-C-NOCTURNE'),
+        1, 1200.00, 'RESERVADA');
+
+INSERT INTO accesorio (nombre, codigo, precio_referencia)
+VALUES ('Funda LAZY', 'LAZY-FUNDA', 45.00);
+
+INSERT INTO cliente_accesorio (cliente_id, accesorio_id, cantidad, precio_unitario, estado)
+VALUES ((SELECT id FROM cliente WHERE numero_identificacion = '1799999901'),
+        (SELECT id FROM accesorio WHERE codigo = 'LAZY-FUNDA'),
+        2, 45.00, 'RESERVADO');
+
+INSERT INTO pago (cliente_id, subtotal, monto_iva, monto_total, tipo_pago, numero_cuotas, monto_cuota,
+                  estado, monto_pagado, monto_pendiente)
+VALUES ((SELECT id FROM cliente WHERE numero_identificacion = '1799999901'),
+        1200.00, 180.00, 1380.00, 'CREDITO', 2, 690.00, 'PENDIENTE', 0, 1380.00);
+
+INSERT INTO cuota_pago (pago_id, numero_cuota, monto, fecha_vencimiento, estado)
+SELECT p.id, n.numero, 690.00, CURRENT_DATE + n.dias, 'PENDIENTE'
+FROM pago p
+JOIN cliente c ON c.id = p.cliente_id AND c.numero_identificacion = '1799999901'
+CROSS JOIN (VALUES (1, -30), (2, 30)) AS n(numero, dias);
+
+INSERT INTO grupo_importacion (nombre, descripcion, licencia_id, tipo_proceso_id, tipo_grupo, fecha_inicio,
+                               cupo_total, codigo, estado, usuario_creador_id)
+VALUES ('LAZY-GRUPO', 'Grupo de prueba sin OSIV',
+        (SELECT id FROM licencia WHERE numero = 'DOC-000788583'),
+        (SELECT id FROM tipo_proceso WHERE codigo = 'CUPO_CIV'),
+        'CUPO', CURRENT_DATE, 10, 'LAZY-GRUPO', 'EN_PROCESO_OPERACIONES',
+        (SELECT id FROM usuario WHERE username = 'admin'));
+
+INSERT INTO cliente_grupo_importacion (cliente_id, grupo_importacion_id, estado, fecha_asignacion)
+VALUES ((SELECT id FROM cliente WHERE numero_identificacion = '1799999901'),
+        (SELECT id FROM grupo_importacion WHERE codigo = 'LAZY-GRUPO'),
+        'CONFIRMADO', NOW());
+
+INSERT INTO notificacion (titulo, mensaje, tipo, estado, usuario_destinatario_id, usuario_remitente_id)
+VALUES ('LAZY', 'Notificación de prueba', 'SISTEMA', 'NO_LEIDA',
+        (SELECT id FROM usuario WHERE username = 'admin'),
+        (SELECT id FROM usuario WHERE username = 'vendedor'));
+
+-- Cartera al día con estos pagos (la cuota vencida hace que aparezca en /cuotas/vencidas)
+INSERT INTO cartera_cliente (cliente_id, monto_total, monto_pagado, monto_pendiente, monto_vencido,
+                             cuotas_vencidas, proximo_vencimiento, fecha_corte)
+SELECT id, 1380.00, 0, 1380.00, 690.00, 1, CURRENT_DATE + 30, CURRENT_DATE
+FROM cliente WHERE numero_identificacion = '1799999901';
@@ -0,0 +1,10 @@
+-- Datos para FiltroIdentificacionesTest: un cliente sin RUC cuya edición parcial lo agrega.
+
+INSERT INTO cliente (numero_identificacion, tipo_identificacion_id, nombres, apellidos, email, estado,
+                     tipo_cliente_id, usuario_creador_id, provincia, canton)
+VALUES ('1799999903',
+        (SELECT id FROM tipo_identificacion WHERE codigo = 'CED'),
+        'FILTRO', 'CLIENTE PRUEBA', 'filtro-cliente@test.com', 'ACTIVO',
+        (SELECT id FROM tipo_cliente WHERE codigo = 'CIV'),
+        (SELECT id FROM usuario WHERE username = 'admin'),
+        'Pichincha', 'Quito');
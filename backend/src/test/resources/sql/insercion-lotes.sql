@@ -0,0 +1,15 @@
+-- Datos para InsercionPorLotesTest: un grupo de importación CUPO en preparación asignado
+-- al administrador, que recibe al cliente del alta y las series de la carga masiva.
+
+INSERT INTO grupo_importacion (nombre, descripcion, licencia_id, tipo_proceso_id, tipo_grupo, fecha_inicio,
+                               cupo_total, codigo, estado, usuario_creador_id)
+VALUES ('LOTES-GRUPO', 'Grupo de prueba de inserción por lotes',
+        (SELECT id FROM licencia WHERE numero = 'DOC-000788583'),
+        (SELECT id FROM tipo_proceso WHERE codigo = 'CUPO_CIV'),
+        'CUPO', CURRENT_DATE, 100, 'LOTES-GRUPO', 'EN_PREPARACION',
+        (SELECT id FROM usuario WHERE username = 'admin'));
+
+INSERT INTO grupo_importacion_vendedor (grupo_importacion_id, vendedor_id, limite_armas, activo)
+VALUES ((SELECT id FROM grupo_importacion WHERE codigo = 'LOTES-GRUPO'),
+        (SELECT id FROM usuario WHERE username = 'admin'),
+        100, true);
@@ -0,0 +1,84 @@
+#!/bin/bash
+
+# ========================================
+# VERIFICACIÓN DE CARGA PEREZOSA SIN OPEN-SESSION-IN-VIEW
+# ========================================
+# Recorre endpoints de lectura contra un backend levantado con el perfil no-osiv
+# (SPRING_PROFILES_ACTIVE=<entorno>,no-osiv) y falla si alguno disparó una
+# LazyInitializationException: respuesta 500 o incremento de gmarm.jpa.lazy_initialization.
+#
+# Variables: BASE_URL, LT_EMAIL, LT_PASSWORD, LL_CLIENTE_ID, LL_GRUPO_ID, LL_ENDPOINTS
+#   LL_ENDPOINTS: lista separada por comas que reemplaza la lista por defecto
+
+set -e
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+CLIENTE_ID="${LL_CLIENTE_ID:-1}"
+GRUPO_ID="${LL_GRUPO_ID:-1}"
+METRICA="gmarm.jpa.lazy_initialization"
+
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+if [ -z "$LT_EMAIL" ] || [ -z "$LT_PASSWORD" ]; then
+    echo -e "${RED}❌ Defina LT_EMAIL y LT_PASSWORD (usuario de pruebas)${NC}"
+    exit 1
+fi
+
+TOKEN=$(curl -s -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"email\":\"$LT_EMAIL\",\"password\":\"$LT_PASSWORD\"}" | jq -r '.token // empty')
+if [ -z "$TOKEN" ]; then
+    echo -e "${RED}❌ No se pudo iniciar sesión con $LT_EMAIL${NC}"
+    exit 1
+fi
+
+contar_errores() {
+    curl -s -H "Authorization: Bearer $TOKEN" "$BASE_URL/actuator/metrics/$METRICA" \
+        | jq -r '(.measurements // [] | map(select(.statistic == "COUNT")) | .[0].value) // 0'
+}
+
+if [ -n "$LL_ENDPOINTS" ]; then
+    IFS=',' read -r -a ENDPOINTS <<< "$LL_ENDPOINTS"
+else
+    ENDPOINTS=(
+        "/api/clientes/$CLIENTE_ID"
+        "/api/clientes/$CLIENTE_ID/datos-contrato"
+        "/api/grupos-importacion/$GRUPO_ID"
+        "/api/grupos-importacion/$GRUPO_ID/clientes"
+        "/api/grupos-importacion/clientes-disponibles"
+        "/api/pagos/cliente/$CLIENTE_ID/cuotas"
+        "/api/pagos/cuotas/vencidas"
+        "/api/notificaciones"
+        "/api/notificaciones/no-leidas"
+        "/api/inventario/armas-disponibles"
+    )
+fi
+
+echo "🔍 Verificando carga perezosa contra $BASE_URL"
+echo -e "${YELLOW}⚠️  El backend debe correr con el perfil no-osiv${NC}"
+
+ANTES=$(contar_errores)
+FALLIDOS=0
+for endpoint in "${ENDPOINTS[@]}"; do
+    estado=$(curl -s -o /dev/null -w "%{http_code}" -H "Authorization: Bearer $TOKEN" "$BASE_URL$endpoint")
+    if [ "$estado" -ge 500 ]; then
+        echo -e "${RED}❌ $estado $endpoint${NC}"
+        FALLIDOS=$((FALLIDOS + 1))
+    else
+        echo -e "${GREEN}✅ $estado $endpoint${NC}"
+    fi
+done
+DESPUES=$(contar_errores)
+
+if [ "$(echo "$DESPUES > $ANTES" | bc)" -eq 1 ]; then
+    echo -e "${RED}❌ $METRICA pasó de $ANTES a $DESPUES; ver logs 'Carga perezosa fuera de sesión'${NC}"
+    exit 1
+fi
+if [ "$FALLIDOS" -gt 0 ]; then
+    echo -e "${RED}❌ $FALLIDOS endpoint(s) respondieron 5xx${NC}"
+    exit 1
+fi
+echo -e "${GREEN}✅ Sin LazyInitializationException en ${#ENDPOINTS[@]} endpoints${NC}"
@@ -0,0 +1,87 @@
+#!/bin/bash
+
+# ========================================
+# PRUEBA DE CARGA: HILOS DE PLATAFORMA vs HILOS VIRTUALES
+# ========================================
+# Ejecuta el mismo escenario k6 contra el backend y guarda el resumen por etiqueta.
+# Flujo sugerido:
+#   1. Levantar backend con SPRING_PROFILES_ACTIVE=prod               → ./load-test-virtual-threads.sh clasico
+#   2. Levantar backend con SPRING_PROFILES_ACTIVE=prod,virtual-threads → ./load-test-virtual-threads.sh virtual
+#   3. ./load-test-virtual-threads.sh comparar clasico virtual
+#
+# Variables: BASE_URL, LT_EMAIL, LT_PASSWORD, LT_VUS, LT_DURATION, LT_ENDPOINTS,
+#            LT_CUOTA_ID y LT_VUS_RECURSOS (escenario de PDF y SMTP, ver loadtest/virtual-threads.js)
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+RESULTS_DIR="${RESULTS_DIR:-$SCRIPT_DIR/../logs/loadtest}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+mkdir -p "$RESULTS_DIR"
+
+resumen() {
+    local archivo=$1
+    jq -r '[
+        .metrics.http_reqs.rate,
+        .metrics.http_req_duration.med,
+        .metrics.http_req_duration["p(95)"],
+        .metrics.http_req_duration["p(99)"],
+        (.metrics.http_req_failed.value * 100)
+    ] | map(. * 100 | round / 100) | @tsv' "$archivo"
+}
+
+if [ "$1" == "comparar" ]; then
+    if [ -z "$2" ] || [ -z "$3" ]; then
+        echo -e "${RED}❌ Uso: $0 comparar <etiqueta-antes> <etiqueta-despues>${NC}"
+        exit 1
+    fi
+    echo "📊 Comparación (req/s | mediana ms | p95 ms | p99 ms | % errores)"
+    for etiqueta in "$2" "$3"; do
+        archivo="$RESULTS_DIR/$etiqueta.json"
+        if [ ! -f "$archivo" ]; then
+            echo -e "${RED}❌ No existe $archivo${NC}"
+            exit 1
+        fi
+        echo -e "${etiqueta}\t$(resumen "$archivo")"
+    done
+    exit 0
+fi
+
+ETIQUETA="${1:-$(date +%Y%m%d-%H%M%S)}"
+
+if [ -z "$LT_EMAIL" ] || [ -z "$LT_PASSWORD" ]; then
+    echo -e "${RED}❌ Defina LT_EMAIL y LT_PASSWORD (usuario de pruebas)${NC}"
+    exit 1
+fi
+
+echo "🚀 Prueba de carga '$ETIQUETA' contra $BASE_URL"
+echo -e "${YELLOW}⚠️  Ejecutar contra un entorno de pruebas, nunca contra producción${NC}"
+if [ -z "$LT_CUOTA_ID" ]; then
+    echo -e "${YELLOW}⚠️  Sin LT_CUOTA_ID no se ejercitan los límites de PDF y SMTP${NC}"
+fi
+
+docker run --rm -i --network host \
+    -e BASE_URL="$BASE_URL" \
+    -e LT_EMAIL="$LT_EMAIL" \
+    -e LT_PASSWORD="$LT_PASSWORD" \
+    -e LT_VUS="${LT_VUS:-100}" \
+    -e LT_DURATION="${LT_DURATION:-2m}" \
+    -e LT_ENDPOINTS="$LT_ENDPOINTS" \
+    -e LT_CUOTA_ID="$LT_CUOTA_ID" \
+    -e LT_VUS_RECURSOS="${LT_VUS_RECURSOS:-20}" \
+    -v "$SCRIPT_DIR/loadtest:/scripts:ro" \
+    -v "$RESULTS_DIR:/results" \
+    grafana/k6:latest run --summary-export "/results/$ETIQUETA.json" /scripts/virtual-threads.js || true
+
+if [ -f "$RESULTS_DIR/$ETIQUETA.json" ]; then
+    echo -e "${GREEN}✅ Resumen guardado en $RESULTS_DIR/$ETIQUETA.json${NC}"
+else
+    echo -e "${RED}❌ k6 no generó resumen${NC}"
+    exit 1
+fi
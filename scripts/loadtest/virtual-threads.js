@@ -0,0 +1,91 @@
+// ========================================
+// PRUEBA DE CARGA: modo clásico vs hilos virtuales
+// ========================================
+// Ejecutado por scripts/load-test-virtual-threads.sh (k6 en Docker).
+// Variables: BASE_URL, LT_EMAIL, LT_PASSWORD, LT_VUS, LT_DURATION, LT_ENDPOINTS (coma-separados),
+// LT_CUOTA_ID y LT_VUS_RECURSOS.
+//
+// Con LT_CUOTA_ID (una cuota de pruebas) corre además el escenario "recursos": genera el
+// recibo PDF y lo envía por correo, así se ejercitan los límites pdf y smtp. El SMTP del
+// entorno debe ser un buzón de pruebas. Un 503 ahí es el limitador rechazando (se cuenta
+// en recursos_saturados), no un error.
+
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Rate } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const ENDPOINTS = (__ENV.LT_ENDPOINTS ||
+  '/api/auth/me,/api/clientes?page=0&size=20,/api/notificaciones/no-leidas/count,/api/arma')
+  .split(',')
+  .map((e) => e.trim())
+  .filter((e) => e.length > 0);
+const CUOTA_ID = __ENV.LT_CUOTA_ID;
+const VUS = Number(__ENV.LT_VUS || 100);
+const VUS_RECURSOS = Number(__ENV.LT_VUS_RECURSOS || 20);
+
+const recursosSaturados = new Rate('recursos_saturados');
+
+function rampa(vus) {
+  return [
+    { duration: '30s', target: vus },
+    { duration: __ENV.LT_DURATION || '2m', target: vus },
+    { duration: '15s', target: 0 },
+  ];
+}
+
+const scenarios = {
+  carga: {
+    executor: 'ramping-vus',
+    startVUs: 0,
+    stages: rampa(VUS),
+  },
+};
+if (CUOTA_ID) {
+  scenarios.recursos = {
+    executor: 'ramping-vus',
+    startVUs: 0,
+    stages: rampa(VUS_RECURSOS),
+    exec: 'recursos',
+  };
+}
+
+export const options = {
+  scenarios,
+  thresholds: {
+    http_req_failed: ['rate<0.02'],
+    'http_req_duration{scenario:carga}': ['p(95)<2000'],
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/api/auth/login`,
+    JSON.stringify({ email: __ENV.LT_EMAIL, password: __ENV.LT_PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'login ok': (r) => r.status === 200 });
+  return { token: res.json('token') };
+}
+
+export default function (data) {
+  const params = { headers: { Authorization: `Bearer ${data.token}` } };
+  for (const endpoint of ENDPOINTS) {
+    const res = http.get(`${BASE_URL}${endpoint}`, params);
+    check(res, { [`${endpoint} 2xx`]: (r) => r.status >= 200 && r.status < 300 });
+  }
+  sleep(0.5);
+}
+
+// PDF (render del recibo) y SMTP (envío del recibo) de la misma cuota
+export function recursos(data) {
+  const params = {
+    headers: { Authorization: `Bearer ${data.token}`, 'Content-Type': 'application/json' },
+    responseCallback: http.expectedStatuses({ min: 200, max: 299 }, 503),
+  };
+  for (const accion of ['generar-recibo', 'enviar-recibo-correo']) {
+    const res = http.post(`${BASE_URL}/api/pagos/cuota/${CUOTA_ID}/${accion}`, null, params);
+    recursosSaturados.add(res.status === 503);
+    check(res, { [`${accion} 2xx/503`]: (r) => (r.status >= 200 && r.status < 300) || r.status === 503 });
+  }
+  sleep(1);
+}